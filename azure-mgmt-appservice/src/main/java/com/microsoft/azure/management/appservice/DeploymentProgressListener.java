@@ -0,0 +1,38 @@
+/**
+ * Copyright (c) Microsoft Corporation. All rights reserved.
+ * Licensed under the MIT License. See License.txt in the project root for
+ * license information.
+ */
+
+package com.microsoft.azure.management.appservice;
+
+import com.microsoft.azure.management.apigeneration.Beta;
+import com.microsoft.azure.management.apigeneration.Beta.SinceVersion;
+
+/**
+ * A listener notified of the progress of uploading a ZIP or WAR file to a web app or function app.
+ * <p>
+ * The file is streamed from disk for each upload attempt, so the progress restarts from 0 when
+ * an upload is retried.
+ */
+@Beta(SinceVersion.V1_25_0)
+public interface DeploymentProgressListener {
+    /**
+     * Called periodically while the file is uploaded.
+     *
+     * @param attempt the upload attempt, starting from 1
+     * @param bytesUploaded the number of bytes uploaded in this attempt
+     * @param totalBytes the size of the file
+     * @param bytesPerSecond the average upload throughput of this attempt
+     */
+    void onProgress(int attempt, long bytesUploaded, long totalBytes, double bytesPerSecond);
+
+    /**
+     * Called when the file has been fully uploaded in an attempt.
+     *
+     * @param attempt the upload attempt, starting from 1
+     * @param totalBytes the size of the file
+     * @param elapsedMillis the time taken to upload the file in milliseconds
+     */
+    void onUploaded(int attempt, long totalBytes, long elapsedMillis);
+}
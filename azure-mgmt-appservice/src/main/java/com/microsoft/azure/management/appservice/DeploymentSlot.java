@@ -98,6 +98,27 @@ public interface DeploymentSlot extends
     @Beta(SinceVersion.V1_7_0)
     Completable warDeployAsync(InputStream warFile, String appName);
 
+    /**
+     * Deploys a WAR file onto the Azure specialized Tomcat on this deployment slot. The file is streamed
+     * from disk and the upload progress is reported to the listener.
+     * @param warFile the WAR file to upload
+     * @param appName the name of the app, default to "ROOT" when not provided
+     * @param progressListener the listener notified of the upload progress
+     */
+    @Beta(SinceVersion.V1_25_0)
+    void warDeploy(File warFile, String appName, DeploymentProgressListener progressListener);
+
+    /**
+     * Deploys a WAR file onto the Azure specialized Tomcat on this deployment slot. The file is streamed
+     * from disk and the upload progress is reported to the listener.
+     * @param warFile the WAR file to upload
+     * @param appName the name of the app, default to "ROOT" when not provided
+     * @param progressListener the listener notified of the upload progress
+     * @return a completable of the operation
+     */
+    @Beta(SinceVersion.V1_25_0)
+    Completable warDeployAsync(File warFile, String appName, DeploymentProgressListener progressListener);
+
     /**************************************************************
      * Fluent interfaces to provision a deployment slot
      **************************************************************/
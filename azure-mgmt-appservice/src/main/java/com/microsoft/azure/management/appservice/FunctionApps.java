@@ -8,6 +8,7 @@ package com.microsoft.azure.management.appservice;
 
 import com.microsoft.azure.PagedList;
 import com.microsoft.azure.management.apigeneration.Beta;
+import com.microsoft.azure.management.apigeneration.Beta.SinceVersion;
 import com.microsoft.azure.management.apigeneration.Fluent;
 import com.microsoft.azure.management.appservice.implementation.AppServiceManager;
 import com.microsoft.azure.management.appservice.implementation.WebAppsInner;
@@ -20,6 +21,7 @@ import com.microsoft.azure.management.resources.fluentcore.collection.SupportsCr
 import com.microsoft.azure.management.resources.fluentcore.collection.SupportsDeletingById;
 import com.microsoft.azure.management.resources.fluentcore.collection.SupportsListing;
 import com.microsoft.azure.management.resources.fluentcore.model.HasInner;
+import rx.Observable;
 
 /**
  * Entry point for web app management API.
@@ -45,4 +47,46 @@ public interface FunctionApps extends
      * @return list of function information elements
      */
     PagedList<FunctionEnvelope> listFunctions(String resourceGroupName, String name);
+
+    /**
+     * Lists the function apps with the properties returned by the list operation only, i.e. without the
+     * two requests per function app fetching its site configuration and its diagnostic logs configuration.
+     * Both are fetched on the first access to a property they hold, or when the function app is updated.
+     *
+     * @return the function apps
+     */
+    @Beta(SinceVersion.V1_25_0)
+    PagedList<FunctionApp> listLite();
+
+    /**
+     * Lists the function apps with the properties returned by the list operation only, i.e. without the
+     * two requests per function app fetching its site configuration and its diagnostic logs configuration.
+     * Both are fetched on the first access to a property they hold, or when the function app is updated.
+     *
+     * @return an observable emitting the function apps
+     */
+    @Beta(SinceVersion.V1_25_0)
+    Observable<FunctionApp> listLiteAsync();
+
+    /**
+     * Lists the function apps in a resource group with the properties returned by the list operation only,
+     * i.e. without the two requests per function app fetching its site configuration and its diagnostic logs configuration.
+     * Both are fetched on the first access to a property they hold, or when the function app is updated.
+     *
+     * @param resourceGroupName the name of the resource group
+     * @return the function apps
+     */
+    @Beta(SinceVersion.V1_25_0)
+    PagedList<FunctionApp> listLiteByResourceGroup(String resourceGroupName);
+
+    /**
+     * Lists the function apps in a resource group with the properties returned by the list operation only,
+     * i.e. without the two requests per function app fetching its site configuration and its diagnostic logs configuration.
+     * Both are fetched on the first access to a property they hold, or when the function app is updated.
+     *
+     * @param resourceGroupName the name of the resource group
+     * @return an observable emitting the function apps
+     */
+    @Beta(SinceVersion.V1_25_0)
+    Observable<FunctionApp> listLiteByResourceGroupAsync(String resourceGroupName);
 }
@@ -6,7 +6,9 @@
 
 package com.microsoft.azure.management.appservice;
 
+import com.microsoft.azure.PagedList;
 import com.microsoft.azure.management.apigeneration.Beta;
+import com.microsoft.azure.management.apigeneration.Beta.SinceVersion;
 import com.microsoft.azure.management.apigeneration.Fluent;
 import com.microsoft.azure.management.appservice.implementation.AppServiceManager;
 import com.microsoft.azure.management.resources.fluentcore.arm.collection.SupportsGettingById;
@@ -17,6 +19,7 @@ import com.microsoft.azure.management.resources.fluentcore.collection.SupportsCr
 import com.microsoft.azure.management.resources.fluentcore.collection.SupportsDeletingById;
 import com.microsoft.azure.management.resources.fluentcore.collection.SupportsDeletingByName;
 import com.microsoft.azure.management.resources.fluentcore.collection.SupportsListing;
+import rx.Observable;
 
 /**
  * Entry point for Azure function app deployment slot management API.
@@ -32,4 +35,24 @@ public interface FunctionDeploymentSlots extends
         SupportsDeletingByName,
         HasManager<AppServiceManager>,
         HasParent<FunctionApp> {
-}
\ No newline at end of file
+
+    /**
+     * Lists the deployment slots with the properties returned by the list operation only, i.e. without the
+     * two requests per deployment slot fetching its site configuration and its diagnostic logs configuration.
+     * Both are fetched on the first access to a property they hold, or when the deployment slot is updated.
+     *
+     * @return the deployment slots
+     */
+    @Beta(SinceVersion.V1_25_0)
+    PagedList<FunctionDeploymentSlot> listLite();
+
+    /**
+     * Lists the deployment slots with the properties returned by the list operation only, i.e. without the
+     * two requests per deployment slot fetching its site configuration and its diagnostic logs configuration.
+     * Both are fetched on the first access to a property they hold, or when the deployment slot is updated.
+     *
+     * @return an observable emitting the deployment slots
+     */
+    @Beta(SinceVersion.V1_25_0)
+    Observable<FunctionDeploymentSlot> listLiteAsync();
+}
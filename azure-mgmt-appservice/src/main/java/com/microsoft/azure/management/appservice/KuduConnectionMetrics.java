@@ -0,0 +1,48 @@
+/**
+ * Copyright (c) Microsoft Corporation. All rights reserved.
+ * Licensed under the MIT License. See License.txt in the project root for
+ * license information.
+ */
+package com.microsoft.azure.management.appservice;
+
+import com.microsoft.azure.management.apigeneration.Beta;
+import com.microsoft.azure.management.apigeneration.Beta.SinceVersion;
+import com.microsoft.azure.management.apigeneration.Fluent;
+
+/**
+ * Connection metrics of the Kudu (SCM site) clients used by the web apps, function apps and deployment
+ * slots of an App Service manager to deploy and stream logs. The clients share one connection pool.
+ */
+@Fluent(ContainerName = "/Microsoft.Azure.Management.AppService.Fluent")
+@Beta(SinceVersion.V1_25_0)
+public interface KuduConnectionMetrics {
+    /**
+     * @return the number of requests sent to the SCM sites
+     */
+    long requestCount();
+
+    /**
+     * @return the number of connections opened to the SCM sites
+     */
+    long connectionCount();
+
+    /**
+     * @return the number of requests sent on a connection opened for a previous request
+     */
+    long reusedConnectionCount();
+
+    /**
+     * @return the number of connections in the shared pool, idle or in use
+     */
+    int pooledConnectionCount();
+
+    /**
+     * @return the number of idle connections in the shared pool
+     */
+    int idleConnectionCount();
+
+    /**
+     * @return the number of SCM hosts with a cached client
+     */
+    int clientCount();
+}
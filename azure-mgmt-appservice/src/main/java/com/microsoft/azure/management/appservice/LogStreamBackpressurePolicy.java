@@ -0,0 +1,34 @@
+/**
+ * Copyright (c) Microsoft Corporation. All rights reserved.
+ * Licensed under the MIT License. See License.txt in the project root for
+ * license information.
+ */
+
+package com.microsoft.azure.management.appservice;
+
+import com.microsoft.azure.management.apigeneration.Beta;
+import com.microsoft.azure.management.apigeneration.Beta.SinceVersion;
+
+/**
+ * Defines what a log stream does when the subscriber consumes the logs slower than they are produced.
+ */
+@Beta(SinceVersion.V1_25_0)
+public enum LogStreamBackpressurePolicy {
+    /**
+     * Reads from the connection only as fast as the subscriber requests chunks, so that the heap use is
+     * bounded by the requested chunks and the server is slowed down by TCP flow control.
+     */
+    BOUNDED,
+
+    /**
+     * Keeps reading from the connection and buffers up to the configured number of chunks, dropping the
+     * newly read chunks while the buffer is full.
+     */
+    DROP,
+
+    /**
+     * Keeps reading from the connection and buffers up to the configured number of chunks, dropping the
+     * oldest buffered chunks while the buffer is full, so that the subscriber sees the latest logs.
+     */
+    LATEST
+}
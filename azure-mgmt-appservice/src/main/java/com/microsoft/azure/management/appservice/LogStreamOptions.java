@@ -0,0 +1,140 @@
+/**
+ * Copyright (c) Microsoft Corporation. All rights reserved.
+ * Licensed under the MIT License. See License.txt in the project root for
+ * license information.
+ */
+
+package com.microsoft.azure.management.appservice;
+
+import com.microsoft.azure.management.apigeneration.Beta;
+import com.microsoft.azure.management.apigeneration.Beta.SinceVersion;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Options for streaming the logs of a web app or function app as chunks of bytes.
+ * <p>
+ * Each chunk holds one or more complete lines of UTF-8 encoded logs, unless a single line is
+ * larger than the chunk size, in which case the line spans several chunks.
+ */
+@Beta(SinceVersion.V1_25_0)
+public final class LogStreamOptions {
+    private static final int DEFAULT_CHUNK_SIZE = 8 * 1024;
+    private static final int DEFAULT_BUFFER_SIZE = 16;
+    private static final int DEFAULT_MAX_RECONNECT_ATTEMPTS = 5;
+    private static final long DEFAULT_RECONNECT_DELAY_MILLIS = 1000;
+
+    private LogStreamBackpressurePolicy backpressurePolicy = LogStreamBackpressurePolicy.BOUNDED;
+    private int chunkSize = DEFAULT_CHUNK_SIZE;
+    private int bufferSize = DEFAULT_BUFFER_SIZE;
+    private int maxReconnectAttempts = DEFAULT_MAX_RECONNECT_ATTEMPTS;
+    private long reconnectDelayMillis = DEFAULT_RECONNECT_DELAY_MILLIS;
+
+    /**
+     * Specifies what to do when the subscriber consumes the logs slower than they are produced.
+     *
+     * @param backpressurePolicy the policy, {@link LogStreamBackpressurePolicy#BOUNDED} by default
+     * @return the options
+     */
+    public LogStreamOptions withBackpressurePolicy(LogStreamBackpressurePolicy backpressurePolicy) {
+        if (backpressurePolicy == null) {
+            throw new IllegalArgumentException("backpressurePolicy cannot be null");
+        }
+        this.backpressurePolicy = backpressurePolicy;
+        return this;
+    }
+
+    /**
+     * Specifies the maximum size of a chunk.
+     *
+     * @param chunkSize the size in bytes, 8 KB by default
+     * @return the options
+     */
+    public LogStreamOptions withChunkSize(int chunkSize) {
+        if (chunkSize <= 0) {
+            throw new IllegalArgumentException("chunkSize must be positive");
+        }
+        this.chunkSize = chunkSize;
+        return this;
+    }
+
+    /**
+     * Specifies the number of chunks buffered for a slow subscriber with the
+     * {@link LogStreamBackpressurePolicy#DROP} and {@link LogStreamBackpressurePolicy#LATEST} policies.
+     *
+     * @param bufferSize the number of chunks, 16 by default
+     * @return the options
+     */
+    public LogStreamOptions withBufferSize(int bufferSize) {
+        if (bufferSize <= 0) {
+            throw new IllegalArgumentException("bufferSize must be positive");
+        }
+        this.bufferSize = bufferSize;
+        return this;
+    }
+
+    /**
+     * Specifies how many times in a row the stream reconnects after the connection fails or is closed
+     * by the service. The count is reset once logs are received again.
+     *
+     * @param maxReconnectAttempts the number of attempts, 0 to end the stream when the connection ends; 5 by default
+     * @return the options
+     */
+    public LogStreamOptions withMaxReconnectAttempts(int maxReconnectAttempts) {
+        if (maxReconnectAttempts < 0) {
+            throw new IllegalArgumentException("maxReconnectAttempts must not be negative");
+        }
+        this.maxReconnectAttempts = maxReconnectAttempts;
+        return this;
+    }
+
+    /**
+     * Specifies the delay before the first reconnect attempt, doubled for every following attempt.
+     *
+     * @param delay the delay, 1 second by default
+     * @param unit the unit of the delay
+     * @return the options
+     */
+    public LogStreamOptions withReconnectDelay(long delay, TimeUnit unit) {
+        if (delay < 0) {
+            throw new IllegalArgumentException("delay must not be negative");
+        }
+        this.reconnectDelayMillis = unit.toMillis(delay);
+        return this;
+    }
+
+    /**
+     * @return the policy applied when the subscriber consumes the logs slower than they are produced
+     */
+    public LogStreamBackpressurePolicy backpressurePolicy() {
+        return this.backpressurePolicy;
+    }
+
+    /**
+     * @return the maximum size of a chunk in bytes
+     */
+    public int chunkSize() {
+        return this.chunkSize;
+    }
+
+    /**
+     * @return the number of chunks buffered for a slow subscriber
+     */
+    public int bufferSize() {
+        return this.bufferSize;
+    }
+
+    /**
+     * @return the number of consecutive reconnect attempts
+     */
+    public int maxReconnectAttempts() {
+        return this.maxReconnectAttempts;
+    }
+
+    /**
+     * @return the delay before the first reconnect attempt in milliseconds
+     */
+    public long reconnectDelayMillis() {
+        return this.reconnectDelayMillis;
+    }
+}
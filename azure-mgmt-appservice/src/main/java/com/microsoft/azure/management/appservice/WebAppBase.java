@@ -24,6 +24,7 @@ import rx.Observable;
 
 import java.io.File;
 import java.io.InputStream;
+import java.nio.channels.WritableByteChannel;
 import java.util.List;
 import java.util.Map;
 import java.util.Set;
@@ -393,6 +394,48 @@ public interface WebAppBase extends
     @Method
     Observable<byte[]> getContainerLogsZipAsync();
 
+    /**
+     * Writes the last lines of docker logs for a Linux web app to a channel, through a bounded buffer.
+     *
+     * @param channel the channel to write the logs to
+     * @return the number of bytes written
+     */
+    @Beta(SinceVersion.V1_25_0)
+    @Method
+    long writeContainerLogs(WritableByteChannel channel);
+
+    /**
+     * Writes the last lines of docker logs for a Linux web app to a channel, through a bounded buffer.
+     *
+     * @param channel the channel to write the logs to
+     * @return an observable emitting the number of bytes written
+     */
+    @Beta(SinceVersion.V1_25_0)
+    @Method
+    Observable<Long> writeContainerLogsAsync(WritableByteChannel channel);
+
+    /**
+     * Writes the zipped archive of docker logs for a Linux web app to a channel, through a bounded
+     * buffer, so that large archives are not held in memory.
+     *
+     * @param channel the channel to write the archive to, such as a {@link java.nio.channels.FileChannel}
+     * @return the number of bytes written
+     */
+    @Beta(SinceVersion.V1_25_0)
+    @Method
+    long writeContainerLogsZip(WritableByteChannel channel);
+
+    /**
+     * Writes the zipped archive of docker logs for a Linux web app to a channel, through a bounded
+     * buffer, so that large archives are not held in memory.
+     *
+     * @param channel the channel to write the archive to, such as a {@link java.nio.channels.FileChannel}
+     * @return an observable emitting the number of bytes written
+     */
+    @Beta(SinceVersion.V1_25_0)
+    @Method
+    Observable<Long> writeContainerLogsZipAsync(WritableByteChannel channel);
+
     /**
      * @return a open stream to the application logs
      */
@@ -463,6 +506,61 @@ public interface WebAppBase extends
     @Method
     Observable<String> streamAllLogsAsync();
 
+    /**
+     * Streams the application logs as chunks of bytes, each holding complete lines unless a line is larger
+     * than the chunk size, with the backpressure and reconnection behavior specified in the options.
+     *
+     * @param options the options of the stream
+     * @return an Observable streaming application logs
+     */
+    @Beta(SinceVersion.V1_25_0)
+    @Method
+    Observable<byte[]> streamApplicationLogsAsync(LogStreamOptions options);
+
+    /**
+     * Streams the HTTP logs as chunks of bytes, each holding complete lines unless a line is larger
+     * than the chunk size, with the backpressure and reconnection behavior specified in the options.
+     *
+     * @param options the options of the stream
+     * @return an Observable streaming HTTP logs
+     */
+    @Beta(SinceVersion.V1_25_0)
+    @Method
+    Observable<byte[]> streamHttpLogsAsync(LogStreamOptions options);
+
+    /**
+     * Streams the trace logs as chunks of bytes, each holding complete lines unless a line is larger
+     * than the chunk size, with the backpressure and reconnection behavior specified in the options.
+     *
+     * @param options the options of the stream
+     * @return an Observable streaming trace logs
+     */
+    @Beta(SinceVersion.V1_25_0)
+    @Method
+    Observable<byte[]> streamTraceLogsAsync(LogStreamOptions options);
+
+    /**
+     * Streams the deployment logs as chunks of bytes, each holding complete lines unless a line is larger
+     * than the chunk size, with the backpressure and reconnection behavior specified in the options.
+     *
+     * @param options the options of the stream
+     * @return an Observable streaming deployment logs
+     */
+    @Beta(SinceVersion.V1_25_0)
+    @Method
+    Observable<byte[]> streamDeploymentLogsAsync(LogStreamOptions options);
+
+    /**
+     * Streams the all logs as chunks of bytes, each holding complete lines unless a line is larger
+     * than the chunk size, with the backpressure and reconnection behavior specified in the options.
+     *
+     * @param options the options of the stream
+     * @return an Observable streaming all logs
+     */
+    @Beta(SinceVersion.V1_25_0)
+    @Method
+    Observable<byte[]> streamAllLogsAsync(LogStreamOptions options);
+
     /**
      * Verifies the ownership of the domain for a certificate order by verifying a hostname
      * of the domain is bound to this web app.
@@ -594,6 +692,25 @@ public interface WebAppBase extends
     @Beta(SinceVersion.V1_14_0)
     Completable zipDeployAsync(InputStream zipFile);
 
+    /**
+     * Deploys a ZIP file onto the Azure specialized Java SE image on this web app. The file is streamed
+     * from disk and the upload progress is reported to the listener.
+     * @param zipFile the ZIP file to upload
+     * @param progressListener the listener notified of the upload progress
+     */
+    @Beta(SinceVersion.V1_25_0)
+    void zipDeploy(File zipFile, DeploymentProgressListener progressListener);
+
+    /**
+     * Deploys a ZIP file onto the Azure specialized Java SE image on this web app. The file is streamed
+     * from disk and the upload progress is reported to the listener.
+     * @param zipFile the ZIP file to upload
+     * @param progressListener the listener notified of the upload progress
+     * @return a completable of the operation
+     */
+    @Beta(SinceVersion.V1_25_0)
+    Completable zipDeployAsync(File zipFile, DeploymentProgressListener progressListener);
+
     /**************************************************************
      * Fluent interfaces to provision a Web App or deployment slot.
      **************************************************************/
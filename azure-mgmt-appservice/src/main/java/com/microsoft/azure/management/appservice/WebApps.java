@@ -6,7 +6,9 @@
 
 package com.microsoft.azure.management.appservice;
 
+import com.microsoft.azure.PagedList;
 import com.microsoft.azure.management.apigeneration.Beta;
+import com.microsoft.azure.management.apigeneration.Beta.SinceVersion;
 import com.microsoft.azure.management.apigeneration.Fluent;
 import com.microsoft.azure.management.appservice.implementation.AppServiceManager;
 import com.microsoft.azure.management.appservice.implementation.WebAppsInner;
@@ -19,6 +21,7 @@ import com.microsoft.azure.management.resources.fluentcore.collection.SupportsCr
 import com.microsoft.azure.management.resources.fluentcore.collection.SupportsDeletingById;
 import com.microsoft.azure.management.resources.fluentcore.collection.SupportsListing;
 import com.microsoft.azure.management.resources.fluentcore.model.HasInner;
+import rx.Observable;
 
 /**
  * Entry point for web app management API.
@@ -35,4 +38,56 @@ public interface WebApps extends
         SupportsDeletingByResourceGroup,
         HasManager<AppServiceManager>,
         HasInner<WebAppsInner> {
+
+    /**
+     * Lists the web apps, fetching the next page of web apps and their configurations while the
+     * current page is consumed. Meant for enumerating all the web apps: stopping early costs the
+     * requests of one page that is not used.
+     *
+     * @return the web apps
+     */
+    @Beta(SinceVersion.V1_25_0)
+    PagedList<WebApp> listWithReadAhead();
+
+    /**
+     * Lists the web apps with the properties returned by the list operation only, i.e. without the
+     * two requests per web app fetching its site configuration and its diagnostic logs configuration.
+     * Both are fetched on the first access to a property they hold, or when the web app is updated.
+     *
+     * @return the web apps
+     */
+    @Beta(SinceVersion.V1_25_0)
+    PagedList<WebApp> listLite();
+
+    /**
+     * Lists the web apps with the properties returned by the list operation only, i.e. without the
+     * two requests per web app fetching its site configuration and its diagnostic logs configuration.
+     * Both are fetched on the first access to a property they hold, or when the web app is updated.
+     *
+     * @return an observable emitting the web apps
+     */
+    @Beta(SinceVersion.V1_25_0)
+    Observable<WebApp> listLiteAsync();
+
+    /**
+     * Lists the web apps in a resource group with the properties returned by the list operation only,
+     * i.e. without the two requests per web app fetching its site configuration and its diagnostic logs configuration.
+     * Both are fetched on the first access to a property they hold, or when the web app is updated.
+     *
+     * @param resourceGroupName the name of the resource group
+     * @return the web apps
+     */
+    @Beta(SinceVersion.V1_25_0)
+    PagedList<WebApp> listLiteByResourceGroup(String resourceGroupName);
+
+    /**
+     * Lists the web apps in a resource group with the properties returned by the list operation only,
+     * i.e. without the two requests per web app fetching its site configuration and its diagnostic logs configuration.
+     * Both are fetched on the first access to a property they hold, or when the web app is updated.
+     *
+     * @param resourceGroupName the name of the resource group
+     * @return an observable emitting the web apps
+     */
+    @Beta(SinceVersion.V1_25_0)
+    Observable<WebApp> listLiteByResourceGroupAsync(String resourceGroupName);
 }
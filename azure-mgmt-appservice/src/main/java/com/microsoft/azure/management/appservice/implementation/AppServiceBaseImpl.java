@@ -34,6 +34,7 @@ import rx.functions.Func1;
 import java.io.IOException;
 import java.io.InputStream;
 import java.io.InputStreamReader;
+import java.nio.channels.WritableByteChannel;
 import java.util.Collections;
 import java.util.List;
 import java.util.Map;
@@ -372,6 +373,33 @@ abstract class AppServiceBaseImpl<
                 });
     }
 
+    @Override
+    public long writeContainerLogs(WritableByteChannel channel) {
+        return writeContainerLogsAsync(channel).toBlocking().single();
+    }
+
+    @Override
+    public Observable<Long> writeContainerLogsAsync(WritableByteChannel channel) {
+        return manager().inner().webApps().getWebSiteContainerLogsAsync(resourceGroupName(), name())
+                .map(copyTo(channel));
+    }
+
+    @Override
+    public long writeContainerLogsZip(WritableByteChannel channel) {
+        return writeContainerLogsZipAsync(channel).toBlocking().single();
+    }
+
+    @Override
+    public Observable<Long> writeContainerLogsZipAsync(WritableByteChannel channel) {
+        return manager().inner().webApps().getContainerLogsZipAsync(resourceGroupName(), name())
+                .map(copyTo(channel));
+    }
+
+    @Override
+    Observable<SiteLogsConfigInner> getDiagnosticLogsConfigInner() {
+        return manager().inner().webApps().getDiagnosticLogsConfigurationAsync(resourceGroupName(), name());
+    }
+
     @Override
     Observable<SiteLogsConfigInner> updateDiagnosticLogsConfig(SiteLogsConfigInner siteLogsConfigInner) {
         return manager().inner().webApps().updateDiagnosticLogsConfigAsync(resourceGroupName(), name(), siteLogsConfigInner);
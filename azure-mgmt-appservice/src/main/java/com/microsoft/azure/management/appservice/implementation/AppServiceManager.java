@@ -10,11 +10,13 @@ import com.microsoft.azure.AzureEnvironment;
 import com.microsoft.azure.AzureResponseBuilder;
 import com.microsoft.azure.credentials.AzureTokenCredentials;
 import com.microsoft.azure.management.apigeneration.Beta;
+import com.microsoft.azure.management.apigeneration.Beta.SinceVersion;
 import com.microsoft.azure.management.appservice.AppServiceCertificateOrders;
 import com.microsoft.azure.management.appservice.AppServiceCertificates;
 import com.microsoft.azure.management.appservice.AppServiceDomains;
 import com.microsoft.azure.management.appservice.AppServicePlans;
 import com.microsoft.azure.management.appservice.FunctionApps;
+import com.microsoft.azure.management.appservice.KuduConnectionMetrics;
 import com.microsoft.azure.management.appservice.WebApps;
 import com.microsoft.azure.management.graphrbac.implementation.GraphRbacManager;
 import com.microsoft.azure.management.keyvault.implementation.KeyVaultManager;
@@ -44,6 +46,7 @@ public final class AppServiceManager extends Manager<AppServiceManager, WebSiteM
     private AppServiceDomains appServiceDomains;
     private FunctionApps functionApps;
     private RestClient restClient;
+    private KuduClientFactory kuduClientFactory;
 
     /**
      * Get a Configurable instance that can be used to create StorageManager with optional configuration.
@@ -67,8 +70,8 @@ public final class AppServiceManager extends Manager<AppServiceManager, WebSiteM
                 .withCredentials(credentials)
                 .withSerializerAdapter(new AzureJacksonAdapter())
                 .withResponseBuilderFactory(new AzureResponseBuilder.Factory())
-                .withInterceptor(new ProviderRegistrationInterceptor(credentials))
-                .withInterceptor(new ResourceManagerThrottlingInterceptor())
+                .withInterceptor(new ProviderRegistrationInterceptor())
+                .withInterceptor(new ResourceManagerThrottlingInterceptor(credentials.domain()))
                 .build(), credentials.domain(), subscriptionId);
     }
 
@@ -143,6 +146,24 @@ public final class AppServiceManager extends Manager<AppServiceManager, WebSiteM
         return restClient;
     }
 
+    /**
+     * @return the factory of the Kudu clients of the web apps
+     */
+    synchronized KuduClientFactory kuduClientFactory() {
+        if (kuduClientFactory == null) {
+            kuduClientFactory = new KuduClientFactory(restClient);
+        }
+        return kuduClientFactory;
+    }
+
+    /**
+     * @return the connection metrics of the Kudu clients used to deploy and stream logs
+     */
+    @Beta(SinceVersion.V1_25_0)
+    public KuduConnectionMetrics kuduConnectionMetrics() {
+        return kuduClientFactory();
+    }
+
 
     /**
      * @return the web app management API entry point
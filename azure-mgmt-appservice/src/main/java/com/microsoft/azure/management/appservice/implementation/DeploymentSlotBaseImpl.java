@@ -30,6 +30,7 @@ import rx.functions.Func1;
 import java.io.IOException;
 import java.io.InputStream;
 import java.io.InputStreamReader;
+import java.nio.channels.WritableByteChannel;
 import java.util.Collections;
 import java.util.List;
 import java.util.Map;
@@ -172,7 +173,7 @@ abstract class DeploymentSlotBaseImpl<
 
     @SuppressWarnings("unchecked")
     public FluentImplT withConfigurationFromDeploymentSlot(FluentT slot) {
-        this.siteConfig = ((WebAppBaseImpl) slot).siteConfig;
+        this.siteConfig = ((WebAppBaseImpl) slot).siteConfig();
         configurationSource = slot;
         return (FluentImplT) this;
     }
@@ -425,6 +426,33 @@ abstract class DeploymentSlotBaseImpl<
                 });
     }
 
+    @Override
+    public long writeContainerLogs(WritableByteChannel channel) {
+        return writeContainerLogsAsync(channel).toBlocking().single();
+    }
+
+    @Override
+    public Observable<Long> writeContainerLogsAsync(WritableByteChannel channel) {
+        return manager().inner().webApps().getWebSiteContainerLogsSlotAsync(resourceGroupName(), parent().name(), name())
+                .map(copyTo(channel));
+    }
+
+    @Override
+    public long writeContainerLogsZip(WritableByteChannel channel) {
+        return writeContainerLogsZipAsync(channel).toBlocking().single();
+    }
+
+    @Override
+    public Observable<Long> writeContainerLogsZipAsync(WritableByteChannel channel) {
+        return manager().inner().webApps().getContainerLogsZipSlotAsync(resourceGroupName(), parent().name(), name())
+                .map(copyTo(channel));
+    }
+
+    @Override
+    Observable<SiteLogsConfigInner> getDiagnosticLogsConfigInner() {
+        return manager().inner().webApps().getDiagnosticLogsConfigurationSlotAsync(resourceGroupName(), parent().name(), name());
+    }
+
     @Override
     Observable<SiteLogsConfigInner> updateDiagnosticLogsConfig(SiteLogsConfigInner siteLogsConfigInner) {
         return manager().inner().webApps().updateDiagnosticLogsConfigSlotAsync(resourceGroupName(), parent().name(), name(), siteLogsConfigInner);
@@ -7,13 +7,12 @@
 package com.microsoft.azure.management.appservice.implementation;
 
 import com.microsoft.azure.management.apigeneration.LangDefinition;
+import com.microsoft.azure.management.appservice.DeploymentProgressListener;
 import com.microsoft.azure.management.appservice.DeploymentSlot;
 import com.microsoft.azure.management.appservice.WebApp;
 import rx.Completable;
 
 import java.io.File;
-import java.io.FileInputStream;
-import java.io.IOException;
 import java.io.InputStream;
 
 /**
@@ -43,7 +42,7 @@ class DeploymentSlotImpl
 
     @Override
     public DeploymentSlotImpl withConfigurationFromWebApp(WebApp webApp) {
-        this.siteConfig = ((WebAppBaseImpl) webApp).siteConfig;
+        this.siteConfig = ((WebAppBaseImpl) webApp).siteConfig();
         configurationSource = webApp;
         return this;
     }
@@ -70,11 +69,17 @@ class DeploymentSlotImpl
 
     @Override
     public Completable warDeployAsync(File warFile, String appName) {
-        try {
-            return warDeployAsync(new FileInputStream(warFile), appName);
-        } catch (IOException e) {
-            return Completable.error(e);
-        }
+        return warDeployAsync(warFile, appName, null);
+    }
+
+    @Override
+    public void warDeploy(File warFile, String appName, DeploymentProgressListener progressListener) {
+        warDeployAsync(warFile, appName, progressListener).await();
+    }
+
+    @Override
+    public Completable warDeployAsync(File warFile, String appName, DeploymentProgressListener progressListener) {
+        return kuduClient.warDeployAsync(warFile, appName, progressListener);
     }
 
     @Override
@@ -109,10 +114,16 @@ class DeploymentSlotImpl
 
     @Override
     public Completable zipDeployAsync(File zipFile) {
-        try {
-            return zipDeployAsync(new FileInputStream(zipFile));
-        } catch (IOException e) {
-            return Completable.error(e);
-        }
+        return zipDeployAsync(zipFile, null);
+    }
+
+    @Override
+    public void zipDeploy(File zipFile, DeploymentProgressListener progressListener) {
+        zipDeployAsync(zipFile, progressListener).await();
+    }
+
+    @Override
+    public Completable zipDeployAsync(File zipFile, DeploymentProgressListener progressListener) {
+        return kuduClient.zipDeployAsync(zipFile, progressListener).concatWith(stopAsync()).concatWith(startAsync());
     }
 }
\ No newline at end of file
@@ -34,7 +34,11 @@ class DeploymentSlotsImpl
                         WebApp>
         implements DeploymentSlots {
 
+    // The maximum number of slots whose configurations are fetched concurrently, as in list()
+    private static final int MAX_CONCURRENT_CONVERSIONS = 16;
+
     private final PagedListConverter<SiteInner, DeploymentSlot> converter;
+    private final PagedListConverter<SiteInner, DeploymentSlot> liteConverter;
     private final WebAppImpl parent;
 
     DeploymentSlotsImpl(final WebAppImpl parent) {
@@ -56,6 +60,12 @@ class DeploymentSlotsImpl
                         });
             }
         };
+        liteConverter = new PagedListConverter<SiteInner, DeploymentSlot>() {
+            @Override
+            public Observable<DeploymentSlot> typeConvertAsync(SiteInner siteInner) {
+                return Observable.just((DeploymentSlot) wrapLiteModel(siteInner));
+            }
+        };
     }
 
     @Override
@@ -148,9 +158,29 @@ class DeploymentSlotsImpl
                     public Observable<DeploymentSlot> call(SiteInner siteInner) {
                         return converter.typeConvertAsync(siteInner);
                     }
+                }, MAX_CONCURRENT_CONVERSIONS);
+    }
+
+    @Override
+    public PagedList<DeploymentSlot> listLite() {
+        return liteConverter.convert(innerCollection.listSlots(parent.resourceGroupName(), parent.name()));
+    }
+
+    @Override
+    public Observable<DeploymentSlot> listLiteAsync() {
+        return convertPageToInnerAsync(innerCollection.listSlotsAsync(parent.resourceGroupName(), parent.name()))
+                .map(new Func1<SiteInner, DeploymentSlot>() {
+                    @Override
+                    public DeploymentSlot call(SiteInner siteInner) {
+                        return wrapLiteModel(siteInner);
+                    }
                 });
     }
 
+    private DeploymentSlotImpl wrapLiteModel(SiteInner inner) {
+        return wrapModel(inner).withConfigurationLoadedOnDemand();
+    }
+
     private DeploymentSlotImpl wrapModel(SiteInner inner, SiteConfigResourceInner siteConfig, SiteLogsConfigInner logConfig) {
         if (inner == null) {
             return null;
@@ -0,0 +1,86 @@
+/**
+ * Copyright (c) Microsoft Corporation. All rights reserved.
+ * Licensed under the MIT License. See License.txt in the project root for
+ * license information.
+ */
+
+package com.microsoft.azure.management.appservice.implementation;
+
+import com.microsoft.azure.management.appservice.DeploymentProgressListener;
+import okhttp3.MediaType;
+import okhttp3.RequestBody;
+import okio.BufferedSink;
+import okio.Okio;
+import okio.Source;
+
+import java.io.File;
+import java.io.IOException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * A request body streaming a file from disk in chunks. The file is re-opened every time the body is
+ * written, so a retried request is sent from the file rather than from a copy in memory.
+ */
+final class FileRequestBody extends RequestBody {
+    private static final long CHUNK_SIZE = 64 * 1024;
+    private static final long PROGRESS_INTERVAL_NANOS = TimeUnit.MILLISECONDS.toNanos(500);
+
+    private final MediaType contentType;
+    private final File file;
+    private final DeploymentProgressListener progressListener;
+    private final AtomicInteger attempts = new AtomicInteger();
+
+    FileRequestBody(MediaType contentType, File file, DeploymentProgressListener progressListener) {
+        this.contentType = contentType;
+        this.file = file;
+        this.progressListener = progressListener;
+    }
+
+    @Override
+    public MediaType contentType() {
+        return contentType;
+    }
+
+    @Override
+    public long contentLength() {
+        return file.length();
+    }
+
+    @Override
+    public void writeTo(BufferedSink sink) throws IOException {
+        int attempt = attempts.incrementAndGet();
+        long totalBytes = file.length();
+        long start = System.nanoTime();
+        long lastProgress = start;
+        long uploaded = 0;
+        Source source = Okio.source(file);
+        try {
+            long read;
+            while ((read = source.read(sink.buffer(), CHUNK_SIZE)) != -1) {
+                sink.emitCompleteSegments();
+                uploaded += read;
+                long now = System.nanoTime();
+                if (progressListener != null && now - lastProgress >= PROGRESS_INTERVAL_NANOS) {
+                    progressListener.onProgress(attempt, uploaded, totalBytes, bytesPerSecond(uploaded, now - start));
+                    lastProgress = now;
+                }
+            }
+            sink.flush();
+        } finally {
+            source.close();
+        }
+        if (progressListener != null) {
+            long elapsed = System.nanoTime() - start;
+            progressListener.onProgress(attempt, uploaded, totalBytes, bytesPerSecond(uploaded, elapsed));
+            progressListener.onUploaded(attempt, uploaded, TimeUnit.NANOSECONDS.toMillis(elapsed));
+        }
+    }
+
+    private static double bytesPerSecond(long bytes, long elapsedNanos) {
+        if (elapsedNanos <= 0) {
+            return 0;
+        }
+        return bytes * (double) TimeUnit.SECONDS.toNanos(1) / elapsedNanos;
+    }
+}
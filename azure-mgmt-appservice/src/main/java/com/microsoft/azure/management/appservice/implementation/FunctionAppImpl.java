@@ -11,8 +11,10 @@ import com.google.common.io.BaseEncoding;
 import com.microsoft.azure.CloudException;
 import com.microsoft.azure.management.apigeneration.LangDefinition;
 import com.microsoft.azure.management.appservice.AppServicePlan;
+import com.microsoft.azure.management.appservice.DeploymentProgressListener;
 import com.microsoft.azure.management.appservice.FunctionApp;
 import com.microsoft.azure.management.appservice.FunctionDeploymentSlots;
+import com.microsoft.azure.management.appservice.LogStreamOptions;
 import com.microsoft.azure.management.appservice.NameValuePair;
 import com.microsoft.azure.management.appservice.OperatingSystem;
 import com.microsoft.azure.management.appservice.PricingTier;
@@ -44,8 +46,6 @@ import rx.functions.Func1;
 import rx.functions.Func2;
 
 import java.io.File;
-import java.io.FileInputStream;
-import java.io.IOException;
 import java.io.InputStream;
 import java.util.HashMap;
 import java.util.List;
@@ -320,77 +320,83 @@ class FunctionAppImpl
     }
 
     @Override
-    public Observable<String> streamApplicationLogsAsync() {
+    public Observable<byte[]> streamApplicationLogsAsync(final LogStreamOptions options) {
         return functionService.ping()
                 .mergeWith(functionService.getHostStatus())
                 .last()
-                .flatMap(new Func1<Void, Observable<String>>() {
+                .flatMap(new Func1<Void, Observable<byte[]>>() {
                     @Override
-                    public Observable<String> call(Void aVoid) {
-                        return FunctionAppImpl.super.streamApplicationLogsAsync();
+                    public Observable<byte[]> call(Void aVoid) {
+                        return FunctionAppImpl.super.streamApplicationLogsAsync(options);
                     }
                 });
     }
 
     @Override
-    public Observable<String> streamHttpLogsAsync() {
+    public Observable<byte[]> streamHttpLogsAsync(final LogStreamOptions options) {
         return functionService.ping()
                 .mergeWith(functionService.getHostStatus())
                 .last()
-                .flatMap(new Func1<Void, Observable<String>>() {
+                .flatMap(new Func1<Void, Observable<byte[]>>() {
                     @Override
-                    public Observable<String> call(Void aVoid) {
-                        return FunctionAppImpl.super.streamHttpLogsAsync();
+                    public Observable<byte[]> call(Void aVoid) {
+                        return FunctionAppImpl.super.streamHttpLogsAsync(options);
                     }
                 });
     }
 
     @Override
-    public Observable<String> streamTraceLogsAsync() {
+    public Observable<byte[]> streamTraceLogsAsync(final LogStreamOptions options) {
         return functionService.ping()
                 .mergeWith(functionService.getHostStatus())
                 .last()
-                .flatMap(new Func1<Void, Observable<String>>() {
+                .flatMap(new Func1<Void, Observable<byte[]>>() {
                     @Override
-                    public Observable<String> call(Void aVoid) {
-                        return FunctionAppImpl.super.streamTraceLogsAsync();
+                    public Observable<byte[]> call(Void aVoid) {
+                        return FunctionAppImpl.super.streamTraceLogsAsync(options);
                     }
                 });
     }
 
     @Override
-    public Observable<String> streamDeploymentLogsAsync() {
+    public Observable<byte[]> streamDeploymentLogsAsync(final LogStreamOptions options) {
         return functionService.ping()
                 .mergeWith(functionService.getHostStatus())
                 .last()
-                .flatMap(new Func1<Void, Observable<String>>() {
+                .flatMap(new Func1<Void, Observable<byte[]>>() {
                     @Override
-                    public Observable<String> call(Void aVoid) {
-                        return FunctionAppImpl.super.streamDeploymentLogsAsync();
+                    public Observable<byte[]> call(Void aVoid) {
+                        return FunctionAppImpl.super.streamDeploymentLogsAsync(options);
                     }
                 });
     }
 
     @Override
-    public Observable<String> streamAllLogsAsync() {
+    public Observable<byte[]> streamAllLogsAsync(final LogStreamOptions options) {
         return functionService.ping()
                 .mergeWith(functionService.getHostStatus())
                 .last()
-                .flatMap(new Func1<Void, Observable<String>>() {
+                .flatMap(new Func1<Void, Observable<byte[]>>() {
                     @Override
-                    public Observable<String> call(Void aVoid) {
-                        return FunctionAppImpl.super.streamAllLogsAsync();
+                    public Observable<byte[]> call(Void aVoid) {
+                        return FunctionAppImpl.super.streamAllLogsAsync(options);
                     }
                 });
     }
 
     @Override
     public Completable zipDeployAsync(File zipFile) {
-        try {
-            return zipDeployAsync(new FileInputStream(zipFile));
-        } catch (IOException e) {
-            return Completable.error(e);
-        }
+        return zipDeployAsync(zipFile, null);
+    }
+
+    @Override
+    public void zipDeploy(File zipFile, DeploymentProgressListener progressListener) {
+        zipDeployAsync(zipFile, progressListener).await();
+    }
+
+    @Override
+    public Completable zipDeployAsync(File zipFile, DeploymentProgressListener progressListener) {
+        return kuduClient.zipDeployAsync(zipFile, progressListener);
     }
 
     @Override
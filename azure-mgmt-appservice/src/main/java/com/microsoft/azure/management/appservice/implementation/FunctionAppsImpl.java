@@ -6,6 +6,7 @@
 
 package com.microsoft.azure.management.appservice.implementation;
 
+import com.microsoft.azure.Page;
 import com.microsoft.azure.PagedList;
 import com.microsoft.azure.management.apigeneration.LangDefinition;
 import com.microsoft.azure.management.appservice.FunctionApp;
@@ -32,6 +33,7 @@ class FunctionAppsImpl
         implements FunctionApps {
 
     private final PagedListConverter<SiteInner, FunctionApp> converter;
+    private final PagedListConverter<SiteInner, FunctionApp> liteConverter;
 
     FunctionAppsImpl(final AppServiceManager manager) {
         super(manager.inner().webApps(), manager);
@@ -51,9 +53,60 @@ class FunctionAppsImpl
 
             @Override
             protected boolean filter(SiteInner inner) {
-                return "functionapp".equalsIgnoreCase(inner.kind());
+                return isFunctionApp(inner);
             }
         };
+        liteConverter = new PagedListConverter<SiteInner, FunctionApp>() {
+            @Override
+            public Observable<FunctionApp> typeConvertAsync(SiteInner siteInner) {
+                return Observable.just((FunctionApp) wrapLiteModel(siteInner));
+            }
+
+            @Override
+            protected boolean filter(SiteInner inner) {
+                return isFunctionApp(inner);
+            }
+        };
+    }
+
+    @Override
+    public PagedList<FunctionApp> listLite() {
+        return liteConverter.convert(this.inner().list());
+    }
+
+    @Override
+    public Observable<FunctionApp> listLiteAsync() {
+        return wrapLitePageAsync(this.inner().listAsync());
+    }
+
+    @Override
+    public PagedList<FunctionApp> listLiteByResourceGroup(String resourceGroupName) {
+        return liteConverter.convert(this.inner().listByResourceGroup(resourceGroupName));
+    }
+
+    @Override
+    public Observable<FunctionApp> listLiteByResourceGroupAsync(String resourceGroupName) {
+        return wrapLitePageAsync(this.inner().listByResourceGroupAsync(resourceGroupName));
+    }
+
+    private Observable<FunctionApp> wrapLitePageAsync(Observable<Page<SiteInner>> innerPage) {
+        return convertPageToInnerAsync(innerPage)
+                .filter(new Func1<SiteInner, Boolean>() {
+                    @Override
+                    public Boolean call(SiteInner siteInner) {
+                        return isFunctionApp(siteInner);
+                    }
+                })
+                .map(new Func1<SiteInner, FunctionApp>() {
+                    @Override
+                    public FunctionApp call(SiteInner siteInner) {
+                        return wrapLiteModel(siteInner);
+                    }
+                });
+    }
+
+    private static boolean isFunctionApp(SiteInner inner) {
+        return "functionapp".equalsIgnoreCase(inner.kind());
     }
 
     @Override
@@ -116,6 +169,10 @@ class FunctionAppsImpl
         return wrapModel(inner, null, null);
     }
 
+    private FunctionAppImpl wrapLiteModel(SiteInner inner) {
+        return wrapModel(inner).withConfigurationLoadedOnDemand();
+    }
+
     private FunctionAppImpl wrapModel(SiteInner inner, SiteConfigResourceInner siteConfig, SiteLogsConfigInner logConfig) {
         if (inner == null) {
             return null;
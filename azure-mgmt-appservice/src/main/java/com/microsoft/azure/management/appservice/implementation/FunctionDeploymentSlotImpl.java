@@ -7,14 +7,13 @@
 package com.microsoft.azure.management.appservice.implementation;
 
 import com.microsoft.azure.management.apigeneration.LangDefinition;
+import com.microsoft.azure.management.appservice.DeploymentProgressListener;
 import com.microsoft.azure.management.appservice.FunctionApp;
 import com.microsoft.azure.management.appservice.FunctionDeploymentSlot;
 import com.microsoft.azure.management.appservice.FunctionDeploymentSlot.DefinitionStages.WithCreate;
 import rx.Completable;
 
 import java.io.File;
-import java.io.FileInputStream;
-import java.io.IOException;
 import java.io.InputStream;
 
 /**
@@ -44,7 +43,7 @@ class FunctionDeploymentSlotImpl
 
     @Override
     public WithCreate withConfigurationFromFunctionApp(FunctionApp app) {
-        this.siteConfig = ((WebAppBaseImpl) app).siteConfig;
+        this.siteConfig = ((WebAppBaseImpl) app).siteConfig();
         configurationSource = app;
         return this;
     }
@@ -66,10 +65,16 @@ class FunctionDeploymentSlotImpl
 
     @Override
     public Completable zipDeployAsync(File zipFile) {
-        try {
-            return zipDeployAsync(new FileInputStream(zipFile));
-        } catch (IOException e) {
-            return Completable.error(e);
-        }
+        return zipDeployAsync(zipFile, null);
+    }
+
+    @Override
+    public void zipDeploy(File zipFile, DeploymentProgressListener progressListener) {
+        zipDeployAsync(zipFile, progressListener).await();
+    }
+
+    @Override
+    public Completable zipDeployAsync(File zipFile, DeploymentProgressListener progressListener) {
+        return kuduClient.zipDeployAsync(zipFile, progressListener);
     }
 }
\ No newline at end of file
@@ -34,7 +34,11 @@ class FunctionDeploymentSlotsImpl
         FunctionApp>
         implements FunctionDeploymentSlots {
 
+    // The maximum number of slots whose configurations are fetched concurrently, as in list()
+    private static final int MAX_CONCURRENT_CONVERSIONS = 16;
+
     private final PagedListConverter<SiteInner, FunctionDeploymentSlot> converter;
+    private final PagedListConverter<SiteInner, FunctionDeploymentSlot> liteConverter;
     private final FunctionAppImpl parent;
 
     FunctionDeploymentSlotsImpl(final FunctionAppImpl parent) {
@@ -56,6 +60,12 @@ class FunctionDeploymentSlotsImpl
                         });
             }
         };
+        liteConverter = new PagedListConverter<SiteInner, FunctionDeploymentSlot>() {
+            @Override
+            public Observable<FunctionDeploymentSlot> typeConvertAsync(SiteInner siteInner) {
+                return Observable.just((FunctionDeploymentSlot) wrapLiteModel(siteInner));
+            }
+        };
     }
 
     @Override
@@ -151,9 +161,29 @@ class FunctionDeploymentSlotsImpl
                     public Observable<FunctionDeploymentSlot> call(SiteInner siteInner) {
                         return converter.typeConvertAsync(siteInner);
                     }
+                }, MAX_CONCURRENT_CONVERSIONS);
+    }
+
+    @Override
+    public PagedList<FunctionDeploymentSlot> listLite() {
+        return liteConverter.convert(innerCollection.listSlots(parent.resourceGroupName(), parent.name()));
+    }
+
+    @Override
+    public Observable<FunctionDeploymentSlot> listLiteAsync() {
+        return convertPageToInnerAsync(innerCollection.listSlotsAsync(parent.resourceGroupName(), parent.name()))
+                .map(new Func1<SiteInner, FunctionDeploymentSlot>() {
+                    @Override
+                    public FunctionDeploymentSlot call(SiteInner siteInner) {
+                        return wrapLiteModel(siteInner);
+                    }
                 });
     }
 
+    private FunctionDeploymentSlotImpl wrapLiteModel(SiteInner inner) {
+        return wrapModel(inner).withConfigurationLoadedOnDemand();
+    }
+
     private FunctionDeploymentSlotImpl wrapModel(SiteInner inner, SiteConfigResourceInner siteConfig, SiteLogsConfigInner logConfig) {
         if (inner == null) {
             return null;
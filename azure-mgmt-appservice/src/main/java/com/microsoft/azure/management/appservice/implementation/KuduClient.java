@@ -8,13 +8,14 @@ package com.microsoft.azure.management.appservice.implementation;
 
 import com.fasterxml.jackson.core.JsonParseException;
 import com.google.common.base.Joiner;
-import com.google.common.io.ByteStreams;
 import com.microsoft.azure.CloudException;
+import com.microsoft.azure.management.appservice.DeploymentProgressListener;
+import com.microsoft.azure.management.appservice.LogStreamOptions;
 import com.microsoft.azure.management.appservice.WebAppBase;
+import com.microsoft.rest.RestClient;
 import okhttp3.MediaType;
 import okhttp3.RequestBody;
 import okhttp3.ResponseBody;
-import okio.BufferedSource;
 import retrofit2.http.Body;
 import retrofit2.http.GET;
 import retrofit2.http.Headers;
@@ -22,25 +23,41 @@ import retrofit2.http.POST;
 import retrofit2.http.Query;
 import retrofit2.http.Streaming;
 import rx.Completable;
-import rx.Emitter;
-import rx.Emitter.BackpressureMode;
 import rx.Observable;
 import rx.exceptions.Exceptions;
 import rx.functions.Action1;
+import rx.functions.Func0;
 import rx.functions.Func1;
 import rx.functions.Func2;
 
+import java.io.File;
 import java.io.IOException;
 import java.io.InputStream;
+import java.nio.file.Files;
+import java.nio.file.StandardCopyOption;
 import java.util.concurrent.TimeUnit;
 
 /**
  * A client which interacts with Kudu service.
  */
 class KuduClient {
+    private static final MediaType OCTET_STREAM = MediaType.parse("application/octet-stream");
     private KuduService service;
 
-    KuduClient(WebAppBase webAppBase) {
+    /**
+     * Creates a client of the SCM site of a web app.
+     *
+     * @param restClient the REST client with the SCM site as base URL
+     */
+    KuduClient(RestClient restClient) {
+        service = restClient.retrofit().create(KuduService.class);
+    }
+
+    /**
+     * @param webAppBase the web app, function app or deployment slot
+     * @return the host name of its SCM site
+     */
+    static String scmHost(WebAppBase webAppBase) {
         if (webAppBase.defaultHostName() == null) {
             throw new UnsupportedOperationException("Cannot initialize kudu client before web app is created");
         }
@@ -48,13 +65,7 @@ class KuduClient {
                 .replace("http://", "")
                 .replace("https://", "");
         String[] parts = host.split("\\.", 2);
-        host = Joiner.on('.').join(parts[0], "scm", parts[1]);
-        service = webAppBase.manager().restClient().newBuilder()
-                .withBaseUrl("https://" + host)
-                .withConnectionTimeout(3, TimeUnit.MINUTES)
-                .withReadTimeout(3, TimeUnit.MINUTES)
-                .build()
-                .retrofit().create(KuduService.class);
+        return Joiner.on('.').join(parts[0], "scm", parts[1]);
     }
 
     private interface KuduService {
@@ -94,93 +105,106 @@ class KuduClient {
         Observable<Void> zipDeploy(@Body RequestBody zipFile);
     }
 
-    Observable<String> streamApplicationLogsAsync() {
-        return service.streamApplicationLogs()
-                .flatMap(new Func1<ResponseBody, Observable<String>>() {
-                    @Override
-                    public Observable<String> call(ResponseBody responseBody) {
-                        final BufferedSource source = responseBody.source();
-                        return streamFromBufferedSource(source);
-                    }
-                });
+    Observable<byte[]> streamApplicationLogsAsync(LogStreamOptions options) {
+        return KuduLogStream.chunksAsync(new Func0<Observable<ResponseBody>>() {
+            @Override
+            public Observable<ResponseBody> call() {
+                return service.streamApplicationLogs();
+            }
+        }, options);
     }
 
-    Observable<String> streamHttpLogsAsync() {
-        return service.streamHttpLogs()
-                .flatMap(new Func1<ResponseBody, Observable<String>>() {
-                    @Override
-                    public Observable<String> call(ResponseBody responseBody) {
-                        final BufferedSource source = responseBody.source();
-                        return streamFromBufferedSource(source);
-                    }
-                });
+    Observable<byte[]> streamHttpLogsAsync(LogStreamOptions options) {
+        return KuduLogStream.chunksAsync(new Func0<Observable<ResponseBody>>() {
+            @Override
+            public Observable<ResponseBody> call() {
+                return service.streamHttpLogs();
+            }
+        }, options);
     }
 
-    Observable<String> streamTraceLogsAsync() {
-        return service.streamTraceLogs()
-                .flatMap(new Func1<ResponseBody, Observable<String>>() {
-                    @Override
-                    public Observable<String> call(ResponseBody responseBody) {
-                        final BufferedSource source = responseBody.source();
-                        return streamFromBufferedSource(source);
-                    }
-                });
+    Observable<byte[]> streamTraceLogsAsync(LogStreamOptions options) {
+        return KuduLogStream.chunksAsync(new Func0<Observable<ResponseBody>>() {
+            @Override
+            public Observable<ResponseBody> call() {
+                return service.streamTraceLogs();
+            }
+        }, options);
     }
 
-    Observable<String> streamDeploymentLogsAsync() {
-        return service.streamDeploymentLogs()
-                .flatMap(new Func1<ResponseBody, Observable<String>>() {
-                    @Override
-                    public Observable<String> call(ResponseBody responseBody) {
-                        final BufferedSource source = responseBody.source();
-                        return streamFromBufferedSource(source);
-                    }
-                });
+    Observable<byte[]> streamDeploymentLogsAsync(LogStreamOptions options) {
+        return KuduLogStream.chunksAsync(new Func0<Observable<ResponseBody>>() {
+            @Override
+            public Observable<ResponseBody> call() {
+                return service.streamDeploymentLogs();
+            }
+        }, options);
     }
 
-    Observable<String> streamAllLogsAsync() {
-        return service.streamAllLogs()
-                .flatMap(new Func1<ResponseBody, Observable<String>>() {
-                    @Override
-                    public Observable<String> call(ResponseBody responseBody) {
-                        final BufferedSource source = responseBody.source();
-                        return streamFromBufferedSource(source);
-                    }
-                });
+    Observable<byte[]> streamAllLogsAsync(LogStreamOptions options) {
+        return KuduLogStream.chunksAsync(new Func0<Observable<ResponseBody>>() {
+            @Override
+            public Observable<ResponseBody> call() {
+                return service.streamAllLogs();
+            }
+        }, options);
     }
 
-    private Observable<String> streamFromBufferedSource(final BufferedSource source) {
-        return Observable.create(new Action1<Emitter<String>>() {
+    Completable warDeployAsync(InputStream warFile, final String appName) {
+        return deploySpooledAsync(warFile, new Func1<File, Completable>() {
             @Override
-            public void call(Emitter<String> stringEmitter) {
-                try {
-                    while (!source.exhausted()) {
-                        stringEmitter.onNext(source.readUtf8Line());
-                    }
-                    stringEmitter.onCompleted();
-                } catch (IOException e) {
-                    stringEmitter.onError(e);
-                }
+            public Completable call(File file) {
+                return warDeployAsync(file, appName, null);
             }
-        }, BackpressureMode.BUFFER);
+        });
     }
 
-    Completable warDeployAsync(InputStream warFile, String appName) {
-        try {
-            RequestBody body = RequestBody.create(MediaType.parse("application/octet-stream"), ByteStreams.toByteArray(warFile));
-            return getCompletable(service.warDeploy(body, appName));
-        } catch (IOException e) {
-            return Completable.error(e);
-        }
+    Completable warDeployAsync(File warFile, String appName, DeploymentProgressListener progressListener) {
+        RequestBody body = new FileRequestBody(OCTET_STREAM, warFile, progressListener);
+        return getCompletable(service.warDeploy(body, appName));
     }
 
     Completable zipDeployAsync(InputStream zipFile) {
-        try {
-            RequestBody body = RequestBody.create(MediaType.parse("application/octet-stream"), ByteStreams.toByteArray(zipFile));
-            return getCompletable(service.zipDeploy(body));
-        } catch (IOException e) {
-            return Completable.error(e);
-        }
+        return deploySpooledAsync(zipFile, new Func1<File, Completable>() {
+            @Override
+            public Completable call(File file) {
+                return zipDeployAsync(file, null);
+            }
+        });
+    }
+
+    Completable zipDeployAsync(File zipFile, DeploymentProgressListener progressListener) {
+        RequestBody body = new FileRequestBody(OCTET_STREAM, zipFile, progressListener);
+        return getCompletable(service.zipDeploy(body));
+    }
+
+    /**
+     * Spools a stream to a temporary file so that it can be uploaded, and retried, with a constant
+     * heap footprint. The file is deleted when the deployment terminates.
+     */
+    static Completable deploySpooledAsync(final InputStream stream, Func1<File, Completable> deploy) {
+        return Completable.using(new Func0<File>() {
+            @Override
+            public File call() {
+                try {
+                    File file = File.createTempFile("kudu-deploy", ".tmp");
+                    try {
+                        Files.copy(stream, file.toPath(), StandardCopyOption.REPLACE_EXISTING);
+                    } catch (IOException e) {
+                        file.delete();
+                        throw e;
+                    }
+                    return file;
+                } catch (IOException e) {
+                    throw Exceptions.propagate(e);
+                }
+            }
+        }, deploy, new Action1<File>() {
+            @Override
+            public void call(File file) {
+                file.delete();
+            }
+        });
     }
 
     private Completable getCompletable(Observable<Void> observable) {
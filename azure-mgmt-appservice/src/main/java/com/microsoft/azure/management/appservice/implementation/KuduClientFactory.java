@@ -0,0 +1,167 @@
+/**
+ * Copyright (c) Microsoft Corporation. All rights reserved.
+ * Licensed under the MIT License. See License.txt in the project root for
+ * license information.
+ */
+
+package com.microsoft.azure.management.appservice.implementation;
+
+import com.microsoft.azure.management.appservice.KuduConnectionMetrics;
+import com.microsoft.azure.management.appservice.WebAppBase;
+import com.microsoft.rest.RestClient;
+import okhttp3.Connection;
+import okhttp3.ConnectionPool;
+import okhttp3.Dispatcher;
+import okhttp3.Interceptor;
+import okhttp3.Response;
+
+import java.io.IOException;
+import java.util.Collections;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Set;
+import java.util.WeakHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Creates the Kudu clients of the web apps of a manager, one per SCM host on first use. All the clients
+ * share one connection pool and dispatcher, so that the connections are reused across the web app
+ * objects and slots of a host, and HTTP/2 connections across the hosts served by the same front end.
+ */
+final class KuduClientFactory implements KuduConnectionMetrics {
+    private static final int MAX_IDLE_CONNECTIONS = 32;
+    private static final long KEEP_ALIVE_MINUTES = 5;
+    private static final int MAX_REQUESTS = 256;
+    private static final long TIMEOUT_MINUTES = 3;
+    // A client not asked for during this time is dropped; the web apps holding it can still use it
+    private static final long IDLE_CLIENT_MILLIS = TimeUnit.MINUTES.toMillis(10);
+
+    private final RestClient restClient;
+    private final ConnectionPool connectionPool;
+    private final Dispatcher dispatcher;
+    // Access ordered, so that the least recently used clients come first
+    private final LinkedHashMap<String, CachedClient> clients = new LinkedHashMap<>(16, 0.75f, true);
+    private final Set<Connection> usedConnections = Collections.newSetFromMap(new WeakHashMap<Connection, Boolean>());
+    private final AtomicLong requestCount = new AtomicLong();
+    private final AtomicLong connectionCount = new AtomicLong();
+
+    KuduClientFactory(RestClient restClient) {
+        this.restClient = restClient;
+        this.connectionPool = new ConnectionPool(MAX_IDLE_CONNECTIONS, KEEP_ALIVE_MINUTES, TimeUnit.MINUTES);
+        this.dispatcher = new Dispatcher();
+        this.dispatcher.setMaxRequests(MAX_REQUESTS);
+    }
+
+    /**
+     * Gets the Kudu client of the SCM host of a web app.
+     *
+     * @param webAppBase the web app, function app or deployment slot
+     * @return the client
+     */
+    KuduClient clientFor(WebAppBase webAppBase) {
+        return clientFor(KuduClient.scmHost(webAppBase), System.currentTimeMillis());
+    }
+
+    /**
+     * Gets the Kudu client of an SCM host, dropping first the clients idle at the given time.
+     *
+     * @param host the SCM host
+     * @param now the current time in milliseconds
+     * @return the client
+     */
+    KuduClient clientFor(String host, long now) {
+        synchronized (this.clients) {
+            evictIdleClients(now);
+            CachedClient cached = this.clients.get(host);
+            if (cached == null) {
+                cached = new CachedClient(new KuduClient(newRestClient(host)));
+                this.clients.put(host, cached);
+            }
+            cached.lastUsed = now;
+            return cached.client;
+        }
+    }
+
+    private void evictIdleClients(long now) {
+        Iterator<Map.Entry<String, CachedClient>> iterator = this.clients.entrySet().iterator();
+        while (iterator.hasNext()) {
+            if (now - iterator.next().getValue().lastUsed < IDLE_CLIENT_MILLIS) {
+                break;
+            }
+            iterator.remove();
+        }
+    }
+
+    private RestClient newRestClient(String host) {
+        return this.restClient.newBuilder()
+                .withBaseUrl("https://" + host)
+                .withConnectionTimeout(TIMEOUT_MINUTES, TimeUnit.MINUTES)
+                .withReadTimeout(TIMEOUT_MINUTES, TimeUnit.MINUTES)
+                .withConnectionPool(this.connectionPool)
+                .withDispatcher(this.dispatcher)
+                .withNetworkInterceptor(new Interceptor() {
+                    @Override
+                    public Response intercept(Chain chain) throws IOException {
+                        countRequest(chain.connection());
+                        return chain.proceed(chain.request());
+                    }
+                })
+                .build();
+    }
+
+    void countRequest(Connection connection) {
+        this.requestCount.incrementAndGet();
+        if (connection != null) {
+            boolean opened;
+            synchronized (this.usedConnections) {
+                opened = this.usedConnections.add(connection);
+            }
+            if (opened) {
+                this.connectionCount.incrementAndGet();
+            }
+        }
+    }
+
+    @Override
+    public long requestCount() {
+        return this.requestCount.get();
+    }
+
+    @Override
+    public long connectionCount() {
+        return this.connectionCount.get();
+    }
+
+    @Override
+    public long reusedConnectionCount() {
+        return Math.max(0, requestCount() - connectionCount());
+    }
+
+    @Override
+    public int pooledConnectionCount() {
+        return this.connectionPool.connectionCount();
+    }
+
+    @Override
+    public int idleConnectionCount() {
+        return this.connectionPool.idleConnectionCount();
+    }
+
+    @Override
+    public int clientCount() {
+        synchronized (this.clients) {
+            return this.clients.size();
+        }
+    }
+
+    private static final class CachedClient {
+        private final KuduClient client;
+        private long lastUsed;
+
+        CachedClient(KuduClient client) {
+            this.client = client;
+        }
+    }
+}
@@ -0,0 +1,250 @@
+/**
+ * Copyright (c) Microsoft Corporation. All rights reserved.
+ * Licensed under the MIT License. See License.txt in the project root for
+ * license information.
+ */
+
+package com.microsoft.azure.management.appservice.implementation;
+
+import com.microsoft.azure.management.appservice.LogStreamOptions;
+import com.microsoft.azure.management.resources.fluentcore.utils.SdkContext;
+import okhttp3.ResponseBody;
+import okio.Buffer;
+import okio.BufferedSource;
+import retrofit2.adapter.rxjava.HttpException;
+import rx.BackpressureOverflow;
+import rx.Observable;
+import rx.Observer;
+import rx.functions.Action0;
+import rx.functions.Action1;
+import rx.functions.Action2;
+import rx.functions.Func0;
+import rx.functions.Func1;
+import rx.observables.SyncOnSubscribe;
+import rx.schedulers.Schedulers;
+
+import java.io.IOException;
+import java.nio.charset.Charset;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Reads the Kudu log streams as chunks of complete lines, honoring the backpressure of the subscriber
+ * and reconnecting when the connection ends.
+ */
+final class KuduLogStream {
+    private static final Charset UTF8 = Charset.forName("UTF-8");
+    private static final int MAX_BACKOFF_SHIFT = 5;
+
+    private KuduLogStream() {
+    }
+
+    /**
+     * @return the options of the log streams opened without options, which end like they always did when
+     *         the connection ends instead of reconnecting
+     */
+    static LogStreamOptions legacyOptions() {
+        return new LogStreamOptions().withMaxReconnectAttempts(0);
+    }
+
+    /**
+     * Streams the logs returned by a log stream request.
+     *
+     * @param connect the factory of the log stream request, invoked for each (re)connection
+     * @param options the stream options
+     * @return an observable emitting chunks of complete lines
+     */
+    static Observable<byte[]> chunksAsync(final Func0<Observable<ResponseBody>> connect, final LogStreamOptions options) {
+        final int chunkSize = options.chunkSize();
+        final AtomicInteger attempts = new AtomicInteger();
+        Observable<byte[]> chunks = Observable.defer(connect)
+                .concatMap(new Func1<ResponseBody, Observable<byte[]>>() {
+                    @Override
+                    public Observable<byte[]> call(ResponseBody responseBody) {
+                        return readChunksAsync(responseBody, chunkSize);
+                    }
+                })
+                .doOnNext(new Action1<byte[]>() {
+                    @Override
+                    public void call(byte[] chunk) {
+                        attempts.set(0);
+                    }
+                });
+        if (options.maxReconnectAttempts() > 0) {
+            chunks = chunks
+                    // The service closing the stream is a disconnect as well
+                    .concatWith(Observable.<byte[]>error(new IOException("The log stream was closed by the service")))
+                    .retryWhen(new Func1<Observable<? extends Throwable>, Observable<?>>() {
+                        @Override
+                        public Observable<?> call(Observable<? extends Throwable> errors) {
+                            return errors.flatMap(new Func1<Throwable, Observable<Integer>>() {
+                                @Override
+                                public Observable<Integer> call(Throwable throwable) {
+                                    int attempt = attempts.incrementAndGet();
+                                    if (attempt > options.maxReconnectAttempts() || !isReconnectable(throwable)) {
+                                        return Observable.error(throwable);
+                                    }
+                                    long delay = options.reconnectDelayMillis() << Math.min(attempt - 1, MAX_BACKOFF_SHIFT);
+                                    return SdkContext.delayedEmitAsync(attempt, (int) Math.min(delay, Integer.MAX_VALUE));
+                                }
+                            });
+                        }
+                    });
+        }
+        // Reading the connection blocks
+        chunks = chunks.subscribeOn(Schedulers.io());
+        switch (options.backpressurePolicy()) {
+            case DROP:
+                return chunks.onBackpressureBuffer(options.bufferSize(), null, BackpressureOverflow.ON_OVERFLOW_DROP_LATEST);
+            case LATEST:
+                return chunks.onBackpressureBuffer(options.bufferSize(), null, BackpressureOverflow.ON_OVERFLOW_DROP_OLDEST);
+            default:
+                return chunks;
+        }
+    }
+
+    /**
+     * Splits chunks of logs into lines. A line longer than a chunk is put back together from its chunks
+     * before it is decoded, so that only whole lines are emitted.
+     *
+     * @param chunks the chunks of complete lines
+     * @return an observable emitting the lines without the line terminators
+     */
+    static Observable<String> linesAsync(final Observable<byte[]> chunks) {
+        return Observable.defer(new Func0<Observable<String>>() {
+            @Override
+            public Observable<String> call() {
+                // The start of a line continued in the next chunks
+                final Buffer tail = new Buffer();
+                return chunks
+                        .flatMapIterable(new Func1<byte[], Iterable<String>>() {
+                            @Override
+                            public Iterable<String> call(byte[] chunk) {
+                                int end = chunk.length;
+                                while (end > 0 && chunk[end - 1] != '\n') {
+                                    end--;
+                                }
+                                List<String> lines;
+                                if (end == 0) {
+                                    lines = new ArrayList<>();
+                                } else if (tail.size() == 0) {
+                                    lines = lines(chunk, end);
+                                } else {
+                                    tail.write(chunk, 0, end);
+                                    byte[] complete = tail.readByteArray();
+                                    lines = lines(complete, complete.length);
+                                }
+                                tail.write(chunk, end, chunk.length - end);
+                                return lines;
+                            }
+                        })
+                        .concatWith(Observable.defer(new Func0<Observable<String>>() {
+                            @Override
+                            public Observable<String> call() {
+                                // The last line of the stream, without a line terminator
+                                return tail.size() == 0 ? Observable.<String>empty() : Observable.just(tail.readUtf8());
+                            }
+                        }));
+            }
+        });
+    }
+
+    static List<String> lines(byte[] chunk) {
+        return lines(chunk, chunk.length);
+    }
+
+    private static List<String> lines(byte[] chunk, int length) {
+        List<String> lines = new ArrayList<>();
+        int begin = 0;
+        for (int i = 0; i < length; i++) {
+            if (chunk[i] == '\n') {
+                int end = i > begin && chunk[i - 1] == '\r' ? i - 1 : i;
+                lines.add(new String(chunk, begin, end - begin, UTF8));
+                begin = i + 1;
+            }
+        }
+        if (begin < length) {
+            lines.add(new String(chunk, begin, length - begin, UTF8));
+        }
+        return lines;
+    }
+
+    /**
+     * Reads a response body one chunk per request, so that the connection is only read as fast as the
+     * subscriber consumes the chunks.
+     */
+    private static Observable<byte[]> readChunksAsync(final ResponseBody responseBody, final int chunkSize) {
+        return Observable.create(SyncOnSubscribe.<BufferedSource, byte[]>createSingleState(
+                new Func0<BufferedSource>() {
+                    @Override
+                    public BufferedSource call() {
+                        return responseBody.source();
+                    }
+                },
+                new Action2<BufferedSource, Observer<? super byte[]>>() {
+                    @Override
+                    public void call(BufferedSource source, Observer<? super byte[]> observer) {
+                        try {
+                            byte[] chunk = readChunk(source, chunkSize);
+                            if (chunk == null) {
+                                observer.onCompleted();
+                            } else {
+                                observer.onNext(chunk);
+                            }
+                        } catch (IOException e) {
+                            observer.onError(e);
+                        }
+                    }
+                },
+                new Action1<BufferedSource>() {
+                    @Override
+                    public void call(BufferedSource source) {
+                        responseBody.close();
+                    }
+                }))
+                .doOnUnsubscribe(new Action0() {
+                    @Override
+                    public void call() {
+                        // Unblocks a pending read of an idle stream
+                        responseBody.close();
+                    }
+                });
+    }
+
+    /**
+     * Reads the complete lines available in the source, up to chunkSize bytes. Blocks until there is
+     * at least one complete line, chunkSize bytes or the end of the stream.
+     *
+     * @return the chunk, or null at the end of the stream
+     */
+    static byte[] readChunk(BufferedSource source, int chunkSize) throws IOException {
+        long newline = source.indexOf((byte) '\n', 0, chunkSize);
+        Buffer buffer = source.buffer();
+        long size;
+        if (newline >= 0) {
+            // Take all the complete lines already buffered
+            size = newline + 1;
+            long limit = Math.min(buffer.size(), chunkSize);
+            while (size < limit) {
+                long next = buffer.indexOf((byte) '\n', size, limit);
+                if (next < 0) {
+                    break;
+                }
+                size = next + 1;
+            }
+        } else {
+            // A line longer than a chunk, or the last line of the stream
+            size = Math.min(buffer.size(), chunkSize);
+            if (size == 0) {
+                return null;
+            }
+        }
+        return source.readByteArray(size);
+    }
+
+    private static boolean isReconnectable(Throwable throwable) {
+        return throwable instanceof IOException
+                || throwable instanceof HttpException && ((HttpException) throwable).code() >= 500;
+    }
+}
@@ -0,0 +1,137 @@
+/**
+ * Copyright (c) Microsoft Corporation. All rights reserved.
+ * Licensed under the MIT License. See License.txt in the project root for
+ * license information.
+ */
+
+package com.microsoft.azure.management.appservice.implementation;
+
+import rx.Observable;
+import rx.Subscriber;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InterruptedIOException;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+
+/**
+ * An input stream reading the chunks emitted by an observable, requesting a new chunk only when
+ * one has been consumed so that at most a fixed number of chunks is buffered.
+ */
+final class LogStreamInputStream extends InputStream {
+    private static final Object COMPLETED = new Object();
+
+    private final BlockingQueue<Object> queue;
+    private final ChunkSubscriber subscriber;
+    private byte[] current;
+    private int position;
+    private volatile boolean done;
+
+    LogStreamInputStream(Observable<byte[]> chunks, int prefetch) {
+        // Room for the requested chunks and the terminal event
+        this.queue = new ArrayBlockingQueue<>(prefetch + 1);
+        this.subscriber = new ChunkSubscriber(this.queue, prefetch);
+        chunks.subscribe(this.subscriber);
+    }
+
+    @Override
+    public int read() throws IOException {
+        if (!fill()) {
+            return -1;
+        }
+        return this.current[this.position++] & 0xff;
+    }
+
+    @Override
+    public int read(byte[] b, int off, int len) throws IOException {
+        if (len == 0) {
+            return 0;
+        }
+        if (!fill()) {
+            return -1;
+        }
+        int count = Math.min(len, this.current.length - this.position);
+        System.arraycopy(this.current, this.position, b, off, count);
+        this.position += count;
+        return count;
+    }
+
+    @Override
+    public int available() {
+        return this.current == null ? 0 : this.current.length - this.position;
+    }
+
+    @Override
+    public void close() {
+        this.done = true;
+        this.current = null;
+        this.subscriber.unsubscribe();
+        this.queue.clear();
+        // Wakes up a reader blocked on the queue
+        this.queue.offer(COMPLETED);
+    }
+
+    private boolean fill() throws IOException {
+        while (this.current == null || this.position == this.current.length) {
+            if (this.done) {
+                return false;
+            }
+            Object next;
+            try {
+                next = this.queue.take();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                throw new InterruptedIOException("Interrupted while waiting for logs");
+            }
+            if (next == COMPLETED) {
+                this.done = true;
+                return false;
+            } else if (next instanceof Throwable) {
+                this.done = true;
+                if (next instanceof IOException) {
+                    throw (IOException) next;
+                }
+                throw new IOException((Throwable) next);
+            }
+            this.current = (byte[]) next;
+            this.position = 0;
+            this.subscriber.requestOne();
+        }
+        return true;
+    }
+
+    private static final class ChunkSubscriber extends Subscriber<byte[]> {
+        private final BlockingQueue<Object> queue;
+        private final int prefetch;
+
+        ChunkSubscriber(BlockingQueue<Object> queue, int prefetch) {
+            this.queue = queue;
+            this.prefetch = prefetch;
+        }
+
+        @Override
+        public void onStart() {
+            request(this.prefetch);
+        }
+
+        @Override
+        public void onNext(byte[] chunk) {
+            this.queue.offer(chunk);
+        }
+
+        @Override
+        public void onError(Throwable throwable) {
+            this.queue.offer(throwable);
+        }
+
+        @Override
+        public void onCompleted() {
+            this.queue.offer(COMPLETED);
+        }
+
+        void requestOne() {
+            request(1);
+        }
+    }
+}
@@ -25,6 +25,7 @@ import com.microsoft.azure.management.appservice.HostNameBinding;
 import com.microsoft.azure.management.appservice.HostNameSslState;
 import com.microsoft.azure.management.appservice.HostNameType;
 import com.microsoft.azure.management.appservice.JavaVersion;
+import com.microsoft.azure.management.appservice.LogStreamOptions;
 import com.microsoft.azure.management.appservice.MSDeploy;
 import com.microsoft.azure.management.appservice.ManagedPipelineMode;
 import com.microsoft.azure.management.appservice.NetFrameworkVersion;
@@ -57,18 +58,15 @@ import com.microsoft.rest.RestException;
 import org.joda.time.DateTime;
 import rx.Completable;
 import rx.Observable;
-import rx.Subscription;
+import rx.exceptions.Exceptions;
 import rx.functions.Action0;
-import rx.functions.Action1;
 import rx.functions.Func1;
 import rx.functions.Func2;
 import rx.functions.FuncN;
-import rx.schedulers.Schedulers;
 
 import java.io.IOException;
 import java.io.InputStream;
-import java.io.PipedInputStream;
-import java.io.PipedOutputStream;
+import java.nio.channels.WritableByteChannel;
 import java.util.ArrayList;
 import java.util.Collections;
 import java.util.HashMap;
@@ -77,7 +75,6 @@ import java.util.List;
 import java.util.Map;
 import java.util.Set;
 import java.util.TreeMap;
-import java.util.concurrent.Callable;
 
 /**
  * The implementation for WebAppBase.
@@ -105,6 +102,8 @@ abstract class WebAppBaseImpl<
         put(AzureEnvironment.AZURE_GERMANY, "azurewebsites.de");
         put(AzureEnvironment.AZURE_US_GOVERNMENT, "azurewebsites.us");
     }};
+    // Chunk size of the log streams split into lines, large enough to hold most log lines whole
+    private static final int LOG_LINES_CHUNK_SIZE = 64 * 1024;
 
     SiteConfigResourceInner siteConfig;
     KuduClient kuduClient;
@@ -134,6 +133,9 @@ abstract class WebAppBaseImpl<
     private FunctionalTaskItem msiHandler;
     private boolean isInCreateMode;
     private WebAppMsiHandler webAppMsiHandler;
+    // Set for the sites of a lite listing, whose configurations are fetched on first access
+    private volatile boolean siteConfigLoadedOnDemand;
+    private volatile boolean diagnosticLogsLoadedOnDemand;
 
     WebAppBaseImpl(String name, SiteInner innerObject, SiteConfigResourceInner siteConfig, SiteLogsConfigInner logConfig, AppServiceManager manager) {
         super(name, innerObject, manager);
@@ -157,9 +159,63 @@ abstract class WebAppBaseImpl<
         return isInCreateMode;
     }
 
+    /**
+     * Defers fetching the site configuration and the diagnostic logs configuration to their first
+     * access, for sites built from a listing only.
+     *
+     * @return this site
+     */
+    @SuppressWarnings("unchecked")
+    FluentImplT withConfigurationLoadedOnDemand() {
+        this.siteConfigLoadedOnDemand = true;
+        this.diagnosticLogsLoadedOnDemand = true;
+        return (FluentImplT) this;
+    }
+
+    /**
+     * @return the site configuration, fetched first if it is loaded on demand
+     */
+    SiteConfigResourceInner siteConfig() {
+        loadSiteConfig();
+        return siteConfig;
+    }
+
+    private void loadSiteConfig() {
+        if (siteConfigLoadedOnDemand) {
+            synchronized (this) {
+                if (siteConfigLoadedOnDemand) {
+                    siteConfig = getConfigInner().toBlocking().single();
+                    siteConfigLoadedOnDemand = false;
+                }
+            }
+        }
+    }
+
+    private void loadDiagnosticLogs() {
+        if (diagnosticLogsLoadedOnDemand) {
+            synchronized (this) {
+                if (diagnosticLogsLoadedOnDemand) {
+                    SiteLogsConfigInner logConfig = getDiagnosticLogsConfigInner().toBlocking().single();
+                    if (logConfig != null) {
+                        diagnosticLogs = new WebAppDiagnosticLogsImpl<>(logConfig, this);
+                    }
+                    diagnosticLogsLoadedOnDemand = false;
+                }
+            }
+        }
+    }
+
+    @Override
+    public FluentImplT update() {
+        // The updates are applied on top of the current configurations
+        loadSiteConfig();
+        loadDiagnosticLogs();
+        return super.update();
+    }
+
     private void initializeKuduClient() {
         if (kuduClient == null) {
-            kuduClient = new KuduClient(this);
+            kuduClient = manager().kuduClientFactory().clientFor(this);
         }
     }
 
@@ -355,6 +411,7 @@ abstract class WebAppBaseImpl<
 
     @Override
     public List<String> defaultDocuments() {
+        loadSiteConfig();
         if (siteConfig == null) {
             return null;
         }
@@ -363,6 +420,7 @@ abstract class WebAppBaseImpl<
 
     @Override
     public NetFrameworkVersion netFrameworkVersion() {
+        loadSiteConfig();
         if (siteConfig == null) {
             return null;
         }
@@ -371,6 +429,7 @@ abstract class WebAppBaseImpl<
 
     @Override
     public PhpVersion phpVersion() {
+        loadSiteConfig();
         if (siteConfig == null || siteConfig.phpVersion() == null) {
             return PhpVersion.OFF;
         }
@@ -379,6 +438,7 @@ abstract class WebAppBaseImpl<
 
     @Override
     public PythonVersion pythonVersion() {
+        loadSiteConfig();
         if (siteConfig == null || siteConfig.pythonVersion() == null) {
             return PythonVersion.OFF;
         }
@@ -387,6 +447,7 @@ abstract class WebAppBaseImpl<
 
     @Override
     public String nodeVersion() {
+        loadSiteConfig();
         if (siteConfig == null) {
             return null;
         }
@@ -395,6 +456,7 @@ abstract class WebAppBaseImpl<
 
     @Override
     public boolean remoteDebuggingEnabled() {
+        loadSiteConfig();
         if (siteConfig == null) {
             return false;
         }
@@ -403,6 +465,7 @@ abstract class WebAppBaseImpl<
 
     @Override
     public RemoteVisualStudioVersion remoteDebuggingVersion() {
+        loadSiteConfig();
         if (siteConfig == null) {
             return null;
         }
@@ -411,6 +474,7 @@ abstract class WebAppBaseImpl<
 
     @Override
     public boolean webSocketsEnabled() {
+        loadSiteConfig();
         if (siteConfig == null) {
             return false;
         }
@@ -419,6 +483,7 @@ abstract class WebAppBaseImpl<
 
     @Override
     public boolean alwaysOn() {
+        loadSiteConfig();
         if (siteConfig == null) {
             return false;
         }
@@ -427,6 +492,7 @@ abstract class WebAppBaseImpl<
 
     @Override
     public JavaVersion javaVersion() {
+        loadSiteConfig();
         if (siteConfig == null || siteConfig.javaVersion() == null) {
             return JavaVersion.OFF;
         }
@@ -435,6 +501,7 @@ abstract class WebAppBaseImpl<
 
     @Override
     public String javaContainer() {
+        loadSiteConfig();
         if (siteConfig == null) {
             return null;
         }
@@ -443,6 +510,7 @@ abstract class WebAppBaseImpl<
 
     @Override
     public String javaContainerVersion() {
+        loadSiteConfig();
         if (siteConfig == null) {
             return null;
         }
@@ -451,6 +519,7 @@ abstract class WebAppBaseImpl<
 
     @Override
     public ManagedPipelineMode managedPipelineMode() {
+        loadSiteConfig();
         if (siteConfig == null) {
             return null;
         }
@@ -459,6 +528,7 @@ abstract class WebAppBaseImpl<
 
     @Override
     public PlatformArchitecture platformArchitecture() {
+        loadSiteConfig();
         if (siteConfig.use32BitWorkerProcess()) {
             return PlatformArchitecture.X86;
         } else {
@@ -468,6 +538,7 @@ abstract class WebAppBaseImpl<
 
     @Override
     public String linuxFxVersion() {
+        loadSiteConfig();
         if (siteConfig == null) {
             return null;
         }
@@ -476,6 +547,7 @@ abstract class WebAppBaseImpl<
 
     @Override
     public String autoSwapSlotName() {
+        loadSiteConfig();
         if (siteConfig == null) {
             return null;
         }
@@ -489,6 +561,7 @@ abstract class WebAppBaseImpl<
 
     @Override
     public FtpsState ftpsState() {
+        loadSiteConfig();
         if (siteConfig == null) {
             return null;
         }
@@ -497,6 +570,7 @@ abstract class WebAppBaseImpl<
 
     @Override
     public List<VirtualApplication> virtualApplications() {
+        loadSiteConfig();
         if (siteConfig == null) {
             return null;
         }
@@ -505,6 +579,7 @@ abstract class WebAppBaseImpl<
 
     @Override
     public boolean http20Enabled() {
+        loadSiteConfig();
         if (siteConfig == null) {
             return false;
         }
@@ -513,6 +588,7 @@ abstract class WebAppBaseImpl<
 
     @Override
     public boolean localMySqlEnabled() {
+        loadSiteConfig();
         if (siteConfig == null) {
             return false;
         }
@@ -521,6 +597,7 @@ abstract class WebAppBaseImpl<
 
     @Override
     public ScmType scmType() {
+        loadSiteConfig();
         if (siteConfig == null) {
             return null;
         }
@@ -529,6 +606,7 @@ abstract class WebAppBaseImpl<
 
     @Override
     public String documentRoot() {
+        loadSiteConfig();
         if (siteConfig == null) {
             return null;
         }
@@ -570,94 +648,88 @@ abstract class WebAppBaseImpl<
 
     @Override
     public WebAppDiagnosticLogsImpl<FluentT, FluentImplT> diagnosticLogsConfig() {
+        loadDiagnosticLogs();
         return diagnosticLogs;
     }
 
     @Override
     public InputStream streamApplicationLogs() {
-        return pipeObservableToInputStream(streamApplicationLogsAsync());
+        LogStreamOptions options = KuduLogStream.legacyOptions();
+        return new LogStreamInputStream(streamApplicationLogsAsync(options), options.bufferSize());
     }
 
     @Override
     public Observable<String> streamApplicationLogsAsync() {
-        return kuduClient.streamApplicationLogsAsync();
+        return KuduLogStream.linesAsync(streamApplicationLogsAsync(KuduLogStream.legacyOptions().withChunkSize(LOG_LINES_CHUNK_SIZE)));
+    }
+
+    @Override
+    public Observable<byte[]> streamApplicationLogsAsync(LogStreamOptions options) {
+        return kuduClient.streamApplicationLogsAsync(options);
     }
 
     @Override
     public InputStream streamHttpLogs() {
-        return pipeObservableToInputStream(streamHttpLogsAsync());
+        LogStreamOptions options = KuduLogStream.legacyOptions();
+        return new LogStreamInputStream(streamHttpLogsAsync(options), options.bufferSize());
     }
 
     @Override
     public Observable<String> streamHttpLogsAsync() {
-        return kuduClient.streamHttpLogsAsync();
+        return KuduLogStream.linesAsync(streamHttpLogsAsync(KuduLogStream.legacyOptions().withChunkSize(LOG_LINES_CHUNK_SIZE)));
+    }
+
+    @Override
+    public Observable<byte[]> streamHttpLogsAsync(LogStreamOptions options) {
+        return kuduClient.streamHttpLogsAsync(options);
     }
 
     @Override
     public InputStream streamTraceLogs() {
-        return pipeObservableToInputStream(streamTraceLogsAsync());
+        LogStreamOptions options = KuduLogStream.legacyOptions();
+        return new LogStreamInputStream(streamTraceLogsAsync(options), options.bufferSize());
     }
 
     @Override
     public Observable<String> streamTraceLogsAsync() {
-        return kuduClient.streamTraceLogsAsync();
+        return KuduLogStream.linesAsync(streamTraceLogsAsync(KuduLogStream.legacyOptions().withChunkSize(LOG_LINES_CHUNK_SIZE)));
+    }
+
+    @Override
+    public Observable<byte[]> streamTraceLogsAsync(LogStreamOptions options) {
+        return kuduClient.streamTraceLogsAsync(options);
     }
 
     @Override
     public InputStream streamDeploymentLogs() {
-        return pipeObservableToInputStream(streamDeploymentLogsAsync());
+        LogStreamOptions options = KuduLogStream.legacyOptions();
+        return new LogStreamInputStream(streamDeploymentLogsAsync(options), options.bufferSize());
     }
 
     @Override
     public Observable<String> streamDeploymentLogsAsync() {
-        return kuduClient.streamDeploymentLogsAsync();
+        return KuduLogStream.linesAsync(streamDeploymentLogsAsync(KuduLogStream.legacyOptions().withChunkSize(LOG_LINES_CHUNK_SIZE)));
+    }
+
+    @Override
+    public Observable<byte[]> streamDeploymentLogsAsync(LogStreamOptions options) {
+        return kuduClient.streamDeploymentLogsAsync(options);
     }
 
     @Override
     public InputStream streamAllLogs() {
-        return pipeObservableToInputStream(streamAllLogsAsync());
+        LogStreamOptions options = KuduLogStream.legacyOptions();
+        return new LogStreamInputStream(streamAllLogsAsync(options), options.bufferSize());
     }
 
     @Override
     public Observable<String> streamAllLogsAsync() {
-        return kuduClient.streamAllLogsAsync();
+        return KuduLogStream.linesAsync(streamAllLogsAsync(KuduLogStream.legacyOptions().withChunkSize(LOG_LINES_CHUNK_SIZE)));
     }
 
-    private InputStream pipeObservableToInputStream(Observable<String> observable) {
-        PipedInputStreamWithCallback in = new PipedInputStreamWithCallback();
-        final PipedOutputStream out = new PipedOutputStream();
-        try {
-            in.connect(out);
-        } catch (IOException e) {
-            throw new RuntimeException(e);
-        }
-        final Subscription subscription = observable
-                // Do not block current thread
-                .subscribeOn(Schedulers.newThread())
-                .subscribe(new Action1<String>() {
-                    @Override
-                    public void call(String s) {
-                        try {
-                            out.write(s.getBytes());
-                            out.write('\n');
-                            out.flush();
-                        } catch (IOException e) {
-                            throw new RuntimeException(e);
-                        }
-                    }
-                });
-        in.addCallback(new Action0() {
-            @Override
-            public void call() {
-                subscription.unsubscribe();
-                try {
-                    out.close();
-                } catch (IOException e) {
-                    e.printStackTrace();
-                }
-            }
-        });
-        return in;
+    @Override
+    public Observable<byte[]> streamAllLogsAsync(LogStreamOptions options) {
+        return kuduClient.streamAllLogsAsync(options);
     }
 
     @Override
@@ -757,6 +829,8 @@ abstract class WebAppBaseImpl<
 
     abstract Observable<MSDeployStatusInner> createMSDeploy(MSDeploy msDeployInner);
 
+    abstract Observable<SiteLogsConfigInner> getDiagnosticLogsConfigInner();
+
     abstract Observable<SiteLogsConfigInner> updateDiagnosticLogsConfig(SiteLogsConfigInner siteLogsConfigInner);
 
     @Override
@@ -834,6 +908,23 @@ abstract class WebAppBaseImpl<
         addPostRunDependent(rootTaskItem);
     }
 
+    /**
+     * @param channel a channel
+     * @return a function writing a streamed response to the channel, returning the number of bytes written
+     */
+    static Func1<InputStream, Long> copyTo(final WritableByteChannel channel) {
+        return new Func1<InputStream, Long>() {
+            @Override
+            public Long call(InputStream inputStream) {
+                try {
+                    return Utils.copy(inputStream, channel);
+                } catch (IOException e) {
+                    throw Exceptions.propagate(e);
+                }
+            }
+        };
+    }
+
     private static IndexableTaskItem wrapTask(FunctionalTaskItem taskItem) {
         return IndexableTaskItem.create(taskItem);
     }
@@ -1143,13 +1234,7 @@ abstract class WebAppBaseImpl<
                 .delay(new Func1<SiteSourceControlInner, Observable<Long>>() {
                     @Override
                     public Observable<Long> call(SiteSourceControlInner siteSourceControlInner) {
-                        return Observable.fromCallable(new Callable<Long>() {
-                            @Override
-                            public Long call() throws Exception {
-                                SdkContext.sleep(30000);
-                                return 30000L;
-                            }
-                        });
+                        return SdkContext.delayedEmitAsync(30000L, 30000);
                     }
                 })
                 .map(new Func1<SiteSourceControlInner, Indexable>() {
@@ -1617,6 +1702,7 @@ abstract class WebAppBaseImpl<
                     @Override
                     public FluentT call(SiteConfigResourceInner returnedSiteConfig) {
                         siteConfig = returnedSiteConfig;
+                        siteConfigLoadedOnDemand = false;
                         return fluentT;
                     }
                 });
@@ -1744,18 +1830,4 @@ abstract class WebAppBaseImpl<
     public WebAppDiagnosticLogsImpl<FluentT, FluentImplT> updateDiagnosticLogsConfiguration() {
         return defineDiagnosticLogsConfiguration();
     }
-
-    private static class PipedInputStreamWithCallback extends PipedInputStream {
-        private Action0 callback;
-
-        private void addCallback(Action0 action) {
-            this.callback = action;
-        }
-
-        @Override
-        public void close() throws IOException {
-            callback.call();
-            super.close();
-        }
-    }
 }
@@ -8,6 +8,7 @@ package com.microsoft.azure.management.appservice.implementation;
 
 import com.microsoft.azure.management.apigeneration.LangDefinition;
 import com.microsoft.azure.management.appservice.AppServicePlan;
+import com.microsoft.azure.management.appservice.DeploymentProgressListener;
 import com.microsoft.azure.management.appservice.DeploymentSlots;
 import com.microsoft.azure.management.appservice.OperatingSystem;
 import com.microsoft.azure.management.appservice.PricingTier;
@@ -17,8 +18,6 @@ import com.microsoft.azure.management.resources.fluentcore.model.Creatable;
 import rx.Completable;
 
 import java.io.File;
-import java.io.FileInputStream;
-import java.io.IOException;
 import java.io.InputStream;
 
 /**
@@ -202,11 +201,17 @@ class WebAppImpl
 
     @Override
     public Completable warDeployAsync(File warFile, String appName) {
-        try {
-            return warDeployAsync(new FileInputStream(warFile), appName);
-        } catch (IOException e) {
-            return Completable.error(e);
-        }
+        return warDeployAsync(warFile, appName, null);
+    }
+
+    @Override
+    public void warDeploy(File warFile, String appName, DeploymentProgressListener progressListener) {
+        warDeployAsync(warFile, appName, progressListener).await();
+    }
+
+    @Override
+    public Completable warDeployAsync(File warFile, String appName, DeploymentProgressListener progressListener) {
+        return kuduClient.warDeployAsync(warFile, appName, progressListener);
     }
 
     @Override
@@ -225,11 +230,17 @@ class WebAppImpl
 
     @Override
     public Completable zipDeployAsync(File zipFile) {
-        try {
-            return zipDeployAsync(new FileInputStream(zipFile));
-        } catch (IOException e) {
-            return Completable.error(e);
-        }
+        return zipDeployAsync(zipFile, null);
+    }
+
+    @Override
+    public void zipDeploy(File zipFile, DeploymentProgressListener progressListener) {
+        zipDeployAsync(zipFile, progressListener).await();
+    }
+
+    @Override
+    public Completable zipDeployAsync(File zipFile, DeploymentProgressListener progressListener) {
+        return kuduClient.zipDeployAsync(zipFile, progressListener).concatWith(WebAppImpl.this.stopAsync()).concatWith(WebAppImpl.this.startAsync());
     }
 
     @Override
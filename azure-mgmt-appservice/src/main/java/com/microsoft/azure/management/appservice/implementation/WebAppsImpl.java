@@ -6,6 +6,7 @@
 
 package com.microsoft.azure.management.appservice.implementation;
 
+import com.microsoft.azure.Page;
 import com.microsoft.azure.PagedList;
 import com.microsoft.azure.management.apigeneration.LangDefinition;
 import com.microsoft.azure.management.appservice.WebApp;
@@ -32,13 +33,31 @@ class WebAppsImpl
         implements WebApps {
 
     private final PagedListConverter<SiteInner, WebApp> converter;
+    private final PagedListConverter<SiteInner, WebApp> readAheadConverter;
+    private final PagedListConverter<SiteInner, WebApp> liteConverter;
 
     WebAppsImpl(final AppServiceManager manager) {
         super(manager.inner().webApps(), manager);
-        converter = new PagedListConverter<SiteInner, WebApp>() {
+        converter = newConverter();
+        readAheadConverter = newConverter().withReadAhead(true);
+        liteConverter = new PagedListConverter<SiteInner, WebApp>() {
             @Override
             protected boolean filter(SiteInner inner) {
-                return inner.kind() == null || Arrays.asList(inner.kind().split(",")).contains("app");
+                return isWebApp(inner);
+            }
+
+            @Override
+            public Observable<WebApp> typeConvertAsync(SiteInner siteInner) {
+                return Observable.just((WebApp) wrapLiteModel(siteInner));
+            }
+        };
+    }
+
+    private PagedListConverter<SiteInner, WebApp> newConverter() {
+        return new PagedListConverter<SiteInner, WebApp>() {
+            @Override
+            protected boolean filter(SiteInner inner) {
+                return isWebApp(inner);
             }
 
             @Override
@@ -56,6 +75,51 @@ class WebAppsImpl
         };
     }
 
+    @Override
+    public PagedList<WebApp> listWithReadAhead() {
+        return wrapListWithReadAhead(this.inner().list());
+    }
+
+    @Override
+    public PagedList<WebApp> listLite() {
+        return liteConverter.convert(this.inner().list());
+    }
+
+    @Override
+    public Observable<WebApp> listLiteAsync() {
+        return wrapLitePageAsync(this.inner().listAsync());
+    }
+
+    @Override
+    public PagedList<WebApp> listLiteByResourceGroup(String resourceGroupName) {
+        return liteConverter.convert(this.inner().listByResourceGroup(resourceGroupName));
+    }
+
+    @Override
+    public Observable<WebApp> listLiteByResourceGroupAsync(String resourceGroupName) {
+        return wrapLitePageAsync(this.inner().listByResourceGroupAsync(resourceGroupName));
+    }
+
+    private Observable<WebApp> wrapLitePageAsync(Observable<Page<SiteInner>> innerPage) {
+        return convertPageToInnerAsync(innerPage)
+                .filter(new Func1<SiteInner, Boolean>() {
+                    @Override
+                    public Boolean call(SiteInner siteInner) {
+                        return isWebApp(siteInner);
+                    }
+                })
+                .map(new Func1<SiteInner, WebApp>() {
+                    @Override
+                    public WebApp call(SiteInner siteInner) {
+                        return wrapLiteModel(siteInner);
+                    }
+                });
+    }
+
+    private static boolean isWebApp(SiteInner inner) {
+        return inner.kind() == null || Arrays.asList(inner.kind().split(",")).contains("app");
+    }
+
     @Override
     public Observable<WebApp> getByResourceGroupAsync(final String groupName, final String name) {
         final WebAppsImpl self = this;
@@ -96,10 +160,19 @@ class WebAppsImpl
         return wrapModel(inner, null, null);
     }
 
+    private WebAppImpl wrapLiteModel(SiteInner inner) {
+        return wrapModel(inner).withConfigurationLoadedOnDemand();
+    }
+
     protected PagedList<WebApp> wrapList(PagedList<SiteInner> pagedList) {
         return converter.convert(pagedList);
     }
 
+    @Override
+    protected PagedList<WebApp> wrapListWithReadAhead(PagedList<SiteInner> pagedList) {
+        return readAheadConverter.convert(pagedList);
+    }
+
 
     @Override
     public WebAppImpl define(String name) {
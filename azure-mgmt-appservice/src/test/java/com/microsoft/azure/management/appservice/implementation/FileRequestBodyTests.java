@@ -0,0 +1,135 @@
+/**
+ * Copyright (c) Microsoft Corporation. All rights reserved.
+ * Licensed under the MIT License. See License.txt in the project root for
+ * license information.
+ */
+
+package com.microsoft.azure.management.appservice.implementation;
+
+import com.microsoft.azure.management.appservice.DeploymentProgressListener;
+import okhttp3.MediaType;
+import okio.Buffer;
+import org.junit.Assert;
+import org.junit.Test;
+import rx.Completable;
+import rx.functions.Func1;
+
+import java.io.ByteArrayInputStream;
+import java.io.File;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicReference;
+
+public class FileRequestBodyTests {
+    private static final MediaType OCTET_STREAM = MediaType.parse("application/octet-stream");
+
+    @Test
+    public void canReopenFileOnEachWrite() throws IOException {
+        File file = tempFile(content(200 * 1024, 'a'));
+        try {
+            FileRequestBody body = new FileRequestBody(OCTET_STREAM, file, null);
+            Assert.assertEquals(200 * 1024, body.contentLength());
+            Buffer first = new Buffer();
+            body.writeTo(first);
+
+            // A retry reads the file again, from the start
+            Files.write(file.toPath(), content(100, 'b'));
+            Buffer second = new Buffer();
+            body.writeTo(second);
+
+            Assert.assertArrayEquals(content(200 * 1024, 'a'), first.readByteArray());
+            Assert.assertArrayEquals(content(100, 'b'), second.readByteArray());
+        } finally {
+            file.delete();
+        }
+    }
+
+    @Test
+    public void canReportProgressOfEachAttempt() throws IOException {
+        File file = tempFile(content(200 * 1024, 'a'));
+        try {
+            RecordingListener listener = new RecordingListener();
+            FileRequestBody body = new FileRequestBody(OCTET_STREAM, file, listener);
+
+            body.writeTo(new Buffer());
+            body.writeTo(new Buffer());
+
+            Assert.assertEquals(Arrays.asList("1: 204800/204800", "2: 204800/204800"), listener.progress);
+            Assert.assertEquals(Arrays.asList("1: 204800", "2: 204800"), listener.uploads);
+        } finally {
+            file.delete();
+        }
+    }
+
+    @Test
+    public void canDeleteSpooledFileOnSuccess() {
+        final AtomicReference<File> spooled = new AtomicReference<>();
+
+        KuduClient.deploySpooledAsync(new ByteArrayInputStream(content(1000, 'a')), new Func1<File, Completable>() {
+            @Override
+            public Completable call(File file) {
+                spooled.set(file);
+                Assert.assertEquals(1000, file.length());
+                return Completable.complete();
+            }
+        }).await();
+
+        Assert.assertNotNull(spooled.get());
+        Assert.assertFalse(spooled.get().exists());
+    }
+
+    @Test
+    public void canDeleteSpooledFileOnError() {
+        final AtomicReference<File> spooled = new AtomicReference<>();
+        final IllegalStateException error = new IllegalStateException("Bad gateway");
+
+        try {
+            KuduClient.deploySpooledAsync(new ByteArrayInputStream(content(1000, 'a')), new Func1<File, Completable>() {
+                @Override
+                public Completable call(File file) {
+                    spooled.set(file);
+                    return Completable.error(error);
+                }
+            }).await();
+            Assert.fail();
+        } catch (IllegalStateException e) {
+            Assert.assertSame(error, e);
+        }
+        Assert.assertFalse(spooled.get().exists());
+    }
+
+    private static byte[] content(int length, char c) {
+        byte[] content = new byte[length];
+        Arrays.fill(content, (byte) c);
+        return content;
+    }
+
+    private static File tempFile(byte[] content) throws IOException {
+        File file = File.createTempFile("kudu-deploy-test", ".tmp");
+        Files.write(file.toPath(), content);
+        return file;
+    }
+
+    /**
+     * A listener recording the last progress and the upload of each attempt.
+     */
+    private static final class RecordingListener implements DeploymentProgressListener {
+        private final List<String> progress = new ArrayList<>();
+        private final List<String> uploads = new ArrayList<>();
+        private String lastProgress;
+
+        @Override
+        public void onProgress(int attempt, long bytesUploaded, long totalBytes, double bytesPerSecond) {
+            lastProgress = attempt + ": " + bytesUploaded + "/" + totalBytes;
+        }
+
+        @Override
+        public void onUploaded(int attempt, long totalBytes, long elapsedMillis) {
+            progress.add(lastProgress);
+            uploads.add(attempt + ": " + totalBytes);
+        }
+    }
+}
@@ -0,0 +1,108 @@
+/**
+ * Copyright (c) Microsoft Corporation. All rights reserved.
+ * Licensed under the MIT License. See License.txt in the project root for
+ * license information.
+ */
+
+package com.microsoft.azure.management.appservice.implementation;
+
+import com.microsoft.azure.AzureResponseBuilder;
+import com.microsoft.azure.serializer.AzureJacksonAdapter;
+import com.microsoft.rest.RestClient;
+import okhttp3.Connection;
+import okhttp3.Handshake;
+import okhttp3.Protocol;
+import okhttp3.Route;
+import org.junit.Assert;
+import org.junit.Test;
+
+import java.net.Socket;
+import java.util.concurrent.TimeUnit;
+
+public class KuduClientFactoryTests {
+    private static final long MINUTE = TimeUnit.MINUTES.toMillis(1);
+
+    @Test
+    public void canShareClientOfHost() {
+        KuduClientFactory factory = newFactory();
+
+        KuduClient client = factory.clientFor("webapp1.scm.azurewebsites.net", 0);
+        Assert.assertSame(client, factory.clientFor("webapp1.scm.azurewebsites.net", MINUTE));
+        Assert.assertNotSame(client, factory.clientFor("webapp2.scm.azurewebsites.net", MINUTE));
+        Assert.assertEquals(2, factory.clientCount());
+    }
+
+    @Test
+    public void canEvictIdleClients() {
+        KuduClientFactory factory = newFactory();
+        KuduClient client1 = factory.clientFor("webapp1.scm.azurewebsites.net", 0);
+        KuduClient client2 = factory.clientFor("webapp2.scm.azurewebsites.net", 2 * MINUTE);
+        KuduClient client3 = factory.clientFor("webapp3.scm.azurewebsites.net", 4 * MINUTE);
+        // Asking for a client keeps it
+        Assert.assertSame(client1, factory.clientFor("webapp1.scm.azurewebsites.net", 9 * MINUTE));
+
+        factory.clientFor("webapp4.scm.azurewebsites.net", 13 * MINUTE);
+
+        Assert.assertEquals(3, factory.clientCount());
+        Assert.assertSame(client1, factory.clientFor("webapp1.scm.azurewebsites.net", 13 * MINUTE));
+        Assert.assertSame(client3, factory.clientFor("webapp3.scm.azurewebsites.net", 13 * MINUTE));
+        Assert.assertNotSame(client2, factory.clientFor("webapp2.scm.azurewebsites.net", 13 * MINUTE));
+        Assert.assertEquals(4, factory.clientCount());
+
+        factory.clientFor("webapp1.scm.azurewebsites.net", 30 * MINUTE);
+        Assert.assertEquals(1, factory.clientCount());
+    }
+
+    @Test
+    public void canCountRequestsAndConnections() {
+        KuduClientFactory factory = newFactory();
+        Connection connection1 = new FakeConnection();
+        Connection connection2 = new FakeConnection();
+
+        Assert.assertEquals(0, factory.requestCount());
+        factory.countRequest(connection1);
+        factory.countRequest(connection1);
+        factory.countRequest(connection2);
+        factory.countRequest(connection1);
+
+        Assert.assertEquals(4, factory.requestCount());
+        Assert.assertEquals(2, factory.connectionCount());
+        Assert.assertEquals(2, factory.reusedConnectionCount());
+        Assert.assertEquals(0, factory.pooledConnectionCount());
+        Assert.assertEquals(0, factory.idleConnectionCount());
+        Assert.assertEquals(0, factory.clientCount());
+    }
+
+    private static KuduClientFactory newFactory() {
+        return new KuduClientFactory(new RestClient.Builder()
+                .withBaseUrl("https://management.azure.com/")
+                .withSerializerAdapter(new AzureJacksonAdapter())
+                .withResponseBuilderFactory(new AzureResponseBuilder.Factory())
+                .build());
+    }
+
+    /**
+     * A connection only told apart by its identity.
+     */
+    private static final class FakeConnection implements Connection {
+        @Override
+        public Route route() {
+            return null;
+        }
+
+        @Override
+        public Socket socket() {
+            return null;
+        }
+
+        @Override
+        public Handshake handshake() {
+            return null;
+        }
+
+        @Override
+        public Protocol protocol() {
+            return Protocol.HTTP_1_1;
+        }
+    }
+}
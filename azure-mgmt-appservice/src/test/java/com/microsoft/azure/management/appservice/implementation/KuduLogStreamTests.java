@@ -0,0 +1,191 @@
+/**
+ * Copyright (c) Microsoft Corporation. All rights reserved.
+ * Licensed under the MIT License. See License.txt in the project root for
+ * license information.
+ */
+
+package com.microsoft.azure.management.appservice.implementation;
+
+import com.microsoft.azure.management.appservice.LogStreamBackpressurePolicy;
+import com.microsoft.azure.management.appservice.LogStreamOptions;
+import okhttp3.MediaType;
+import okhttp3.ResponseBody;
+import okio.Buffer;
+import org.junit.Assert;
+import org.junit.Test;
+import rx.Observable;
+import rx.functions.Func0;
+import rx.observers.TestSubscriber;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+public class KuduLogStreamTests {
+    private static final MediaType TEXT = MediaType.parse("text/plain");
+
+    @Test
+    public void canReadChunksOfCompleteLines() throws IOException {
+        Buffer source = new Buffer().writeUtf8("line1\nline2\r\nline3 is long\nlast");
+        Assert.assertEquals("line1\nline2\r\n", new String(KuduLogStream.readChunk(source, 16), "UTF-8"));
+        Assert.assertEquals("line3 is long\n", new String(KuduLogStream.readChunk(source, 16), "UTF-8"));
+        Assert.assertEquals("last", new String(KuduLogStream.readChunk(source, 16), "UTF-8"));
+        Assert.assertNull(KuduLogStream.readChunk(source, 16));
+
+        Assert.assertEquals(Arrays.asList("line1", "line2", "line3 is long", "last"),
+                KuduLogStream.lines("line1\nline2\r\nline3 is long\nlast".getBytes("UTF-8")));
+    }
+
+    @Test
+    public void canReadOnlyRequestedChunks() {
+        TestSubscriber<byte[]> subscriber = TestSubscriber.create(1);
+        KuduLogStream.chunksAsync(body(100), new LogStreamOptions()
+                .withChunkSize(3)
+                .withMaxReconnectAttempts(0))
+                .subscribe(subscriber);
+
+        subscriber.awaitValueCount(1, 5, TimeUnit.SECONDS);
+        sleep(100);
+        subscriber.assertValueCount(1);
+        subscriber.requestMore(99);
+        subscriber.awaitTerminalEvent(5, TimeUnit.SECONDS);
+        subscriber.assertValueCount(100);
+        subscriber.assertCompleted();
+    }
+
+    @Test
+    public void canDropChunksForSlowSubscriber() {
+        Assert.assertEquals(Arrays.asList("00", "01", "02", "03"), consumeSlowly(LogStreamBackpressurePolicy.DROP));
+        Assert.assertEquals(Arrays.asList("96", "97", "98", "99"), consumeSlowly(LogStreamBackpressurePolicy.LATEST));
+    }
+
+    @Test
+    public void canReconnect() {
+        final AtomicInteger connections = new AtomicInteger();
+        Observable<byte[]> chunks = KuduLogStream.chunksAsync(new Func0<Observable<ResponseBody>>() {
+            @Override
+            public Observable<ResponseBody> call() {
+                return Observable.just(ResponseBody.create(TEXT, "connection" + connections.incrementAndGet() + "\n"));
+            }
+        }, new LogStreamOptions()
+                .withMaxReconnectAttempts(2)
+                .withReconnectDelay(0, TimeUnit.MILLISECONDS));
+
+        List<String> lines = KuduLogStream.linesAsync(chunks).take(3).toList().toBlocking().single();
+        Assert.assertEquals(Arrays.asList("connection1", "connection2", "connection3"), lines);
+    }
+
+    @Test
+    public void canGiveUpReconnecting() {
+        final AtomicInteger connections = new AtomicInteger();
+        Observable<byte[]> chunks = KuduLogStream.chunksAsync(new Func0<Observable<ResponseBody>>() {
+            @Override
+            public Observable<ResponseBody> call() {
+                connections.incrementAndGet();
+                return Observable.error(new IOException("Connection reset"));
+            }
+        }, new LogStreamOptions()
+                .withMaxReconnectAttempts(2)
+                .withReconnectDelay(0, TimeUnit.MILLISECONDS));
+
+        TestSubscriber<byte[]> subscriber = TestSubscriber.create();
+        chunks.subscribe(subscriber);
+        subscriber.awaitTerminalEvent(5, TimeUnit.SECONDS);
+        subscriber.assertError(IOException.class);
+        Assert.assertEquals(3, connections.get());
+    }
+
+    @Test
+    public void canCompleteLegacyStreamOnClose() throws IOException {
+        final AtomicInteger connections = new AtomicInteger();
+        Func0<Observable<ResponseBody>> connect = new Func0<Observable<ResponseBody>>() {
+            @Override
+            public Observable<ResponseBody> call() {
+                connections.incrementAndGet();
+                return Observable.just(ResponseBody.create(TEXT, "line1\nline2\n"));
+            }
+        };
+
+        List<String> lines = KuduLogStream.linesAsync(KuduLogStream.chunksAsync(connect, KuduLogStream.legacyOptions()))
+                .toList().toBlocking().single();
+        Assert.assertEquals(Arrays.asList("line1", "line2"), lines);
+        Assert.assertEquals(1, connections.get());
+
+        LogStreamOptions options = KuduLogStream.legacyOptions();
+        InputStream stream = new LogStreamInputStream(KuduLogStream.chunksAsync(connect, options), options.bufferSize());
+        byte[] content = new byte[64];
+        int length = 0;
+        for (int read = stream.read(content); read >= 0; read = stream.read(content, length, content.length - length)) {
+            length += read;
+        }
+        Assert.assertEquals("line1\nline2\n", new String(content, 0, length, "UTF-8"));
+        Assert.assertEquals(2, connections.get());
+    }
+
+    @Test
+    public void canEmitLinesLongerThanChunks() throws IOException {
+        StringBuilder longLine = new StringBuilder();
+        // 3 bytes per character, so that the chunks of 64 KB end inside characters
+        for (int i = 0; i < 40000; i++) {
+            longLine.append('\u20ac');
+        }
+        final byte[] content = ("first\n" + longLine + "\r\nsecond\n" + longLine).getBytes("UTF-8");
+        Func0<Observable<ResponseBody>> connect = new Func0<Observable<ResponseBody>>() {
+            @Override
+            public Observable<ResponseBody> call() {
+                return Observable.just(ResponseBody.create(TEXT, content));
+            }
+        };
+
+        List<String> lines = KuduLogStream.linesAsync(KuduLogStream.chunksAsync(connect,
+                KuduLogStream.legacyOptions().withChunkSize(64 * 1024)))
+                .toList().toBlocking().single();
+
+        Assert.assertEquals(Arrays.asList("first", longLine.toString(), "second", longLine.toString()), lines);
+    }
+
+    private static List<String> consumeSlowly(LogStreamBackpressurePolicy policy) {
+        TestSubscriber<byte[]> subscriber = TestSubscriber.create(0);
+        KuduLogStream.chunksAsync(body(100), new LogStreamOptions()
+                .withChunkSize(3)
+                .withBufferSize(4)
+                .withBackpressurePolicy(policy)
+                .withMaxReconnectAttempts(0))
+                .subscribe(subscriber);
+
+        sleep(200);
+        subscriber.requestMore(100);
+        subscriber.awaitTerminalEvent(5, TimeUnit.SECONDS);
+        subscriber.assertCompleted();
+        List<String> lines = new ArrayList<>();
+        for (byte[] chunk : subscriber.getOnNextEvents()) {
+            lines.addAll(KuduLogStream.lines(chunk));
+        }
+        return lines;
+    }
+
+    private static Func0<Observable<ResponseBody>> body(final int lineCount) {
+        return new Func0<Observable<ResponseBody>>() {
+            @Override
+            public Observable<ResponseBody> call() {
+                StringBuilder content = new StringBuilder();
+                for (int i = 0; i < lineCount; i++) {
+                    content.append(String.format("%02d\n", i));
+                }
+                return Observable.just(ResponseBody.create(TEXT, content.toString()));
+            }
+        };
+    }
+
+    private static void sleep(long millis) {
+        try {
+            Thread.sleep(millis);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
@@ -0,0 +1,136 @@
+/**
+ * Copyright (c) Microsoft Corporation. All rights reserved.
+ * Licensed under the MIT License. See License.txt in the project root for
+ * license information.
+ */
+
+package com.microsoft.azure.management.appservice.implementation;
+
+import com.microsoft.azure.AzureResponseBuilder;
+import com.microsoft.azure.management.appservice.JavaVersion;
+import com.microsoft.azure.serializer.AzureJacksonAdapter;
+import com.microsoft.rest.RestClient;
+import org.junit.Assert;
+import org.junit.Test;
+import rx.Observable;
+import rx.functions.Func0;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.atomic.AtomicInteger;
+
+public class WebAppConfigurationOnDemandTests {
+
+    @Test
+    public void canFetchSiteConfigOnFirstAccessOnly() {
+        CountingWebApp webApp = new CountingWebApp();
+        webApp.withConfigurationLoadedOnDemand();
+
+        Assert.assertEquals(0, webApp.configFetches.get());
+
+        Assert.assertEquals(JavaVersion.JAVA_8_NEWEST, webApp.javaVersion());
+        Assert.assertEquals(1, webApp.configFetches.get());
+        Assert.assertTrue(webApp.alwaysOn());
+        Assert.assertEquals("tomcat", webApp.javaContainer());
+        Assert.assertEquals(1, webApp.configFetches.get());
+        Assert.assertEquals(0, webApp.logsFetches.get());
+    }
+
+    @Test
+    public void canFetchDiagnosticLogsConfigOnFirstAccessOnly() {
+        CountingWebApp webApp = new CountingWebApp();
+        webApp.withConfigurationLoadedOnDemand();
+
+        Assert.assertNotNull(webApp.diagnosticLogsConfig());
+        Assert.assertSame(webApp.diagnosticLogsConfig(), webApp.diagnosticLogsConfig());
+        Assert.assertEquals(1, webApp.logsFetches.get());
+        Assert.assertEquals(0, webApp.configFetches.get());
+    }
+
+    @Test
+    public void canFetchSiteConfigOnceForConcurrentAccesses() throws Exception {
+        final CountingWebApp webApp = new CountingWebApp();
+        webApp.withConfigurationLoadedOnDemand();
+        final CountDownLatch start = new CountDownLatch(1);
+        List<Thread> threads = new ArrayList<>();
+        for (int i = 0; i < 8; i++) {
+            Thread thread = new Thread(new Runnable() {
+                @Override
+                public void run() {
+                    try {
+                        start.await();
+                    } catch (InterruptedException e) {
+                        Thread.currentThread().interrupt();
+                    }
+                    webApp.javaVersion();
+                }
+            });
+            thread.start();
+            threads.add(thread);
+        }
+
+        start.countDown();
+        for (Thread thread : threads) {
+            thread.join();
+        }
+        Assert.assertEquals(1, webApp.configFetches.get());
+    }
+
+    @Test
+    public void canLeaveConfigOfFullyLoadedWebAppAlone() {
+        CountingWebApp webApp = new CountingWebApp();
+
+        Assert.assertEquals(JavaVersion.OFF, webApp.javaVersion());
+        Assert.assertNull(webApp.diagnosticLogsConfig());
+        Assert.assertEquals(0, webApp.configFetches.get());
+        Assert.assertEquals(0, webApp.logsFetches.get());
+    }
+
+    /**
+     * A web app counting the fetches of its configurations, which are served from memory.
+     */
+    private static final class CountingWebApp extends WebAppImpl {
+        private final AtomicInteger configFetches = new AtomicInteger();
+        private final AtomicInteger logsFetches = new AtomicInteger();
+
+        CountingWebApp() {
+            super("webapp1", new SiteInner(), null, null, AppServiceManager.authenticate(new RestClient.Builder()
+                    .withBaseUrl("https://management.azure.com/")
+                    .withSerializerAdapter(new AzureJacksonAdapter())
+                    .withResponseBuilderFactory(new AzureResponseBuilder.Factory())
+                    .build(), "tenant", "subscription"));
+        }
+
+        @Override
+        Observable<SiteConfigResourceInner> getConfigInner() {
+            return Observable.defer(new Func0<Observable<SiteConfigResourceInner>>() {
+                @Override
+                public Observable<SiteConfigResourceInner> call() {
+                    configFetches.incrementAndGet();
+                    // Leaves time to the concurrent accesses to pile up
+                    try {
+                        Thread.sleep(50);
+                    } catch (InterruptedException e) {
+                        Thread.currentThread().interrupt();
+                    }
+                    return Observable.just(new SiteConfigResourceInner()
+                            .withJavaVersion("1.8")
+                            .withJavaContainer("tomcat")
+                            .withAlwaysOn(true));
+                }
+            });
+        }
+
+        @Override
+        Observable<SiteLogsConfigInner> getDiagnosticLogsConfigInner() {
+            return Observable.defer(new Func0<Observable<SiteLogsConfigInner>>() {
+                @Override
+                public Observable<SiteLogsConfigInner> call() {
+                    logsFetches.incrementAndGet();
+                    return Observable.just(new SiteLogsConfigInner());
+                }
+            });
+        }
+    }
+}
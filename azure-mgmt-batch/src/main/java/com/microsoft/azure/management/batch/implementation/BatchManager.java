@@ -58,8 +58,8 @@ public class BatchManager extends Manager<BatchManager, BatchManagementClientImp
                 .withCredentials(credentials)
                 .withSerializerAdapter(new AzureJacksonAdapter())
                 .withResponseBuilderFactory(new AzureResponseBuilder.Factory())
-                .withInterceptor(new ProviderRegistrationInterceptor(credentials))
-                .withInterceptor(new ResourceManagerThrottlingInterceptor())
+                .withInterceptor(new ProviderRegistrationInterceptor())
+                .withInterceptor(new ResourceManagerThrottlingInterceptor(credentials.domain()))
                 .build(), subscriptionId);
     }
 
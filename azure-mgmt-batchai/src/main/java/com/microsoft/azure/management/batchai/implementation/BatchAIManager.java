@@ -57,7 +57,7 @@ public final class BatchAIManager extends Manager<BatchAIManager, BatchAIManagem
             .withCredentials(credentials)
             .withSerializerAdapter(new AzureJacksonAdapter())
             .withResponseBuilderFactory(new AzureResponseBuilder.Factory())
-            .withInterceptor(new ProviderRegistrationInterceptor(credentials))
+            .withInterceptor(new ProviderRegistrationInterceptor())
             .build(), subscriptionId);
     }
     /**
@@ -48,8 +48,8 @@ public final class CdnManager extends Manager<CdnManager, CdnManagementClientImp
                 .withCredentials(credentials)
                 .withSerializerAdapter(new AzureJacksonAdapter())
                 .withResponseBuilderFactory(new AzureResponseBuilder.Factory())
-                .withInterceptor(new ProviderRegistrationInterceptor(credentials))
-                .withInterceptor(new ResourceManagerThrottlingInterceptor())
+                .withInterceptor(new ProviderRegistrationInterceptor())
+                .withInterceptor(new ResourceManagerThrottlingInterceptor(credentials.domain()))
                 .build(), subscriptionId);
     }
 
@@ -6,6 +6,9 @@
 
 package com.microsoft.azure.management.compute;
 
+import com.microsoft.azure.PagedList;
+import com.microsoft.azure.management.apigeneration.Beta;
+import com.microsoft.azure.management.apigeneration.Beta.SinceVersion;
 import com.microsoft.azure.management.apigeneration.Fluent;
 import com.microsoft.azure.management.compute.implementation.ComputeManager;
 import com.microsoft.azure.management.compute.implementation.VirtualMachinesInner;
@@ -49,6 +52,16 @@ public interface VirtualMachines extends
      */
     VirtualMachineSizes sizes();
 
+    /**
+     * Lists the virtual machines, fetching the next page while the current page is consumed.
+     * Meant for enumerating all the virtual machines: stopping early costs the request of one
+     * page that is not used.
+     *
+     * @return the virtual machines
+     */
+    @Beta(SinceVersion.V1_25_0)
+    PagedList<VirtualMachine> listWithReadAhead();
+
     /**
      * Shuts down the virtual machine and releases the compute resources.
      *
@@ -39,7 +39,7 @@ class AvailabilitySetsImpl
     @Override
     public PagedList<AvailabilitySet> list() {
         final AvailabilitySetsImpl self = this;
-        return new GroupPagedList<AvailabilitySet>(this.manager().resourceManager().resourceGroups().list()) {
+        return new GroupPagedList<AvailabilitySet>(this.manager().resourceManager().resourceGroups().list(), GroupPagedList.defaultParallelism()) {
             @Override
             public List<AvailabilitySet> listNextGroup(String resourceGroupName) {
                 return wrapList(self.inner().listByResourceGroup(resourceGroupName));
@@ -49,8 +49,8 @@ class AvailabilitySetsImpl
 
     @Override
     public Observable<AvailabilitySet> listAsync() {
-        return this.manager().resourceManager().resourceGroups().listAsync()
-                .flatMap(new Func1<ResourceGroup, Observable<AvailabilitySet>>() {
+        return GroupPagedList.listAsync(this.manager().resourceManager().resourceGroups().listAsync(),
+                new Func1<ResourceGroup, Observable<AvailabilitySet>>() {
                     @Override
                     public Observable<AvailabilitySet> call(ResourceGroup resourceGroup) {
                         return wrapPageAsync(inner().listByResourceGroupAsync(resourceGroup.name()));
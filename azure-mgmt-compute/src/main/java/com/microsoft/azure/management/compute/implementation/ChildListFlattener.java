@@ -8,25 +8,39 @@ package com.microsoft.azure.management.compute.implementation;
 import com.microsoft.azure.CloudException;
 import com.microsoft.azure.Page;
 import com.microsoft.azure.PagedList;
+import com.microsoft.azure.management.resources.fluentcore.utils.SdkContext;
 import com.microsoft.rest.RestException;
+import rx.Observable;
+import rx.exceptions.Exceptions;
 
 import java.io.IOException;
+import java.util.ArrayDeque;
 import java.util.ArrayList;
+import java.util.Deque;
 import java.util.Iterator;
 import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Future;
 
 /**
  * ChildListFlattener that can take a paged list of parents and flatten their child lists
  * as a single lazy paged list.
+ * <p>
+ * The child lists of up to parallelism parents are loaded concurrently ahead of the iteration,
+ * the flattened list still returns the child lists in the order of their parents.
  *
  * @param <ParentT> the type of parent paged list item
  * @param <ChildT> the type of child paged list item
  */
 final class ChildListFlattener<ParentT, ChildT> {
+    static final int DEFAULT_PARALLELISM = 8;
     private final String switchToCousin = "switchToCousin";
     private Iterator<ParentT> parentItr;
     private PagedList<ChildT> currentChildList;
     private final ChildListLoader<ParentT, ChildT> childListLoader;
+    private final int parallelism;
+    private final Deque<Future<PagedList<ChildT>>> prefetchedChildLists = new ArrayDeque<>();
 
     /**
      * Interface that will be implemented by the consumer of {@link ChildListFlattener}.
@@ -56,8 +70,23 @@ final class ChildListFlattener<ParentT, ChildT> {
      * @param childListLoader {@link ChildListLoader} for fetching child paged list associated any parent
      */
     ChildListFlattener(PagedList<ParentT> parentList, ChildListLoader<ParentT, ChildT> childListLoader) {
+        this(parentList, childListLoader, DEFAULT_PARALLELISM);
+    }
+
+    /**
+     * Creates ChildListFlattener.
+     *
+     * @param parentList a paged list of parents
+     * @param childListLoader {@link ChildListLoader} for fetching child paged list associated any parent
+     * @param parallelism the maximum number of child lists loaded concurrently
+     */
+    ChildListFlattener(PagedList<ParentT> parentList, ChildListLoader<ParentT, ChildT> childListLoader, int parallelism) {
+        if (parallelism < 1) {
+            throw new IllegalArgumentException("parallelism must be at least 1");
+        }
         this.parentItr = parentList.iterator();
         this.childListLoader = childListLoader;
+        this.parallelism = parallelism;
     }
 
     /**
@@ -100,8 +129,12 @@ final class ChildListFlattener<ParentT, ChildT> {
      * @throws IOException exceptions thrown from serialization/deserialization
      */
     private PagedList<ChildT> nextChildList() {
-        while (parentItr.hasNext()) {
-            PagedList<ChildT> nextChildList = childListLoader.loadList(parentItr.next());
+        prefetchChildLists();
+        Future<PagedList<ChildT>> next;
+        while ((next = prefetchedChildLists.poll()) != null) {
+            PagedList<ChildT> nextChildList = await(next);
+            // keep the prefetch window full while the caller consumes this child list
+            prefetchChildLists();
             if (nextChildList.iterator().hasNext()) {
                 return nextChildList;
             }
@@ -109,6 +142,42 @@ final class ChildListFlattener<ParentT, ChildT> {
         return emptyPagedList();
     }
 
+    /**
+     * @return true if there are parents whose child list is not yet returned
+     */
+    private boolean hasMoreParents() {
+        return !prefetchedChildLists.isEmpty() || parentItr.hasNext();
+    }
+
+    /**
+     * Starts loading the child lists of the next parents until parallelism child lists are in flight.
+     */
+    private void prefetchChildLists() {
+        while (prefetchedChildLists.size() < parallelism && parentItr.hasNext()) {
+            final ParentT parent = parentItr.next();
+            prefetchedChildLists.add(Observable.fromCallable(new Callable<PagedList<ChildT>>() {
+                @Override
+                public PagedList<ChildT> call() {
+                    PagedList<ChildT> childList = childListLoader.loadList(parent);
+                    // loads the first non-empty page of the child list
+                    childList.iterator().hasNext();
+                    return childList;
+                }
+            }).subscribeOn(SdkContext.getRxScheduler()).toBlocking().toFuture());
+        }
+    }
+
+    private static <T> T await(Future<T> future) {
+        try {
+            return future.get();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw Exceptions.propagate(e);
+        } catch (ExecutionException e) {
+            throw Exceptions.propagate(e.getCause());
+        }
+    }
+
     /**
      * Method returns a {@link Page} with the same items as in the given page, if the given
      * page is last page of the current paged child list and if there is a cousin list then
@@ -127,7 +196,7 @@ final class ChildListFlattener<ParentT, ChildT> {
                    return page.nextPageLink();
                 }
 
-                if (parentItr.hasNext()) {
+                if (hasMoreParents()) {
                     // The current child paged list has no more pages so switch to it's cousin list
                     return switchToCousin;
                 }
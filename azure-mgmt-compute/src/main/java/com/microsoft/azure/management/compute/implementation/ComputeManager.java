@@ -80,8 +80,8 @@ public final class ComputeManager extends Manager<ComputeManager, ComputeManagem
                 .withCredentials(credentials)
                 .withSerializerAdapter(new AzureJacksonAdapter())
                 .withResponseBuilderFactory(new AzureResponseBuilder.Factory())
-                .withInterceptor(new ProviderRegistrationInterceptor(credentials))
-                .withInterceptor(new ResourceManagerThrottlingInterceptor())
+                .withInterceptor(new ProviderRegistrationInterceptor())
+                .withInterceptor(new ResourceManagerThrottlingInterceptor(credentials.domain()))
                 .build(), subscriptionId);
     }
 
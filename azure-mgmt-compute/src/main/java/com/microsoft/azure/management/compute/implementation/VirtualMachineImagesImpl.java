@@ -14,10 +14,17 @@ import com.microsoft.azure.management.compute.VirtualMachinePublisher;
 import com.microsoft.azure.management.compute.VirtualMachinePublishers;
 import com.microsoft.azure.management.compute.VirtualMachineSku;
 import com.microsoft.azure.management.resources.fluentcore.arm.Region;
+import com.microsoft.azure.serializer.AzureJacksonAdapter;
 import rx.Observable;
+import rx.exceptions.Exceptions;
 import rx.functions.Func1;
 
+import java.io.IOException;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
 
 /**
  * The implementation for {@link VirtualMachineImages}.
@@ -25,8 +32,14 @@ import java.util.List;
 @LangDefinition
 class VirtualMachineImagesImpl
         implements VirtualMachineImages {
+    private static final int LIST_PARALLELISM = ChildListFlattener.DEFAULT_PARALLELISM;
+    private static final long IMAGE_CACHE_TTL_NANOS = TimeUnit.MINUTES.toNanos(30);
+    private static final int IMAGE_CACHE_CAPACITY = 256;
+    private static final AzureJacksonAdapter SERIALIZER = new AzureJacksonAdapter();
     private final VirtualMachinePublishers publishers;
     private final VirtualMachineImagesInner client;
+    // Resolved images by region, publisher, offer, sku and requested version (which may be "latest")
+    private final ImageCache imageCache = new ImageCache(IMAGE_CACHE_CAPACITY);
 
     VirtualMachineImagesImpl(VirtualMachinePublishers publishers, VirtualMachineImagesInner client) {
         this.publishers = publishers;
@@ -35,39 +48,38 @@ class VirtualMachineImagesImpl
 
     @Override
     public VirtualMachineImage getImage(Region region, String publisherName, String offerName, String skuName, String version) {
+        return getImage(region.name(), publisherName, offerName, skuName, version);
+    }
+
+    @Override
+    public VirtualMachineImage getImage(String region, String publisherName, String offerName, String skuName, String version) {
+        final String cacheKey = String.format("%s/%s/%s/%s/%s", region, publisherName, offerName, skuName, version)
+                .toLowerCase(Locale.ROOT);
+        CachedImage cached = imageCache.get(cacheKey);
+        if (cached != null) {
+            return new VirtualMachineImageImpl(Region.fromName(region), publisherName, offerName, skuName, cached.version, cached.copyInner());
+        }
+        String resolvedVersion = version;
         if (version.equalsIgnoreCase("latest")) {
-            List<VirtualMachineImageResourceInner> innerImages = this.client.list(region.name(), publisherName, offerName, skuName, null, 1, "name desc");
+            List<VirtualMachineImageResourceInner> innerImages = this.client.list(region, publisherName, offerName, skuName, null, 1, "name desc");
             if (innerImages != null && !innerImages.isEmpty()) {
                 VirtualMachineImageResourceInner innerImageResource = innerImages.get(0);
-                version = innerImageResource.name();
+                resolvedVersion = innerImageResource.name();
             }
         }
-        VirtualMachineImageInner innerImage = this.client.get(region.name(),
+        VirtualMachineImageInner innerImage = this.client.get(region,
                 publisherName,
                 offerName,
                 skuName,
-                version);
-        return (innerImage != null) ? new VirtualMachineImageImpl(region, publisherName, offerName, skuName, version, innerImage) : null;
+                resolvedVersion);
+        if (innerImage == null) {
+            return null;
+        }
+        imageCache.put(cacheKey, new CachedImage(resolvedVersion, innerImage));
+        return new VirtualMachineImageImpl(Region.fromName(region), publisherName, offerName, skuName, resolvedVersion, innerImage);
     }
 
-  @Override
-  public VirtualMachineImage getImage(String region, String publisherName, String offerName, String skuName, String version) {
-      if (version.equalsIgnoreCase("latest")) {
-          List<VirtualMachineImageResourceInner> innerImages = this.client.list(region, publisherName, offerName, skuName, null, 1, "name desc");
-          if (innerImages != null && !innerImages.isEmpty()) {
-              VirtualMachineImageResourceInner innerImageResource = innerImages.get(0);
-              version = innerImageResource.name();
-          }
-      }
-      VirtualMachineImageInner innerImage = this.client.get(region,
-              publisherName,
-              offerName,
-              skuName,
-              version);
-      return (innerImage != null) ? new VirtualMachineImageImpl(Region.fromName(region), publisherName, offerName, skuName, version, innerImage) : null;
-  }
-
-  @Override
+    @Override
     public PagedList<VirtualMachineImage> listByRegion(Region location) {
         return listByRegion(location.toString());
     }
@@ -82,7 +94,7 @@ class VirtualMachineImagesImpl
                     public PagedList<VirtualMachineOffer> loadList(VirtualMachinePublisher publisher)  {
                         return publisher.offers().list();
                     }
-                }).flatten();
+                }, LIST_PARALLELISM).flatten();
 
         PagedList<VirtualMachineSku> skus =
                 new ChildListFlattener<>(offers, new ChildListFlattener.ChildListLoader<VirtualMachineOffer, VirtualMachineSku>() {
@@ -90,7 +102,7 @@ class VirtualMachineImagesImpl
                     public PagedList<VirtualMachineSku> loadList(VirtualMachineOffer offer)  {
                         return offer.skus().list();
                     }
-                }).flatten();
+                }, LIST_PARALLELISM).flatten();
 
         PagedList<VirtualMachineImage> images =
                 new ChildListFlattener<>(skus, new ChildListFlattener.ChildListLoader<VirtualMachineSku, VirtualMachineImage>() {
@@ -98,7 +110,7 @@ class VirtualMachineImagesImpl
                     public PagedList<VirtualMachineImage> loadList(VirtualMachineSku sku)  {
                         return sku.images().list();
                     }
-                }).flatten();
+                }, LIST_PARALLELISM).flatten();
 
         return images;
     }
@@ -116,17 +128,17 @@ class VirtualMachineImagesImpl
                     public Observable<VirtualMachineOffer> call(VirtualMachinePublisher virtualMachinePublisher) {
                         return virtualMachinePublisher.offers().listAsync();
                     }
-                }).flatMap(new Func1<VirtualMachineOffer, Observable<VirtualMachineSku>>() {
+                }, LIST_PARALLELISM).flatMap(new Func1<VirtualMachineOffer, Observable<VirtualMachineSku>>() {
                     @Override
                     public Observable<VirtualMachineSku> call(VirtualMachineOffer virtualMachineExtensionImageType) {
                         return virtualMachineExtensionImageType.skus().listAsync();
                     }
-                }).flatMap(new Func1<VirtualMachineSku, Observable<VirtualMachineImage>>() {
+                }, LIST_PARALLELISM).flatMap(new Func1<VirtualMachineSku, Observable<VirtualMachineImage>>() {
                     @Override
                     public Observable<VirtualMachineImage> call(VirtualMachineSku virtualMachineSku) {
                         return virtualMachineSku.images().listAsync();
                     }
-                });
+                }, LIST_PARALLELISM);
     }
 
     @Override
@@ -134,4 +146,67 @@ class VirtualMachineImagesImpl
         return this.publishers;
     }
 
-}
\ No newline at end of file
+    /**
+     * The images resolved by getImage, the least recently used evicted beyond the capacity and the expired
+     * evicted on access.
+     */
+    private static final class ImageCache {
+        private final LinkedHashMap<String, CachedImage> entries;
+
+        ImageCache(final int capacity) {
+            this.entries = new LinkedHashMap<String, CachedImage>(16, 0.75f, true) {
+                private static final long serialVersionUID = 1L;
+
+                @Override
+                protected boolean removeEldestEntry(Map.Entry<String, CachedImage> eldest) {
+                    return size() > capacity || eldest.getValue().isExpired();
+                }
+            };
+        }
+
+        synchronized CachedImage get(String key) {
+            CachedImage cached = this.entries.get(key);
+            if (cached != null && cached.isExpired()) {
+                this.entries.remove(key);
+                return null;
+            }
+            return cached;
+        }
+
+        synchronized void put(String key, CachedImage image) {
+            this.entries.put(key, image);
+        }
+    }
+
+    /**
+     * An image resolved by getImage, kept for a while to avoid resolving the same image repeatedly.
+     * The image is kept serialized, so that each caller gets its own copy of the mutable inner model.
+     */
+    private static final class CachedImage {
+        private final String version;
+        private final String innerJson;
+        private final long expiresAtNanos;
+
+        CachedImage(String version, VirtualMachineImageInner inner) {
+            this.version = version;
+            try {
+                this.innerJson = SERIALIZER.serialize(inner);
+            } catch (IOException e) {
+                throw Exceptions.propagate(e);
+            }
+            this.expiresAtNanos = System.nanoTime() + IMAGE_CACHE_TTL_NANOS;
+        }
+
+        VirtualMachineImageInner copyInner() {
+            try {
+                return SERIALIZER.deserialize(this.innerJson, VirtualMachineImageInner.class);
+            } catch (IOException e) {
+                throw Exceptions.propagate(e);
+            }
+        }
+
+        boolean isExpired() {
+            return System.nanoTime() - expiresAtNanos > 0;
+        }
+    }
+}
@@ -7,6 +7,7 @@ package com.microsoft.azure.management.compute.implementation;
 
 import com.fasterxml.jackson.core.JsonProcessingException;
 import com.fasterxml.jackson.databind.ObjectMapper;
+import com.microsoft.azure.PagedList;
 import com.microsoft.azure.management.apigeneration.LangDefinition;
 import com.microsoft.azure.management.compute.DataDisk;
 import com.microsoft.azure.management.compute.HardwareProfile;
@@ -64,6 +65,11 @@ class VirtualMachinesImpl
         this.vmSizes = new VirtualMachineSizesImpl(computeManager.inner().virtualMachineSizes());
     }
 
+    @Override
+    public PagedList<VirtualMachine> listWithReadAhead() {
+        return wrapListWithReadAhead(this.inner().list());
+    }
+
     // Actions
 
     @Override
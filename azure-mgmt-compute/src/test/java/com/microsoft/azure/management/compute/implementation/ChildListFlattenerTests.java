@@ -50,6 +50,76 @@ public class ChildListFlattenerTests {
         Assert.assertEquals(6, (int) flattenedList.get(5));
     }
 
+    @Test
+    public void testParallelFlattenerKeepsParentOrder() throws Exception {
+        List<Integer> sequential = flattenSlowChildLists(1);
+        List<Integer> parallel = flattenSlowChildLists(4);
+
+        Assert.assertEquals(2 * 4 * 3, sequential.size());
+        Assert.assertEquals(sequential, parallel);
+    }
+
+    /**
+     * Flattens the child lists of 4 pages of 3 parents, the child lists of the first parents being the
+     * slowest to load, so that they complete after the ones loaded concurrently.
+     */
+    private List<Integer> flattenSlowChildLists(int parallelism) {
+        PagedList<Integer> parentList = new PagedList<Integer>(new NumberedPage(0, 0, 4, 3)) {
+            @Override
+            public Page<Integer> nextPage(String nextPageLink) throws RestException, IOException {
+                return new NumberedPage(0, Integer.parseInt(nextPageLink), 4, 3);
+            }
+        };
+        ChildListFlattener<Integer, Integer> flattener = new ChildListFlattener<>(parentList, new ChildListFlattener.ChildListLoader<Integer, Integer>() {
+            @Override
+            public PagedList<Integer> loadList(final Integer parent) {
+                try {
+                    Thread.sleep(5 * (12 - parent));
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                }
+                return new PagedList<Integer>(new NumberedPage(parent, 0, 2, 1)) {
+                    @Override
+                    public Page<Integer> nextPage(String nextPageLink) throws RestException, IOException {
+                        return new NumberedPage(parent, Integer.parseInt(nextPageLink), 2, 1);
+                    }
+                };
+            }
+        }, parallelism);
+        return new ArrayList<>(flattener.flatten());
+    }
+
+    /**
+     * A page of pageCount pages of itemsPerPage items, numbered from 100 times the owner.
+     */
+    private class NumberedPage implements Page<Integer> {
+        private final int owner;
+        private final int page;
+        private final int pageCount;
+        private final int itemsPerPage;
+
+        NumberedPage(int owner, int page, int pageCount, int itemsPerPage) {
+            this.owner = owner;
+            this.page = page;
+            this.pageCount = pageCount;
+            this.itemsPerPage = itemsPerPage;
+        }
+
+        @Override
+        public String nextPageLink() {
+            return page + 1 < pageCount ? Integer.toString(page + 1) : null;
+        }
+
+        @Override
+        public List<Integer> items() {
+            List<Integer> items = new ArrayList<>();
+            for (int i = 0; i < itemsPerPage; i++) {
+                items.add(100 * owner + page * itemsPerPage + i);
+            }
+            return items;
+        }
+    }
+
     private class EmptyPage implements Page<Integer> {
         @Override
         public String nextPageLink() {
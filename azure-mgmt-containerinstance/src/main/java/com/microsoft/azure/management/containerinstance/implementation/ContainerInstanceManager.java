@@ -57,8 +57,8 @@ public final class ContainerInstanceManager extends Manager<ContainerInstanceMan
             .withCredentials(credentials)
             .withSerializerAdapter(new AzureJacksonAdapter())
             .withResponseBuilderFactory(new AzureResponseBuilder.Factory())
-            .withInterceptor(new ProviderRegistrationInterceptor(credentials))
-            .withInterceptor(new ResourceManagerThrottlingInterceptor())
+            .withInterceptor(new ProviderRegistrationInterceptor())
+            .withInterceptor(new ResourceManagerThrottlingInterceptor(credentials.domain()))
             .build(), subscriptionId);
     }
 
@@ -56,8 +56,8 @@ public final class ContainerRegistryManager extends Manager<ContainerRegistryMan
                 .withCredentials(credentials)
                 .withSerializerAdapter(new AzureJacksonAdapter())
                 .withResponseBuilderFactory(new AzureResponseBuilder.Factory())
-                .withInterceptor(new ProviderRegistrationInterceptor(credentials))
-                .withInterceptor(new ResourceManagerThrottlingInterceptor())
+                .withInterceptor(new ProviderRegistrationInterceptor())
+                .withInterceptor(new ResourceManagerThrottlingInterceptor(credentials.domain()))
                 .build(), subscriptionId);
     }
 
@@ -52,7 +52,7 @@ public class RegistriesImpl
     @Override
     public PagedList<Registry> list() {
         final RegistriesImpl self = this;
-        return new GroupPagedList<Registry>(this.manager().resourceManager().resourceGroups().list()) {
+        return new GroupPagedList<Registry>(this.manager().resourceManager().resourceGroups().list(), GroupPagedList.defaultParallelism()) {
             @Override
             public List<Registry> listNextGroup(String resourceGroupName) {
                 return wrapList(self.inner().listByResourceGroup(resourceGroupName));
@@ -63,8 +63,8 @@ public class RegistriesImpl
 
     @Override
     public Observable<Registry> listAsync() {
-        return this.manager().resourceManager().resourceGroups().listAsync()
-                .flatMap(new Func1<ResourceGroup, Observable<Registry>>() {
+        return GroupPagedList.listAsync(this.manager().resourceManager().resourceGroups().listAsync(),
+                new Func1<ResourceGroup, Observable<Registry>>() {
                     @Override
                     public Observable<Registry> call(ResourceGroup resourceGroup) {
                         return wrapPageAsync(inner().listByResourceGroupAsync(resourceGroup.name()));
@@ -38,7 +38,7 @@ public class ContainerServicesImpl extends
     @Override
     public PagedList<ContainerService> list() {
         final ContainerServicesImpl self = this;
-        return new GroupPagedList<ContainerService>(this.manager().resourceManager().resourceGroups().list()) {
+        return new GroupPagedList<ContainerService>(this.manager().resourceManager().resourceGroups().list(), GroupPagedList.defaultParallelism()) {
             @Override
             public List<ContainerService> listNextGroup(String resourceGroupName) {
                 return wrapList(self.inner().listByResourceGroup(resourceGroupName));
@@ -48,8 +48,8 @@ public class ContainerServicesImpl extends
 
     @Override
     public Observable<ContainerService> listAsync() {
-        return this.manager().resourceManager().resourceGroups().listAsync()
-                .flatMap(new Func1<ResourceGroup, Observable<ContainerService>>() {
+        return GroupPagedList.listAsync(this.manager().resourceManager().resourceGroups().listAsync(),
+                new Func1<ResourceGroup, Observable<ContainerService>>() {
                     @Override
                     public Observable<ContainerService> call(ResourceGroup resourceGroup) {
                         return wrapPageAsync(inner().listByResourceGroupAsync(resourceGroup.name()));
@@ -46,7 +46,7 @@ public class KubernetesClustersImpl extends
     @Override
     public PagedList<KubernetesCluster> list() {
         final KubernetesClustersImpl self = this;
-        return new GroupPagedList<KubernetesCluster>(this.manager().resourceManager().resourceGroups().list()) {
+        return new GroupPagedList<KubernetesCluster>(this.manager().resourceManager().resourceGroups().list(), GroupPagedList.defaultParallelism()) {
             @Override
             public List<KubernetesCluster> listNextGroup(String resourceGroupName) {
                 return wrapList(self.inner().listByResourceGroup(resourceGroupName));
@@ -56,8 +56,8 @@ public class KubernetesClustersImpl extends
 
     @Override
     public Observable<KubernetesCluster> listAsync() {
-        return this.manager().resourceManager().resourceGroups().listAsync()
-            .flatMap(new Func1<ResourceGroup, Observable<KubernetesCluster>>() {
+        return GroupPagedList.listAsync(this.manager().resourceManager().resourceGroups().listAsync(),
+            new Func1<ResourceGroup, Observable<KubernetesCluster>>() {
                 @Override
                 public Observable<KubernetesCluster> call(ResourceGroup resourceGroup) {
                     return wrapPageAsync(inner().listByResourceGroupAsync(resourceGroup.name()));
@@ -47,7 +47,7 @@ class CosmosDBAccountsImpl
     @Override
     public PagedList<CosmosDBAccount> list() {
         final CosmosDBAccountsImpl self = this;
-        return new GroupPagedList<CosmosDBAccount>(this.manager().resourceManager().resourceGroups().list()) {
+        return new GroupPagedList<CosmosDBAccount>(this.manager().resourceManager().resourceGroups().list(), GroupPagedList.defaultParallelism()) {
             @Override
             public List<CosmosDBAccount> listNextGroup(String resourceGroupName) {
                 return wrapList(self.inner().listByResourceGroup(resourceGroupName));
@@ -58,8 +58,8 @@ class CosmosDBAccountsImpl
 
     @Override
     public Observable<CosmosDBAccount> listAsync() {
-        return this.manager().resourceManager().resourceGroups().listAsync()
-                .flatMap(new Func1<ResourceGroup, Observable<CosmosDBAccount>>() {
+        return GroupPagedList.listAsync(this.manager().resourceManager().resourceGroups().listAsync(),
+                new Func1<ResourceGroup, Observable<CosmosDBAccount>>() {
                     @Override
                     public Observable<CosmosDBAccount> call(ResourceGroup resourceGroup) {
                         return wrapPageAsync(inner().listByResourceGroupAsync(resourceGroup.name()));
@@ -17,7 +17,10 @@ import com.microsoft.azure.management.resources.fluentcore.model.Appliable;
 import com.microsoft.azure.management.resources.fluentcore.model.Creatable;
 import com.microsoft.azure.management.resources.fluentcore.model.Refreshable;
 import com.microsoft.azure.management.resources.fluentcore.model.Updatable;
+import rx.Observable;
 
+import java.io.Reader;
+import java.io.Writer;
 import java.util.List;
 
 /**
@@ -149,6 +152,56 @@ public interface DnsZone extends
      */
     SoaRecordSet getSoaRecordSet();
 
+    /**
+     * Synchronizes the record sets of this zone with the records of an RFC 1035 zone file, creating,
+     * updating and deleting only the record sets that differ, concurrently and conditionally on the ETags
+     * of the record sets.
+     * <p>
+     * The SOA record and the NS records of the zone apex are managed by Azure DNS and left untouched.
+     *
+     * @param zoneFile the reader of the zone file, with names relative to this zone by default
+     * @param options the synchronization options
+     * @return the result of the synchronization
+     */
+    @Beta(Beta.SinceVersion.V1_25_0)
+    @Method
+    DnsZoneSyncResult syncRecordSetsFromZoneFile(Reader zoneFile, DnsZoneSyncOptions options);
+
+    /**
+     * Synchronizes the record sets of this zone with the records of an RFC 1035 zone file, creating,
+     * updating and deleting only the record sets that differ, concurrently and conditionally on the ETags
+     * of the record sets.
+     * <p>
+     * The SOA record and the NS records of the zone apex are managed by Azure DNS and left untouched.
+     *
+     * @param zoneFile the reader of the zone file, with names relative to this zone by default
+     * @param options the synchronization options
+     * @return an observable emitting the result of the synchronization
+     */
+    @Beta(Beta.SinceVersion.V1_25_0)
+    @Method
+    Observable<DnsZoneSyncResult> syncRecordSetsFromZoneFileAsync(Reader zoneFile, DnsZoneSyncOptions options);
+
+    /**
+     * Writes the record sets of this zone as an RFC 1035 zone file, page by page.
+     *
+     * @param zoneFile the writer of the zone file
+     * @return the number of record sets written
+     */
+    @Beta(Beta.SinceVersion.V1_25_0)
+    @Method
+    int exportRecordSetsToZoneFile(Writer zoneFile);
+
+    /**
+     * Writes the record sets of this zone as an RFC 1035 zone file, page by page.
+     *
+     * @param zoneFile the writer of the zone file
+     * @return an observable emitting the number of record sets written
+     */
+    @Beta(Beta.SinceVersion.V1_25_0)
+    @Method
+    Observable<Integer> exportRecordSetsToZoneFileAsync(Writer zoneFile);
+
     /**
      * The entirety of the DNS zone definition.
      */
@@ -0,0 +1,62 @@
+/**
+ * Copyright (c) Microsoft Corporation. All rights reserved.
+ * Licensed under the MIT License. See License.txt in the project root for
+ * license information.
+ */
+package com.microsoft.azure.management.dns;
+
+import com.microsoft.azure.management.apigeneration.Beta;
+import com.microsoft.azure.management.apigeneration.Beta.SinceVersion;
+
+/**
+ * Options for synchronizing the record sets of a DNS zone with a desired state. Only the record sets
+ * differing from the desired state are written, concurrently.
+ */
+@Beta(SinceVersion.V1_25_0)
+public final class DnsZoneSyncOptions {
+    private static final int DEFAULT_PARALLELISM = 8;
+
+    private int parallelism = DEFAULT_PARALLELISM;
+    private boolean deleteUnlisted;
+
+    /**
+     * Specifies the maximum number of record sets written concurrently.
+     *
+     * @param parallelism the number of record sets, 8 by default
+     * @return the options
+     */
+    public DnsZoneSyncOptions withParallelism(int parallelism) {
+        if (parallelism <= 0) {
+            throw new IllegalArgumentException("parallelism must be positive");
+        }
+        this.parallelism = parallelism;
+        return this;
+    }
+
+    /**
+     * Specifies that the record sets of the zone missing from the desired state are deleted, except for
+     * the SOA and NS record sets of the zone apex.
+     * <p>
+     * By default, these record sets are left untouched.
+     *
+     * @return the options
+     */
+    public DnsZoneSyncOptions withDeletionOfUnlistedRecordSets() {
+        this.deleteUnlisted = true;
+        return this;
+    }
+
+    /**
+     * @return the maximum number of record sets written concurrently
+     */
+    public int parallelism() {
+        return this.parallelism;
+    }
+
+    /**
+     * @return true if the record sets missing from the desired state are deleted
+     */
+    public boolean isDeletingUnlistedRecordSets() {
+        return this.deleteUnlisted;
+    }
+}
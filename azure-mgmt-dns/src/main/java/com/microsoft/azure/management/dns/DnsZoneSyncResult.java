@@ -0,0 +1,59 @@
+/**
+ * Copyright (c) Microsoft Corporation. All rights reserved.
+ * Licensed under the MIT License. See License.txt in the project root for
+ * license information.
+ */
+package com.microsoft.azure.management.dns;
+
+import com.microsoft.azure.management.apigeneration.Beta;
+import com.microsoft.azure.management.apigeneration.Beta.SinceVersion;
+import com.microsoft.azure.management.apigeneration.Fluent;
+
+import java.util.Map;
+
+/**
+ * The outcome of the synchronization of the record sets of a DNS zone with a desired state.
+ */
+@Fluent
+@Beta(SinceVersion.V1_25_0)
+public interface DnsZoneSyncResult {
+    /**
+     * @return the number of record sets created
+     */
+    int createdCount();
+
+    /**
+     * @return the number of record sets updated
+     */
+    int updatedCount();
+
+    /**
+     * @return the number of record sets deleted
+     */
+    int deletedCount();
+
+    /**
+     * @return the number of record sets already in the desired state
+     */
+    int unchangedCount();
+
+    /**
+     * @return the number of record sets that failed to be written
+     */
+    int failedCount();
+
+    /**
+     * @return the errors of the record sets that failed to be written, by "name/type" of the record set
+     */
+    Map<String, Throwable> errors();
+
+    /**
+     * @return the time taken by the synchronization, in milliseconds
+     */
+    long elapsedMillis();
+
+    /**
+     * @return the number of record sets written per second
+     */
+    double writesPerSecond();
+}
@@ -5,6 +5,7 @@
  */
 package com.microsoft.azure.management.dns.implementation;
 
+import com.microsoft.azure.Page;
 import com.microsoft.azure.PagedList;
 import com.microsoft.azure.management.apigeneration.LangDefinition;
 import com.microsoft.azure.management.dns.ARecordSets;
@@ -13,6 +14,8 @@ import com.microsoft.azure.management.dns.CNameRecordSets;
 import com.microsoft.azure.management.dns.CaaRecordSets;
 import com.microsoft.azure.management.dns.DnsRecordSet;
 import com.microsoft.azure.management.dns.DnsZone;
+import com.microsoft.azure.management.dns.DnsZoneSyncOptions;
+import com.microsoft.azure.management.dns.DnsZoneSyncResult;
 import com.microsoft.azure.management.dns.MXRecordSets;
 import com.microsoft.azure.management.dns.NSRecordSets;
 import com.microsoft.azure.management.dns.PtrRecordSets;
@@ -27,11 +30,17 @@ import com.microsoft.azure.management.resources.fluentcore.utils.PagedListConver
 import com.microsoft.azure.management.resources.fluentcore.utils.Utils;
 import rx.Completable;
 import rx.Observable;
+import rx.exceptions.Exceptions;
 import rx.functions.Func0;
 import rx.functions.Func1;
+import rx.functions.Func2;
 
+import java.io.IOException;
+import java.io.Reader;
+import java.io.Writer;
 import java.util.ArrayList;
 import java.util.List;
+import java.util.Map;
 
 /**
  * Implementation for {@link DnsZone}.
@@ -194,6 +203,108 @@ public class DnsZoneImpl
         return new SoaRecordSetImpl(inner.name(), this, inner);
     }
 
+    @Override
+    public DnsZoneSyncResult syncRecordSetsFromZoneFile(Reader zoneFile, DnsZoneSyncOptions options) {
+        return this.syncRecordSetsFromZoneFileAsync(zoneFile, options).toBlocking().last();
+    }
+
+    @Override
+    public Observable<DnsZoneSyncResult> syncRecordSetsFromZoneFileAsync(final Reader zoneFile, final DnsZoneSyncOptions options) {
+        final DnsZoneImpl self = this;
+        return Observable.defer(new Func0<Observable<DnsZoneSyncResult>>() {
+            @Override
+            public Observable<DnsZoneSyncResult> call() {
+                Map<String, RecordSetInner> desired;
+                try {
+                    desired = ZoneFile.parse(zoneFile, self.name());
+                } catch (IOException e) {
+                    throw Exceptions.propagate(e);
+                }
+                return self.newSynchronizer().syncAsync(desired, options == null ? new DnsZoneSyncOptions() : options);
+            }
+        });
+    }
+
+    @Override
+    public int exportRecordSetsToZoneFile(Writer zoneFile) {
+        return this.exportRecordSetsToZoneFileAsync(zoneFile).toBlocking().last();
+    }
+
+    @Override
+    public Observable<Integer> exportRecordSetsToZoneFileAsync(final Writer zoneFile) {
+        final DnsZoneImpl self = this;
+        return Observable.defer(new Func0<Observable<Integer>>() {
+            @Override
+            public Observable<Integer> call() {
+                try {
+                    zoneFile.write("$ORIGIN " + self.name() + ".\n");
+                } catch (IOException e) {
+                    throw Exceptions.propagate(e);
+                }
+                // The pages are written as they are received, so that large zones are not held in memory
+                return self.manager().inner().recordSets().listAllByDnsZoneAsync(self.resourceGroupName(), self.name())
+                        .map(new Func1<Page<RecordSetInner>, Integer>() {
+                            @Override
+                            public Integer call(Page<RecordSetInner> page) {
+                                int count = 0;
+                                try {
+                                    for (RecordSetInner recordSet : page.items()) {
+                                        RecordType type = ZoneFile.typeOf(recordSet);
+                                        if (type != null) {
+                                            ZoneFile.write(recordSet.name(), type, recordSet, zoneFile);
+                                            count++;
+                                        }
+                                    }
+                                } catch (IOException e) {
+                                    throw Exceptions.propagate(e);
+                                }
+                                return count;
+                            }
+                        })
+                        .reduce(0, new Func2<Integer, Integer, Integer>() {
+                            @Override
+                            public Integer call(Integer total, Integer count) {
+                                return total + count;
+                            }
+                        })
+                        .map(new Func1<Integer, Integer>() {
+                            @Override
+                            public Integer call(Integer total) {
+                                try {
+                                    zoneFile.flush();
+                                } catch (IOException e) {
+                                    throw Exceptions.propagate(e);
+                                }
+                                return total;
+                            }
+                        });
+            }
+        });
+    }
+
+    private DnsZoneSynchronizer newSynchronizer() {
+        final RecordSetsInner client = this.manager().inner().recordSets();
+        final String resourceGroupName = this.resourceGroupName();
+        final String zoneName = this.name();
+        return new DnsZoneSynchronizer() {
+            @Override
+            Observable<Page<RecordSetInner>> listAsync() {
+                return client.listAllByDnsZoneAsync(resourceGroupName, zoneName);
+            }
+
+            @Override
+            Observable<RecordSetInner> createOrUpdateAsync(String name, RecordType type, RecordSetInner recordSet,
+                    String ifMatch, String ifNoneMatch) {
+                return client.createOrUpdateAsync(resourceGroupName, zoneName, name, type, recordSet, ifMatch, ifNoneMatch);
+            }
+
+            @Override
+            Observable<Void> deleteAsync(String name, RecordType type, String ifMatch) {
+                return client.deleteAsync(resourceGroupName, zoneName, name, type, ifMatch);
+            }
+        };
+    }
+
     // Setters
 
     @Override
@@ -0,0 +1,93 @@
+/**
+ * Copyright (c) Microsoft Corporation. All rights reserved.
+ * Licensed under the MIT License. See License.txt in the project root for
+ * license information.
+ */
+package com.microsoft.azure.management.dns.implementation;
+
+import com.microsoft.azure.management.dns.DnsZoneSyncResult;
+
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Implementation for {@link DnsZoneSyncResult}, accumulating the outcomes of the writes of a synchronization.
+ */
+class DnsZoneSyncResultImpl implements DnsZoneSyncResult {
+    private int created;
+    private int updated;
+    private int deleted;
+    private int unchanged;
+    private final Map<String, Throwable> errors = new LinkedHashMap<>();
+    private long elapsedNanos;
+
+    DnsZoneSyncResultImpl(int unchanged) {
+        this.unchanged = unchanged;
+    }
+
+    void succeeded(DnsZoneSynchronizer.Change change) {
+        switch (change.kind()) {
+            case CREATE:
+                this.created++;
+                break;
+            case UPDATE:
+                this.updated++;
+                break;
+            default:
+                this.deleted++;
+                break;
+        }
+    }
+
+    void failed(DnsZoneSynchronizer.Change change, Throwable error) {
+        this.errors.put(change.name() + "/" + change.type(), error);
+    }
+
+    DnsZoneSyncResultImpl withElapsedNanos(long elapsedNanos) {
+        this.elapsedNanos = elapsedNanos;
+        return this;
+    }
+
+    @Override
+    public int createdCount() {
+        return this.created;
+    }
+
+    @Override
+    public int updatedCount() {
+        return this.updated;
+    }
+
+    @Override
+    public int deletedCount() {
+        return this.deleted;
+    }
+
+    @Override
+    public int unchangedCount() {
+        return this.unchanged;
+    }
+
+    @Override
+    public int failedCount() {
+        return this.errors.size();
+    }
+
+    @Override
+    public Map<String, Throwable> errors() {
+        return Collections.unmodifiableMap(this.errors);
+    }
+
+    @Override
+    public long elapsedMillis() {
+        return TimeUnit.NANOSECONDS.toMillis(this.elapsedNanos);
+    }
+
+    @Override
+    public double writesPerSecond() {
+        int writes = this.created + this.updated + this.deleted;
+        return this.elapsedNanos == 0 ? 0 : writes * (double) TimeUnit.SECONDS.toNanos(1) / this.elapsedNanos;
+    }
+}
@@ -0,0 +1,337 @@
+/**
+ * Copyright (c) Microsoft Corporation. All rights reserved.
+ * Licensed under the MIT License. See License.txt in the project root for
+ * license information.
+ */
+package com.microsoft.azure.management.dns.implementation;
+
+import com.microsoft.azure.Page;
+import com.microsoft.azure.management.dns.DnsZoneSyncOptions;
+import com.microsoft.azure.management.dns.DnsZoneSyncResult;
+import com.microsoft.azure.management.dns.RecordType;
+import rx.Observable;
+import rx.functions.Action1;
+import rx.functions.Action2;
+import rx.functions.Func0;
+import rx.functions.Func1;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Synchronizes the record sets of a DNS zone with a desired state, writing only the record sets that differ.
+ * <p>
+ * The current record sets are read into an index of their ETags and of a canonical form of their records,
+ * without keeping the record sets. The writes are conditional on the ETags read, so that the record sets
+ * changed by someone else during the synchronization fail instead of being overwritten.
+ */
+abstract class DnsZoneSynchronizer {
+    private static final String APEX = "@";
+
+    /**
+     * @return an observable emitting all the pages of record sets of the zone
+     */
+    abstract Observable<Page<RecordSetInner>> listAsync();
+
+    /**
+     * @param name the name of a record set relative to the zone
+     * @param type the type of the record set
+     * @param recordSet the record set
+     * @param ifMatch the ETag the record set must have, or null
+     * @param ifNoneMatch "*" if the record set must not exist, or null
+     * @return an observable emitting the record set written
+     */
+    abstract Observable<RecordSetInner> createOrUpdateAsync(String name, RecordType type, RecordSetInner recordSet,
+            String ifMatch, String ifNoneMatch);
+
+    /**
+     * @param name the name of a record set relative to the zone
+     * @param type the type of the record set
+     * @param ifMatch the ETag the record set must have
+     * @return an observable completing once the record set is deleted
+     */
+    abstract Observable<Void> deleteAsync(String name, RecordType type, String ifMatch);
+
+    /**
+     * Synchronizes the record sets of the zone with a desired state. The desired record sets updating a
+     * record set get the metadata of the record set if they have none.
+     *
+     * @param desired the desired record sets by key, as returned by {@link ZoneFile#keyOf(String, RecordType)}
+     * @param options the synchronization options
+     * @return an observable emitting the result of the synchronization
+     */
+    Observable<DnsZoneSyncResult> syncAsync(final Map<String, RecordSetInner> desired, final DnsZoneSyncOptions options) {
+        return Observable.defer(new Func0<Observable<DnsZoneSyncResult>>() {
+            @Override
+            public Observable<DnsZoneSyncResult> call() {
+                final long start = System.nanoTime();
+                return indexAsync()
+                        .flatMap(new Func1<Map<String, Current>, Observable<DnsZoneSyncResult>>() {
+                            @Override
+                            public Observable<DnsZoneSyncResult> call(Map<String, Current> current) {
+                                Diff diff = diff(current, desired, options.isDeletingUnlistedRecordSets());
+                                return applyAsync(diff, options.parallelism(), start);
+                            }
+                        });
+            }
+        });
+    }
+
+    private Observable<Map<String, Current>> indexAsync() {
+        return listAsync()
+                .collect(new Func0<Map<String, Current>>() {
+                    @Override
+                    public Map<String, Current> call() {
+                        return new HashMap<>();
+                    }
+                }, new Action2<Map<String, Current>, Page<RecordSetInner>>() {
+                    @Override
+                    public void call(Map<String, Current> index, Page<RecordSetInner> page) {
+                        for (RecordSetInner recordSet : page.items()) {
+                            RecordType type = ZoneFile.typeOf(recordSet);
+                            if (type != null) {
+                                index.put(ZoneFile.keyOf(recordSet.name(), type), new Current(recordSet, fingerprint(type, recordSet)));
+                            }
+                        }
+                    }
+                });
+    }
+
+    private Observable<DnsZoneSyncResult> applyAsync(Diff diff, int parallelism, final long start) {
+        final DnsZoneSyncResultImpl result = new DnsZoneSyncResultImpl(diff.unchanged);
+        List<Change> deletes = new ArrayList<>();
+        List<Change> writes = new ArrayList<>();
+        for (Change change : diff.changes) {
+            if (change.kind == Change.Kind.DELETE) {
+                deletes.add(change);
+            } else {
+                writes.add(change);
+            }
+        }
+        // The record sets are deleted first, so that a name can be given a CNAME record set in place of other types
+        return applyAsync(deletes, parallelism)
+                .concatWith(applyAsync(writes, parallelism))
+                .doOnNext(new Action1<Outcome>() {
+                    @Override
+                    public void call(Outcome outcome) {
+                        if (outcome.error == null) {
+                            result.succeeded(outcome.change);
+                        } else {
+                            result.failed(outcome.change, outcome.error);
+                        }
+                    }
+                })
+                .toCompletable()
+                .andThen(Observable.defer(new Func0<Observable<DnsZoneSyncResult>>() {
+                    @Override
+                    public Observable<DnsZoneSyncResult> call() {
+                        return Observable.<DnsZoneSyncResult>just(result.withElapsedNanos(System.nanoTime() - start));
+                    }
+                }));
+    }
+
+    private Observable<Outcome> applyAsync(List<Change> changes, int parallelism) {
+        return Observable.from(changes)
+                .flatMap(new Func1<Change, Observable<Outcome>>() {
+                    @Override
+                    public Observable<Outcome> call(final Change change) {
+                        Observable<?> write;
+                        switch (change.kind) {
+                            case CREATE:
+                                write = createOrUpdateAsync(change.name, change.type, change.recordSet, null, "*");
+                                break;
+                            case UPDATE:
+                                write = createOrUpdateAsync(change.name, change.type, change.recordSet, change.etag, null);
+                                break;
+                            default:
+                                write = deleteAsync(change.name, change.type, change.etag);
+                                break;
+                        }
+                        // A failed write is reported in the result without stopping the other writes
+                        return write
+                                .toCompletable()
+                                .andThen(Observable.just(new Outcome(change, null)))
+                                .onErrorReturn(new Func1<Throwable, Outcome>() {
+                                    @Override
+                                    public Outcome call(Throwable throwable) {
+                                        return new Outcome(change, throwable);
+                                    }
+                                });
+                    }
+                }, parallelism);
+    }
+
+    /**
+     * Computes the writes turning the current record sets into the desired ones. The SOA and NS record
+     * sets of the zone apex are managed by Azure DNS and left untouched.
+     *
+     * @param current the index of the current record sets
+     * @param desired the desired record sets by key
+     * @param deleteUnlisted true to delete the current record sets missing from the desired ones
+     * @return the writes, and the number of desired record sets already in the desired state
+     */
+    static Diff diff(Map<String, Current> current, Map<String, RecordSetInner> desired, boolean deleteUnlisted) {
+        Diff diff = new Diff();
+        for (Map.Entry<String, RecordSetInner> entry : desired.entrySet()) {
+            String name = ZoneFile.nameOf(entry.getKey());
+            RecordType type = ZoneFile.typeOf(entry.getKey());
+            RecordSetInner recordSet = entry.getValue();
+            if (isManaged(name, type)) {
+                continue;
+            }
+            Current existing = current.get(entry.getKey());
+            if (existing == null) {
+                diff.changes.add(new Change(Change.Kind.CREATE, name, type, recordSet, null));
+            } else if (existing.fingerprint.equals(fingerprint(type, recordSet))
+                    && (recordSet.metadata() == null || recordSet.metadata().equals(existing.metadata))) {
+                diff.unchanged++;
+            } else {
+                if (recordSet.metadata() == null) {
+                    // Keeps the metadata, without changing the desired record set of the caller
+                    recordSet = copyOf(recordSet).withMetadata(existing.metadata);
+                }
+                diff.changes.add(new Change(Change.Kind.UPDATE, name, type, recordSet, existing.etag));
+            }
+        }
+        if (deleteUnlisted) {
+            for (Map.Entry<String, Current> entry : current.entrySet()) {
+                String name = ZoneFile.nameOf(entry.getKey());
+                RecordType type = ZoneFile.typeOf(entry.getKey());
+                if (!desired.containsKey(entry.getKey()) && !isManaged(name, type)) {
+                    diff.changes.add(new Change(Change.Kind.DELETE, name, type, null, entry.getValue().etag));
+                }
+            }
+        }
+        return diff;
+    }
+
+    private static RecordSetInner copyOf(RecordSetInner recordSet) {
+        return new RecordSetInner()
+                .withMetadata(recordSet.metadata())
+                .withTTL(recordSet.tTL())
+                .withARecords(recordSet.aRecords())
+                .withAaaaRecords(recordSet.aaaaRecords())
+                .withMxRecords(recordSet.mxRecords())
+                .withNsRecords(recordSet.nsRecords())
+                .withPtrRecords(recordSet.ptrRecords())
+                .withSrvRecords(recordSet.srvRecords())
+                .withTxtRecords(recordSet.txtRecords())
+                .withCnameRecord(recordSet.cnameRecord())
+                .withSoaRecord(recordSet.soaRecord())
+                .withCaaRecords(recordSet.caaRecords());
+    }
+
+    private static boolean isManaged(String name, RecordType type) {
+        return APEX.equals(name) && (type == RecordType.SOA || type == RecordType.NS);
+    }
+
+    /**
+     * @param type the type of a record set
+     * @param recordSet the record set
+     * @return a canonical form of the TTL and of the records of the record set, equal for record sets
+     *         differing only in the order of their records or in the case and final dot of their names
+     */
+    static String fingerprint(RecordType type, RecordSetInner recordSet) {
+        List<String> records = ZoneFile.recordData(type, recordSet);
+        if (type != RecordType.TXT && type != RecordType.CAA) {
+            for (int i = 0; i < records.size(); i++) {
+                records.set(i, records.get(i).toLowerCase());
+            }
+        }
+        Collections.sort(records);
+        StringBuilder fingerprint = new StringBuilder().append(recordSet.tTL());
+        for (String record : records) {
+            fingerprint.append('\n').append(record);
+        }
+        return fingerprint.toString();
+    }
+
+    /**
+     * What is known of a current record set.
+     */
+    static final class Current {
+        private final String etag;
+        private final String fingerprint;
+        private final Map<String, String> metadata;
+
+        Current(RecordSetInner recordSet, String fingerprint) {
+            this.etag = recordSet.etag();
+            this.fingerprint = fingerprint;
+            this.metadata = recordSet.metadata();
+        }
+    }
+
+    /**
+     * The writes of a synchronization.
+     */
+    static final class Diff {
+        private final List<Change> changes = new ArrayList<>();
+        private int unchanged;
+
+        List<Change> changes() {
+            return this.changes;
+        }
+
+        int unchanged() {
+            return this.unchanged;
+        }
+    }
+
+    /**
+     * A write of a record set.
+     */
+    static final class Change {
+        /**
+         * The kinds of writes.
+         */
+        enum Kind {
+            CREATE, UPDATE, DELETE
+        }
+
+        private final Kind kind;
+        private final String name;
+        private final RecordType type;
+        private final RecordSetInner recordSet;
+        private final String etag;
+
+        Change(Kind kind, String name, RecordType type, RecordSetInner recordSet, String etag) {
+            this.kind = kind;
+            this.name = name;
+            this.type = type;
+            this.recordSet = recordSet;
+            this.etag = etag;
+        }
+
+        Kind kind() {
+            return this.kind;
+        }
+
+        String name() {
+            return this.name;
+        }
+
+        RecordType type() {
+            return this.type;
+        }
+
+        String etag() {
+            return this.etag;
+        }
+    }
+
+    /**
+     * The outcome of a write.
+     */
+    private static final class Outcome {
+        private final Change change;
+        private final Throwable error;
+
+        Outcome(Change change, Throwable error) {
+            this.change = change;
+            this.error = error;
+        }
+    }
+}
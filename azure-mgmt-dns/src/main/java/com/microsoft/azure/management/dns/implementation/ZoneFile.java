@@ -0,0 +1,493 @@
+/**
+ * Copyright (c) Microsoft Corporation. All rights reserved.
+ * Licensed under the MIT License. See License.txt in the project root for
+ * license information.
+ */
+package com.microsoft.azure.management.dns.implementation;
+
+import com.microsoft.azure.management.dns.ARecord;
+import com.microsoft.azure.management.dns.AaaaRecord;
+import com.microsoft.azure.management.dns.CaaRecord;
+import com.microsoft.azure.management.dns.CnameRecord;
+import com.microsoft.azure.management.dns.MxRecord;
+import com.microsoft.azure.management.dns.NsRecord;
+import com.microsoft.azure.management.dns.PtrRecord;
+import com.microsoft.azure.management.dns.RecordType;
+import com.microsoft.azure.management.dns.SoaRecord;
+import com.microsoft.azure.management.dns.SrvRecord;
+import com.microsoft.azure.management.dns.TxtRecord;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.Reader;
+import java.io.Writer;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Reads and writes record sets in the RFC 1035 zone file format.
+ * <p>
+ * The $ORIGIN and $TTL directives, relative and absolute names, "@", omitted owners, TTLs with units,
+ * parentheses and comments are supported, for the record types Azure DNS supports. SOA records are
+ * written but skipped when read, as Azure DNS manages the SOA record of a zone.
+ */
+final class ZoneFile {
+    private static final String APEX = "@";
+
+    private ZoneFile() {
+    }
+
+    /**
+     * Gets the key of a record set in the maps of record sets.
+     *
+     * @param name the name of the record set relative to the zone, "@" for the apex
+     * @param type the type of the record set
+     * @return the key
+     */
+    static String keyOf(String name, RecordType type) {
+        return name.toLowerCase() + "|" + type;
+    }
+
+    /**
+     * @param key the key of a record set
+     * @return the lower case name of the record set
+     */
+    static String nameOf(String key) {
+        return key.substring(0, key.lastIndexOf('|'));
+    }
+
+    /**
+     * @param key the key of a record set
+     * @return the type of the record set
+     */
+    static RecordType typeOf(String key) {
+        return RecordType.fromString(key.substring(key.lastIndexOf('|') + 1));
+    }
+
+    /**
+     * @param recordSet a record set read from Azure DNS
+     * @return the type of the record set, or null if it is not known
+     */
+    static RecordType typeOf(RecordSetInner recordSet) {
+        // The type of a record set is prefixed by the resource type of the zone, such as "Microsoft.Network/dnszones/A"
+        return RecordType.fromString(recordSet.type().substring(recordSet.type().lastIndexOf('/') + 1));
+    }
+
+    /**
+     * Parses a zone file.
+     *
+     * @param reader the reader of the zone file
+     * @param zoneName the name of the zone, the initial origin of the file
+     * @return the record sets by key, in the order of the file
+     * @throws IOException if the zone file cannot be read
+     * @throws IllegalArgumentException if the zone file is not valid
+     */
+    static Map<String, RecordSetInner> parse(Reader reader, String zoneName) throws IOException {
+        Parser parser = new Parser(zoneName);
+        BufferedReader lines = new BufferedReader(reader);
+        String line;
+        while ((line = lines.readLine()) != null) {
+            parser.parseLine(line);
+        }
+        parser.endOfFile();
+        return parser.recordSets;
+    }
+
+    /**
+     * Writes a record set as zone file records, with names relative to the zone.
+     *
+     * @param name the name of the record set relative to the zone, "@" for the apex
+     * @param type the type of the record set
+     * @param recordSet the record set
+     * @param writer the writer of the zone file
+     * @throws IOException if the zone file cannot be written
+     */
+    static void write(String name, RecordType type, RecordSetInner recordSet, Writer writer) throws IOException {
+        String prefix = name + "\t" + (recordSet.tTL() == null ? 3600 : recordSet.tTL()) + "\tIN\t" + type + "\t";
+        for (String data : recordData(type, recordSet)) {
+            writer.write(prefix);
+            writer.write(data);
+            writer.write("\n");
+        }
+    }
+
+    /**
+     * @param type the type of a record set
+     * @param recordSet the record set
+     * @return the data of the records of the record set in the zone file format, one entry per record
+     */
+    static List<String> recordData(RecordType type, RecordSetInner recordSet) {
+        List<String> data = new ArrayList<>();
+        switch (type) {
+            case A:
+                for (ARecord record : nonNull(recordSet.aRecords())) {
+                    data.add(record.ipv4Address());
+                }
+                break;
+            case AAAA:
+                for (AaaaRecord record : nonNull(recordSet.aaaaRecords())) {
+                    data.add(record.ipv6Address());
+                }
+                break;
+            case CAA:
+                for (CaaRecord record : nonNull(recordSet.caaRecords())) {
+                    data.add(record.flags() + " " + record.tag() + " " + quote(record.value()));
+                }
+                break;
+            case CNAME:
+                if (recordSet.cnameRecord() != null) {
+                    data.add(absolute(recordSet.cnameRecord().cname()));
+                }
+                break;
+            case MX:
+                for (MxRecord record : nonNull(recordSet.mxRecords())) {
+                    data.add(record.preference() + " " + absolute(record.exchange()));
+                }
+                break;
+            case NS:
+                for (NsRecord record : nonNull(recordSet.nsRecords())) {
+                    data.add(absolute(record.nsdname()));
+                }
+                break;
+            case PTR:
+                for (PtrRecord record : nonNull(recordSet.ptrRecords())) {
+                    data.add(absolute(record.ptrdname()));
+                }
+                break;
+            case SOA:
+                SoaRecord soa = recordSet.soaRecord();
+                if (soa != null) {
+                    data.add(absolute(soa.host()) + " " + absolute(soa.email()) + " " + soa.serialNumber() + " "
+                            + soa.refreshTime() + " " + soa.retryTime() + " " + soa.expireTime() + " " + soa.minimumTtl());
+                }
+                break;
+            case SRV:
+                for (SrvRecord record : nonNull(recordSet.srvRecords())) {
+                    data.add(record.priority() + " " + record.weight() + " " + record.port() + " " + absolute(record.target()));
+                }
+                break;
+            case TXT:
+                for (TxtRecord record : nonNull(recordSet.txtRecords())) {
+                    StringBuilder builder = new StringBuilder();
+                    for (String value : nonNull(record.value())) {
+                        if (builder.length() > 0) {
+                            builder.append(' ');
+                        }
+                        builder.append(quote(value));
+                    }
+                    data.add(builder.toString());
+                }
+                break;
+            default:
+                break;
+        }
+        return data;
+    }
+
+    private static <T> List<T> nonNull(List<T> list) {
+        return list == null ? new ArrayList<T>() : list;
+    }
+
+    private static String absolute(String name) {
+        return name == null || name.endsWith(".") ? name : name + ".";
+    }
+
+    private static String quote(String value) {
+        return "\"" + (value == null ? "" : value.replace("\\", "\\\\").replace("\"", "\\\"")) + "\"";
+    }
+
+    /**
+     * The state of the parsing of a zone file.
+     */
+    private static final class Parser {
+        private final String zone;
+        private final Map<String, RecordSetInner> recordSets = new LinkedHashMap<>();
+        private String origin;
+        private Long defaultTtl;
+        private String lastOwner;
+        // The tokens of an entry spanning lines in parentheses
+        private final List<String> tokens = new ArrayList<>();
+        private boolean entryStartsWithOwner;
+        private int depth;
+        private int lineNumber;
+        private int entryLineNumber;
+
+        Parser(String zoneName) {
+            String name = zoneName.toLowerCase();
+            this.zone = name.endsWith(".") ? name.substring(0, name.length() - 1) : name;
+            this.origin = this.zone;
+        }
+
+        void parseLine(String line) {
+            this.lineNumber++;
+            if (this.depth == 0) {
+                this.tokens.clear();
+                this.entryLineNumber = this.lineNumber;
+                this.entryStartsWithOwner = !line.isEmpty() && !Character.isWhitespace(line.charAt(0));
+            }
+            tokenize(line);
+            if (this.depth == 0 && !this.tokens.isEmpty()) {
+                parseEntry(new ArrayList<>(this.tokens));
+            }
+        }
+
+        void endOfFile() {
+            if (this.depth != 0) {
+                throw error("unbalanced parentheses");
+            }
+        }
+
+        private void tokenize(String line) {
+            StringBuilder token = null;
+            boolean quoted = false;
+            for (int i = 0; i < line.length(); i++) {
+                char c = line.charAt(i);
+                if (quoted) {
+                    if (c == '\\' && i + 1 < line.length()) {
+                        token.append(line.charAt(++i));
+                    } else if (c == '"') {
+                        this.tokens.add(token.toString());
+                        token = null;
+                        quoted = false;
+                    } else {
+                        token.append(c);
+                    }
+                } else if (c == ';') {
+                    break;
+                } else if (c == '"') {
+                    addToken(token);
+                    // Quoted strings are marked so that they are not taken for names or numbers
+                    token = new StringBuilder("\"");
+                    quoted = true;
+                } else if (c == '(' || c == ')') {
+                    addToken(token);
+                    token = null;
+                    this.depth += c == '(' ? 1 : -1;
+                    if (this.depth < 0) {
+                        throw error("unbalanced parentheses");
+                    }
+                } else if (Character.isWhitespace(c)) {
+                    addToken(token);
+                    token = null;
+                } else {
+                    if (token == null) {
+                        token = new StringBuilder();
+                    }
+                    token.append(c);
+                }
+            }
+            if (quoted) {
+                throw error("unterminated quoted string");
+            }
+            addToken(token);
+        }
+
+        private void addToken(StringBuilder token) {
+            if (token != null && token.length() > 0) {
+                this.tokens.add(token.toString());
+            }
+        }
+
+        private void parseEntry(List<String> entry) {
+            String first = entry.get(0);
+            if (first.equalsIgnoreCase("$ORIGIN")) {
+                expect(entry, 2);
+                this.origin = fqdn(entry.get(1));
+                return;
+            } else if (first.equalsIgnoreCase("$TTL")) {
+                expect(entry, 2);
+                this.defaultTtl = ttl(entry.get(1));
+                return;
+            } else if (first.startsWith("$")) {
+                throw error("unsupported directive " + first);
+            }
+
+            int i = 0;
+            String owner;
+            if (this.entryStartsWithOwner) {
+                owner = fqdn(entry.get(i++));
+            } else if (this.lastOwner != null) {
+                owner = this.lastOwner;
+            } else {
+                throw error("missing owner name");
+            }
+            this.lastOwner = owner;
+
+            Long ttl = null;
+            // The TTL and the class may come in either order
+            for (int j = 0; j < 2 && i < entry.size(); j++) {
+                String token = entry.get(i);
+                if (ttl == null && Character.isDigit(token.charAt(0))) {
+                    ttl = ttl(token);
+                    i++;
+                } else if (token.equalsIgnoreCase("IN")) {
+                    i++;
+                }
+            }
+            if (i >= entry.size()) {
+                throw error("missing record type");
+            }
+            RecordType type = RecordType.fromString(entry.get(i++));
+            if (type == null) {
+                throw error("unsupported record type " + entry.get(i - 1));
+            }
+            boolean explicitTtl = ttl != null;
+            if (ttl == null) {
+                ttl = this.defaultTtl != null ? this.defaultTtl : Long.valueOf(3600);
+            }
+            List<String> data = entry.subList(i, entry.size());
+            if (type == RecordType.SOA) {
+                return;
+            }
+
+            String key = keyOf(relative(owner), type);
+            RecordSetInner recordSet = this.recordSets.get(key);
+            if (recordSet == null) {
+                recordSet = new RecordSetInner().withTTL(ttl);
+                this.recordSets.put(key, recordSet);
+            } else if (type == RecordType.CNAME) {
+                throw error("more than one CNAME record for " + owner);
+            } else if (explicitTtl && !ttl.equals(recordSet.tTL())) {
+                // A record set has a single TTL
+                throw error("TTL " + ttl + " differs from the TTL " + recordSet.tTL() + " of the other " + type
+                        + " records of " + owner);
+            }
+            addRecord(recordSet, type, data);
+        }
+
+        private void addRecord(RecordSetInner recordSet, RecordType type, List<String> data) {
+            switch (type) {
+                case A:
+                    expect(data, 1);
+                    recordSet.withARecords(append(recordSet.aRecords(), new ARecord().withIpv4Address(data.get(0))));
+                    break;
+                case AAAA:
+                    expect(data, 1);
+                    recordSet.withAaaaRecords(append(recordSet.aaaaRecords(), new AaaaRecord().withIpv6Address(data.get(0))));
+                    break;
+                case CAA:
+                    expect(data, 3);
+                    recordSet.withCaaRecords(append(recordSet.caaRecords(), new CaaRecord()
+                            .withFlags(number(data.get(0)))
+                            .withTag(data.get(1))
+                            .withValue(text(data.get(2)))));
+                    break;
+                case CNAME:
+                    expect(data, 1);
+                    recordSet.withCnameRecord(new CnameRecord().withCname(fqdn(data.get(0))));
+                    break;
+                case MX:
+                    expect(data, 2);
+                    recordSet.withMxRecords(append(recordSet.mxRecords(), new MxRecord()
+                            .withPreference(number(data.get(0)))
+                            .withExchange(fqdn(data.get(1)))));
+                    break;
+                case NS:
+                    expect(data, 1);
+                    recordSet.withNsRecords(append(recordSet.nsRecords(), new NsRecord().withNsdname(fqdn(data.get(0)))));
+                    break;
+                case PTR:
+                    expect(data, 1);
+                    recordSet.withPtrRecords(append(recordSet.ptrRecords(), new PtrRecord().withPtrdname(fqdn(data.get(0)))));
+                    break;
+                case SRV:
+                    expect(data, 4);
+                    recordSet.withSrvRecords(append(recordSet.srvRecords(), new SrvRecord()
+                            .withPriority(number(data.get(0)))
+                            .withWeight(number(data.get(1)))
+                            .withPort(number(data.get(2)))
+                            .withTarget(fqdn(data.get(3)))));
+                    break;
+                case TXT:
+                    if (data.isEmpty()) {
+                        throw error("missing TXT data");
+                    }
+                    List<String> values = new ArrayList<>();
+                    for (String value : data) {
+                        values.add(text(value));
+                    }
+                    recordSet.withTxtRecords(append(recordSet.txtRecords(), new TxtRecord().withValue(values)));
+                    break;
+                default:
+                    throw error("unsupported record type " + type);
+            }
+        }
+
+        private <T> List<T> append(List<T> list, T item) {
+            List<T> result = list == null ? new ArrayList<T>() : list;
+            result.add(item);
+            return result;
+        }
+
+        /**
+         * @param name a name of the zone file
+         * @return the fully qualified name, lower case and without the trailing dot
+         */
+        private String fqdn(String name) {
+            if (name.startsWith("\"")) {
+                throw error("unexpected quoted string");
+            } else if (name.equals(APEX)) {
+                return this.origin;
+            } else if (name.endsWith(".")) {
+                return name.substring(0, name.length() - 1).toLowerCase();
+            }
+            return this.origin.isEmpty() ? name.toLowerCase() : (name + "." + this.origin).toLowerCase();
+        }
+
+        private String relative(String fqdn) {
+            if (fqdn.equals(this.zone)) {
+                return APEX;
+            } else if (fqdn.endsWith("." + this.zone)) {
+                return fqdn.substring(0, fqdn.length() - this.zone.length() - 1);
+            }
+            throw error(fqdn + " is not in zone " + this.zone);
+        }
+
+        private String text(String token) {
+            return token.startsWith("\"") ? token.substring(1) : token;
+        }
+
+        private int number(String token) {
+            try {
+                return Integer.parseInt(token);
+            } catch (NumberFormatException e) {
+                throw error("invalid number " + token);
+            }
+        }
+
+        /**
+         * @param token a TTL, in seconds or with units such as "1h30m"
+         * @return the TTL in seconds
+         */
+        private long ttl(String token) {
+            long total = 0;
+            long value = -1;
+            for (char c : token.toLowerCase().toCharArray()) {
+                if (Character.isDigit(c)) {
+                    value = (value < 0 ? 0 : value * 10) + (c - '0');
+                    continue;
+                }
+                int unit = Arrays.asList('s', 'm', 'h', 'd', 'w').indexOf(c);
+                if (unit < 0 || value < 0) {
+                    throw error("invalid TTL " + token);
+                }
+                total += value * new long[] {1, 60, 3600, 86400, 604800}[unit];
+                value = -1;
+            }
+            return value < 0 ? total : total + value;
+        }
+
+        private void expect(List<String> data, int count) {
+            if (data.size() != count) {
+                throw error("expected " + count + " fields but found " + data.size());
+            }
+        }
+
+        private IllegalArgumentException error(String message) {
+            return new IllegalArgumentException("Invalid zone file at line " + this.entryLineNumber + ": " + message);
+        }
+    }
+}
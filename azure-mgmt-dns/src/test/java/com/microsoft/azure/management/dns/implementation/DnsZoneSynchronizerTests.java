@@ -0,0 +1,204 @@
+/**
+ * Copyright (c) Microsoft Corporation. All rights reserved.
+ * Licensed under the MIT License. See License.txt in the project root for
+ * license information.
+ */
+package com.microsoft.azure.management.dns.implementation;
+
+import com.microsoft.azure.Page;
+import com.microsoft.azure.management.dns.DnsZoneSyncOptions;
+import com.microsoft.azure.management.dns.DnsZoneSyncResult;
+import com.microsoft.azure.management.dns.RecordType;
+import com.microsoft.azure.serializer.AzureJacksonAdapter;
+import org.junit.Assert;
+import org.junit.Test;
+import rx.Observable;
+
+import java.io.IOException;
+import java.io.StringReader;
+import java.io.StringWriter;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+public class DnsZoneSynchronizerTests {
+    private static final String ZONE = "contoso.com";
+    private static final String ZONE_FILE = "$ORIGIN contoso.com.\n"
+            + "$TTL 1h\n"
+            + "@       IN SOA ns1-01.azure-dns.com. azuredns-hostmaster.microsoft.com. (\n"
+            + "            1 ; serial\n"
+            + "            3600 300 2419200 300 )\n"
+            + "@       IN NS  ns1-01.azure-dns.com.\n"
+            + "www     300 IN A 10.0.0.2\n"
+            + "        IN 300 A 10.0.0.1 ; owner of the previous record\n"
+            + "mail    MX  10 Mail.Contoso.com.\n"
+            + "blog    CNAME www\n"
+            + "_sip._tcp SRV 10 60 5060 sip.contoso.com.\n"
+            + "@       TXT \"v=spf1 include:contoso.com; -all\" \"second \\\"part\\\"\"\n"
+            + "$ORIGIN api.contoso.com.\n"
+            + "v1      2d  AAAA 2001:db8::1\n";
+
+    @Test
+    public void canParseZoneFile() throws IOException {
+        Map<String, RecordSetInner> recordSets = ZoneFile.parse(new StringReader(ZONE_FILE), ZONE);
+
+        Assert.assertEquals(Arrays.asList("@|NS", "www|A", "mail|MX", "blog|CNAME", "_sip._tcp|SRV", "@|TXT", "v1.api|AAAA"),
+                new ArrayList<>(recordSets.keySet()));
+        RecordSetInner www = recordSets.get("www|A");
+        Assert.assertEquals(Long.valueOf(300), www.tTL());
+        Assert.assertEquals(2, www.aRecords().size());
+        Assert.assertEquals("10.0.0.1", www.aRecords().get(1).ipv4Address());
+        RecordSetInner mail = recordSets.get("mail|MX");
+        Assert.assertEquals(Long.valueOf(3600), mail.tTL());
+        Assert.assertEquals(Integer.valueOf(10), mail.mxRecords().get(0).preference());
+        Assert.assertEquals("mail.contoso.com", mail.mxRecords().get(0).exchange());
+        Assert.assertEquals("www.contoso.com", recordSets.get("blog|CNAME").cnameRecord().cname());
+        Assert.assertEquals(Integer.valueOf(5060), recordSets.get("_sip._tcp|SRV").srvRecords().get(0).port());
+        Assert.assertEquals(Arrays.asList("v=spf1 include:contoso.com; -all", "second \"part\""),
+                recordSets.get("@|TXT").txtRecords().get(0).value());
+        Assert.assertEquals(Long.valueOf(2 * 86400), recordSets.get("v1.api|AAAA").tTL());
+    }
+
+    @Test
+    public void canRejectInvalidZoneFile() throws IOException {
+        try {
+            ZoneFile.parse(new StringReader("www A 10.0.0.1\n$INCLUDE other.zone\n"), ZONE);
+            Assert.fail();
+        } catch (IllegalArgumentException e) {
+            Assert.assertTrue(e.getMessage().contains("line 2"));
+        }
+        try {
+            ZoneFile.parse(new StringReader("www.fabrikam.com. A 10.0.0.1\n"), ZONE);
+            Assert.fail();
+        } catch (IllegalArgumentException e) {
+            Assert.assertTrue(e.getMessage().contains("not in zone"));
+        }
+    }
+
+    @Test
+    public void canRejectRecordSetWithDifferentTtls() throws IOException {
+        try {
+            ZoneFile.parse(new StringReader("www 300 A 10.0.0.1\nwww 600 A 10.0.0.2\n"), ZONE);
+            Assert.fail();
+        } catch (IllegalArgumentException e) {
+            Assert.assertTrue(e.getMessage().contains("line 2"));
+            Assert.assertTrue(e.getMessage().contains("TTL 600"));
+        }
+        // The default TTL does not conflict with an explicit one
+        Map<String, RecordSetInner> recordSets = ZoneFile.parse(new StringReader("www 300 A 10.0.0.1\nwww A 10.0.0.2\n"), ZONE);
+        Assert.assertEquals(Long.valueOf(300), recordSets.get("www|A").tTL());
+    }
+
+    @Test
+    public void canWriteZoneFileReadBack() throws IOException {
+        Map<String, RecordSetInner> recordSets = ZoneFile.parse(new StringReader(ZONE_FILE), ZONE);
+        StringWriter writer = new StringWriter();
+        for (Map.Entry<String, RecordSetInner> entry : recordSets.entrySet()) {
+            ZoneFile.write(ZoneFile.nameOf(entry.getKey()), ZoneFile.typeOf(entry.getKey()), entry.getValue(), writer);
+        }
+
+        Map<String, RecordSetInner> readBack = ZoneFile.parse(new StringReader(writer.toString()), ZONE);
+
+        Assert.assertEquals(recordSets.keySet(), readBack.keySet());
+        for (String key : recordSets.keySet()) {
+            RecordType type = ZoneFile.typeOf(key);
+            Assert.assertEquals(DnsZoneSynchronizer.fingerprint(type, recordSets.get(key)),
+                    DnsZoneSynchronizer.fingerprint(type, readBack.get(key)));
+        }
+    }
+
+    @Test
+    public void canSyncWithMinimalWrites() throws IOException {
+        FakeSynchronizer synchronizer = new FakeSynchronizer(
+                current("@", "SOA", "soa", "\"TTL\": 3600, \"SOARecord\": {\"host\": \"ns1-01.azure-dns.com.\"}"),
+                current("@", "NS", "ns", "\"TTL\": 172800, \"NSRecords\": [{\"nsdname\": \"ns1-01.azure-dns.com.\"}]"),
+                current("www", "A", "www-etag", "\"TTL\": 300, \"ARecords\": [{\"ipv4Address\": \"10.0.0.1\"}, {\"ipv4Address\": \"10.0.0.2\"}]"),
+                current("mail", "MX", "mail-etag", "\"TTL\": 3600, \"metadata\": {\"owner\": \"mail-team\"}, "
+                        + "\"MXRecords\": [{\"preference\": 20, \"exchange\": \"mail.contoso.com\"}]"),
+                current("old", "A", "old-etag", "\"TTL\": 3600, \"ARecords\": [{\"ipv4Address\": \"10.0.0.9\"}]"));
+        Map<String, RecordSetInner> desired = ZoneFile.parse(new StringReader(ZONE_FILE), ZONE);
+
+        DnsZoneSyncResult result = synchronizer.syncAsync(desired, new DnsZoneSyncOptions()
+                .withParallelism(2)
+                .withDeletionOfUnlistedRecordSets()).toBlocking().single();
+
+        Assert.assertEquals(4, result.createdCount());
+        Assert.assertEquals(1, result.updatedCount());
+        Assert.assertEquals(1, result.deletedCount());
+        Assert.assertEquals(1, result.unchangedCount());
+        Assert.assertEquals(0, result.failedCount());
+        Assert.assertEquals("DELETE old/A old-etag", synchronizer.writes.get(0));
+        Assert.assertTrue(synchronizer.writes.contains("UPDATE mail/MX mail-etag"));
+        Assert.assertTrue(synchronizer.writes.contains("CREATE blog/CNAME *"));
+        Assert.assertFalse(synchronizer.writes.toString().contains("@/NS"));
+        // The metadata is kept on the record set written, and the desired one is left alone
+        Assert.assertEquals("mail-team", synchronizer.written.get("mail/MX").metadata().get("owner"));
+        Assert.assertNull(desired.get("mail|MX").metadata());
+    }
+
+    @Test
+    public void canReportFailedWrites() throws IOException {
+        FakeSynchronizer synchronizer = new FakeSynchronizer(
+                current("www", "A", "www-etag", "\"TTL\": 60, \"ARecords\": [{\"ipv4Address\": \"10.0.0.1\"}]"));
+        synchronizer.failing = "www";
+        Map<String, RecordSetInner> desired = ZoneFile.parse(new StringReader(ZONE_FILE), ZONE);
+
+        DnsZoneSyncResult result = synchronizer.syncAsync(desired, new DnsZoneSyncOptions()).toBlocking().single();
+
+        Assert.assertEquals(1, result.failedCount());
+        Assert.assertTrue(result.errors().containsKey("www/A"));
+        Assert.assertEquals(0, result.updatedCount());
+        Assert.assertEquals(5, result.createdCount());
+        Assert.assertEquals(0, result.deletedCount());
+    }
+
+    private static RecordSetInner current(String name, String type, String etag, String properties) throws IOException {
+        return new AzureJacksonAdapter().deserialize("{\"name\": \"" + name + "\", \"type\": \"Microsoft.Network/dnszones/" + type
+                + "\", \"etag\": \"" + etag + "\", \"properties\": {" + properties + "}}", RecordSetInner.class);
+    }
+
+    /**
+     * A synchronizer of a zone in memory, recording the writes.
+     */
+    private static final class FakeSynchronizer extends DnsZoneSynchronizer {
+        private final List<RecordSetInner> current;
+        private final List<String> writes = Collections.synchronizedList(new ArrayList<String>());
+        private final Map<String, RecordSetInner> written = new ConcurrentHashMap<>();
+        private String failing;
+
+        FakeSynchronizer(RecordSetInner... current) {
+            this.current = Arrays.asList(current);
+        }
+
+        @Override
+        Observable<Page<RecordSetInner>> listAsync() {
+            // One record set per page
+            List<Page<RecordSetInner>> pages = new ArrayList<>();
+            for (RecordSetInner recordSet : this.current) {
+                pages.add(new PageImpl<RecordSetInner>().setItems(Collections.singletonList(recordSet)));
+            }
+            return Observable.from(pages);
+        }
+
+        @Override
+        Observable<RecordSetInner> createOrUpdateAsync(String name, RecordType type, RecordSetInner recordSet,
+                String ifMatch, String ifNoneMatch) {
+            if (name.equals(this.failing)) {
+                return Observable.error(new IllegalStateException("Precondition failed"));
+            }
+            this.writes.add((ifMatch == null ? "CREATE " : "UPDATE ") + name + "/" + type + " "
+                    + (ifMatch == null ? ifNoneMatch : ifMatch));
+            this.written.put(name + "/" + type, recordSet);
+            return Observable.just(recordSet);
+        }
+
+        @Override
+        Observable<Void> deleteAsync(String name, RecordType type, String ifMatch) {
+            this.writes.add("DELETE " + name + "/" + type + " " + ifMatch);
+            return Observable.<Void>just(null);
+        }
+    }
+}
@@ -6,6 +6,7 @@
 
 package com.microsoft.azure.management.keyvault;
 
+import com.microsoft.azure.PagedList;
 import com.microsoft.azure.management.apigeneration.Beta;
 import com.microsoft.azure.management.apigeneration.Beta.SinceVersion;
 import com.microsoft.azure.management.apigeneration.Fluent;
@@ -56,4 +57,24 @@ public interface Keys extends
      * @return the key restored from the backup
      */
     Observable<Key> restoreAsync(byte[] backup);
+
+    /**
+     * Lists the keys with the metadata returned by the list operation only, i.e. without a request per
+     * key to fetch its key material. The key material of a key is fetched on the first call to
+     * {@link Key#jsonWebKey()}.
+     *
+     * @return the keys
+     */
+    @Beta(SinceVersion.V1_25_0)
+    PagedList<Key> listLite();
+
+    /**
+     * Lists the keys with the metadata returned by the list operation only, i.e. without a request per
+     * key to fetch its key material. The key material of a key is fetched on the first call to
+     * {@link Key#jsonWebKey()}.
+     *
+     * @return an observable emitting the keys
+     */
+    @Beta(SinceVersion.V1_25_0)
+    Observable<Key> listLiteAsync();
 }
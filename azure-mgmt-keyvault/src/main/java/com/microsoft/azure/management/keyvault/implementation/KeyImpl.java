@@ -59,6 +59,10 @@ class KeyImpl
     private CreateKeyRequest.Builder createKeyRequest;
     private UpdateKeyRequest.Builder updateKeyRequest;
     private ImportKeyRequest.Builder importKeyRequest;
+    // False if the key was listed with its metadata only and the key material is yet to be fetched
+    private volatile boolean keyMaterialLoaded = true;
+    // Whether a key listed with its metadata only is managed, which a KeyBundle cannot be given
+    private Boolean listedManaged;
 
     KeyImpl(String name, KeyBundle innerObject, Vault vault) {
         super(name, innerObject);
@@ -74,8 +78,30 @@ class KeyImpl
         return inner().keyIdentifier().identifier();
     }
 
+    /**
+     * Defers fetching the key material of a key built from the metadata returned by a list operation
+     * to the first call to {@link #jsonWebKey()}.
+     *
+     * @param managed whether the listed key is managed
+     * @return the key
+     */
+    KeyImpl withKeyMaterialLoadedOnDemand(Boolean managed) {
+        this.listedManaged = managed;
+        this.keyMaterialLoaded = false;
+        return this;
+    }
+
     @Override
     public JsonWebKey jsonWebKey() {
+        if (!keyMaterialLoaded) {
+            // Fetches the key material once, even when several threads ask for it
+            synchronized (this) {
+                if (!keyMaterialLoaded) {
+                    refresh();
+                    keyMaterialLoaded = true;
+                }
+            }
+        }
         return inner().key();
     }
 
@@ -91,6 +117,9 @@ class KeyImpl
 
     @Override
     public boolean managed() {
+        if (!keyMaterialLoaded) {
+            return Utils.toPrimitiveBoolean(listedManaged);
+        }
         return Utils.toPrimitiveBoolean(inner().managed());
     }
 
@@ -146,7 +175,7 @@ class KeyImpl
                             }
                         }.toObservable();
                     }
-                });
+                }, KeyVaultFutures.MAX_CONCURRENT_CONVERSIONS);
     }
 
     @Override
@@ -297,7 +326,7 @@ class KeyImpl
 
     @Override
     protected Observable<KeyBundle> getInnerAsync() {
-        return Observable.from(vault.client().getKeyAsync(id(), null));
+        return KeyVaultFutures.toObservable(vault.client().getKeyAsync(id(), null));
     }
 
     @Override
@@ -325,7 +354,7 @@ class KeyImpl
             @Override
             public Observable<Key> call() {
                 if (createKeyRequest != null) {
-                    return Observable.from(vault.client().createKeyAsync(createKeyRequest.build(), null))
+                    return KeyVaultFutures.toObservable(vault.client().createKeyAsync(createKeyRequest.build(), null))
                             .map(innerToFluentMap(KeyImpl.this))
                             .doOnCompleted(new Action0() {
                                 @Override
@@ -335,7 +364,7 @@ class KeyImpl
                                 }
                             });
                 } else {
-                    return Observable.from(vault.client().importKeyAsync(importKeyRequest.build(), null))
+                    return KeyVaultFutures.toObservable(vault.client().importKeyAsync(importKeyRequest.build(), null))
                             .map(innerToFluentMap(KeyImpl.this))
                             .doOnCompleted(new Action0() {
                                 @Override
@@ -358,7 +387,7 @@ class KeyImpl
         return set.flatMap(new Func1<Key, Observable<KeyBundle>>() {
             @Override
             public Observable<KeyBundle> call(Key secret) {
-                return Observable.from(vault.client().updateKeyAsync(updateKeyRequest.build(), null));
+                return KeyVaultFutures.toObservable(vault.client().updateKeyAsync(updateKeyRequest.build(), null));
             }
         }).flatMap(new Func1<KeyBundle, Observable<Key>>() {
             @Override
@@ -6,17 +6,25 @@
 
 package com.microsoft.azure.management.keyvault.implementation;
 
+import com.google.common.util.concurrent.FutureCallback;
+import com.google.common.util.concurrent.Futures;
+import com.google.common.util.concurrent.ListenableFuture;
+import com.google.common.util.concurrent.MoreExecutors;
 import com.microsoft.azure.ListOperationCallback;
 import com.microsoft.azure.management.apigeneration.LangDefinition;
 import com.microsoft.rest.ServiceCallback;
 import com.microsoft.rest.ServiceFuture;
+import rx.Completable;
 import rx.Emitter;
 import rx.Emitter.BackpressureMode;
 import rx.Observable;
 import rx.Subscription;
+import rx.functions.Action0;
 import rx.functions.Action1;
+import rx.functions.Cancellable;
 import rx.functions.Func0;
 import rx.functions.Func1;
+import rx.subscriptions.Subscriptions;
 
 import java.util.List;
 
@@ -25,6 +33,58 @@ import java.util.List;
  */
 @LangDefinition
 final class KeyVaultFutures {
+    // The number of items converted, i.e. fetched, concurrently when listing
+    static final int MAX_CONCURRENT_CONVERSIONS = 16;
+
+    private KeyVaultFutures() {
+    }
+
+    /**
+     * Bridges a future to an observable by registering a completion callback on it, so that no thread
+     * is blocked waiting for the result. Unsubscribing cancels the future.
+     *
+     * @param future the future
+     * @param <T> the type of the result
+     * @return an observable emitting the result of the future
+     */
+    static <T> Observable<T> toObservable(final ListenableFuture<T> future) {
+        return Observable.create(new Action1<Emitter<T>>() {
+            @Override
+            public void call(final Emitter<T> emitter) {
+                emitter.setCancellation(new Cancellable() {
+                    @Override
+                    public void cancel() {
+                        if (!future.isDone()) {
+                            future.cancel(true);
+                        }
+                    }
+                });
+                Futures.addCallback(future, new FutureCallback<T>() {
+                    @Override
+                    public void onSuccess(T result) {
+                        emitter.onNext(result);
+                        emitter.onCompleted();
+                    }
+
+                    @Override
+                    public void onFailure(Throwable throwable) {
+                        emitter.onError(throwable);
+                    }
+                }, MoreExecutors.directExecutor());
+            }
+        }, BackpressureMode.BUFFER);
+    }
+
+    /**
+     * Bridges a future to a completable, see {@link #toObservable(ListenableFuture)}.
+     *
+     * @param future the future
+     * @return a completable completing with the future
+     */
+    static Completable toCompletable(ListenableFuture<?> future) {
+        return toObservable(future).toCompletable();
+    }
+
     abstract static class ServiceFutureConverter<TInner, T> {
         abstract ServiceFuture<TInner> callAsync();
 
@@ -32,25 +92,39 @@ final class KeyVaultFutures {
 
         ServiceFuture<T> toFuture(final ServiceCallback<T> callback) {
             final KeyVaultFuture<T> future = new KeyVaultFuture<>();
-            Observable.from(callAsync())
-                    .subscribe(new Action1<TInner>() {
-                        @Override
-                        public void call(TInner inner) {
-                            T fluent = wrapModel(inner);
-                            if (callback != null) {
-                                callback.success(fluent);
-                            }
-                            future.success(fluent);
-                        }
-                    }, new Action1<Throwable>() {
-                        @Override
-                        public void call(Throwable throwable) {
-                            if (callback != null) {
-                                callback.failure(throwable);
-                            }
-                            future.failure(throwable);
-                        }
-                    });
+            final ServiceFuture<TInner> call = callAsync();
+            future.setSubscription(Subscriptions.create(new Action0() {
+                @Override
+                public void call() {
+                    if (!call.isDone()) {
+                        call.cancel(true);
+                    }
+                }
+            }));
+            Futures.addCallback(call, new FutureCallback<TInner>() {
+                @Override
+                public void onSuccess(TInner inner) {
+                    T fluent;
+                    try {
+                        fluent = wrapModel(inner);
+                    } catch (RuntimeException e) {
+                        onFailure(e);
+                        return;
+                    }
+                    if (callback != null) {
+                        callback.success(fluent);
+                    }
+                    future.success(fluent);
+                }
+
+                @Override
+                public void onFailure(Throwable throwable) {
+                    if (callback != null) {
+                        callback.failure(throwable);
+                    }
+                    future.failure(throwable);
+                }
+            }, MoreExecutors.directExecutor());
             return future;
         }
 
@@ -58,7 +132,7 @@ final class KeyVaultFutures {
             return Observable.defer(new Func0<Observable<T>>() {
                 @Override
                 public Observable<T> call() {
-                    return Observable.from(toFuture(null));
+                    return KeyVaultFutures.toObservable(toFuture(null));
                 }
             });
         }
@@ -103,7 +177,7 @@ final class KeyVaultFutures {
                         public Observable<T> call(TInner tInner) {
                             return typeConvertAsync(tInner);
                         }
-                    });
+                    }, MAX_CONCURRENT_CONVERSIONS);
         }
     }
 
@@ -9,6 +9,7 @@ package com.microsoft.azure.management.keyvault.implementation;
 import com.microsoft.azure.AzureEnvironment;
 import com.microsoft.azure.AzureResponseBuilder;
 import com.microsoft.azure.credentials.AzureTokenCredentials;
+import com.microsoft.azure.keyvault.KeyVaultClient;
 import com.microsoft.azure.management.graphrbac.implementation.GraphRbacManager;
 import com.microsoft.azure.management.keyvault.Vaults;
 import com.microsoft.azure.management.resources.fluentcore.arm.AzureConfigurable;
@@ -29,6 +30,8 @@ public final class KeyVaultManager extends Manager<KeyVaultManager, KeyVaultMana
     private Vaults vaults;
     // Variables
     private final String tenantId;
+    // Data plane client
+    private volatile KeyVaultClient vaultClient;
 
     /**
      * Get a Configurable instance that can be used to create KeyVaultManager with optional configuration.
@@ -52,8 +55,8 @@ public final class KeyVaultManager extends Manager<KeyVaultManager, KeyVaultMana
                 .withCredentials(credentials)
                 .withSerializerAdapter(new AzureJacksonAdapter())
                 .withResponseBuilderFactory(new AzureResponseBuilder.Factory())
-                .withInterceptor(new ProviderRegistrationInterceptor(credentials))
-                .withInterceptor(new ResourceManagerThrottlingInterceptor())
+                .withInterceptor(new ProviderRegistrationInterceptor())
+                .withInterceptor(new ResourceManagerThrottlingInterceptor(credentials.domain()))
                 .build(), credentials.domain(), subscriptionId);
     }
 
@@ -116,4 +119,24 @@ public final class KeyVaultManager extends Manager<KeyVaultManager, KeyVaultMana
         }
         return vaults;
     }
+
+    /**
+     * Gets the data plane client shared by all the vaults, built on the first use. The vault URI is a
+     * parameter of every data plane call, so a single client and its connection pool serve all the vaults.
+     *
+     * @return the data plane client
+     */
+    KeyVaultClient vaultClient() {
+        KeyVaultClient client = vaultClient;
+        if (client == null) {
+            synchronized (this) {
+                client = vaultClient;
+                if (client == null) {
+                    client = new KeyVaultClient(inner().restClient().newBuilder().withBaseUrl("https://{vaultBaseUrl}").build());
+                    vaultClient = client;
+                }
+            }
+        }
+        return client;
+    }
 }
@@ -12,6 +12,7 @@ import com.microsoft.azure.keyvault.KeyIdentifier;
 import com.microsoft.azure.keyvault.KeyVaultClient;
 import com.microsoft.azure.keyvault.models.KeyBundle;
 import com.microsoft.azure.keyvault.models.KeyItem;
+import com.microsoft.azure.keyvault.webkey.JsonWebKey;
 import com.microsoft.azure.management.apigeneration.LangDefinition;
 import com.microsoft.azure.management.keyvault.Key;
 import com.microsoft.azure.management.keyvault.Keys;
@@ -24,6 +25,7 @@ import rx.Completable;
 import rx.Observable;
 import rx.functions.Func1;
 
+
 /**
  * The implementation of Vaults and its parent interfaces.
  */
@@ -62,6 +64,13 @@ class KeysImpl
         }
     };
 
+    private final PagedListConverter<KeyItem, Key> itemConverter = new PagedListConverter<KeyItem, Key>() {
+        @Override
+        public Observable<Key> typeConvertAsync(KeyItem inner) {
+            return Observable.just((Key) wrapModel(inner));
+        }
+    };
+
     KeysImpl(KeyVaultClient client, Vault vault) {
         this.inner = client;
         this.vault = vault;
@@ -84,7 +93,7 @@ class KeysImpl
 
     @Override
     public Observable<Key> getByIdAsync(String id) {
-        return Observable.from(getByIdAsync(id, null));
+        return KeyVaultFutures.toObservable(getByIdAsync(id, null));
     }
 
     @Override
@@ -110,10 +119,22 @@ class KeysImpl
         return new KeyImpl(inner.keyIdentifier().name(), inner, vault);
     }
 
+    private KeyImpl wrapModel(KeyItem inner) {
+        if (inner == null) {
+            return null;
+        }
+        // The list operation returns the identifier of the key but not the key material
+        KeyBundle keyBundle = new KeyBundle()
+                .withKey(new JsonWebKey().withKid(inner.kid()))
+                .withAttributes(inner.attributes())
+                .withTags(inner.tags());
+        return wrapModel(keyBundle).withKeyMaterialLoadedOnDemand(inner.managed());
+    }
+
     @Override
     public Completable deleteByIdAsync(String id) {
         KeyIdentifier identifier = new KeyIdentifier(id);
-        return Completable.fromFuture(inner.deleteKeyAsync(identifier.vault(), identifier.name(), null));
+        return KeyVaultFutures.toCompletable(inner.deleteKeyAsync(identifier.vault(), identifier.name(), null));
     }
 
     @Override
@@ -136,6 +157,26 @@ class KeysImpl
         }.toObservable();
     }
 
+    @Override
+    public PagedList<Key> listLite() {
+        return itemConverter.convert(inner.listKeys(vault.vaultUri()));
+    }
+
+    @Override
+    public Observable<Key> listLiteAsync() {
+        return new KeyVaultFutures.ListCallbackObserver<KeyItem, Key>() {
+            @Override
+            protected void list(ListOperationCallback<KeyItem> callback) {
+                inner.listKeysAsync(vault.vaultUri(), callback);
+            }
+
+            @Override
+            protected Observable<Key> typeConvertAsync(KeyItem keyItem) {
+                return Observable.just((Key) KeysImpl.this.wrapModel(keyItem));
+            }
+        }.toObservable();
+    }
+
     @Override
     public Key getByNameAndVersion(String name, String version) {
         return wrapModel(inner.getKey(vault.vaultUri(), name, version));
@@ -144,7 +144,7 @@ class SecretImpl
 
     @Override
     protected Observable<SecretBundle> getInnerAsync() {
-        return Observable.from(vault.client().getSecretAsync(id(), null));
+        return KeyVaultFutures.toObservable(vault.client().getSecretAsync(id(), null));
     }
 
     @Override
@@ -161,7 +161,7 @@ class SecretImpl
 
     @Override
     public Observable<Secret> createResourceAsync() {
-        return Observable.from(vault.client().setSecretAsync(setSecretRequest.build(), null))
+        return KeyVaultFutures.toObservable(vault.client().setSecretAsync(setSecretRequest.build(), null))
                 .map(innerToFluentMap(this))
                 .doOnCompleted(new Action0() {
                     @Override
@@ -181,7 +181,7 @@ class SecretImpl
         return set.flatMap(new Func1<Secret, Observable<SecretBundle>>() {
             @Override
             public Observable<SecretBundle> call(Secret secret) {
-                return Observable.from(vault.client().updateSecretAsync(updateSecretRequest.build(), null));
+                return KeyVaultFutures.toObservable(vault.client().updateSecretAsync(updateSecretRequest.build(), null));
             }
         }).flatMap(new Func1<SecretBundle, Observable<Secret>>() {
             @Override
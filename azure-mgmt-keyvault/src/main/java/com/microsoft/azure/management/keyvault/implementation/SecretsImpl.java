@@ -68,7 +68,7 @@ class SecretsImpl
 
     @Override
     public Observable<Secret> getByIdAsync(String id) {
-        return Observable.from(getByIdAsync(id, null));
+        return KeyVaultFutures.toObservable(getByIdAsync(id, null));
     }
 
     @Override
@@ -110,7 +110,7 @@ class SecretsImpl
     @Override
     public Completable deleteByIdAsync(String id) {
         SecretIdentifier identifier = new SecretIdentifier(id);
-        return Completable.fromFuture(inner.deleteSecretAsync(identifier.vault(), identifier.name(), null));
+        return KeyVaultFutures.toCompletable(inner.deleteSecretAsync(identifier.vault(), identifier.name(), null));
     }
 
     @Override
@@ -50,7 +50,6 @@ class VaultImpl extends GroupableResourceImpl<Vault, VaultInner, VaultImpl, KeyV
     private GraphRbacManager graphRbacManager;
     private List<AccessPolicyImpl> accessPolicies;
 
-    private KeyVaultClient client;
     private Keys keys;
     private Secrets secrets;
 
@@ -64,19 +63,17 @@ class VaultImpl extends GroupableResourceImpl<Vault, VaultInner, VaultImpl, KeyV
                 this.accessPolicies.add(new AccessPolicyImpl(entry, this));
             }
         }
-        this.client = new KeyVaultClient(
-                manager.inner().restClient().newBuilder().withBaseUrl("https://{vaultBaseUrl}").build());
     }
 
     @Override
     public KeyVaultClient client() {
-        return client;
+        return manager().vaultClient();
     }
 
     @Override
     public Keys keys() {
         if (keys == null) {
-            keys = new KeysImpl(client, this);
+            keys = new KeysImpl(client(), this);
         }
         return keys;
     }
@@ -84,7 +81,7 @@ class VaultImpl extends GroupableResourceImpl<Vault, VaultInner, VaultImpl, KeyV
     @Override
     public Secrets secrets() {
         if (secrets == null) {
-            secrets = new SecretsImpl(client, this);
+            secrets = new SecretsImpl(client(), this);
         }
         return secrets;
     }
@@ -0,0 +1,166 @@
+/**
+ * Copyright (c) Microsoft Corporation. All rights reserved.
+ * Licensed under the MIT License. See License.txt in the project root for
+ * license information.
+ */
+
+package com.microsoft.azure.management.keyvault.implementation;
+
+import com.google.common.util.concurrent.SettableFuture;
+import com.microsoft.rest.ServiceCallback;
+import com.microsoft.rest.ServiceFuture;
+import org.junit.Assert;
+import org.junit.Test;
+import rx.Subscription;
+import rx.observers.TestSubscriber;
+import rx.subscriptions.Subscriptions;
+
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicReference;
+
+public class KeyVaultFuturesTests {
+
+    @Test
+    public void canEmitResultOfFuture() {
+        SettableFuture<String> future = SettableFuture.create();
+        TestSubscriber<String> subscriber = TestSubscriber.create();
+        KeyVaultFutures.toObservable(future).subscribe(subscriber);
+
+        subscriber.assertNoValues();
+        subscriber.assertNoTerminalEvent();
+        future.set("key");
+        subscriber.awaitTerminalEvent(5, TimeUnit.SECONDS);
+        subscriber.assertValue("key");
+        subscriber.assertCompleted();
+    }
+
+    @Test
+    public void canEmitErrorOfFuture() {
+        SettableFuture<String> future = SettableFuture.create();
+        TestSubscriber<String> subscriber = TestSubscriber.create();
+        KeyVaultFutures.toObservable(future).subscribe(subscriber);
+
+        IllegalStateException error = new IllegalStateException("Forbidden");
+        future.setException(error);
+        subscriber.awaitTerminalEvent(5, TimeUnit.SECONDS);
+        subscriber.assertNoValues();
+        subscriber.assertError(error);
+    }
+
+    @Test
+    public void canCancelFutureOnUnsubscribe() {
+        SettableFuture<String> future = SettableFuture.create();
+        Subscription subscription = KeyVaultFutures.toObservable(future).subscribe(TestSubscriber.<String>create());
+
+        Assert.assertFalse(future.isCancelled());
+        subscription.unsubscribe();
+        Assert.assertTrue(future.isCancelled());
+    }
+
+    @Test
+    public void canLeaveCompletedFutureOnUnsubscribe() {
+        SettableFuture<String> future = SettableFuture.create();
+        future.set("key");
+        TestSubscriber<String> subscriber = TestSubscriber.create();
+        KeyVaultFutures.toCompletable(future).subscribe(subscriber);
+
+        subscriber.assertCompleted();
+        subscriber.unsubscribe();
+        Assert.assertFalse(future.isCancelled());
+    }
+
+    @Test
+    public void canConvertResultOfServiceFuture() throws Exception {
+        KeyVaultFutures.KeyVaultFuture<Integer> call = newCall();
+        RecordingCallback<String> callback = new RecordingCallback<>();
+        ServiceFuture<String> future = new ToStringConverter(call).toFuture(callback);
+
+        Assert.assertFalse(future.isDone());
+        call.success(3);
+        Assert.assertEquals("3", future.get(5, TimeUnit.SECONDS));
+        Assert.assertEquals("3", callback.result.get());
+    }
+
+    @Test
+    public void canFailServiceFuture() throws Exception {
+        KeyVaultFutures.KeyVaultFuture<Integer> call = newCall();
+        RecordingCallback<String> callback = new RecordingCallback<>();
+        ServiceFuture<String> future = new ToStringConverter(call).toFuture(callback);
+
+        IllegalStateException error = new IllegalStateException("Forbidden");
+        call.failure(error);
+        try {
+            future.get(5, TimeUnit.SECONDS);
+            Assert.fail();
+        } catch (ExecutionException e) {
+            Assert.assertSame(error, e.getCause());
+        }
+        Assert.assertSame(error, callback.error.get());
+    }
+
+    @Test
+    public void canCancelCallOfServiceFuture() {
+        KeyVaultFutures.KeyVaultFuture<Integer> call = newCall();
+        ServiceFuture<String> future = new ToStringConverter(call).toFuture(null);
+
+        future.cancel(true);
+        Assert.assertTrue(call.isCancelled());
+    }
+
+    @Test
+    public void canCancelCallOfConverterOnUnsubscribe() {
+        KeyVaultFutures.KeyVaultFuture<Integer> call = newCall();
+        TestSubscriber<String> subscriber = TestSubscriber.create();
+        new ToStringConverter(call).toObservable().subscribe(subscriber);
+
+        subscriber.assertNoTerminalEvent();
+        subscriber.unsubscribe();
+        Assert.assertTrue(call.isCancelled());
+    }
+
+    private static KeyVaultFutures.KeyVaultFuture<Integer> newCall() {
+        KeyVaultFutures.KeyVaultFuture<Integer> call = new KeyVaultFutures.KeyVaultFuture<>();
+        call.setSubscription(Subscriptions.empty());
+        return call;
+    }
+
+    /**
+     * A converter of a call returning an integer into its string representation.
+     */
+    private static final class ToStringConverter extends KeyVaultFutures.ServiceFutureConverter<Integer, String> {
+        private final ServiceFuture<Integer> call;
+
+        ToStringConverter(ServiceFuture<Integer> call) {
+            this.call = call;
+        }
+
+        @Override
+        ServiceFuture<Integer> callAsync() {
+            return this.call;
+        }
+
+        @Override
+        String wrapModel(Integer inner) {
+            return inner.toString();
+        }
+    }
+
+    /**
+     * A callback recording the outcome of a call.
+     */
+    private static final class RecordingCallback<T> implements ServiceCallback<T> {
+        private final AtomicReference<T> result = new AtomicReference<>();
+        private final AtomicReference<Throwable> error = new AtomicReference<>();
+
+        @Override
+        public void failure(Throwable t) {
+            this.error.set(t);
+        }
+
+        @Override
+        public void success(T result) {
+            this.result.set(result);
+        }
+    }
+}
@@ -50,7 +50,7 @@ public final class AuthorizationManager extends Manager<AuthorizationManager, Ma
             .withCredentials(credentials)
             .withSerializerAdapter(new AzureJacksonAdapter())
             .withResponseBuilderFactory(new AzureResponseBuilder.Factory())
-            .withInterceptor(new ProviderRegistrationInterceptor(credentials))
+            .withInterceptor(new ProviderRegistrationInterceptor())
             .build(), subscriptionId);
     }
     /**
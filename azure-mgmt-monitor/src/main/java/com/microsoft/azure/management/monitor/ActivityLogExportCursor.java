@@ -0,0 +1,182 @@
+/**
+ * Copyright (c) Microsoft Corporation. All rights reserved.
+ * Licensed under the MIT License. See License.txt in the project root for
+ * license information.
+ */
+
+package com.microsoft.azure.management.monitor;
+
+import com.microsoft.azure.management.apigeneration.Beta;
+import com.microsoft.azure.management.apigeneration.Beta.SinceVersion;
+import org.joda.time.DateTime;
+import org.joda.time.DateTimeZone;
+import org.joda.time.format.ISODateTimeFormat;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * The progress of an Activity Log export: the time slices of the export, each with the link to the next
+ * page of events to read, or whether it is completed. An export resumed from a cursor only reads the
+ * pages of events not exported yet.
+ * <p>
+ * The text returned by {@link #toString()} can be stored and parsed back with {@link #parse(String)}.
+ */
+@Beta(SinceVersion.V1_25_0)
+public final class ActivityLogExportCursor {
+    private static final String PENDING = "pending";
+    private static final String NEXT = "next";
+    private static final String COMPLETED = "completed";
+
+    private final List<Slice> slices;
+
+    /**
+     * Creates a cursor.
+     *
+     * @param slices the time slices of the export
+     */
+    public ActivityLogExportCursor(List<Slice> slices) {
+        if (slices == null) {
+            throw new IllegalArgumentException("slices cannot be null");
+        }
+        this.slices = Collections.unmodifiableList(new ArrayList<>(slices));
+    }
+
+    /**
+     * @return the time slices of the export
+     */
+    public List<Slice> slices() {
+        return this.slices;
+    }
+
+    /**
+     * @return true if all the events of the export were read
+     */
+    public boolean isCompleted() {
+        for (Slice slice : this.slices) {
+            if (!slice.isCompleted()) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * Parses the text form of a cursor.
+     *
+     * @param text the text returned by {@link #toString()}
+     * @return the cursor
+     */
+    public static ActivityLogExportCursor parse(String text) {
+        if (text == null) {
+            throw new IllegalArgumentException("text cannot be null");
+        }
+        List<Slice> slices = new ArrayList<>();
+        for (String line : text.split("\n")) {
+            if (line.trim().isEmpty()) {
+                continue;
+            }
+            String[] parts = line.trim().split(" ");
+            if (parts.length < 3
+                    || NEXT.equals(parts[2]) && parts.length != 4
+                    || !NEXT.equals(parts[2]) && parts.length != 3) {
+                throw new IllegalArgumentException("Invalid Activity Log export cursor slice: " + line);
+            }
+            DateTime startTime = DateTime.parse(parts[0]);
+            DateTime endTime = DateTime.parse(parts[1]);
+            if (PENDING.equals(parts[2])) {
+                slices.add(new Slice(startTime, endTime, null, false));
+            } else if (NEXT.equals(parts[2])) {
+                slices.add(new Slice(startTime, endTime, parts[3], false));
+            } else if (COMPLETED.equals(parts[2])) {
+                slices.add(new Slice(startTime, endTime, null, true));
+            } else {
+                throw new IllegalArgumentException("Invalid Activity Log export cursor slice: " + line);
+            }
+        }
+        return new ActivityLogExportCursor(slices);
+    }
+
+    /**
+     * @return the text form of the cursor, one line per slice
+     */
+    @Override
+    public String toString() {
+        StringBuilder builder = new StringBuilder();
+        for (Slice slice : this.slices) {
+            builder.append(slice.startTime().withZone(DateTimeZone.UTC).toString(ISODateTimeFormat.dateTime()))
+                    .append(' ')
+                    .append(slice.endTime().withZone(DateTimeZone.UTC).toString(ISODateTimeFormat.dateTime()))
+                    .append(' ');
+            if (slice.isCompleted()) {
+                builder.append(COMPLETED);
+            } else if (slice.nextLink() == null) {
+                builder.append(PENDING);
+            } else {
+                builder.append(NEXT).append(' ').append(slice.nextLink());
+            }
+            builder.append('\n');
+        }
+        return builder.toString();
+    }
+
+    /**
+     * A time slice of an export, queried on its own.
+     */
+    public static final class Slice {
+        private final DateTime startTime;
+        private final DateTime endTime;
+        private final String nextLink;
+        private final boolean completed;
+
+        /**
+         * Creates a time slice.
+         *
+         * @param startTime the start time of the slice, inclusive
+         * @param endTime the end time of the slice, inclusive
+         * @param nextLink the link to the next page of events to read, null to read from the first page
+         * @param completed true if all the events of the slice were read
+         */
+        public Slice(DateTime startTime, DateTime endTime, String nextLink, boolean completed) {
+            if (startTime == null || endTime == null) {
+                throw new IllegalArgumentException("startTime and endTime cannot be null");
+            }
+            if (nextLink != null && (nextLink.isEmpty() || nextLink.contains(" ") || nextLink.contains("\n"))) {
+                throw new IllegalArgumentException("Invalid next link: " + nextLink);
+            }
+            this.startTime = startTime;
+            this.endTime = endTime;
+            this.nextLink = completed ? null : nextLink;
+            this.completed = completed;
+        }
+
+        /**
+         * @return the start time of the slice, inclusive
+         */
+        public DateTime startTime() {
+            return this.startTime;
+        }
+
+        /**
+         * @return the end time of the slice, inclusive
+         */
+        public DateTime endTime() {
+            return this.endTime;
+        }
+
+        /**
+         * @return the link to the next page of events to read, or null to read from the first page
+         */
+        public String nextLink() {
+            return this.nextLink;
+        }
+
+        /**
+         * @return true if all the events of the slice were read
+         */
+        public boolean isCompleted() {
+            return this.completed;
+        }
+    }
+}
@@ -0,0 +1,132 @@
+/**
+ * Copyright (c) Microsoft Corporation. All rights reserved.
+ * Licensed under the MIT License. See License.txt in the project root for
+ * license information.
+ */
+
+package com.microsoft.azure.management.monitor;
+
+import com.microsoft.azure.management.apigeneration.Beta;
+import com.microsoft.azure.management.apigeneration.Beta.SinceVersion;
+import org.joda.time.DateTime;
+import org.joda.time.DateTimeZone;
+import org.joda.time.Period;
+import rx.functions.Action1;
+
+/**
+ * Options for exporting the events of an Activity Log query. The time range of the query is split into
+ * slices, queried concurrently.
+ */
+@Beta(SinceVersion.V1_25_0)
+public final class ActivityLogExportOptions {
+    private static final Period DEFAULT_SLICE_DURATION = Period.days(1);
+    private static final int DEFAULT_PARALLELISM = 8;
+
+    private Period sliceDuration = DEFAULT_SLICE_DURATION;
+    private int parallelism = DEFAULT_PARALLELISM;
+    private boolean timestampOrdered;
+    private ActivityLogExportCursor cursor;
+    private Action1<ActivityLogExportCursor> checkpointListener;
+
+    /**
+     * Specifies the duration of the time slices queried on their own.
+     *
+     * @param sliceDuration the duration, 1 day by default
+     * @return the options
+     */
+    public ActivityLogExportOptions withSliceDuration(Period sliceDuration) {
+        DateTime epoch = new DateTime(0, DateTimeZone.UTC);
+        if (sliceDuration == null || !epoch.plus(sliceDuration).isAfter(epoch)) {
+            throw new IllegalArgumentException("sliceDuration must be positive");
+        }
+        this.sliceDuration = sliceDuration;
+        return this;
+    }
+
+    /**
+     * Specifies the maximum number of slices queried concurrently.
+     *
+     * @param parallelism the number of slices, 8 by default
+     * @return the options
+     */
+    public ActivityLogExportOptions withParallelism(int parallelism) {
+        if (parallelism <= 0) {
+            throw new IllegalArgumentException("parallelism must be positive");
+        }
+        this.parallelism = parallelism;
+        return this;
+    }
+
+    /**
+     * Specifies that the events are emitted in descending timestamp order: the slices newest first,
+     * each in the order the service returns its events. The slices queried ahead of the one being
+     * emitted are read a few pages ahead at most.
+     * <p>
+     * By default, the events are emitted as the pages of the slices are received.
+     *
+     * @return the options
+     */
+    public ActivityLogExportOptions withTimestampOrder() {
+        this.timestampOrdered = true;
+        return this;
+    }
+
+    /**
+     * Specifies the cursor of an interrupted export to resume. The time slices of the cursor replace the
+     * time range of the query and the slice duration.
+     *
+     * @param cursor the cursor checkpointed by the interrupted export
+     * @return the options
+     */
+    public ActivityLogExportOptions withCursor(ActivityLogExportCursor cursor) {
+        this.cursor = cursor;
+        return this;
+    }
+
+    /**
+     * Specifies the listener of the checkpoints of the export, called with the cursor of the export
+     * after the events of each page were emitted.
+     *
+     * @param checkpointListener the listener
+     * @return the options
+     */
+    public ActivityLogExportOptions withCheckpointListener(Action1<ActivityLogExportCursor> checkpointListener) {
+        this.checkpointListener = checkpointListener;
+        return this;
+    }
+
+    /**
+     * @return the duration of the time slices
+     */
+    public Period sliceDuration() {
+        return this.sliceDuration;
+    }
+
+    /**
+     * @return the maximum number of slices queried concurrently
+     */
+    public int parallelism() {
+        return this.parallelism;
+    }
+
+    /**
+     * @return true if the events are emitted in descending timestamp order
+     */
+    public boolean isTimestampOrdered() {
+        return this.timestampOrdered;
+    }
+
+    /**
+     * @return the cursor of the export to resume, or null
+     */
+    public ActivityLogExportCursor cursor() {
+        return this.cursor;
+    }
+
+    /**
+     * @return the listener of the checkpoints of the export, or null
+     */
+    public Action1<ActivityLogExportCursor> checkpointListener() {
+        return this.checkpointListener;
+    }
+}
@@ -7,6 +7,8 @@
 package com.microsoft.azure.management.monitor;
 
 import com.microsoft.azure.PagedList;
+import com.microsoft.azure.management.apigeneration.Beta;
+import com.microsoft.azure.management.apigeneration.Beta.SinceVersion;
 import com.microsoft.azure.management.apigeneration.LangDefinition;
 import com.microsoft.azure.management.apigeneration.Method;
 import com.microsoft.azure.management.monitor.implementation.ActivityLogsInner;
@@ -173,6 +175,18 @@ public interface ActivityLogs extends
             @Method
             Observable<EventData> executeAsync();
 
+            /**
+             * Exports the events of the query, splitting its time range into slices queried concurrently.
+             * The progress of the export is checkpointed as a cursor, from which an interrupted export can
+             * be resumed.
+             *
+             * @param options the export options
+             * @return a representation of the deferred computation of the export, emitting the Activity Log events
+             */
+            @Beta(SinceVersion.V1_25_0)
+            @Method
+            Observable<EventData> exportAsync(ActivityLogExportOptions options);
+
             /**
              * Filters events that were generated at the Tenant level.
              *
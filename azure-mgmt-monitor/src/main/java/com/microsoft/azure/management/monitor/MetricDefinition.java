@@ -8,6 +8,8 @@
 
 package com.microsoft.azure.management.monitor;
 
+import com.microsoft.azure.management.apigeneration.Beta;
+import com.microsoft.azure.management.apigeneration.Beta.SinceVersion;
 import com.microsoft.azure.management.apigeneration.LangDefinition;
 import com.microsoft.azure.management.apigeneration.LangMethodDefinition;
 import com.microsoft.azure.management.apigeneration.Method;
@@ -251,6 +253,26 @@ public interface MetricDefinition extends
              */
             @Method
             Observable<MetricCollection> executeAsync();
+
+            /**
+             * Executes the query, decoding the time series into columns of primitive values.
+             *
+             * @return the time series of the metric
+             */
+            @Beta(SinceVersion.V1_25_0)
+            @Method
+            List<MetricSeries> executeColumnar();
+
+            /**
+             * Executes the query, decoding the time series into columns of primitive values as the response
+             * is received. The series are emitted one per request of the subscriber, so that only the series
+             * not yet consumed are held in memory.
+             *
+             * @return a representation of the deferred computation of the time series of the metric
+             */
+            @Beta(SinceVersion.V1_25_0)
+            @Method
+            Observable<MetricSeries> executeColumnarAsync();
         }
     }
 }
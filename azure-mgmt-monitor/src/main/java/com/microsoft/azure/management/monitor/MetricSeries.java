@@ -0,0 +1,91 @@
+/**
+ * Copyright (c) Microsoft Corporation. All rights reserved.
+ * Licensed under the MIT License. See License.txt in the project root for
+ * license information.
+ */
+
+package com.microsoft.azure.management.monitor;
+
+import com.microsoft.azure.management.apigeneration.Beta;
+import com.microsoft.azure.management.apigeneration.Beta.SinceVersion;
+import com.microsoft.azure.management.apigeneration.LangDefinition;
+import com.microsoft.azure.management.apigeneration.LangMethodDefinition;
+
+import java.util.List;
+
+/**
+ * A time series of a metric, with the data points stored in columns of primitive values: the i-th
+ * data point is made of the i-th element of each column. An aggregation missing from a data point
+ * is NaN in its column.
+ * <p>
+ * The columns are not copied, so they should not be modified.
+ */
+@LangDefinition(ContainerName = "/Microsoft.Azure.Management.Monitor.Fluent.Models")
+@Beta(SinceVersion.V1_25_0)
+public interface MetricSeries {
+    /**
+     * @return the ID of the metric
+     */
+    @LangMethodDefinition(AsType = LangMethodDefinition.LangMethodType.Property)
+    String metricId();
+
+    /**
+     * @return the name of the metric
+     */
+    @LangMethodDefinition(AsType = LangMethodDefinition.LangMethodType.Property)
+    LocalizableString metricName();
+
+    /**
+     * @return the unit of the metric
+     */
+    @LangMethodDefinition(AsType = LangMethodDefinition.LangMethodType.Property)
+    Unit unit();
+
+    /**
+     * @return the metadata values identifying the time series among the time series of the metric
+     */
+    @LangMethodDefinition(AsType = LangMethodDefinition.LangMethodType.Property)
+    List<MetadataValue> metadataValues();
+
+    /**
+     * @return the number of data points, the length of each column
+     */
+    @LangMethodDefinition(AsType = LangMethodDefinition.LangMethodType.Property)
+    int size();
+
+    /**
+     * @return the timestamps of the data points, in milliseconds since the epoch
+     */
+    @LangMethodDefinition(AsType = LangMethodDefinition.LangMethodType.Property)
+    long[] timestamps();
+
+    /**
+     * @return the average values of the data points
+     */
+    @LangMethodDefinition(AsType = LangMethodDefinition.LangMethodType.Property)
+    double[] averages();
+
+    /**
+     * @return the minimum values of the data points
+     */
+    @LangMethodDefinition(AsType = LangMethodDefinition.LangMethodType.Property)
+    double[] minimums();
+
+    /**
+     * @return the maximum values of the data points
+     */
+    @LangMethodDefinition(AsType = LangMethodDefinition.LangMethodType.Property)
+    double[] maximums();
+
+    /**
+     * @return the totals of the data points
+     */
+    @LangMethodDefinition(AsType = LangMethodDefinition.LangMethodType.Property)
+    double[] totals();
+
+    /**
+     * @return the numbers of samples of the data points
+     */
+    @LangMethodDefinition(AsType = LangMethodDefinition.LangMethodType.Property)
+    double[] counts();
+}
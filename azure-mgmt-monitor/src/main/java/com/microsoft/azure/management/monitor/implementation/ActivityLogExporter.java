@@ -0,0 +1,188 @@
+/**
+ * Copyright (c) Microsoft Corporation. All rights reserved.
+ * Licensed under the MIT License. See License.txt in the project root for
+ * license information.
+ */
+
+package com.microsoft.azure.management.monitor.implementation;
+
+import com.microsoft.azure.Page;
+import com.microsoft.azure.management.monitor.ActivityLogExportCursor;
+import com.microsoft.azure.management.monitor.ActivityLogExportOptions;
+import com.microsoft.azure.management.monitor.EventData;
+import org.joda.time.DateTime;
+import org.joda.time.Period;
+import rx.Observable;
+import rx.functions.Action0;
+import rx.functions.Action1;
+import rx.functions.Func0;
+import rx.functions.Func1;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.List;
+
+/**
+ * Exports the events of an Activity Log query by time slices, queried concurrently, and keeps track of
+ * the pages read in a {@link ActivityLogExportCursor}.
+ */
+abstract class ActivityLogExporter {
+    // The number of pages of a slice read ahead of the slice being emitted in timestamp order
+    static final int PAGE_PREFETCH = 2;
+
+    /**
+     * @param startTime the start time of a slice, inclusive
+     * @param endTime the end time of a slice, inclusive
+     * @return an observable emitting the first page of events of the slice
+     */
+    abstract Observable<Page<EventDataInner>> listFirstPageAsync(DateTime startTime, DateTime endTime);
+
+    /**
+     * @param nextLink the link to a page of events
+     * @return an observable emitting the page of events
+     */
+    abstract Observable<Page<EventDataInner>> listNextPageAsync(String nextLink);
+
+    /**
+     * Splits a time range into slices.
+     *
+     * @param startTime the start time of the range, inclusive
+     * @param endTime the end time of the range, inclusive
+     * @param sliceDuration the duration of a slice
+     * @return the cursor of an export of the time range, with all the slices pending
+     */
+    static ActivityLogExportCursor newCursor(DateTime startTime, DateTime endTime, Period sliceDuration) {
+        List<ActivityLogExportCursor.Slice> slices = new ArrayList<>();
+        DateTime sliceStart = startTime;
+        while (!sliceStart.isAfter(endTime)) {
+            DateTime nextSliceStart = sliceStart.plus(sliceDuration);
+            if (nextSliceStart.isAfter(endTime)) {
+                slices.add(new ActivityLogExportCursor.Slice(sliceStart, endTime, null, false));
+                break;
+            }
+            // The bounds of the query are inclusive, so end a slice just before the next one starts
+            slices.add(new ActivityLogExportCursor.Slice(sliceStart, nextSliceStart.minusMillis(1), null, false));
+            sliceStart = nextSliceStart;
+        }
+        return new ActivityLogExportCursor(slices);
+    }
+
+    /**
+     * Exports the events of the slices not completed yet.
+     *
+     * @param cursor the cursor of the export
+     * @param options the export options
+     * @return an observable emitting the events
+     */
+    Observable<EventData> exportAsync(ActivityLogExportCursor cursor, ActivityLogExportOptions options) {
+        final Progress progress = new Progress(cursor.slices(), options.checkpointListener());
+        final List<ActivityLogExportCursor.Slice> slices = cursor.slices();
+        List<Integer> indexes = new ArrayList<>();
+        for (int i = 0; i < slices.size(); i++) {
+            if (!slices.get(i).isCompleted()) {
+                indexes.add(i);
+            }
+        }
+        Func1<Integer, Observable<ExportPage>> slicePages = new Func1<Integer, Observable<ExportPage>>() {
+            @Override
+            public Observable<ExportPage> call(Integer index) {
+                ActivityLogExportCursor.Slice slice = slices.get(index);
+                return pagesAsync(index, slice.nextLink() == null
+                        ? listFirstPageAsync(slice.startTime(), slice.endTime())
+                        : listNextPageAsync(slice.nextLink()));
+            }
+        };
+
+        Observable<ExportPage> pages;
+        if (options.isTimestampOrdered()) {
+            Collections.sort(indexes, new Comparator<Integer>() {
+                @Override
+                public int compare(Integer left, Integer right) {
+                    return slices.get(right).startTime().compareTo(slices.get(left).startTime());
+                }
+            });
+            pages = Observable.from(indexes).concatMapEager(slicePages, PAGE_PREFETCH, options.parallelism());
+        } else {
+            pages = Observable.from(indexes).flatMap(slicePages, options.parallelism());
+        }
+
+        return pages.concatMap(new Func1<ExportPage, Observable<EventData>>() {
+            @Override
+            public Observable<EventData> call(final ExportPage page) {
+                return Observable.from(page.events)
+                        .map(new Func1<EventDataInner, EventData>() {
+                            @Override
+                            public EventData call(EventDataInner eventDataInner) {
+                                return new EventDataImpl(eventDataInner);
+                            }
+                        })
+                        .doOnCompleted(new Action0() {
+                            @Override
+                            public void call() {
+                                progress.advance(page.index, page.nextLink);
+                            }
+                        });
+            }
+        });
+    }
+
+    private Observable<ExportPage> pagesAsync(final int index, Observable<Page<EventDataInner>> pageAsync) {
+        return pageAsync.concatMap(new Func1<Page<EventDataInner>, Observable<ExportPage>>() {
+            @Override
+            public Observable<ExportPage> call(Page<EventDataInner> page) {
+                final String nextLink = page.nextPageLink() == null || page.nextPageLink().isEmpty()
+                        ? null
+                        : page.nextPageLink();
+                ExportPage exportPage = new ExportPage(index, page.items(), nextLink);
+                if (nextLink == null) {
+                    return Observable.just(exportPage);
+                }
+                // The next page is only requested once this one is consumed
+                return Observable.just(exportPage).concatWith(Observable.defer(new Func0<Observable<ExportPage>>() {
+                    @Override
+                    public Observable<ExportPage> call() {
+                        return pagesAsync(index, listNextPageAsync(nextLink));
+                    }
+                }));
+            }
+        });
+    }
+
+    /**
+     * The slices of an export, updated as the pages are emitted.
+     */
+    private static final class Progress {
+        private final List<ActivityLogExportCursor.Slice> slices;
+        private final Action1<ActivityLogExportCursor> checkpointListener;
+
+        Progress(List<ActivityLogExportCursor.Slice> slices, Action1<ActivityLogExportCursor> checkpointListener) {
+            this.slices = new ArrayList<>(slices);
+            this.checkpointListener = checkpointListener;
+        }
+
+        void advance(int index, String nextLink) {
+            ActivityLogExportCursor checkpoint;
+            synchronized (this.slices) {
+                ActivityLogExportCursor.Slice slice = this.slices.get(index);
+                this.slices.set(index, new ActivityLogExportCursor.Slice(slice.startTime(), slice.endTime(), nextLink, nextLink == null));
+                checkpoint = new ActivityLogExportCursor(this.slices);
+            }
+            if (this.checkpointListener != null) {
+                this.checkpointListener.call(checkpoint);
+            }
+        }
+    }
+
+    private static final class ExportPage {
+        private final int index;
+        private final List<EventDataInner> events;
+        private final String nextLink;
+
+        ExportPage(int index, List<EventDataInner> events, String nextLink) {
+            this.index = index;
+            this.events = events == null ? Collections.<EventDataInner>emptyList() : events;
+            this.nextLink = nextLink;
+        }
+    }
+}
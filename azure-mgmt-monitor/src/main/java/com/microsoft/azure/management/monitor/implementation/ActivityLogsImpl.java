@@ -11,11 +11,14 @@ import com.google.common.collect.Lists;
 import com.microsoft.azure.Page;
 import com.microsoft.azure.PagedList;
 import com.microsoft.azure.management.apigeneration.LangDefinition;
+import com.microsoft.azure.management.monitor.ActivityLogExportCursor;
+import com.microsoft.azure.management.monitor.ActivityLogExportOptions;
 import com.microsoft.azure.management.monitor.EventDataPropertyName;
 import com.microsoft.azure.management.monitor.ActivityLogs;
 import com.microsoft.azure.management.monitor.EventData;
 import com.microsoft.azure.management.monitor.LocalizableString;
 import com.microsoft.azure.management.resources.fluentcore.utils.PagedListConverter;
+import com.microsoft.rest.ServiceResponse;
 import org.apache.commons.lang3.StringUtils;
 import org.joda.time.DateTime;
 import org.joda.time.DateTimeZone;
@@ -158,22 +161,69 @@ class ActivityLogsImpl
     @Override
     public PagedList<EventData> execute() {
         if (this.filterForTenant) {
-            return listEventDataForTenant(getOdataFilterString() + this.filterString + " eventChannels eq 'Admin, Operation'");
+            return listEventDataForTenant(createFilter(this.queryStartTime, this.queryEndTime, this.filterString, true));
         }
-        return listEventData(getOdataFilterString() + this.filterString);
+        return listEventData(createFilter(this.queryStartTime, this.queryEndTime, this.filterString, false));
     }
 
     @Override
     public Observable<EventData> executeAsync() {
         if (this.filterForTenant) {
-            return listEventDataForTenantAsync(getOdataFilterString() + this.filterString + " eventChannels eq 'Admin, Operation'");
+            return listEventDataForTenantAsync(createFilter(this.queryStartTime, this.queryEndTime, this.filterString, true));
         }
-        return listEventDataAsync(getOdataFilterString() + this.filterString);
+        return listEventDataAsync(createFilter(this.queryStartTime, this.queryEndTime, this.filterString, false));
     }
-    private String getOdataFilterString() {
+
+    @Override
+    public Observable<EventData> exportAsync(ActivityLogExportOptions options) {
+        if (options == null) {
+            options = new ActivityLogExportOptions();
+        }
+        // The query definition can be reused once the export is started
+        final String fieldFilter = this.filterString;
+        final boolean forTenant = this.filterForTenant;
+        final String select = createPropertyFilter();
+        ActivityLogExportCursor cursor = options.cursor() != null
+                ? options.cursor()
+                : ActivityLogExporter.newCursor(this.queryStartTime, this.queryEndTime, options.sliceDuration());
+        final Func1<ServiceResponse<Page<EventDataInner>>, Page<EventDataInner>> toPage = new Func1<ServiceResponse<Page<EventDataInner>>, Page<EventDataInner>>() {
+            @Override
+            public Page<EventDataInner> call(ServiceResponse<Page<EventDataInner>> response) {
+                return response.body();
+            }
+        };
+        return new ActivityLogExporter() {
+            @Override
+            Observable<Page<EventDataInner>> listFirstPageAsync(DateTime startTime, DateTime endTime) {
+                String filter = createFilter(startTime, endTime, fieldFilter, forTenant);
+                if (forTenant) {
+                    return manager().inner().tenantActivityLogs().listSinglePageAsync(filter, select).map(toPage);
+                }
+                return inner().listSinglePageAsync(filter, select).map(toPage);
+            }
+
+            @Override
+            Observable<Page<EventDataInner>> listNextPageAsync(String nextLink) {
+                if (forTenant) {
+                    return manager().inner().tenantActivityLogs().listNextSinglePageAsync(nextLink).map(toPage);
+                }
+                return inner().listNextSinglePageAsync(nextLink).map(toPage);
+            }
+        }.exportAsync(cursor, options);
+    }
+
+    private static String createFilter(DateTime startTime, DateTime endTime, String fieldFilter, boolean forTenant) {
+        String filter = getOdataFilterString(startTime, endTime) + fieldFilter;
+        if (forTenant) {
+            filter += " eventChannels eq 'Admin, Operation'";
+        }
+        return filter;
+    }
+
+    private static String getOdataFilterString(DateTime startTime, DateTime endTime) {
         return String.format("eventTimestamp ge '%s' and eventTimestamp le '%s'",
-                this.queryStartTime.withZone(DateTimeZone.UTC).toString(ISODateTimeFormat.dateTime()),
-                this.queryEndTime.withZone(DateTimeZone.UTC).toString(ISODateTimeFormat.dateTime()));
+                startTime.withZone(DateTimeZone.UTC).toString(ISODateTimeFormat.dateTime()),
+                endTime.withZone(DateTimeZone.UTC).toString(ISODateTimeFormat.dateTime()));
     }
 
     private PagedList<EventData> listEventData(String filter) {
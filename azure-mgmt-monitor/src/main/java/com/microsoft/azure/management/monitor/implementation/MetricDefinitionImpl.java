@@ -14,6 +14,7 @@ import com.microsoft.azure.management.monitor.LocalizableString;
 import com.microsoft.azure.management.monitor.MetricAvailability;
 import com.microsoft.azure.management.monitor.MetricCollection;
 import com.microsoft.azure.management.monitor.MetricDefinition;
+import com.microsoft.azure.management.monitor.MetricSeries;
 import com.microsoft.azure.management.monitor.ResultType;
 import com.microsoft.azure.management.monitor.Unit;
 import com.microsoft.azure.management.resources.fluentcore.model.implementation.WrapperImpl;
@@ -194,9 +195,7 @@ class MetricDefinitionImpl
     @Override
     public Observable<MetricCollection> executeAsync() {
         return this.manager().inner().metrics().listAsync(this.inner.resourceId(),
-                String.format("%s/%s",
-                        this.queryStartTime.withZone(DateTimeZone.UTC).toString(ISODateTimeFormat.dateTime()),
-                        this.queryEndTime.withZone(DateTimeZone.UTC).toString(ISODateTimeFormat.dateTime())),
+                this.queryTimespan(),
                 this.interval,
                 this.inner.name().value(),
                 this.aggreagation,
@@ -211,4 +210,30 @@ class MetricDefinitionImpl
                     }
                 });
     }
+
+    @Override
+    public List<MetricSeries> executeColumnar() {
+        return this.executeColumnarAsync().toList().toBlocking().single();
+    }
+
+    @Override
+    public Observable<MetricSeries> executeColumnarAsync() {
+        return MetricSeriesReader.listAsync(this.manager().inner(),
+                this.inner.resourceId(),
+                this.queryTimespan(),
+                this.interval,
+                this.inner.name().value(),
+                this.aggreagation,
+                this.top,
+                this.orderBy,
+                this.odataFilter,
+                this.resultType,
+                this.namespaceFilter);
+    }
+
+    private String queryTimespan() {
+        return String.format("%s/%s",
+                this.queryStartTime.withZone(DateTimeZone.UTC).toString(ISODateTimeFormat.dateTime()),
+                this.queryEndTime.withZone(DateTimeZone.UTC).toString(ISODateTimeFormat.dateTime()));
+    }
 }
@@ -0,0 +1,107 @@
+/**
+ * Copyright (c) Microsoft Corporation. All rights reserved.
+ * Licensed under the MIT License. See License.txt in the project root for
+ * license information.
+ */
+
+package com.microsoft.azure.management.monitor.implementation;
+
+import com.microsoft.azure.management.apigeneration.LangDefinition;
+import com.microsoft.azure.management.monitor.LocalizableString;
+import com.microsoft.azure.management.monitor.MetadataValue;
+import com.microsoft.azure.management.monitor.MetricSeries;
+import com.microsoft.azure.management.monitor.Unit;
+
+import java.util.List;
+
+/**
+ * The Azure {@link MetricSeries} implementation, filled in by {@link MetricSeriesReader}.
+ */
+@LangDefinition(ContainerName = "/Microsoft.Azure.Management.Monitor.Fluent.Models")
+class MetricSeriesImpl implements MetricSeries {
+    private final List<MetadataValue> metadataValues;
+    private final int size;
+    private final long[] timestamps;
+    private final double[] averages;
+    private final double[] minimums;
+    private final double[] maximums;
+    private final double[] totals;
+    private final double[] counts;
+    private String metricId;
+    private LocalizableString metricName;
+    private Unit unit;
+
+    MetricSeriesImpl(List<MetadataValue> metadataValues, int size, long[] timestamps,
+            double[] averages, double[] minimums, double[] maximums, double[] totals, double[] counts) {
+        this.metadataValues = metadataValues;
+        this.size = size;
+        this.timestamps = timestamps;
+        this.averages = averages;
+        this.minimums = minimums;
+        this.maximums = maximums;
+        this.totals = totals;
+        this.counts = counts;
+    }
+
+    MetricSeriesImpl withMetric(String metricId, LocalizableString metricName, Unit unit) {
+        this.metricId = metricId;
+        this.metricName = metricName;
+        this.unit = unit;
+        return this;
+    }
+
+    @Override
+    public String metricId() {
+        return this.metricId;
+    }
+
+    @Override
+    public LocalizableString metricName() {
+        return this.metricName;
+    }
+
+    @Override
+    public Unit unit() {
+        return this.unit;
+    }
+
+    @Override
+    public List<MetadataValue> metadataValues() {
+        return this.metadataValues;
+    }
+
+    @Override
+    public int size() {
+        return this.size;
+    }
+
+    @Override
+    public long[] timestamps() {
+        return this.timestamps;
+    }
+
+    @Override
+    public double[] averages() {
+        return this.averages;
+    }
+
+    @Override
+    public double[] minimums() {
+        return this.minimums;
+    }
+
+    @Override
+    public double[] maximums() {
+        return this.maximums;
+    }
+
+    @Override
+    public double[] totals() {
+        return this.totals;
+    }
+
+    @Override
+    public double[] counts() {
+        return this.counts;
+    }
+}
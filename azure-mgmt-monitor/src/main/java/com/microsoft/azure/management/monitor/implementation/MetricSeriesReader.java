@@ -0,0 +1,409 @@
+/**
+ * Copyright (c) Microsoft Corporation. All rights reserved.
+ * Licensed under the MIT License. See License.txt in the project root for
+ * license information.
+ */
+
+package com.microsoft.azure.management.monitor.implementation;
+
+import com.fasterxml.jackson.core.JsonFactory;
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonToken;
+import com.microsoft.azure.management.monitor.ErrorResponseException;
+import com.microsoft.azure.management.monitor.LocalizableString;
+import com.microsoft.azure.management.monitor.MetadataValue;
+import com.microsoft.azure.management.monitor.MetricSeries;
+import com.microsoft.azure.management.monitor.ResultType;
+import com.microsoft.azure.management.monitor.Unit;
+import okhttp3.ResponseBody;
+import org.joda.time.Period;
+import org.joda.time.format.DateTimeFormatter;
+import org.joda.time.format.ISODateTimeFormat;
+import retrofit2.Response;
+import retrofit2.http.GET;
+import retrofit2.http.Header;
+import retrofit2.http.Headers;
+import retrofit2.http.Path;
+import retrofit2.http.Query;
+import retrofit2.http.Streaming;
+import rx.Observable;
+import rx.Observer;
+import rx.exceptions.Exceptions;
+import rx.functions.Action1;
+import rx.functions.Action2;
+import rx.functions.Func0;
+import rx.functions.Func1;
+import rx.observables.SyncOnSubscribe;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Queue;
+
+/**
+ * Decodes the response of a metrics query one time series at a time, straight into the columns of
+ * {@link MetricSeries}, without materializing the data points as objects.
+ */
+final class MetricSeriesReader {
+    private static final String API_VERSION = "2018-01-01";
+    private static final JsonFactory JSON_FACTORY = new JsonFactory();
+    private static final DateTimeFormatter TIMESTAMP_PARSER = ISODateTimeFormat.dateTimeParser().withOffsetParsed();
+    private static final int INITIAL_CAPACITY = 64;
+
+    /**
+     * The metrics query of {@link MetricsInner}, with the response body streamed rather than buffered.
+     */
+    interface MetricSeriesService {
+        @Headers({ "Content-Type: application/json; charset=utf-8", "x-ms-logging-context: com.microsoft.azure.management.monitor.Metrics listSeries" })
+        @GET("{resourceUri}/providers/microsoft.insights/metrics")
+        @Streaming
+        Observable<Response<ResponseBody>> list(@Path(value = "resourceUri", encoded = true) String resourceUri, @Query("timespan") String timespan, @Query("interval") Period interval, @Query("metricnames") String metricnames, @Query("aggregation") String aggregation, @Query("top") Integer top, @Query("orderby") String orderby, @Query("$filter") String filter, @Query("resultType") ResultType resultType1, @Query("api-version") String apiVersion, @Query("metricnamespace") String metricnamespace, @Header("accept-language") String acceptLanguage, @Header("User-Agent") String userAgent);
+    }
+
+    /**
+     * The position of the parser in the response.
+     */
+    private enum State {
+        RESPONSE, METRICS, METRIC, TIME_SERIES, DONE
+    }
+
+    private final JsonParser parser;
+    private final Queue<MetricSeriesImpl> ready = new ArrayDeque<>();
+    // The series of the current metric read before its ID, name and unit
+    private final List<MetricSeriesImpl> pending = new ArrayList<>();
+    private State state = State.RESPONSE;
+    private String metricId;
+    private LocalizableString metricName;
+    private Unit unit;
+
+    MetricSeriesReader(InputStream stream) throws IOException {
+        this.parser = JSON_FACTORY.createParser(stream);
+    }
+
+    /**
+     * Lists the time series of metrics of a resource.
+     *
+     * @param client the monitor client
+     * @param resourceUri the identifier of the resource
+     * @param timespan the timespan of the query
+     * @param interval the interval of the query
+     * @param metricNames the names of the metrics to retrieve
+     * @param aggregation the list of aggregation types to retrieve
+     * @param top the maximum number of records to retrieve
+     * @param orderBy the aggregation to use for sorting results and the direction of the sort
+     * @param filter the filter to reduce the set of metric data returned
+     * @param resultType the type of data to retrieve
+     * @param metricNamespace the namespace of the metrics
+     * @return an observable emitting the time series as they are read, one per request of the subscriber
+     */
+    static Observable<MetricSeries> listAsync(final MonitorManagementClientImpl client, String resourceUri, String timespan,
+            Period interval, String metricNames, String aggregation, Integer top, String orderBy, String filter,
+            ResultType resultType, String metricNamespace) {
+        if (resourceUri == null) {
+            throw new IllegalArgumentException("Parameter resourceUri is required and cannot be null.");
+        }
+        return client.retrofit().create(MetricSeriesService.class)
+                .list(resourceUri, timespan, interval, metricNames, aggregation, top, orderBy, filter, resultType,
+                        API_VERSION, metricNamespace, client.acceptLanguage(), client.userAgent())
+                .flatMap(new Func1<Response<ResponseBody>, Observable<MetricSeries>>() {
+                    @Override
+                    public Observable<MetricSeries> call(Response<ResponseBody> response) {
+                        if (!response.isSuccessful()) {
+                            try {
+                                client.restClient().responseBuilderFactory().<Void, ErrorResponseException>newInstance(client.serializerAdapter())
+                                        .registerError(ErrorResponseException.class)
+                                        .build(response);
+                            } catch (Throwable t) {
+                                return Observable.error(t);
+                            }
+                            return Observable.error(new ErrorResponseException("Status code " + response.code(), response));
+                        }
+                        return readAsync(response.body());
+                    }
+                });
+    }
+
+    /**
+     * Reads the time series of a metrics query response, one per request of the subscriber, so that the
+     * response body is only read as fast as the subscriber consumes the series.
+     *
+     * @param responseBody the response body, closed when the subscriber completes or unsubscribes
+     * @return an observable emitting the time series
+     */
+    static Observable<MetricSeries> readAsync(final ResponseBody responseBody) {
+        return Observable.create(SyncOnSubscribe.<MetricSeriesReader, MetricSeries>createSingleState(
+                new Func0<MetricSeriesReader>() {
+                    @Override
+                    public MetricSeriesReader call() {
+                        try {
+                            return new MetricSeriesReader(responseBody.byteStream());
+                        } catch (IOException e) {
+                            responseBody.close();
+                            throw Exceptions.propagate(e);
+                        }
+                    }
+                },
+                new Action2<MetricSeriesReader, Observer<? super MetricSeries>>() {
+                    @Override
+                    public void call(MetricSeriesReader reader, Observer<? super MetricSeries> observer) {
+                        try {
+                            MetricSeries series = reader.next();
+                            if (series == null) {
+                                observer.onCompleted();
+                            } else {
+                                observer.onNext(series);
+                            }
+                        } catch (IOException | IllegalArgumentException e) {
+                            observer.onError(e);
+                        }
+                    }
+                },
+                new Action1<MetricSeriesReader>() {
+                    @Override
+                    public void call(MetricSeriesReader reader) {
+                        reader.close();
+                    }
+                }));
+    }
+
+    /**
+     * Reads the next time series.
+     *
+     * @return the time series, or null at the end of the response
+     * @throws IOException if the response cannot be read or is malformed
+     */
+    MetricSeries next() throws IOException {
+        while (this.ready.isEmpty() && this.state != State.DONE) {
+            step();
+        }
+        return this.ready.poll();
+    }
+
+    /**
+     * Closes the response stream.
+     */
+    void close() {
+        try {
+            this.parser.close();
+        } catch (IOException e) {
+            // The response is not read any further anyway
+        }
+    }
+
+    private void step() throws IOException {
+        JsonToken token = this.parser.nextToken();
+        if (token == null) {
+            this.state = State.DONE;
+            return;
+        }
+        switch (this.state) {
+            case RESPONSE:
+                if (token == JsonToken.FIELD_NAME) {
+                    String field = this.parser.getCurrentName();
+                    if (this.parser.nextToken() == JsonToken.START_ARRAY && "value".equals(field)) {
+                        this.state = State.METRICS;
+                    } else {
+                        this.parser.skipChildren();
+                    }
+                } else if (token == JsonToken.END_OBJECT) {
+                    this.state = State.DONE;
+                }
+                break;
+            case METRICS:
+                if (token == JsonToken.START_OBJECT) {
+                    this.metricId = null;
+                    this.metricName = null;
+                    this.unit = null;
+                    this.state = State.METRIC;
+                } else {
+                    // The rest of the response holds nothing but the query parameters
+                    this.state = State.DONE;
+                }
+                break;
+            case METRIC:
+                if (token == JsonToken.FIELD_NAME) {
+                    readMetricField();
+                } else {
+                    for (MetricSeriesImpl series : this.pending) {
+                        this.ready.add(series.withMetric(this.metricId, this.metricName, this.unit));
+                    }
+                    this.pending.clear();
+                    this.state = State.METRICS;
+                }
+                break;
+            case TIME_SERIES:
+                if (token == JsonToken.START_OBJECT) {
+                    MetricSeriesImpl series = readSeries();
+                    if (this.metricId != null && this.metricName != null && this.unit != null) {
+                        this.ready.add(series.withMetric(this.metricId, this.metricName, this.unit));
+                    } else {
+                        this.pending.add(series);
+                    }
+                } else {
+                    this.state = State.METRIC;
+                }
+                break;
+            default:
+                break;
+        }
+    }
+
+    private void readMetricField() throws IOException {
+        String field = this.parser.getCurrentName();
+        JsonToken token = this.parser.nextToken();
+        if ("timeseries".equals(field) && token == JsonToken.START_ARRAY) {
+            this.state = State.TIME_SERIES;
+        } else if ("id".equals(field)) {
+            this.metricId = this.parser.getValueAsString();
+        } else if ("name".equals(field)) {
+            LocalizableStringInner name = readLocalizableString();
+            this.metricName = name == null ? null : new LocalizableStringImpl(name);
+        } else if ("unit".equals(field)) {
+            String text = this.parser.getValueAsString();
+            this.unit = text == null ? null : Unit.fromString(text);
+        } else {
+            this.parser.skipChildren();
+        }
+    }
+
+    private MetricSeriesImpl readSeries() throws IOException {
+        List<MetadataValue> metadataValues = new ArrayList<>();
+        Columns columns = new Columns();
+        while (this.parser.nextToken() == JsonToken.FIELD_NAME) {
+            String field = this.parser.getCurrentName();
+            JsonToken token = this.parser.nextToken();
+            if ("data".equals(field) && token == JsonToken.START_ARRAY) {
+                while (this.parser.nextToken() == JsonToken.START_OBJECT) {
+                    readDataPoint(columns);
+                }
+            } else if ("metadatavalues".equals(field) && token == JsonToken.START_ARRAY) {
+                while (this.parser.nextToken() == JsonToken.START_OBJECT) {
+                    metadataValues.add(readMetadataValue());
+                }
+            } else {
+                this.parser.skipChildren();
+            }
+        }
+        return columns.toSeries(metadataValues);
+    }
+
+    private void readDataPoint(Columns columns) throws IOException {
+        int i = columns.add();
+        while (this.parser.nextToken() == JsonToken.FIELD_NAME) {
+            String field = this.parser.getCurrentName();
+            JsonToken token = this.parser.nextToken();
+            if (token == JsonToken.VALUE_NULL) {
+                continue;
+            }
+            switch (field) {
+                case "timeStamp":
+                    columns.timestamps[i] = TIMESTAMP_PARSER.parseMillis(this.parser.getText());
+                    break;
+                case "average":
+                    columns.averages[i] = this.parser.getDoubleValue();
+                    break;
+                case "minimum":
+                    columns.minimums[i] = this.parser.getDoubleValue();
+                    break;
+                case "maximum":
+                    columns.maximums[i] = this.parser.getDoubleValue();
+                    break;
+                case "total":
+                    columns.totals[i] = this.parser.getDoubleValue();
+                    break;
+                case "count":
+                    columns.counts[i] = this.parser.getDoubleValue();
+                    break;
+                default:
+                    this.parser.skipChildren();
+                    break;
+            }
+        }
+    }
+
+    private MetadataValue readMetadataValue() throws IOException {
+        MetadataValue metadataValue = new MetadataValue();
+        while (this.parser.nextToken() == JsonToken.FIELD_NAME) {
+            String field = this.parser.getCurrentName();
+            this.parser.nextToken();
+            if ("name".equals(field)) {
+                metadataValue.withName(readLocalizableString());
+            } else if ("value".equals(field)) {
+                metadataValue.withValue(this.parser.getValueAsString());
+            } else {
+                this.parser.skipChildren();
+            }
+        }
+        return metadataValue;
+    }
+
+    private LocalizableStringInner readLocalizableString() throws IOException {
+        if (this.parser.getCurrentToken() != JsonToken.START_OBJECT) {
+            this.parser.skipChildren();
+            return null;
+        }
+        LocalizableStringInner localizableString = new LocalizableStringInner();
+        while (this.parser.nextToken() == JsonToken.FIELD_NAME) {
+            String field = this.parser.getCurrentName();
+            this.parser.nextToken();
+            if ("value".equals(field)) {
+                localizableString.withValue(this.parser.getValueAsString());
+            } else if ("localizedValue".equals(field)) {
+                localizableString.withLocalizedValue(this.parser.getValueAsString());
+            } else {
+                this.parser.skipChildren();
+            }
+        }
+        return localizableString;
+    }
+
+    /**
+     * The growing columns of a time series being read.
+     */
+    private static final class Columns {
+        private int size;
+        private long[] timestamps = new long[INITIAL_CAPACITY];
+        private double[] averages = new double[INITIAL_CAPACITY];
+        private double[] minimums = new double[INITIAL_CAPACITY];
+        private double[] maximums = new double[INITIAL_CAPACITY];
+        private double[] totals = new double[INITIAL_CAPACITY];
+        private double[] counts = new double[INITIAL_CAPACITY];
+
+        /**
+         * Adds a data point with all the aggregations missing.
+         *
+         * @return the index of the data point
+         */
+        int add() {
+            if (this.size == this.timestamps.length) {
+                int capacity = this.size * 2;
+                this.timestamps = Arrays.copyOf(this.timestamps, capacity);
+                this.averages = Arrays.copyOf(this.averages, capacity);
+                this.minimums = Arrays.copyOf(this.minimums, capacity);
+                this.maximums = Arrays.copyOf(this.maximums, capacity);
+                this.totals = Arrays.copyOf(this.totals, capacity);
+                this.counts = Arrays.copyOf(this.counts, capacity);
+            }
+            int i = this.size++;
+            this.averages[i] = Double.NaN;
+            this.minimums[i] = Double.NaN;
+            this.maximums[i] = Double.NaN;
+            this.totals[i] = Double.NaN;
+            this.counts[i] = Double.NaN;
+            return i;
+        }
+
+        MetricSeriesImpl toSeries(List<MetadataValue> metadataValues) {
+            return new MetricSeriesImpl(metadataValues, this.size,
+                    Arrays.copyOf(this.timestamps, this.size),
+                    Arrays.copyOf(this.averages, this.size),
+                    Arrays.copyOf(this.minimums, this.size),
+                    Arrays.copyOf(this.maximums, this.size),
+                    Arrays.copyOf(this.totals, this.size),
+                    Arrays.copyOf(this.counts, this.size));
+        }
+    }
+}
@@ -59,7 +59,7 @@ public final class MonitorManager extends Manager<MonitorManager, MonitorManagem
             .withCredentials(credentials)
             .withSerializerAdapter(new AzureJacksonAdapter())
             .withResponseBuilderFactory(new AzureResponseBuilder.Factory())
-            .withInterceptor(new ProviderRegistrationInterceptor(credentials))
+            .withInterceptor(new ProviderRegistrationInterceptor())
             .build(), subscriptionId);
     }
     /**
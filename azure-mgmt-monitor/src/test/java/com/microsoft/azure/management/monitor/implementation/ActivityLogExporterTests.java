@@ -0,0 +1,140 @@
+/**
+ * Copyright (c) Microsoft Corporation. All rights reserved.
+ * Licensed under the MIT License. See License.txt in the project root for
+ * license information.
+ */
+
+package com.microsoft.azure.management.monitor.implementation;
+
+import com.microsoft.azure.Page;
+import com.microsoft.azure.management.monitor.ActivityLogExportCursor;
+import com.microsoft.azure.management.monitor.ActivityLogExportOptions;
+import com.microsoft.azure.management.monitor.EventData;
+import org.joda.time.DateTime;
+import org.joda.time.DateTimeZone;
+import org.joda.time.Period;
+import org.junit.Assert;
+import org.junit.Test;
+import rx.Observable;
+import rx.functions.Action1;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+public class ActivityLogExporterTests {
+    private static final DateTime START = new DateTime(2018, 1, 1, 0, 0, DateTimeZone.UTC);
+    private static final int PAGES_PER_SLICE = 3;
+    private static final int EVENTS_PER_PAGE = 2;
+
+    @Test
+    public void canSplitTimeRangeIntoSlices() {
+        ActivityLogExportCursor cursor = ActivityLogExporter.newCursor(START, START.plusDays(2).plusHours(12), Period.days(1));
+
+        Assert.assertEquals(3, cursor.slices().size());
+        Assert.assertEquals(START, cursor.slices().get(0).startTime());
+        Assert.assertEquals(START.plusDays(1).minusMillis(1), cursor.slices().get(0).endTime());
+        Assert.assertEquals(START.plusDays(1), cursor.slices().get(1).startTime());
+        Assert.assertEquals(START.plusDays(2).plusHours(12), cursor.slices().get(2).endTime());
+        Assert.assertFalse(cursor.isCompleted());
+    }
+
+    @Test
+    public void canExportAndResume() {
+        ActivityLogExportCursor cursor = ActivityLogExporter.newCursor(START, START.plusDays(4).minusMillis(1), Period.days(1));
+        final List<ActivityLogExportCursor> checkpoints = new ArrayList<>();
+        ActivityLogExportOptions options = new ActivityLogExportOptions()
+                .withParallelism(2)
+                .withCheckpointListener(new Action1<ActivityLogExportCursor>() {
+                    @Override
+                    public void call(ActivityLogExportCursor checkpoint) {
+                        checkpoints.add(checkpoint);
+                    }
+                });
+
+        // Stop after the first pages
+        TestExporter exporter = new TestExporter();
+        List<EventData> events = exporter.exportAsync(cursor, options).take(5).toList().toBlocking().single();
+        Assert.assertEquals(5, events.size());
+        // The fifth event belongs to a page not emitted completely
+        Assert.assertEquals(2, checkpoints.size());
+        ActivityLogExportCursor checkpoint = checkpoints.get(checkpoints.size() - 1);
+        Assert.assertFalse(checkpoint.isCompleted());
+
+        // Resume from the text form of the last checkpoint
+        exporter = new TestExporter();
+        options.withCursor(ActivityLogExportCursor.parse(checkpoint.toString()));
+        List<EventData> resumed = exporter.exportAsync(options.cursor(), options).toList().toBlocking().single();
+        Assert.assertEquals(4 * PAGES_PER_SLICE * EVENTS_PER_PAGE - 2 * EVENTS_PER_PAGE, resumed.size());
+        Assert.assertTrue(checkpoints.get(checkpoints.size() - 1).isCompleted());
+    }
+
+    @Test
+    public void canExportInTimestampOrder() {
+        ActivityLogExportCursor cursor = ActivityLogExporter.newCursor(START, START.plusDays(3).minusMillis(1), Period.days(1));
+        TestExporter exporter = new TestExporter();
+
+        List<EventData> events = exporter.exportAsync(cursor, new ActivityLogExportOptions().withTimestampOrder())
+                .toList().toBlocking().single();
+
+        Assert.assertEquals(3 * PAGES_PER_SLICE * EVENTS_PER_PAGE, events.size());
+        List<EventDataInner> expected = new ArrayList<>();
+        for (int slice = 2; slice >= 0; slice--) {
+            expected.addAll(exporter.events.get(START.plusDays(slice).getMillis()));
+        }
+        for (int i = 0; i < events.size(); i++) {
+            Assert.assertSame(expected.get(i), ((EventDataImpl) events.get(i)).inner());
+        }
+    }
+
+    @Test
+    public void canRoundTripCursor() {
+        ActivityLogExportCursor cursor = new ActivityLogExportCursor(Arrays.asList(
+                new ActivityLogExportCursor.Slice(START, START.plusDays(1).minusMillis(1), null, true),
+                new ActivityLogExportCursor.Slice(START.plusDays(1), START.plusDays(2).minusMillis(1), "https://management.azure.com/next?page=2", false),
+                new ActivityLogExportCursor.Slice(START.plusDays(2), START.plusDays(3).minusMillis(1), null, false)));
+
+        ActivityLogExportCursor parsed = ActivityLogExportCursor.parse(cursor.toString());
+
+        Assert.assertEquals(cursor.toString(), parsed.toString());
+        Assert.assertTrue(parsed.slices().get(0).isCompleted());
+        Assert.assertEquals("https://management.azure.com/next?page=2", parsed.slices().get(1).nextLink());
+        Assert.assertNull(parsed.slices().get(2).nextLink());
+        Assert.assertEquals(START.plusDays(2).getMillis(), parsed.slices().get(2).startTime().getMillis());
+    }
+
+    /**
+     * Serves PAGES_PER_SLICE pages of EVENTS_PER_PAGE events per slice, with links of the form
+     * "slice-start-millis/page-index".
+     */
+    private static final class TestExporter extends ActivityLogExporter {
+        private final Map<Long, List<EventDataInner>> events = new HashMap<>();
+
+        @Override
+        Observable<Page<EventDataInner>> listFirstPageAsync(DateTime startTime, DateTime endTime) {
+            return Observable.just(page(startTime.getMillis(), 0));
+        }
+
+        @Override
+        Observable<Page<EventDataInner>> listNextPageAsync(String nextLink) {
+            String[] parts = nextLink.split("/");
+            return Observable.just(page(Long.parseLong(parts[0]), Integer.parseInt(parts[1])));
+        }
+
+        private synchronized Page<EventDataInner> page(long slice, int index) {
+            List<EventDataInner> items = new ArrayList<>();
+            for (int i = 0; i < EVENTS_PER_PAGE; i++) {
+                items.add(new EventDataInner());
+            }
+            if (!this.events.containsKey(slice)) {
+                this.events.put(slice, new ArrayList<EventDataInner>());
+            }
+            this.events.get(slice).addAll(items);
+            return new PageImpl<EventDataInner>()
+                    .setItems(items)
+                    .setNextPageLink(index + 1 < PAGES_PER_SLICE ? slice + "/" + (index + 1) : null);
+        }
+    }
+}
@@ -0,0 +1,88 @@
+/**
+ * Copyright (c) Microsoft Corporation. All rights reserved.
+ * Licensed under the MIT License. See License.txt in the project root for
+ * license information.
+ */
+
+package com.microsoft.azure.management.monitor.implementation;
+
+import com.microsoft.azure.management.monitor.MetricSeries;
+import com.microsoft.azure.management.monitor.Unit;
+import okhttp3.MediaType;
+import okhttp3.ResponseBody;
+import org.joda.time.DateTime;
+import org.junit.Assert;
+import org.junit.Test;
+import rx.observers.TestSubscriber;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.nio.charset.Charset;
+
+public class MetricSeriesReaderTests {
+    private static final String RESPONSE = "{\"cost\":0,\"timespan\":\"2018-01-01T00:00:00Z/2018-01-01T00:03:00Z\",\"interval\":\"PT1M\","
+            + "\"value\":["
+            + "{\"id\":\"/subscriptions/sub/providers/Microsoft.Insights/metrics/Percentage CPU\",\"type\":\"Microsoft.Insights/metrics\","
+            + "\"name\":{\"value\":\"Percentage CPU\",\"localizedValue\":\"Percentage CPU\"},\"unit\":\"Percent\","
+            + "\"timeseries\":[{\"metadatavalues\":[{\"name\":{\"value\":\"host\",\"localizedValue\":\"host\"},\"value\":\"vm1\"}],"
+            + "\"data\":[{\"timeStamp\":\"2018-01-01T00:00:00Z\",\"average\":1.5,\"maximum\":3},"
+            + "{\"timeStamp\":\"2018-01-01T00:01:00Z\"},"
+            + "{\"timeStamp\":\"2018-01-01T00:02:00Z\",\"average\":null,\"total\":4.25,\"count\":2,\"extra\":{\"a\":[1]}}]},"
+            + "{\"metadatavalues\":[],\"data\":[]}]},"
+            + "{\"timeseries\":[{\"data\":[{\"timeStamp\":\"2018-01-01T00:00:00Z\",\"minimum\":7}]}],"
+            + "\"id\":\"/subscriptions/sub/providers/Microsoft.Insights/metrics/Network In\",\"type\":\"Microsoft.Insights/metrics\","
+            + "\"name\":{\"value\":\"Network In\",\"localizedValue\":\"Network In\"},\"unit\":\"Bytes\"}"
+            + "],\"namespace\":\"Microsoft.Compute/virtualMachines\",\"resourceregion\":\"westus\"}";
+
+    @Test
+    public void canReadSeriesIntoColumns() throws IOException {
+        MetricSeriesReader reader = new MetricSeriesReader(new ByteArrayInputStream(RESPONSE.getBytes(Charset.forName("UTF-8"))));
+
+        MetricSeries series = reader.next();
+        Assert.assertEquals("Percentage CPU", series.metricName().value());
+        Assert.assertEquals(Unit.PERCENT, series.unit());
+        Assert.assertEquals(1, series.metadataValues().size());
+        Assert.assertEquals("host", series.metadataValues().get(0).name().value());
+        Assert.assertEquals("vm1", series.metadataValues().get(0).value());
+        Assert.assertEquals(3, series.size());
+        Assert.assertArrayEquals(new long[] {
+            DateTime.parse("2018-01-01T00:00:00Z").getMillis(),
+            DateTime.parse("2018-01-01T00:01:00Z").getMillis(),
+            DateTime.parse("2018-01-01T00:02:00Z").getMillis() }, series.timestamps());
+        Assert.assertArrayEquals(new double[] { 1.5, Double.NaN, Double.NaN }, series.averages(), 0);
+        Assert.assertArrayEquals(new double[] { Double.NaN, Double.NaN, Double.NaN }, series.minimums(), 0);
+        Assert.assertArrayEquals(new double[] { 3, Double.NaN, Double.NaN }, series.maximums(), 0);
+        Assert.assertArrayEquals(new double[] { Double.NaN, Double.NaN, 4.25 }, series.totals(), 0);
+        Assert.assertArrayEquals(new double[] { Double.NaN, Double.NaN, 2 }, series.counts(), 0);
+
+        series = reader.next();
+        Assert.assertEquals("Percentage CPU", series.metricName().value());
+        Assert.assertEquals(0, series.size());
+        Assert.assertEquals(0, series.timestamps().length);
+
+        // The name of this metric follows its time series
+        series = reader.next();
+        Assert.assertEquals("Network In", series.metricName().value());
+        Assert.assertEquals(Unit.BYTES, series.unit());
+        Assert.assertTrue(series.metricId().endsWith("/Network In"));
+        Assert.assertArrayEquals(new double[] { 7 }, series.minimums(), 0);
+
+        Assert.assertNull(reader.next());
+        reader.close();
+    }
+
+    @Test
+    public void canStreamSeriesOnRequest() {
+        ResponseBody body = ResponseBody.create(MediaType.parse("application/json"), RESPONSE);
+        TestSubscriber<MetricSeries> subscriber = new TestSubscriber<>(1);
+
+        MetricSeriesReader.readAsync(body).subscribe(subscriber);
+        subscriber.assertValueCount(1);
+        subscriber.assertNotCompleted();
+
+        subscriber.requestMore(10);
+        subscriber.assertValueCount(3);
+        subscriber.assertCompleted();
+        subscriber.assertNoErrors();
+    }
+}
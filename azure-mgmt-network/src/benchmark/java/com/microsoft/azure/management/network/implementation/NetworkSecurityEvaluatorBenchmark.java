@@ -0,0 +1,188 @@
+/**
+ * Copyright (c) Microsoft Corporation. All rights reserved.
+ * Licensed under the MIT License. See License.txt in the project root for
+ * license information.
+ */
+
+package com.microsoft.azure.management.network.implementation;
+
+import com.microsoft.azure.management.network.NetworkSecurityEvaluator;
+import com.microsoft.azure.management.network.SecurityFlow;
+import com.microsoft.azure.management.network.SecurityRuleAccess;
+import com.microsoft.azure.management.network.SecurityRuleDirection;
+import com.microsoft.azure.management.network.SecurityRuleProtocol;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OperationsPerInvocation;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+import org.openjdk.jmh.profile.GCProfiler;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures the cost per flow of {@link NetworkSecurityEvaluatorImpl}, against a scan of the rules in the
+ * order of their priorities, for network security groups of increasing sizes.
+ * <p>
+ * Run with: mvn -Pbenchmark test-compile exec:java from the azure-mgmt-network directory, or
+ * run the main method of this class from the IDE after activating the benchmark profile.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class NetworkSecurityEvaluatorBenchmark {
+    private static final int FLOWS = 1024;
+    private static final SecurityRuleProtocol[] PROTOCOLS = new SecurityRuleProtocol[] {
+        SecurityRuleProtocol.TCP, SecurityRuleProtocol.UDP, SecurityRuleProtocol.ASTERISK
+    };
+    private static final Map<String, List<String>> SERVICE_TAGS = Collections.singletonMap(
+            NetworkSecurityEvaluatorImpl.VIRTUAL_NETWORK_TAG, Collections.singletonList("10.0.0.0/8"));
+
+    @Param({ "10", "100", "1000" })
+    private int ruleCount;
+
+    private NetworkSecurityEvaluator evaluator;
+    private List<ScannedRule> scannedRules;
+    private List<SecurityFlow> flows;
+
+    @Setup(Level.Trial)
+    public void setup() {
+        Random random = new Random(this.ruleCount);
+        List<SecurityRuleInner> rules = new ArrayList<>();
+        for (int i = 0; i < this.ruleCount; i++) {
+            int port = 1 + random.nextInt(60000);
+            rules.add(new SecurityRuleInner()
+                    .withName("rule" + i)
+                    .withPriority(100 + i)
+                    .withDirection(SecurityRuleDirection.INBOUND)
+                    .withAccess(random.nextBoolean() ? SecurityRuleAccess.ALLOW : SecurityRuleAccess.DENY)
+                    .withProtocol(PROTOCOLS[random.nextInt(PROTOCOLS.length)])
+                    .withSourceAddressPrefix("10." + random.nextInt(256) + "." + random.nextInt(256) + ".0/24")
+                    .withSourcePortRange("*")
+                    .withDestinationAddressPrefix("10.0." + random.nextInt(256) + ".0/" + (20 + random.nextInt(13)))
+                    .withDestinationPortRange(random.nextBoolean() ? String.valueOf(port) : port + "-" + (port + random.nextInt(1000))));
+        }
+        rules.add(new SecurityRuleInner()
+                .withName("DenyAllInBound")
+                .withPriority(65500)
+                .withDirection(SecurityRuleDirection.INBOUND)
+                .withAccess(SecurityRuleAccess.DENY)
+                .withProtocol(SecurityRuleProtocol.ASTERISK)
+                .withSourceAddressPrefix("*")
+                .withSourcePortRange("*")
+                .withDestinationAddressPrefix("*")
+                .withDestinationPortRange("*"));
+        this.evaluator = NetworkSecurityEvaluatorImpl.compile(rules, SERVICE_TAGS);
+
+        this.scannedRules = new ArrayList<>();
+        for (SecurityRuleInner rule : rules) {
+            this.scannedRules.add(new ScannedRule(rule));
+        }
+
+        this.flows = new ArrayList<>();
+        for (int i = 0; i < FLOWS; i++) {
+            this.flows.add(new SecurityFlow(SecurityRuleDirection.INBOUND,
+                    random.nextBoolean() ? SecurityRuleProtocol.TCP : SecurityRuleProtocol.UDP,
+                    "10." + random.nextInt(256) + "." + random.nextInt(256) + "." + random.nextInt(256),
+                    1024 + random.nextInt(60000),
+                    "10.0." + random.nextInt(256) + "." + random.nextInt(256),
+                    1 + random.nextInt(61000)));
+        }
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(FLOWS)
+    public void scan(Blackhole blackhole) {
+        for (SecurityFlow flow : this.flows) {
+            SecurityRuleAccess access = SecurityRuleAccess.DENY;
+            long source = PrivateIPAddressIndexImpl.parseAddress(flow.sourceAddress());
+            long destination = PrivateIPAddressIndexImpl.parseAddress(flow.destinationAddress());
+            for (ScannedRule rule : this.scannedRules) {
+                if (rule.matches(flow, source, destination)) {
+                    access = rule.access;
+                    break;
+                }
+            }
+            blackhole.consume(access);
+        }
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(FLOWS)
+    public void evaluate(Blackhole blackhole) {
+        for (SecurityFlow flow : this.flows) {
+            blackhole.consume(this.evaluator.evaluate(flow));
+        }
+    }
+
+    /**
+     * Runs the benchmark.
+     *
+     * @param args the arguments, not used
+     * @throws RunnerException if the benchmark fails
+     */
+    public static void main(String[] args) throws RunnerException {
+        new Runner(new OptionsBuilder()
+                .include(NetworkSecurityEvaluatorBenchmark.class.getSimpleName())
+                .addProfiler(GCProfiler.class)
+                .build()).run();
+    }
+
+    /**
+     * A rule with its ranges parsed, checked dimension by dimension as the baseline.
+     */
+    private static final class ScannedRule {
+        private final SecurityRuleAccess access;
+        private final SecurityRuleProtocol protocol;
+        private final List<long[]> sourceAddresses = new ArrayList<>();
+        private final List<long[]> destinationAddresses = new ArrayList<>();
+        private final List<long[]> sourcePorts = new ArrayList<>();
+        private final List<long[]> destinationPorts = new ArrayList<>();
+
+        ScannedRule(SecurityRuleInner rule) {
+            this.access = rule.access();
+            this.protocol = rule.protocol();
+            NetworkSecurityEvaluatorImpl.addAddressRanges(rule.sourceAddressPrefix(), SERVICE_TAGS, this.sourceAddresses);
+            NetworkSecurityEvaluatorImpl.addAddressRanges(rule.destinationAddressPrefix(), SERVICE_TAGS, this.destinationAddresses);
+            NetworkSecurityEvaluatorImpl.addPortRange(rule.sourcePortRange(), this.sourcePorts);
+            NetworkSecurityEvaluatorImpl.addPortRange(rule.destinationPortRange(), this.destinationPorts);
+        }
+
+        boolean matches(SecurityFlow flow, long source, long destination) {
+            return (this.protocol == SecurityRuleProtocol.ASTERISK || this.protocol == flow.protocol())
+                    && contains(this.sourceAddresses, source)
+                    && contains(this.destinationAddresses, destination)
+                    && contains(this.sourcePorts, flow.sourcePort())
+                    && contains(this.destinationPorts, flow.destinationPort());
+        }
+
+        private static boolean contains(List<long[]> ranges, long value) {
+            for (long[] range : ranges) {
+                if (value >= range[0] && value <= range[1]) {
+                    return true;
+                }
+            }
+            return false;
+        }
+    }
+}
@@ -21,6 +21,7 @@ import com.microsoft.azure.management.resources.fluentcore.model.Appliable;
 import com.microsoft.azure.management.resources.fluentcore.model.Creatable;
 import com.microsoft.azure.management.resources.fluentcore.model.Refreshable;
 import com.microsoft.azure.management.resources.fluentcore.model.Updatable;
+import rx.Observable;
 
 /**
  * Entry point for Virtual Network management API in Azure.
@@ -48,6 +49,27 @@ public interface Network extends
     @Beta(SinceVersion.V1_3_0)
     boolean isPrivateIPAddressInNetwork(String ipAddress);
 
+    /**
+     * Gets the in-process index of the private IP addresses of this network, built on the first call.
+     * <p>
+     * Building the index resolves the IP configurations of the subnets, fetching each referenced network
+     * interface and load balancer once; the queries of the index then make no call to Azure.
+     *
+     * @return the private IP address index
+     */
+    @Beta(SinceVersion.V1_25_0)
+    @Method
+    PrivateIPAddressIndex privateIPAddressIndex();
+
+    /**
+     * Gets the in-process index of the private IP addresses of this network, built on the first call.
+     *
+     * @return a representation of the deferred computation of the private IP address index
+     */
+    @Beta(SinceVersion.V1_25_0)
+    @Method
+    Observable<PrivateIPAddressIndex> privateIPAddressIndexAsync();
+
     /**
      * @return list of address spaces associated with this virtual network, in the CIDR notation
      */
@@ -0,0 +1,48 @@
+/**
+ * Copyright (c) Microsoft Corporation. All rights reserved.
+ * Licensed under the MIT License. See License.txt in the project root for
+ * license information.
+ */
+package com.microsoft.azure.management.network;
+
+import com.microsoft.azure.management.apigeneration.Beta;
+import com.microsoft.azure.management.apigeneration.Beta.SinceVersion;
+import com.microsoft.azure.management.apigeneration.Fluent;
+
+import java.util.List;
+
+/**
+ * An offline evaluator of the security rules of a network security group, compiled from the custom and
+ * default rules of the group. As Azure does, the rules of the direction of a flow are considered in the
+ * order of their priorities, and the first rule matching the flow decides whether it is allowed.
+ * <p>
+ * The rule addresses and ports are compiled into interval indexes, so that evaluating a flow takes a few
+ * binary searches, whatever the number of rules.
+ */
+@Fluent
+@Beta(SinceVersion.V1_25_0)
+public interface NetworkSecurityEvaluator {
+    /**
+     * Evaluates a flow.
+     *
+     * @param flow the flow
+     * @return the access of the first rule matching the flow, {@link SecurityRuleAccess#DENY} if no rule matches
+     */
+    SecurityRuleAccess evaluate(SecurityFlow flow);
+
+    /**
+     * Evaluates flows.
+     *
+     * @param flows the flows
+     * @return the access to each of the flows, in the order of the flows
+     */
+    List<SecurityRuleAccess> evaluate(List<SecurityFlow> flows);
+
+    /**
+     * Finds the rule deciding the access to a flow.
+     *
+     * @param flow the flow
+     * @return the name of the first rule matching the flow, or null if no rule matches
+     */
+    String matchingRuleName(SecurityFlow flow);
+}
@@ -5,10 +5,14 @@
  */
 package com.microsoft.azure.management.network;
 
+import java.util.List;
 import java.util.Map;
 import java.util.Set;
 
+import com.microsoft.azure.management.apigeneration.Beta;
+import com.microsoft.azure.management.apigeneration.Beta.SinceVersion;
 import com.microsoft.azure.management.apigeneration.Fluent;
+import com.microsoft.azure.management.apigeneration.Method;
 import com.microsoft.azure.management.network.implementation.NetworkManager;
 import com.microsoft.azure.management.network.implementation.NetworkSecurityGroupInner;
 import com.microsoft.azure.management.network.model.HasAssociatedSubnets;
@@ -49,6 +53,22 @@ public interface NetworkSecurityGroup extends
      */
     Set<String> networkInterfaceIds();
 
+    /**
+     * Compiles the custom and default security rules of this network security group into an evaluator of
+     * flows, which does not call Azure.
+     * <p>
+     * Service tags are resolved from the given address prefixes, such as the prefixes of "VirtualNetwork"
+     * for the virtual networks the group applies to. "AzureLoadBalancer" defaults to the address of the
+     * Azure health probes and "Internet" to the addresses outside of "VirtualNetwork". Rules on other
+     * service tags or on IPv6 prefixes do not match any flow.
+     *
+     * @param serviceTagPrefixes the IPv4 address prefixes by service tag, may be null
+     * @return the evaluator, reflecting the rules of this network security group at the time of the call
+     */
+    @Beta(SinceVersion.V1_25_0)
+    @Method
+    NetworkSecurityEvaluator compileSecurityEvaluator(Map<String, List<String>> serviceTagPrefixes);
+
     // Fluent interfaces for creating NSGs
 
     /**
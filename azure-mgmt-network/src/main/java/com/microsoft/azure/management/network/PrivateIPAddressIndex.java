@@ -0,0 +1,81 @@
+/**
+ * Copyright (c) Microsoft Corporation. All rights reserved.
+ * Licensed under the MIT License. See License.txt in the project root for
+ * license information.
+ */
+package com.microsoft.azure.management.network;
+
+import com.microsoft.azure.management.apigeneration.Beta;
+import com.microsoft.azure.management.apigeneration.Beta.SinceVersion;
+import com.microsoft.azure.management.apigeneration.Fluent;
+import rx.Observable;
+
+import java.util.List;
+
+/**
+ * An in-process index of the private IPv4 addresses of the subnets of a virtual network, answering
+ * availability queries without a call to Azure.
+ * <p>
+ * The index holds a bitmap of the addresses of each subnet prefix. An address is taken if it is one of
+ * the five addresses Azure reserves in each prefix, or if it is assigned to an IP configuration of a
+ * network interface or a load balancer frontend in the subnet. The IP configurations whose address
+ * cannot be resolved, such as those of scale set network interfaces, take an unknown address of their
+ * subnet: they are deducted from the count of available addresses, but their addresses may still be
+ * reported as available.
+ * <p>
+ * Refreshing the virtual network re-syncs the index on the next query: only the IP configurations new
+ * to a subnet are resolved, and the subnets whose prefixes changed are indexed again. This incremental
+ * sync is best-effort: an IP configuration whose private IP address changed keeps its old address in
+ * the index until {@link #resync()} resolves all the IP configurations again.
+ */
+@Fluent
+@Beta(SinceVersion.V1_25_0)
+public interface PrivateIPAddressIndex {
+    /**
+     * Checks if a private IP address is available in a subnet of the virtual network.
+     *
+     * @param ipAddress an IPv4 address
+     * @return true if the address is in a subnet, not reserved and not assigned
+     */
+    boolean isAvailable(String ipAddress);
+
+    /**
+     * Checks if a private IP address is in the virtual network.
+     *
+     * @param ipAddress an IPv4 address
+     * @return true if the address is in the address space of the virtual network or in the address
+     *         prefix of a subnet
+     */
+    boolean isInNetwork(String ipAddress);
+
+    /**
+     * Lists the first available private IP addresses of a subnet, in ascending order.
+     *
+     * @param subnetName the name of the subnet
+     * @param maxCount the maximum number of addresses to list
+     * @return the available addresses, empty if the subnet does not exist
+     */
+    List<String> listAvailablePrivateIPAddresses(String subnetName, int maxCount);
+
+    /**
+     * @param subnetName the name of the subnet
+     * @return the number of available private IP addresses in the subnet, 0 if it does not exist
+     */
+    long availablePrivateIPAddressCount(String subnetName);
+
+    /**
+     * Resolves the addresses of all the IP configurations of the virtual network again, rather than only
+     * the ones new to the index, so that the addresses changed since they were resolved are indexed.
+     *
+     * @return the index
+     */
+    PrivateIPAddressIndex resync();
+
+    /**
+     * Resolves the addresses of all the IP configurations of the virtual network again, rather than only
+     * the ones new to the index, so that the addresses changed since they were resolved are indexed.
+     *
+     * @return a representation of the deferred computation of the index
+     */
+    Observable<PrivateIPAddressIndex> resyncAsync();
+}
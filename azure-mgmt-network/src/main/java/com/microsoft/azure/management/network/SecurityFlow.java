@@ -0,0 +1,131 @@
+/**
+ * Copyright (c) Microsoft Corporation. All rights reserved.
+ * Licensed under the MIT License. See License.txt in the project root for
+ * license information.
+ */
+package com.microsoft.azure.management.network;
+
+import com.microsoft.azure.management.apigeneration.Beta;
+import com.microsoft.azure.management.apigeneration.Beta.SinceVersion;
+
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * A network flow evaluated against the security rules of a network security group: the 5-tuple of the
+ * flow, its direction relative to the network security group, and the application security groups of
+ * its endpoints.
+ */
+@Beta(SinceVersion.V1_25_0)
+public final class SecurityFlow {
+    private final SecurityRuleDirection direction;
+    private final SecurityRuleProtocol protocol;
+    private final String sourceAddress;
+    private final int sourcePort;
+    private final String destinationAddress;
+    private final int destinationPort;
+    private List<String> sourceApplicationSecurityGroupIds = Collections.emptyList();
+    private List<String> destinationApplicationSecurityGroupIds = Collections.emptyList();
+
+    /**
+     * Creates a flow.
+     *
+     * @param direction the direction of the flow
+     * @param protocol the protocol of the flow, such as {@link SecurityRuleProtocol#TCP}
+     * @param sourceAddress the IPv4 address of the source
+     * @param sourcePort the port of the source
+     * @param destinationAddress the IPv4 address of the destination
+     * @param destinationPort the port of the destination
+     */
+    public SecurityFlow(SecurityRuleDirection direction, SecurityRuleProtocol protocol,
+            String sourceAddress, int sourcePort, String destinationAddress, int destinationPort) {
+        if (direction == null || protocol == null || sourceAddress == null || destinationAddress == null) {
+            throw new IllegalArgumentException("direction, protocol, sourceAddress and destinationAddress cannot be null");
+        }
+        this.direction = direction;
+        this.protocol = protocol;
+        this.sourceAddress = sourceAddress;
+        this.sourcePort = sourcePort;
+        this.destinationAddress = destinationAddress;
+        this.destinationPort = destinationPort;
+    }
+
+    /**
+     * Specifies the application security groups of the network interface of the source.
+     *
+     * @param ids the IDs of the application security groups
+     * @return the flow
+     */
+    public SecurityFlow withSourceApplicationSecurityGroupIds(String... ids) {
+        this.sourceApplicationSecurityGroupIds = ids == null ? Collections.<String>emptyList() : Arrays.asList(ids);
+        return this;
+    }
+
+    /**
+     * Specifies the application security groups of the network interface of the destination.
+     *
+     * @param ids the IDs of the application security groups
+     * @return the flow
+     */
+    public SecurityFlow withDestinationApplicationSecurityGroupIds(String... ids) {
+        this.destinationApplicationSecurityGroupIds = ids == null ? Collections.<String>emptyList() : Arrays.asList(ids);
+        return this;
+    }
+
+    /**
+     * @return the direction of the flow
+     */
+    public SecurityRuleDirection direction() {
+        return this.direction;
+    }
+
+    /**
+     * @return the protocol of the flow
+     */
+    public SecurityRuleProtocol protocol() {
+        return this.protocol;
+    }
+
+    /**
+     * @return the IPv4 address of the source
+     */
+    public String sourceAddress() {
+        return this.sourceAddress;
+    }
+
+    /**
+     * @return the port of the source
+     */
+    public int sourcePort() {
+        return this.sourcePort;
+    }
+
+    /**
+     * @return the IPv4 address of the destination
+     */
+    public String destinationAddress() {
+        return this.destinationAddress;
+    }
+
+    /**
+     * @return the port of the destination
+     */
+    public int destinationPort() {
+        return this.destinationPort;
+    }
+
+    /**
+     * @return the IDs of the application security groups of the source
+     */
+    public List<String> sourceApplicationSecurityGroupIds() {
+        return this.sourceApplicationSecurityGroupIds;
+    }
+
+    /**
+     * @return the IDs of the application security groups of the destination
+     */
+    public List<String> destinationApplicationSecurityGroupIds() {
+        return this.destinationApplicationSecurityGroupIds;
+    }
+}
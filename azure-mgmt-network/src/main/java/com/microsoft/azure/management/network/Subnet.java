@@ -20,6 +20,7 @@ import com.microsoft.azure.management.resources.fluentcore.arm.models.ChildResou
 import com.microsoft.azure.management.resources.fluentcore.model.Attachable;
 import com.microsoft.azure.management.resources.fluentcore.model.Settable;
 import com.microsoft.azure.management.resources.fluentcore.model.HasInner;
+import rx.Observable;
 
 /**
  * A client-side representation of a subnet of a virtual network.
@@ -48,6 +49,17 @@ public interface Subnet extends
     @Method
     Collection<NicIPConfiguration> listNetworkInterfaceIPConfigurations();
 
+    /**
+     * Lists the network interface IP configurations that are associated with this subnet. Each referenced
+     * network interface is fetched once, and the network interfaces of a resource group are listed at once
+     * when many of them are referenced.
+     *
+     * @return an observable emitting the network interface IP configurations
+     */
+    @Beta(SinceVersion.V1_25_0)
+    @Method
+    Observable<NicIPConfiguration> listNetworkInterfaceIPConfigurationsAsync();
+
     /**
      * @return available private IP addresses within this network
      */
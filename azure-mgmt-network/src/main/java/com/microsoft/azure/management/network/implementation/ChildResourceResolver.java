@@ -0,0 +1,156 @@
+/**
+ * Copyright (c) Microsoft Corporation. All rights reserved.
+ * Licensed under the MIT License. See License.txt in the project root for
+ * license information.
+ */
+
+package com.microsoft.azure.management.network.implementation;
+
+import com.microsoft.azure.management.resources.fluentcore.arm.ResourceUtils;
+import com.microsoft.azure.management.resources.fluentcore.arm.models.HasId;
+import rx.Observable;
+import rx.functions.Func1;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Resolves references to child resources, such as the IP configurations of network interfaces, fetching
+ * each referenced parent resource once. The parents are fetched concurrently with a bound, and the
+ * resource groups holding many of the referenced parents are listed instead, in one paged call each.
+ *
+ * @param <ParentT> the type of the parent resources
+ * @param <ChildT> the type of the child resources
+ */
+abstract class ChildResourceResolver<ParentT extends HasId, ChildT> {
+    // The maximum number of parents or resource group listings fetched concurrently
+    static final int MAX_CONCURRENT_FETCHES = 16;
+    // From this number of referenced parents in a resource group, listing the group is cheaper
+    static final int LIST_THRESHOLD = 16;
+
+    /**
+     * @param id the ID of a parent resource
+     * @return an observable emitting the parent, or null if it does not exist
+     */
+    abstract Observable<ParentT> getParentAsync(String id);
+
+    /**
+     * @param resourceGroupName the name of a resource group
+     * @return an observable emitting the parents in the resource group
+     */
+    abstract Observable<ParentT> listParentsAsync(String resourceGroupName);
+
+    /**
+     * @param parent the parent resource
+     * @param name the name of a child resource
+     * @return the child resource, or null if it does not exist
+     */
+    abstract ChildT childOf(ParentT parent, String name);
+
+    /**
+     * Resolves references to child resources, ignoring the references to child resources that do not exist.
+     *
+     * @param childIds the IDs of the child resources
+     * @return the child resources, in the order of the references
+     */
+    List<ChildT> resolve(Collection<String> childIds) {
+        return resolveAsync(childIds).toList().toBlocking().single();
+    }
+
+    /**
+     * Resolves references to child resources, ignoring the references to child resources that do not exist.
+     *
+     * @param childIds the IDs of the child resources
+     * @return an observable emitting the child resources, in the order of the references
+     */
+    Observable<ChildT> resolveAsync(Collection<String> childIds) {
+        final List<String> ids = new ArrayList<>();
+        // The referenced parent IDs by lower case ID, grouped by lower case resource group name
+        final Map<String, ParentGroup> groups = new LinkedHashMap<>();
+        if (childIds != null) {
+            for (String childId : childIds) {
+                if (childId == null) {
+                    continue;
+                }
+                ids.add(childId);
+                String parentId = ResourceUtils.parentResourceIdFromResourceId(childId);
+                String groupName = ResourceUtils.groupFromResourceId(parentId);
+                ParentGroup group = groups.get(groupName.toLowerCase());
+                if (group == null) {
+                    group = new ParentGroup(groupName);
+                    groups.put(groupName.toLowerCase(), group);
+                }
+                group.parentIds.put(parentId.toLowerCase(), parentId);
+            }
+        }
+        if (ids.isEmpty()) {
+            return Observable.empty();
+        }
+
+        List<Observable<ParentT>> fetches = new ArrayList<>();
+        for (final ParentGroup group : groups.values()) {
+            if (group.parentIds.size() >= LIST_THRESHOLD) {
+                fetches.add(listParentsAsync(group.name).filter(new Func1<ParentT, Boolean>() {
+                    @Override
+                    public Boolean call(ParentT parent) {
+                        return parent != null && group.parentIds.containsKey(parent.id().toLowerCase());
+                    }
+                }));
+            } else {
+                for (String parentId : group.parentIds.values()) {
+                    fetches.add(getParentAsync(parentId));
+                }
+            }
+        }
+
+        return Observable.from(fetches)
+                .flatMap(new Func1<Observable<ParentT>, Observable<ParentT>>() {
+                    @Override
+                    public Observable<ParentT> call(Observable<ParentT> fetch) {
+                        return fetch;
+                    }
+                }, MAX_CONCURRENT_FETCHES)
+                .filter(new Func1<ParentT, Boolean>() {
+                    @Override
+                    public Boolean call(ParentT parent) {
+                        return parent != null;
+                    }
+                })
+                .toMap(new Func1<ParentT, String>() {
+                    @Override
+                    public String call(ParentT parent) {
+                        return parent.id().toLowerCase();
+                    }
+                })
+                .flatMapIterable(new Func1<Map<String, ParentT>, Iterable<ChildT>>() {
+                    @Override
+                    public Iterable<ChildT> call(Map<String, ParentT> parents) {
+                        List<ChildT> children = new ArrayList<>();
+                        for (String childId : ids) {
+                            ParentT parent = parents.get(ResourceUtils.parentResourceIdFromResourceId(childId).toLowerCase());
+                            if (parent == null) {
+                                // The parent doesn't exist, so ignore this bad reference
+                                continue;
+                            }
+                            ChildT child = childOf(parent, ResourceUtils.nameFromResourceId(childId));
+                            if (child != null) {
+                                children.add(child);
+                            }
+                        }
+                        return children;
+                    }
+                });
+    }
+
+    private static final class ParentGroup {
+        private final String name;
+        private final Map<String, String> parentIds = new LinkedHashMap<>();
+
+        ParentGroup(String name) {
+            this.name = name;
+        }
+    }
+}
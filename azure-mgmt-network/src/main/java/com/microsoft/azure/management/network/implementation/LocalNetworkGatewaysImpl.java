@@ -42,7 +42,7 @@ class LocalNetworkGatewaysImpl
 
     @Override
     public PagedList<LocalNetworkGateway> list() {
-        return new GroupPagedList<LocalNetworkGateway>(this.manager().resourceManager().resourceGroups().list()) {
+        return new GroupPagedList<LocalNetworkGateway>(this.manager().resourceManager().resourceGroups().list(), GroupPagedList.defaultParallelism()) {
             @Override
             public List<LocalNetworkGateway> listNextGroup(String resourceGroupName) {
                 return wrapList(LocalNetworkGatewaysImpl.this.inner().listByResourceGroup(resourceGroupName));
@@ -52,8 +52,8 @@ class LocalNetworkGatewaysImpl
 
     @Override
     public Observable<LocalNetworkGateway> listAsync() {
-        return this.manager().resourceManager().resourceGroups().listAsync()
-                .flatMap(new Func1<ResourceGroup, Observable<LocalNetworkGateway>>() {
+        return GroupPagedList.listAsync(this.manager().resourceManager().resourceGroups().listAsync(),
+                new Func1<ResourceGroup, Observable<LocalNetworkGateway>>() {
                     @Override
                     public Observable<LocalNetworkGateway> call(ResourceGroup resourceGroup) {
                         return wrapPageAsync(inner().listByResourceGroupAsync(resourceGroup.name()));
@@ -13,6 +13,7 @@ import com.microsoft.azure.management.network.DdosProtectionPlan;
 import com.microsoft.azure.management.network.DhcpOptions;
 import com.microsoft.azure.management.network.Network;
 import com.microsoft.azure.management.network.NetworkPeerings;
+import com.microsoft.azure.management.network.PrivateIPAddressIndex;
 import com.microsoft.azure.management.network.Subnet;
 import com.microsoft.azure.management.network.model.GroupableParentResourceWithTagsImpl;
 
@@ -47,6 +48,7 @@ class NetworkImpl
     private Map<String, Subnet> subnets;
     private NetworkPeeringsImpl peerings;
     private Creatable<DdosProtectionPlan> ddosProtectionPlanCreatable;
+    private volatile PrivateIPAddressIndexImpl privateIPAddressIndex;
 
     NetworkImpl(String name,
             final VirtualNetworkInner innerModel,
@@ -67,6 +69,10 @@ class NetworkImpl
         }
 
         this.peerings = new NetworkPeeringsImpl(this);
+
+        if (this.privateIPAddressIndex != null) {
+            this.privateIPAddressIndex.markStale();
+        }
     }
 
     // Verbs
@@ -105,8 +111,34 @@ class NetworkImpl
         return (result != null) ? true : false;
     }
 
+    @Override
+    public PrivateIPAddressIndex privateIPAddressIndex() {
+        return getPrivateIPAddressIndex().sync();
+    }
+
+    @Override
+    public Observable<PrivateIPAddressIndex> privateIPAddressIndexAsync() {
+        return getPrivateIPAddressIndex().syncAsync().map(new Func1<PrivateIPAddressIndexImpl, PrivateIPAddressIndex>() {
+            @Override
+            public PrivateIPAddressIndex call(PrivateIPAddressIndexImpl index) {
+                return index;
+            }
+        });
+    }
+
     // Helpers
 
+    private PrivateIPAddressIndexImpl getPrivateIPAddressIndex() {
+        if (this.privateIPAddressIndex == null) {
+            synchronized (this) {
+                if (this.privateIPAddressIndex == null) {
+                    this.privateIPAddressIndex = new PrivateIPAddressIndexImpl(this);
+                }
+            }
+        }
+        return this.privateIPAddressIndex;
+    }
+
     private IPAddressAvailabilityResultInner checkIPAvailability(String ipAddress) {
         if (ipAddress == null) {
             return null;
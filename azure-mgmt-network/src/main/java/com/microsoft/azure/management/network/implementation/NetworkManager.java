@@ -19,12 +19,17 @@ import com.microsoft.azure.management.network.ApplicationSecurityGroups;
 import com.microsoft.azure.management.network.DdosProtectionPlans;
 import com.microsoft.azure.management.network.ExpressRouteCircuits;
 import com.microsoft.azure.management.network.ExpressRouteCrossConnections;
+import com.microsoft.azure.management.network.IPConfiguration;
+import com.microsoft.azure.management.network.LoadBalancer;
+import com.microsoft.azure.management.network.LoadBalancerPrivateFrontend;
 import com.microsoft.azure.management.network.LoadBalancers;
 import com.microsoft.azure.management.network.LocalNetworkGateways;
 import com.microsoft.azure.management.network.Network;
+import com.microsoft.azure.management.network.NetworkInterface;
 import com.microsoft.azure.management.network.NetworkInterfaces;
 import com.microsoft.azure.management.network.NetworkSecurityGroups;
 import com.microsoft.azure.management.network.NetworkUsages;
+import com.microsoft.azure.management.network.NicIPConfiguration;
 import com.microsoft.azure.management.network.Networks;
 import com.microsoft.azure.management.network.PublicIPAddresses;
 import com.microsoft.azure.management.network.RouteFilters;
@@ -40,13 +45,12 @@ import com.microsoft.azure.management.resources.fluentcore.utils.ProviderRegistr
 import com.microsoft.azure.management.resources.fluentcore.utils.ResourceManagerThrottlingInterceptor;
 import com.microsoft.azure.serializer.AzureJacksonAdapter;
 import com.microsoft.rest.RestClient;
+import rx.Observable;
 
 import java.util.ArrayList;
 import java.util.Collection;
 import java.util.Collections;
-import java.util.HashMap;
 import java.util.List;
-import java.util.Map;
 
 /**
  * Entry point to Azure network management.
@@ -94,8 +98,8 @@ public final class NetworkManager extends Manager<NetworkManager, NetworkManagem
                 .withCredentials(credentials)
                 .withSerializerAdapter(new AzureJacksonAdapter())
                 .withResponseBuilderFactory(new AzureResponseBuilder.Factory())
-                .withInterceptor(new ProviderRegistrationInterceptor(credentials))
-                .withInterceptor(new ResourceManagerThrottlingInterceptor())
+                .withInterceptor(new ProviderRegistrationInterceptor())
+                .withInterceptor(new ResourceManagerThrottlingInterceptor(credentials.domain()))
                 .build(), subscriptionId);
     }
 
@@ -334,45 +338,109 @@ public final class NetworkManager extends Manager<NetworkManager, NetworkManagem
 
     // Internal utility function
     List<Subnet> listAssociatedSubnets(List<SubnetInner> subnetRefs) {
-        final Map<String, Network> networks = new HashMap<>();
-        final List<Subnet> subnets = new ArrayList<>();
-
+        final List<String> subnetIds = new ArrayList<>();
         if (subnetRefs != null) {
             for (SubnetInner subnetRef : subnetRefs) {
-                String networkId = ResourceUtils.parentResourceIdFromResourceId(subnetRef.id());
-                Network network = networks.get(networkId.toLowerCase());
-                if (network == null) {
-                    network = this.networks().getById(networkId);
-                    networks.put(networkId.toLowerCase(), network);
-                }
-
-                String subnetName = ResourceUtils.nameFromResourceId(subnetRef.id());
-                subnets.add(network.subnets().get(subnetName));
+                subnetIds.add(subnetRef.id());
             }
         }
 
-        return Collections.unmodifiableList(subnets);
+        return Collections.unmodifiableList(new ChildResourceResolver<Network, Subnet>() {
+            @Override
+            Observable<Network> getParentAsync(String id) {
+                return networks().getByIdAsync(id);
+            }
+
+            @Override
+            Observable<Network> listParentsAsync(String resourceGroupName) {
+                return networks().listByResourceGroupAsync(resourceGroupName);
+            }
+
+            @Override
+            Subnet childOf(Network network, String name) {
+                return network.subnets().get(name);
+            }
+        }.resolve(subnetIds));
     }
 
     // Internal utility function
     Collection<ApplicationGatewayBackend> listAssociatedApplicationGatewayBackends(List<ApplicationGatewayBackendAddressPool> backendRefs) {
-        final Map<String, ApplicationGateway> appGateways = new HashMap<>();
-        final List<ApplicationGatewayBackend> backends = new ArrayList<>();
-
+        final List<String> backendIds = new ArrayList<>();
         if (backendRefs != null) {
             for (ApplicationGatewayBackendAddressPool backendRef : backendRefs) {
-                String appGatewayId = ResourceUtils.parentResourceIdFromResourceId(backendRef.id());
-                ApplicationGateway appGateway = appGateways.get(appGatewayId.toLowerCase());
-                if (appGateway == null) {
-                    appGateway = this.applicationGateways().getById(appGatewayId);
-                    appGateways.put(appGatewayId.toLowerCase(), appGateway);
-                }
-
-                String backendName = ResourceUtils.nameFromResourceId(backendRef.id());
-                backends.add(appGateway.backends().get(backendName));
+                backendIds.add(backendRef.id());
+            }
+        }
+
+        return Collections.unmodifiableCollection(new ChildResourceResolver<ApplicationGateway, ApplicationGatewayBackend>() {
+            @Override
+            Observable<ApplicationGateway> getParentAsync(String id) {
+                return applicationGateways().getByIdAsync(id);
+            }
+
+            @Override
+            Observable<ApplicationGateway> listParentsAsync(String resourceGroupName) {
+                return applicationGateways().listByResourceGroupAsync(resourceGroupName);
+            }
+
+            @Override
+            ApplicationGatewayBackend childOf(ApplicationGateway appGateway, String name) {
+                return appGateway.backends().get(name);
+            }
+        }.resolve(backendIds));
+    }
+
+    // Internal utility function
+    Observable<NicIPConfiguration> listNetworkInterfaceIPConfigurationsAsync(List<IPConfiguration> ipConfigRefs) {
+        final List<String> ipConfigIds = new ArrayList<>();
+        if (ipConfigRefs != null) {
+            for (IPConfiguration ipConfigRef : ipConfigRefs) {
+                ipConfigIds.add(ipConfigRef.id());
             }
         }
 
-        return Collections.unmodifiableCollection(backends);
+        return new ChildResourceResolver<NetworkInterface, NicIPConfiguration>() {
+            @Override
+            Observable<NetworkInterface> getParentAsync(String id) {
+                return networkInterfaces().getByIdAsync(id);
+            }
+
+            @Override
+            Observable<NetworkInterface> listParentsAsync(String resourceGroupName) {
+                return networkInterfaces().listByResourceGroupAsync(resourceGroupName);
+            }
+
+            @Override
+            NicIPConfiguration childOf(NetworkInterface nic, String name) {
+                return nic.ipConfigurations().get(name);
+            }
+        }.resolveAsync(ipConfigIds);
+    }
+
+    // Internal utility function
+    Observable<LoadBalancerPrivateFrontend> listLoadBalancerPrivateFrontendsAsync(List<IPConfiguration> frontendRefs) {
+        final List<String> frontendIds = new ArrayList<>();
+        if (frontendRefs != null) {
+            for (IPConfiguration frontendRef : frontendRefs) {
+                frontendIds.add(frontendRef.id());
+            }
+        }
+
+        return new ChildResourceResolver<LoadBalancer, LoadBalancerPrivateFrontend>() {
+            @Override
+            Observable<LoadBalancer> getParentAsync(String id) {
+                return loadBalancers().getByIdAsync(id);
+            }
+
+            @Override
+            Observable<LoadBalancer> listParentsAsync(String resourceGroupName) {
+                return loadBalancers().listByResourceGroupAsync(resourceGroupName);
+            }
+
+            @Override
+            LoadBalancerPrivateFrontend childOf(LoadBalancer loadBalancer, String name) {
+                return loadBalancer.privateFrontends().get(name);
+            }
+        }.resolveAsync(frontendIds);
     }
 }
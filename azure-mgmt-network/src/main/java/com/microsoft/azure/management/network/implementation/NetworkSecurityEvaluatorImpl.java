@@ -0,0 +1,436 @@
+/**
+ * Copyright (c) Microsoft Corporation. All rights reserved.
+ * Licensed under the MIT License. See License.txt in the project root for
+ * license information.
+ */
+package com.microsoft.azure.management.network.implementation;
+
+import com.microsoft.azure.management.network.NetworkSecurityEvaluator;
+import com.microsoft.azure.management.network.SecurityFlow;
+import com.microsoft.azure.management.network.SecurityRuleAccess;
+import com.microsoft.azure.management.network.SecurityRuleDirection;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.TreeSet;
+
+/**
+ * Implementation for {@link NetworkSecurityEvaluator}.
+ * <p>
+ * The rules of each direction are numbered in the order of their priorities, and each dimension of a
+ * flow (protocol, addresses, ports and application security groups) maps to the bit set of the rules it
+ * matches. The first bit set in the intersection of these bit sets is the rule matching the flow.
+ */
+class NetworkSecurityEvaluatorImpl implements NetworkSecurityEvaluator {
+    static final String VIRTUAL_NETWORK_TAG = "VirtualNetwork";
+    static final String INTERNET_TAG = "Internet";
+    static final String AZURE_LOAD_BALANCER_TAG = "AzureLoadBalancer";
+    // The address of the Azure infrastructure health probes
+    private static final String AZURE_LOAD_BALANCER_PREFIX = "168.63.129.16/32";
+    private static final long MAX_ADDRESS = 0xffffffffL;
+    private static final long MAX_PORT = 65535;
+
+    private final RuleTable inbound;
+    private final RuleTable outbound;
+
+    private NetworkSecurityEvaluatorImpl(RuleTable inbound, RuleTable outbound) {
+        this.inbound = inbound;
+        this.outbound = outbound;
+    }
+
+    /**
+     * Compiles security rules.
+     * <p>
+     * Address prefixes may be IPv4 addresses, IPv4 prefixes in the CIDR notation, "*" or service tags.
+     * Service tags are resolved from the given prefixes; "AzureLoadBalancer" defaults to the address of the
+     * Azure health probes and "Internet" to the addresses outside of "VirtualNetwork". Rules on unresolved
+     * service tags or IPv6 prefixes do not match any flow.
+     *
+     * @param rules the custom and default security rules of a network security group
+     * @param serviceTagPrefixes the IPv4 address prefixes by service tag, such as "VirtualNetwork"
+     * @return the evaluator
+     */
+    static NetworkSecurityEvaluatorImpl compile(Collection<SecurityRuleInner> rules, Map<String, List<String>> serviceTagPrefixes) {
+        Map<String, List<String>> tags = new TreeMap<>(String.CASE_INSENSITIVE_ORDER);
+        if (serviceTagPrefixes != null) {
+            tags.putAll(serviceTagPrefixes);
+        }
+        if (!tags.containsKey(AZURE_LOAD_BALANCER_TAG)) {
+            tags.put(AZURE_LOAD_BALANCER_TAG, Collections.singletonList(AZURE_LOAD_BALANCER_PREFIX));
+        }
+
+        List<SecurityRuleInner> inboundRules = new ArrayList<>();
+        List<SecurityRuleInner> outboundRules = new ArrayList<>();
+        for (SecurityRuleInner rule : rules) {
+            if (rule.priority() == null || rule.direction() == null) {
+                continue;
+            } else if (rule.direction().toString().equalsIgnoreCase(SecurityRuleDirection.INBOUND.toString())) {
+                inboundRules.add(rule);
+            } else if (rule.direction().toString().equalsIgnoreCase(SecurityRuleDirection.OUTBOUND.toString())) {
+                outboundRules.add(rule);
+            }
+        }
+        return new NetworkSecurityEvaluatorImpl(new RuleTable(inboundRules, tags), new RuleTable(outboundRules, tags));
+    }
+
+    @Override
+    public SecurityRuleAccess evaluate(SecurityFlow flow) {
+        RuleTable table = tableOf(flow);
+        int rule = table.match(flow);
+        return rule < 0 || !table.allowed[rule] ? SecurityRuleAccess.DENY : SecurityRuleAccess.ALLOW;
+    }
+
+    @Override
+    public List<SecurityRuleAccess> evaluate(List<SecurityFlow> flows) {
+        List<SecurityRuleAccess> accesses = new ArrayList<>(flows.size());
+        for (SecurityFlow flow : flows) {
+            accesses.add(evaluate(flow));
+        }
+        return accesses;
+    }
+
+    @Override
+    public String matchingRuleName(SecurityFlow flow) {
+        RuleTable table = tableOf(flow);
+        int rule = table.match(flow);
+        return rule < 0 ? null : table.names[rule];
+    }
+
+    private RuleTable tableOf(SecurityFlow flow) {
+        return SecurityRuleDirection.OUTBOUND.equals(flow.direction()) ? this.outbound : this.inbound;
+    }
+
+    /**
+     * Parses an address prefix of a rule into address ranges.
+     *
+     * @param prefix the address prefix
+     * @param tags the IPv4 address prefixes by service tag
+     * @param ranges the ranges to add the address ranges to, as {first, last} pairs
+     */
+    static void addAddressRanges(String prefix, Map<String, List<String>> tags, List<long[]> ranges) {
+        if (prefix == null) {
+            return;
+        }
+        String trimmed = prefix.trim();
+        if (trimmed.equals("*") || trimmed.equalsIgnoreCase("Any")) {
+            ranges.add(new long[] {0, MAX_ADDRESS});
+        } else if (tags.containsKey(trimmed)) {
+            for (String taggedPrefix : tags.get(trimmed)) {
+                addCidrRange(taggedPrefix, ranges);
+            }
+        } else if (trimmed.equalsIgnoreCase(INTERNET_TAG)) {
+            List<long[]> virtualNetwork = new ArrayList<>();
+            addAddressRanges(VIRTUAL_NETWORK_TAG, tags, virtualNetwork);
+            ranges.addAll(complement(virtualNetwork, MAX_ADDRESS));
+        } else {
+            addCidrRange(trimmed, ranges);
+        }
+    }
+
+    private static void addCidrRange(String cidr, List<long[]> ranges) {
+        int slash = cidr.indexOf('/');
+        long address = PrivateIPAddressIndexImpl.parseAddress(slash < 0 ? cidr : cidr.substring(0, slash));
+        int length = 32;
+        if (slash >= 0) {
+            try {
+                length = Integer.parseInt(cidr.substring(slash + 1));
+            } catch (NumberFormatException e) {
+                return;
+            }
+        }
+        if (address < 0 || length < 0 || length > 32) {
+            return;
+        }
+        long size = 1L << (32 - length);
+        long first = address & ~(size - 1) & MAX_ADDRESS;
+        ranges.add(new long[] {first, first + size - 1});
+    }
+
+    /**
+     * Parses a port range of a rule.
+     *
+     * @param portRange "*", a port or a range of ports such as "1000-2000"
+     * @param ranges the ranges to add the port range to, as {first, last} pairs
+     */
+    static void addPortRange(String portRange, List<long[]> ranges) {
+        if (portRange == null) {
+            return;
+        }
+        String trimmed = portRange.trim();
+        if (trimmed.equals("*")) {
+            ranges.add(new long[] {0, MAX_PORT});
+            return;
+        }
+        int dash = trimmed.indexOf('-');
+        try {
+            long first = Long.parseLong(dash < 0 ? trimmed : trimmed.substring(0, dash).trim());
+            long last = dash < 0 ? first : Long.parseLong(trimmed.substring(dash + 1).trim());
+            if (first >= 0 && first <= last && last <= MAX_PORT) {
+                ranges.add(new long[] {first, last});
+            }
+        } catch (NumberFormatException e) {
+            // Not a port range, matches no port
+        }
+    }
+
+    private static List<long[]> complement(List<long[]> ranges, long max) {
+        List<long[]> sorted = new ArrayList<>(ranges);
+        Collections.sort(sorted, new Comparator<long[]>() {
+            @Override
+            public int compare(long[] left, long[] right) {
+                return Long.compare(left[0], right[0]);
+            }
+        });
+        List<long[]> gaps = new ArrayList<>();
+        long next = 0;
+        for (long[] range : sorted) {
+            if (range[0] > next) {
+                gaps.add(new long[] {next, range[0] - 1});
+            }
+            next = Math.max(next, range[1] + 1);
+        }
+        if (next <= max) {
+            gaps.add(new long[] {next, max});
+        }
+        return gaps;
+    }
+
+    private static void setBit(long[] words, int bit) {
+        words[bit >> 6] |= 1L << (bit & 63);
+    }
+
+    /**
+     * The compiled rules of a direction.
+     */
+    private static final class RuleTable {
+        private final int wordCount;
+        private final String[] names;
+        private final boolean[] allowed;
+        // The rules by protocol, each including the rules on any protocol
+        private final Map<String, long[]> protocols = new TreeMap<>(String.CASE_INSENSITIVE_ORDER);
+        private final long[] anyProtocol;
+        private final IntervalIndex sourceAddresses;
+        private final IntervalIndex destinationAddresses;
+        private final IntervalIndex sourcePorts;
+        private final IntervalIndex destinationPorts;
+        // The rules by lower case ID of application security group
+        private final Map<String, long[]> sourceGroups = new TreeMap<>();
+        private final Map<String, long[]> destinationGroups = new TreeMap<>();
+
+        RuleTable(List<SecurityRuleInner> rules, Map<String, List<String>> tags) {
+            Collections.sort(rules, new Comparator<SecurityRuleInner>() {
+                @Override
+                public int compare(SecurityRuleInner left, SecurityRuleInner right) {
+                    int result = left.priority().compareTo(right.priority());
+                    return result != 0 || left.name() == null || right.name() == null
+                            ? result
+                            : left.name().compareTo(right.name());
+                }
+            });
+            this.wordCount = Math.max(1, (rules.size() + 63) >> 6);
+            this.names = new String[rules.size()];
+            this.allowed = new boolean[rules.size()];
+            this.anyProtocol = new long[this.wordCount];
+
+            List<long[]> sourceAddressEntries = new ArrayList<>();
+            List<long[]> destinationAddressEntries = new ArrayList<>();
+            List<long[]> sourcePortEntries = new ArrayList<>();
+            List<long[]> destinationPortEntries = new ArrayList<>();
+            for (int i = 0; i < rules.size(); i++) {
+                SecurityRuleInner rule = rules.get(i);
+                this.names[i] = rule.name();
+                this.allowed[i] = rule.access() != null
+                        && rule.access().toString().equalsIgnoreCase(SecurityRuleAccess.ALLOW.toString());
+
+                String protocol = rule.protocol() == null ? "*" : rule.protocol().toString();
+                if (protocol.equals("*")) {
+                    setBit(this.anyProtocol, i);
+                } else {
+                    setBit(wordsOf(this.protocols, protocol), i);
+                }
+
+                List<long[]> ranges = new ArrayList<>();
+                addAddressRanges(rule.sourceAddressPrefix(), tags, ranges);
+                if (rule.sourceAddressPrefixes() != null) {
+                    for (String prefix : rule.sourceAddressPrefixes()) {
+                        addAddressRanges(prefix, tags, ranges);
+                    }
+                }
+                addEntries(ranges, i, sourceAddressEntries);
+
+                ranges = new ArrayList<>();
+                addAddressRanges(rule.destinationAddressPrefix(), tags, ranges);
+                if (rule.destinationAddressPrefixes() != null) {
+                    for (String prefix : rule.destinationAddressPrefixes()) {
+                        addAddressRanges(prefix, tags, ranges);
+                    }
+                }
+                addEntries(ranges, i, destinationAddressEntries);
+
+                ranges = new ArrayList<>();
+                addPortRange(rule.sourcePortRange(), ranges);
+                if (rule.sourcePortRanges() != null) {
+                    for (String portRange : rule.sourcePortRanges()) {
+                        addPortRange(portRange, ranges);
+                    }
+                }
+                addEntries(ranges, i, sourcePortEntries);
+
+                ranges = new ArrayList<>();
+                addPortRange(rule.destinationPortRange(), ranges);
+                if (rule.destinationPortRanges() != null) {
+                    for (String portRange : rule.destinationPortRanges()) {
+                        addPortRange(portRange, ranges);
+                    }
+                }
+                addEntries(ranges, i, destinationPortEntries);
+
+                addGroups(rule.sourceApplicationSecurityGroups(), i, this.sourceGroups);
+                addGroups(rule.destinationApplicationSecurityGroups(), i, this.destinationGroups);
+            }
+            for (long[] words : this.protocols.values()) {
+                for (int w = 0; w < this.wordCount; w++) {
+                    words[w] |= this.anyProtocol[w];
+                }
+            }
+            this.sourceAddresses = new IntervalIndex(sourceAddressEntries, this.wordCount, MAX_ADDRESS);
+            this.destinationAddresses = new IntervalIndex(destinationAddressEntries, this.wordCount, MAX_ADDRESS);
+            this.sourcePorts = new IntervalIndex(sourcePortEntries, this.wordCount, MAX_PORT);
+            this.destinationPorts = new IntervalIndex(destinationPortEntries, this.wordCount, MAX_PORT);
+        }
+
+        private long[] wordsOf(Map<String, long[]> map, String key) {
+            long[] words = map.get(key);
+            if (words == null) {
+                words = new long[this.wordCount];
+                map.put(key, words);
+            }
+            return words;
+        }
+
+        private static void addEntries(List<long[]> ranges, int rule, List<long[]> entries) {
+            for (long[] range : ranges) {
+                entries.add(new long[] {range[0], range[1], rule});
+            }
+        }
+
+        private void addGroups(List<ApplicationSecurityGroupInner> groups, int rule, Map<String, long[]> map) {
+            if (groups == null) {
+                return;
+            }
+            for (ApplicationSecurityGroupInner group : groups) {
+                if (group.id() != null) {
+                    setBit(wordsOf(map, group.id().toLowerCase()), rule);
+                }
+            }
+        }
+
+        /**
+         * @param flow a flow
+         * @return the index of the first rule matching the flow, or -1 if no rule matches
+         */
+        int match(SecurityFlow flow) {
+            long[] protocol = this.protocols.get(flow.protocol().toString());
+            if (protocol == null) {
+                protocol = this.anyProtocol;
+            }
+            long[] sourceAddress = this.sourceAddresses.lookup(PrivateIPAddressIndexImpl.parseAddress(flow.sourceAddress()));
+            long[] destinationAddress = this.destinationAddresses.lookup(PrivateIPAddressIndexImpl.parseAddress(flow.destinationAddress()));
+            long[] sourcePort = this.sourcePorts.lookup(flow.sourcePort());
+            long[] destinationPort = this.destinationPorts.lookup(flow.destinationPort());
+            if (sourcePort == null || destinationPort == null) {
+                return -1;
+            }
+            long[] sourceGroup = groupsOf(flow.sourceApplicationSecurityGroupIds(), this.sourceGroups);
+            long[] destinationGroup = groupsOf(flow.destinationApplicationSecurityGroupIds(), this.destinationGroups);
+
+            for (int w = 0; w < this.wordCount; w++) {
+                long source = (sourceAddress == null ? 0 : sourceAddress[w]) | (sourceGroup == null ? 0 : sourceGroup[w]);
+                long destination = (destinationAddress == null ? 0 : destinationAddress[w])
+                        | (destinationGroup == null ? 0 : destinationGroup[w]);
+                long matches = protocol[w] & source & destination & sourcePort[w] & destinationPort[w];
+                if (matches != 0) {
+                    return (w << 6) + Long.numberOfTrailingZeros(matches);
+                }
+            }
+            return -1;
+        }
+
+        private long[] groupsOf(List<String> ids, Map<String, long[]> map) {
+            if (ids.isEmpty() || map.isEmpty()) {
+                return null;
+            } else if (ids.size() == 1) {
+                return map.get(ids.get(0).toLowerCase());
+            }
+            long[] union = new long[this.wordCount];
+            for (String id : ids) {
+                long[] words = map.get(id.toLowerCase());
+                if (words != null) {
+                    for (int w = 0; w < this.wordCount; w++) {
+                        union[w] |= words[w];
+                    }
+                }
+            }
+            return union;
+        }
+    }
+
+    /**
+     * The rules matching each value of a dimension, split into the elementary intervals bounded by the
+     * ranges of the rules.
+     */
+    private static final class IntervalIndex {
+        private final long max;
+        // The first value of each interval, in ascending order
+        private final long[] starts;
+        private final long[][] rules;
+
+        /**
+         * @param entries the ranges of the rules, as {first, last, rule} triples
+         * @param wordCount the number of words of a bit set of rules
+         * @param max the largest value of the dimension
+         */
+        IntervalIndex(List<long[]> entries, int wordCount, long max) {
+            this.max = max;
+            TreeSet<Long> bounds = new TreeSet<>();
+            bounds.add(0L);
+            for (long[] entry : entries) {
+                bounds.add(entry[0]);
+                if (entry[1] < max) {
+                    bounds.add(entry[1] + 1);
+                }
+            }
+            this.starts = new long[bounds.size()];
+            int i = 0;
+            for (Long bound : bounds) {
+                this.starts[i++] = bound;
+            }
+            this.rules = new long[this.starts.length][wordCount];
+            for (long[] entry : entries) {
+                int first = Arrays.binarySearch(this.starts, entry[0]);
+                int last = entry[1] < max ? Arrays.binarySearch(this.starts, entry[1] + 1) - 1 : this.starts.length - 1;
+                for (int j = first; j <= last; j++) {
+                    setBit(this.rules[j], (int) entry[2]);
+                }
+            }
+        }
+
+        /**
+         * @param value a value of the dimension
+         * @return the rules matching the value, or null if the value is out of the dimension
+         */
+        long[] lookup(long value) {
+            if (value < 0 || value > this.max) {
+                return null;
+            }
+            int i = Arrays.binarySearch(this.starts, value);
+            return this.rules[i >= 0 ? i : -i - 2];
+        }
+    }
+}
@@ -6,6 +6,7 @@
 package com.microsoft.azure.management.network.implementation;
 
 import com.microsoft.azure.management.apigeneration.LangDefinition;
+import com.microsoft.azure.management.network.NetworkSecurityEvaluator;
 import com.microsoft.azure.management.network.NetworkSecurityGroup;
 import com.microsoft.azure.management.network.NetworkSecurityRule;
 import com.microsoft.azure.management.network.Subnet;
@@ -13,6 +14,7 @@ import com.microsoft.azure.management.network.model.GroupableParentResourceWithT
 import rx.Observable;
 import rx.functions.Func1;
 
+import java.util.ArrayList;
 import java.util.Collections;
 import java.util.List;
 import java.util.Map;
@@ -143,6 +145,18 @@ class NetworkSecurityGroupImpl
         return Collections.unmodifiableSet(ids);
     }
 
+    @Override
+    public NetworkSecurityEvaluator compileSecurityEvaluator(Map<String, List<String>> serviceTagPrefixes) {
+        List<SecurityRuleInner> inners = new ArrayList<>();
+        for (NetworkSecurityRule rule : this.rules.values()) {
+            inners.add(rule.inner());
+        }
+        for (NetworkSecurityRule rule : this.defaultRules.values()) {
+            inners.add(rule.inner());
+        }
+        return NetworkSecurityEvaluatorImpl.compile(inners, serviceTagPrefixes);
+    }
+
     @Override
     protected void beforeCreating() {
         // Reset and update subnets
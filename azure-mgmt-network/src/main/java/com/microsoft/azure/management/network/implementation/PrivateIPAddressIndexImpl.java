@@ -0,0 +1,442 @@
+/**
+ * Copyright (c) Microsoft Corporation. All rights reserved.
+ * Licensed under the MIT License. See License.txt in the project root for
+ * license information.
+ */
+package com.microsoft.azure.management.network.implementation;
+
+import com.microsoft.azure.management.network.IPConfiguration;
+import com.microsoft.azure.management.network.LoadBalancerPrivateFrontend;
+import com.microsoft.azure.management.network.NicIPConfiguration;
+import com.microsoft.azure.management.network.PrivateIPAddressIndex;
+import rx.Observable;
+import rx.functions.Func1;
+
+import java.util.ArrayList;
+import java.util.BitSet;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+
+/**
+ * Implementation for {@link PrivateIPAddressIndex}.
+ */
+class PrivateIPAddressIndexImpl implements PrivateIPAddressIndex {
+    // Azure reserves the network address, the gateway, two DNS addresses and the broadcast address
+    private static final int RESERVED_LOW_ADDRESSES = 4;
+    private static final int RESERVED_HIGH_ADDRESSES = 1;
+    // The largest prefix indexed, a bitmap of 2 MB
+    private static final int MIN_PREFIX_LENGTH = 8;
+    private static final String NIC_IP_CONFIGURATION = "/providers/microsoft.network/networkinterfaces/";
+    private static final String LOAD_BALANCER_FRONTEND = "/providers/microsoft.network/loadbalancers/";
+
+    private final NetworkImpl network;
+    // The indexed subnets by name, replaced as a whole on each sync
+    private volatile Map<String, SubnetAddresses> subnets = Collections.emptyMap();
+    // The address space of the virtual network, replaced with the subnets
+    private volatile List<AddressPrefix> addressSpace = Collections.emptyList();
+    // Incremented when the virtual network is refreshed
+    private volatile int version = 1;
+    private volatile int syncedVersion;
+    // The last version whose sync resolves all the IP configurations again
+    private volatile int fullSyncVersion;
+
+    PrivateIPAddressIndexImpl(NetworkImpl network) {
+        this.network = network;
+    }
+
+    /**
+     * Marks the index for a re-sync with the virtual network on the next query.
+     */
+    void markStale() {
+        synchronized (this) {
+            this.version++;
+        }
+    }
+
+    @Override
+    public PrivateIPAddressIndex resync() {
+        markFullSync();
+        return sync();
+    }
+
+    @Override
+    public Observable<PrivateIPAddressIndex> resyncAsync() {
+        markFullSync();
+        return syncAsync().map(new Func1<PrivateIPAddressIndexImpl, PrivateIPAddressIndex>() {
+            @Override
+            public PrivateIPAddressIndex call(PrivateIPAddressIndexImpl index) {
+                return index;
+            }
+        });
+    }
+
+    private void markFullSync() {
+        synchronized (this) {
+            this.version++;
+            this.fullSyncVersion = this.version;
+        }
+    }
+
+    /**
+     * Syncs the index with the virtual network if it was refreshed.
+     *
+     * @return the index
+     */
+    PrivateIPAddressIndexImpl sync() {
+        if (this.syncedVersion != this.version) {
+            synchronized (this) {
+                if (this.syncedVersion != this.version) {
+                    syncAsync().toBlocking().last();
+                }
+            }
+        }
+        return this;
+    }
+
+    /**
+     * Syncs the index with the virtual network, resolving the addresses of the IP configurations not
+     * indexed yet, or of all of them after {@link #resync()}.
+     *
+     * @return an observable emitting the index once synced
+     */
+    Observable<PrivateIPAddressIndexImpl> syncAsync() {
+        final Map<String, SubnetAddresses> previous = this.subnets;
+        final Map<String, SubnetAddresses> next = new TreeMap<>();
+        // The subnets by lower case ID of the IP configurations to resolve
+        final Map<String, SubnetAddresses> unresolved = new HashMap<>();
+        final List<IPConfiguration> nicIPConfigs = new ArrayList<>();
+        final List<IPConfiguration> frontends = new ArrayList<>();
+        final int syncingVersion = this.version;
+        final boolean fullSync = this.fullSyncVersion > this.syncedVersion;
+
+        VirtualNetworkInner networkInner = networkInner();
+        final List<AddressPrefix> nextAddressSpace = new ArrayList<>();
+        if (networkInner.addressSpace() != null && networkInner.addressSpace().addressPrefixes() != null) {
+            for (String cidr : networkInner.addressSpace().addressPrefixes()) {
+                AddressPrefix prefix = AddressPrefix.parse(cidr);
+                if (prefix != null) {
+                    nextAddressSpace.add(prefix);
+                }
+            }
+        }
+        List<SubnetInner> subnetInners = networkInner.subnets();
+        if (subnetInners != null) {
+            for (SubnetInner subnetInner : subnetInners) {
+                SubnetAddresses subnet = new SubnetAddresses(prefixesOf(subnetInner));
+                SubnetAddresses previousSubnet = previous.get(subnetInner.name());
+                Map<String, String> known = !fullSync && previousSubnet != null && previousSubnet.prefixes.equals(subnet.prefixes)
+                        ? previousSubnet.addresses
+                        : Collections.<String, String>emptyMap();
+                if (subnetInner.ipConfigurations() != null) {
+                    for (IPConfiguration ipConfig : subnetInner.ipConfigurations()) {
+                        if (ipConfig.id() == null) {
+                            continue;
+                        }
+                        String id = ipConfig.id().toLowerCase();
+                        if (ipConfig.privateIPAddress() != null) {
+                            subnet.addresses.put(id, ipConfig.privateIPAddress());
+                        } else if (known.containsKey(id)) {
+                            subnet.addresses.put(id, known.get(id));
+                        } else if (id.contains(NIC_IP_CONFIGURATION) && !id.contains("/virtualmachinescalesets/")) {
+                            nicIPConfigs.add(ipConfig);
+                            unresolved.put(id, subnet);
+                        } else if (id.contains(LOAD_BALANCER_FRONTEND)) {
+                            frontends.add(ipConfig);
+                            unresolved.put(id, subnet);
+                        } else {
+                            // Takes an address of the subnet, which cannot be told
+                            subnet.unknownAddressCount++;
+                        }
+                    }
+                }
+                next.put(subnetInner.name(), subnet);
+            }
+        }
+
+        return resolveAddressesAsync(nicIPConfigs, frontends)
+                .toList()
+                .map(new Func1<List<String[]>, PrivateIPAddressIndexImpl>() {
+                    @Override
+                    public PrivateIPAddressIndexImpl call(List<String[]> resolved) {
+                        for (String[] idAndAddress : resolved) {
+                            String id = idAndAddress[0].toLowerCase();
+                            SubnetAddresses subnet = unresolved.get(id);
+                            if (subnet != null && idAndAddress[1] != null) {
+                                subnet.addresses.put(id, idAndAddress[1]);
+                                unresolved.remove(id);
+                            }
+                        }
+                        // The IP configurations of deleted or inaccessible resources still take an address
+                        for (SubnetAddresses subnet : unresolved.values()) {
+                            subnet.unknownAddressCount++;
+                        }
+                        for (SubnetAddresses subnet : next.values()) {
+                            subnet.index();
+                        }
+                        addressSpace = nextAddressSpace;
+                        subnets = next;
+                        syncedVersion = syncingVersion;
+                        return PrivateIPAddressIndexImpl.this;
+                    }
+                });
+    }
+
+    /**
+     * @return the virtual network indexed
+     */
+    VirtualNetworkInner networkInner() {
+        return this.network.inner();
+    }
+
+    /**
+     * Resolves the private IP addresses of IP configurations of network interfaces and load balancers.
+     *
+     * @param nicIPConfigs the IP configurations of network interfaces
+     * @param frontends the frontend IP configurations of load balancers
+     * @return an observable emitting the ID and the private IP address of each IP configuration found
+     */
+    Observable<String[]> resolveAddressesAsync(List<IPConfiguration> nicIPConfigs, List<IPConfiguration> frontends) {
+        final NetworkManager manager = this.network.manager();
+        return Observable.merge(
+                manager.listNetworkInterfaceIPConfigurationsAsync(nicIPConfigs)
+                        .map(new Func1<NicIPConfiguration, String[]>() {
+                            @Override
+                            public String[] call(NicIPConfiguration ipConfig) {
+                                return new String[] {
+                                    ipConfig.parent().id() + "/ipConfigurations/" + ipConfig.name(),
+                                    ipConfig.privateIPAddress() };
+                            }
+                        }),
+                manager.listLoadBalancerPrivateFrontendsAsync(frontends)
+                        .map(new Func1<LoadBalancerPrivateFrontend, String[]>() {
+                            @Override
+                            public String[] call(LoadBalancerPrivateFrontend frontend) {
+                                return new String[] {
+                                    frontend.parent().id() + "/frontendIPConfigurations/" + frontend.name(),
+                                    frontend.privateIPAddress() };
+                            }
+                        }));
+    }
+
+    @Override
+    public boolean isAvailable(String ipAddress) {
+        long address = parseAddress(ipAddress);
+        for (SubnetAddresses subnet : sync().subnets.values()) {
+            for (PrefixBitmap prefix : subnet.bitmaps) {
+                if (prefix.contains(address)) {
+                    return !prefix.taken.get((int) (address - prefix.base));
+                }
+            }
+        }
+        return false;
+    }
+
+    @Override
+    public boolean isInNetwork(String ipAddress) {
+        long address = parseAddress(ipAddress);
+        for (AddressPrefix prefix : sync().addressSpace) {
+            if (prefix.contains(address)) {
+                return true;
+            }
+        }
+        for (SubnetAddresses subnet : this.subnets.values()) {
+            for (PrefixBitmap prefix : subnet.bitmaps) {
+                if (prefix.contains(address)) {
+                    return true;
+                }
+            }
+        }
+        return false;
+    }
+
+    @Override
+    public List<String> listAvailablePrivateIPAddresses(String subnetName, int maxCount) {
+        List<String> available = new ArrayList<>();
+        SubnetAddresses subnet = sync().subnets.get(subnetName);
+        if (subnet == null) {
+            return available;
+        }
+        for (PrefixBitmap prefix : subnet.bitmaps) {
+            for (int i = prefix.taken.nextClearBit(0); i < prefix.size && available.size() < maxCount;
+                    i = prefix.taken.nextClearBit(i + 1)) {
+                available.add(formatAddress(prefix.base + i));
+            }
+        }
+        return available;
+    }
+
+    @Override
+    public long availablePrivateIPAddressCount(String subnetName) {
+        SubnetAddresses subnet = sync().subnets.get(subnetName);
+        if (subnet == null) {
+            return 0;
+        }
+        long count = -subnet.unknownAddressCount;
+        for (PrefixBitmap prefix : subnet.bitmaps) {
+            count += prefix.size - prefix.taken.cardinality();
+        }
+        return Math.max(0, count);
+    }
+
+    private static List<String> prefixesOf(SubnetInner subnetInner) {
+        List<String> prefixes = new ArrayList<>();
+        if (subnetInner.addressPrefix() != null) {
+            prefixes.add(subnetInner.addressPrefix());
+        }
+        if (subnetInner.addressPrefixes() != null) {
+            for (String prefix : subnetInner.addressPrefixes()) {
+                if (!prefixes.contains(prefix)) {
+                    prefixes.add(prefix);
+                }
+            }
+        }
+        return prefixes;
+    }
+
+    /**
+     * Parses an IPv4 address.
+     *
+     * @param ipAddress the address in the dotted decimal notation
+     * @return the address as an unsigned 32 bit value, or -1 if it is not a valid IPv4 address
+     */
+    static long parseAddress(String ipAddress) {
+        if (ipAddress == null) {
+            return -1;
+        }
+        long address = 0;
+        int octets = 0;
+        int octet = -1;
+        for (int i = 0; i <= ipAddress.length(); i++) {
+            char c = i < ipAddress.length() ? ipAddress.charAt(i) : '.';
+            if (c == '.') {
+                if (octet < 0 || ++octets > 4) {
+                    return -1;
+                }
+                address = (address << 8) | octet;
+                octet = -1;
+            } else if (c >= '0' && c <= '9') {
+                octet = (octet < 0 ? 0 : octet * 10) + (c - '0');
+                if (octet > 255) {
+                    return -1;
+                }
+            } else {
+                return -1;
+            }
+        }
+        return octets == 4 ? address : -1;
+    }
+
+    static String formatAddress(long address) {
+        return ((address >> 24) & 0xff) + "." + ((address >> 16) & 0xff) + "." + ((address >> 8) & 0xff) + "." + (address & 0xff);
+    }
+
+    /**
+     * The addresses of a subnet.
+     */
+    private static final class SubnetAddresses {
+        private final List<String> prefixes;
+        // The private IP addresses by lower case ID of IP configuration
+        private final Map<String, String> addresses = new HashMap<>();
+        private final List<PrefixBitmap> bitmaps = new ArrayList<>();
+        // The number of IP configurations in the subnet whose address could not be resolved
+        private int unknownAddressCount;
+
+        SubnetAddresses(List<String> prefixes) {
+            this.prefixes = prefixes;
+        }
+
+        void index() {
+            for (String prefix : this.prefixes) {
+                PrefixBitmap bitmap = PrefixBitmap.parse(prefix);
+                if (bitmap != null) {
+                    this.bitmaps.add(bitmap);
+                }
+            }
+            for (String ipAddress : this.addresses.values()) {
+                long address = parseAddress(ipAddress);
+                for (PrefixBitmap bitmap : this.bitmaps) {
+                    if (bitmap.contains(address)) {
+                        bitmap.taken.set((int) (address - bitmap.base));
+                        break;
+                    }
+                }
+            }
+        }
+    }
+
+    /**
+     * An IPv4 address prefix.
+     */
+    private static final class AddressPrefix {
+        private final long base;
+        private final long size;
+
+        private AddressPrefix(long base, long size) {
+            this.base = base;
+            this.size = size;
+        }
+
+        /**
+         * @param cidr an IPv4 address prefix in the CIDR notation
+         * @return the prefix, or null if it is not a valid IPv4 prefix
+         */
+        static AddressPrefix parse(String cidr) {
+            int slash = cidr == null ? -1 : cidr.indexOf('/');
+            if (slash < 0) {
+                return null;
+            }
+            long address = parseAddress(cidr.substring(0, slash));
+            int length;
+            try {
+                length = Integer.parseInt(cidr.substring(slash + 1));
+            } catch (NumberFormatException e) {
+                return null;
+            }
+            if (address < 0 || length < 0 || length > 32) {
+                return null;
+            }
+            long size = 1L << (32 - length);
+            return new AddressPrefix(address & ~(size - 1) & 0xffffffffL, size);
+        }
+
+        boolean contains(long address) {
+            return address >= this.base && address < this.base + this.size;
+        }
+    }
+
+    /**
+     * The taken addresses of an address prefix, one bit per address.
+     */
+    private static final class PrefixBitmap {
+        private final long base;
+        private final int size;
+        private final BitSet taken;
+
+        private PrefixBitmap(long base, int size) {
+            this.base = base;
+            this.size = size;
+            this.taken = new BitSet(size);
+            this.taken.set(0, Math.min(RESERVED_LOW_ADDRESSES, size));
+            this.taken.set(Math.max(0, size - RESERVED_HIGH_ADDRESSES), size);
+        }
+
+        /**
+         * @param cidr an IPv4 address prefix in the CIDR notation
+         * @return the bitmap of the prefix, or null if it is not a valid IPv4 prefix or is too large
+         */
+        static PrefixBitmap parse(String cidr) {
+            AddressPrefix prefix = AddressPrefix.parse(cidr);
+            if (prefix == null || prefix.size > 1L << (32 - MIN_PREFIX_LENGTH)) {
+                return null;
+            }
+            return new PrefixBitmap(prefix.base, (int) prefix.size);
+        }
+
+        boolean contains(long address) {
+            return address >= this.base && address < this.base + this.size;
+        }
+    }
+}
@@ -8,7 +8,6 @@ package com.microsoft.azure.management.network.implementation;
 import com.microsoft.azure.management.apigeneration.LangDefinition;
 import com.microsoft.azure.management.network.IPConfiguration;
 import com.microsoft.azure.management.network.Network;
-import com.microsoft.azure.management.network.NetworkInterface;
 import com.microsoft.azure.management.network.NetworkSecurityGroup;
 import com.microsoft.azure.management.network.NicIPConfiguration;
 import com.microsoft.azure.management.network.RouteTable;
@@ -16,8 +15,8 @@ import com.microsoft.azure.management.network.ServiceEndpointPropertiesFormat;
 import com.microsoft.azure.management.network.ServiceEndpointType;
 import com.microsoft.azure.management.network.Subnet;
 import com.microsoft.azure.management.resources.fluentcore.arm.Region;
-import com.microsoft.azure.management.resources.fluentcore.arm.ResourceUtils;
 import com.microsoft.azure.management.resources.fluentcore.arm.models.implementation.ChildResourceImpl;
+import rx.Observable;
 
 import java.util.ArrayList;
 import java.util.Collection;
@@ -26,7 +25,6 @@ import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.Set;
-import java.util.TreeMap;
 import java.util.TreeSet;
 
 /**
@@ -213,42 +211,12 @@ class SubnetImpl
 
     @Override
     public Collection<NicIPConfiguration> listNetworkInterfaceIPConfigurations() {
-        Collection<NicIPConfiguration> ipConfigs = new ArrayList<>();
-        Map<String, NetworkInterface> nics = new TreeMap<>();
-        List<IPConfiguration> ipConfigRefs = this.inner().ipConfigurations();
-        if (ipConfigRefs == null) {
-            return ipConfigs;
-        }
-
-        for (IPConfiguration ipConfigRef : ipConfigRefs) {
-            String nicID = ResourceUtils.parentResourceIdFromResourceId(ipConfigRef.id());
-            String ipConfigName = ResourceUtils.nameFromResourceId(ipConfigRef.id());
-            // Check if NIC already cached
-            NetworkInterface nic = nics.get(nicID.toLowerCase());
-            if (nic == null) {
-                //  NIC not previously found, so ask Azure for it
-                nic = this.parent().manager().networkInterfaces().getById(nicID);
-            }
-
-            if (nic == null) {
-                // NIC doesn't exist so ignore this bad reference
-                continue;
-            }
-
-            // Cache the NIC
-            nics.put(nic.id().toLowerCase(), nic);
-
-            // Get the IP config
-            NicIPConfiguration ipConfig = nic.ipConfigurations().get(ipConfigName);
-            if (ipConfig == null) {
-                // IP config not found, so ignore this bad reference
-                continue;
-            }
-
-            ipConfigs.add(ipConfig);
-        }
+        return Collections.unmodifiableCollection(listNetworkInterfaceIPConfigurationsAsync().toList().toBlocking().single());
+    }
 
-        return Collections.unmodifiableCollection(ipConfigs);
+    @Override
+    public Observable<NicIPConfiguration> listNetworkInterfaceIPConfigurationsAsync() {
+        return this.parent().manager().listNetworkInterfaceIPConfigurationsAsync(this.inner().ipConfigurations());
     }
 
     @Override
@@ -80,7 +80,7 @@ class VirtualNetworkGatewayConnectionsImpl
 
     @Override
     public PagedList<VirtualNetworkGatewayConnection> list() {
-        return new GroupPagedList<VirtualNetworkGatewayConnection>(this.manager().resourceManager().resourceGroups().list()) {
+        return new GroupPagedList<VirtualNetworkGatewayConnection>(this.manager().resourceManager().resourceGroups().list(), GroupPagedList.defaultParallelism()) {
             @Override
             public List<VirtualNetworkGatewayConnection> listNextGroup(String resourceGroupName) {
                 return wrapList(VirtualNetworkGatewayConnectionsImpl.this.inner().listByResourceGroup(resourceGroupName));
@@ -102,8 +102,8 @@ class VirtualNetworkGatewayConnectionsImpl
 
     @Override
     public Observable<VirtualNetworkGatewayConnection> listAsync() {
-        return this.manager().resourceManager().resourceGroups().listAsync()
-                .flatMap(new Func1<ResourceGroup, Observable<VirtualNetworkGatewayConnection>>() {
+        return GroupPagedList.listAsync(this.manager().resourceManager().resourceGroups().listAsync(),
+                new Func1<ResourceGroup, Observable<VirtualNetworkGatewayConnection>>() {
                     @Override
                     public Observable<VirtualNetworkGatewayConnection> call(ResourceGroup resourceGroup) {
                         return wrapPageAsync(inner().listByResourceGroupAsync(resourceGroup.name()));
@@ -43,7 +43,7 @@ class VirtualNetworkGatewaysImpl
     @Override
     public PagedList<VirtualNetworkGateway> list() {
         final VirtualNetworkGatewaysImpl self = this;
-        return new GroupPagedList<VirtualNetworkGateway>(this.manager().resourceManager().resourceGroups().list()) {
+        return new GroupPagedList<VirtualNetworkGateway>(this.manager().resourceManager().resourceGroups().list(), GroupPagedList.defaultParallelism()) {
             @Override
             public List<VirtualNetworkGateway> listNextGroup(String resourceGroupName) {
                 return wrapList(self.inner().listByResourceGroup(resourceGroupName));
@@ -53,8 +53,8 @@ class VirtualNetworkGatewaysImpl
 
     @Override
     public Observable<VirtualNetworkGateway> listAsync() {
-        return this.manager().resourceManager().resourceGroups().listAsync()
-                .flatMap(new Func1<ResourceGroup, Observable<VirtualNetworkGateway>>() {
+        return GroupPagedList.listAsync(this.manager().resourceManager().resourceGroups().listAsync(),
+                new Func1<ResourceGroup, Observable<VirtualNetworkGateway>>() {
                     @Override
                     public Observable<VirtualNetworkGateway> call(ResourceGroup resourceGroup) {
                         return wrapPageAsync(inner().listByResourceGroupAsync(resourceGroup.name()));
@@ -0,0 +1,115 @@
+/**
+ * Copyright (c) Microsoft Corporation. All rights reserved.
+ * Licensed under the MIT License. See License.txt in the project root for
+ * license information.
+ */
+
+package com.microsoft.azure.management.network.implementation;
+
+import com.microsoft.azure.management.resources.fluentcore.arm.models.HasId;
+import org.junit.Assert;
+import org.junit.Test;
+import rx.Observable;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+
+public class ChildResourceResolverTests {
+    private static final String NIC_ID = "/subscriptions/sub/resourceGroups/%s/providers/Microsoft.Network/networkInterfaces/nic%d";
+
+    @Test
+    public void canFetchEachParentOnce() {
+        TestResolver resolver = new TestResolver();
+        List<String> children = resolver.resolve(Arrays.asList(
+                childId("rg1", 1, "ip1"),
+                childId("rg1", 2, "ip1"),
+                childId("RG1", 1, "ip2"),
+                childId("rg2", 3, "ip1")));
+
+        Assert.assertEquals(Arrays.asList("nic1/ip1", "nic2/ip1", "nic1/ip2", "nic3/ip1"), children);
+        Assert.assertEquals(3, resolver.gets.get());
+        Assert.assertEquals(0, resolver.lists.get());
+    }
+
+    @Test
+    public void canListResourceGroupWithManyParents() {
+        TestResolver resolver = new TestResolver();
+        List<String> childIds = new ArrayList<>();
+        for (int i = 0; i < ChildResourceResolver.LIST_THRESHOLD; i++) {
+            childIds.add(childId("rg1", i, "ip1"));
+        }
+        childIds.add(childId("rg2", 100, "ip1"));
+
+        List<String> children = resolver.resolve(childIds);
+
+        Assert.assertEquals(childIds.size(), children.size());
+        Assert.assertEquals("nic100/ip1", children.get(children.size() - 1));
+        Assert.assertEquals(1, resolver.lists.get());
+        Assert.assertEquals(1, resolver.gets.get());
+    }
+
+    @Test
+    public void canIgnoreMissingReferences() {
+        TestResolver resolver = new TestResolver();
+        List<String> children = resolver.resolve(Arrays.asList(
+                childId("rg1", 1, "ip1"),
+                childId("missing", 2, "ip1"),
+                childId("rg1", 1, "missing"),
+                null));
+
+        Assert.assertEquals(Collections.singletonList("nic1/ip1"), children);
+        Assert.assertTrue(resolver.resolve(null).isEmpty());
+    }
+
+    private static String childId(String resourceGroupName, int nic, String ipConfigName) {
+        return String.format(NIC_ID, resourceGroupName, nic) + "/ipConfigurations/" + ipConfigName;
+    }
+
+    private static final class TestParent implements HasId {
+        private final String id;
+
+        TestParent(String id) {
+            this.id = id;
+        }
+
+        @Override
+        public String id() {
+            return this.id;
+        }
+    }
+
+    private static final class TestResolver extends ChildResourceResolver<TestParent, String> {
+        private final AtomicInteger gets = new AtomicInteger();
+        private final AtomicInteger lists = new AtomicInteger();
+
+        @Override
+        Observable<TestParent> getParentAsync(String id) {
+            gets.incrementAndGet();
+            if (id.contains("/missing/")) {
+                return Observable.<TestParent>just(null);
+            }
+            return Observable.just(new TestParent(id));
+        }
+
+        @Override
+        Observable<TestParent> listParentsAsync(String resourceGroupName) {
+            lists.incrementAndGet();
+            List<TestParent> parents = new ArrayList<>();
+            for (int i = 0; i < 2 * LIST_THRESHOLD; i++) {
+                parents.add(new TestParent(String.format(NIC_ID, resourceGroupName, i)));
+            }
+            return Observable.from(parents);
+        }
+
+        @Override
+        String childOf(TestParent parent, String name) {
+            if ("missing".equals(name)) {
+                return null;
+            }
+            return parent.id().substring(parent.id().lastIndexOf('/') + 1) + "/" + name;
+        }
+    }
+}
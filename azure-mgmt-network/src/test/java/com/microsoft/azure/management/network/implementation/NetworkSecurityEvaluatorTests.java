@@ -0,0 +1,117 @@
+/**
+ * Copyright (c) Microsoft Corporation. All rights reserved.
+ * Licensed under the MIT License. See License.txt in the project root for
+ * license information.
+ */
+
+package com.microsoft.azure.management.network.implementation;
+
+import com.microsoft.azure.management.network.NetworkSecurityEvaluator;
+import com.microsoft.azure.management.network.SecurityFlow;
+import com.microsoft.azure.management.network.SecurityRuleAccess;
+import com.microsoft.azure.management.network.SecurityRuleDirection;
+import com.microsoft.azure.management.network.SecurityRuleProtocol;
+import org.junit.Assert;
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+
+public class NetworkSecurityEvaluatorTests {
+    private static final String ASG_ID = "/subscriptions/sub/resourceGroups/rg1/providers/Microsoft.Network/applicationSecurityGroups/web";
+    private static final Map<String, List<String>> SERVICE_TAGS = Collections.singletonMap(
+            "VirtualNetwork", Arrays.asList("10.0.0.0/16", "10.1.0.0/16"));
+
+    @Test
+    public void canMatchRulesInPriorityOrder() {
+        List<SecurityRuleInner> rules = defaultRules();
+        rules.add(inbound("deny-ssh", 200, SecurityRuleAccess.DENY, SecurityRuleProtocol.TCP, "*", "10.0.1.0/24", "22"));
+        rules.add(inbound("allow-ssh-admin", 100, SecurityRuleAccess.ALLOW, SecurityRuleProtocol.TCP, "203.0.113.7", "*", "22"));
+        rules.add(inbound("allow-web", 300, SecurityRuleAccess.ALLOW, SecurityRuleProtocol.ASTERISK, "Internet", "10.0.1.0/24", "80-443"));
+        NetworkSecurityEvaluator evaluator = NetworkSecurityEvaluatorImpl.compile(rules, SERVICE_TAGS);
+
+        SecurityFlow adminSsh = flow(SecurityRuleProtocol.TCP, "203.0.113.7", "10.0.1.4", 22);
+        SecurityFlow otherSsh = flow(SecurityRuleProtocol.TCP, "198.51.100.1", "10.0.1.4", 22);
+        SecurityFlow web = flow(SecurityRuleProtocol.TCP, "198.51.100.1", "10.0.1.4", 443);
+        SecurityFlow webOutOfRange = flow(SecurityRuleProtocol.TCP, "198.51.100.1", "10.0.1.4", 444);
+        SecurityFlow vnetSsh = flow(SecurityRuleProtocol.TCP, "10.1.2.3", "10.0.2.4", 22);
+
+        Assert.assertEquals("allow-ssh-admin", evaluator.matchingRuleName(adminSsh));
+        Assert.assertEquals("deny-ssh", evaluator.matchingRuleName(otherSsh));
+        Assert.assertEquals("allow-web", evaluator.matchingRuleName(web));
+        Assert.assertEquals("DenyAllInBound", evaluator.matchingRuleName(webOutOfRange));
+        Assert.assertEquals("AllowVnetInBound", evaluator.matchingRuleName(vnetSsh));
+        Assert.assertEquals(
+                Arrays.asList(SecurityRuleAccess.ALLOW, SecurityRuleAccess.DENY, SecurityRuleAccess.ALLOW, SecurityRuleAccess.DENY, SecurityRuleAccess.ALLOW),
+                evaluator.evaluate(Arrays.asList(adminSsh, otherSsh, web, webOutOfRange, vnetSsh)));
+    }
+
+    @Test
+    public void canMatchProtocolsAndApplicationSecurityGroups() {
+        List<SecurityRuleInner> rules = defaultRules();
+        rules.add(inbound("allow-dns", 100, SecurityRuleAccess.ALLOW, SecurityRuleProtocol.UDP, "*", "*", "53"));
+        SecurityRuleInner asgRule = inbound("allow-asg", 110, SecurityRuleAccess.ALLOW, SecurityRuleProtocol.TCP, "*", null, "8080");
+        asgRule.withDestinationApplicationSecurityGroups(Collections.singletonList(
+                new ApplicationSecurityGroupInner().withId(ASG_ID)));
+        rules.add(asgRule);
+        NetworkSecurityEvaluator evaluator = NetworkSecurityEvaluatorImpl.compile(rules, SERVICE_TAGS);
+
+        Assert.assertEquals(SecurityRuleAccess.ALLOW, evaluator.evaluate(flow(SecurityRuleProtocol.UDP, "198.51.100.1", "10.0.1.4", 53)));
+        Assert.assertEquals(SecurityRuleAccess.DENY, evaluator.evaluate(flow(SecurityRuleProtocol.TCP, "198.51.100.1", "10.0.1.4", 53)));
+        Assert.assertEquals(SecurityRuleAccess.DENY, evaluator.evaluate(flow(SecurityRuleProtocol.TCP, "198.51.100.1", "10.0.1.4", 8080)));
+        Assert.assertEquals(SecurityRuleAccess.ALLOW, evaluator.evaluate(flow(SecurityRuleProtocol.TCP, "198.51.100.1", "10.0.1.4", 8080)
+                .withDestinationApplicationSecurityGroupIds(ASG_ID.toUpperCase())));
+    }
+
+    @Test
+    public void canEvaluateManyRules() {
+        List<SecurityRuleInner> rules = defaultRules();
+        for (int i = 0; i < 150; i++) {
+            rules.add(inbound("deny" + i, 1000 + i, SecurityRuleAccess.DENY, SecurityRuleProtocol.TCP, "*", "10.0.1." + i, "*"));
+        }
+        rules.add(inbound("allow-last", 4000, SecurityRuleAccess.ALLOW, SecurityRuleProtocol.TCP, "*", "10.0.1.0/24", "*"));
+        NetworkSecurityEvaluator evaluator = NetworkSecurityEvaluatorImpl.compile(rules, SERVICE_TAGS);
+
+        Assert.assertEquals("deny149", evaluator.matchingRuleName(flow(SecurityRuleProtocol.TCP, "198.51.100.1", "10.0.1.149", 80)));
+        Assert.assertEquals("allow-last", evaluator.matchingRuleName(flow(SecurityRuleProtocol.TCP, "198.51.100.1", "10.0.1.150", 80)));
+        Assert.assertEquals("DenyAllInBound", evaluator.matchingRuleName(flow(SecurityRuleProtocol.TCP, "198.51.100.1", "10.0.2.1", 80)));
+    }
+
+    @Test
+    public void canMatchNothingWithoutRules() {
+        NetworkSecurityEvaluator evaluator = NetworkSecurityEvaluatorImpl.compile(new ArrayList<SecurityRuleInner>(), null);
+
+        SecurityFlow flow = flow(SecurityRuleProtocol.TCP, "10.0.0.4", "10.0.0.5", 80);
+        Assert.assertEquals(SecurityRuleAccess.DENY, evaluator.evaluate(flow));
+        Assert.assertNull(evaluator.matchingRuleName(flow));
+    }
+
+    private static SecurityFlow flow(SecurityRuleProtocol protocol, String source, String destination, int destinationPort) {
+        return new SecurityFlow(SecurityRuleDirection.INBOUND, protocol, source, 50000, destination, destinationPort);
+    }
+
+    private static SecurityRuleInner inbound(String name, int priority, SecurityRuleAccess access, SecurityRuleProtocol protocol,
+            String source, String destination, String destinationPorts) {
+        return new SecurityRuleInner()
+                .withName(name)
+                .withPriority(priority)
+                .withDirection(SecurityRuleDirection.INBOUND)
+                .withAccess(access)
+                .withProtocol(protocol)
+                .withSourceAddressPrefix(source)
+                .withSourcePortRange("*")
+                .withDestinationAddressPrefix(destination)
+                .withDestinationPortRange(destinationPorts);
+    }
+
+    private static List<SecurityRuleInner> defaultRules() {
+        List<SecurityRuleInner> rules = new ArrayList<>();
+        rules.add(inbound("AllowVnetInBound", 65000, SecurityRuleAccess.ALLOW, SecurityRuleProtocol.ASTERISK, "VirtualNetwork", "VirtualNetwork", "*"));
+        rules.add(inbound("AllowAzureLoadBalancerInBound", 65001, SecurityRuleAccess.ALLOW, SecurityRuleProtocol.ASTERISK, "AzureLoadBalancer", "*", "*"));
+        rules.add(inbound("DenyAllInBound", 65500, SecurityRuleAccess.DENY, SecurityRuleProtocol.ASTERISK, "*", "*", "*"));
+        return rules;
+    }
+}
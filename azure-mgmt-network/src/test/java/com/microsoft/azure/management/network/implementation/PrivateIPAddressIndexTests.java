@@ -0,0 +1,220 @@
+/**
+ * Copyright (c) Microsoft Corporation. All rights reserved.
+ * Licensed under the MIT License. See License.txt in the project root for
+ * license information.
+ */
+
+package com.microsoft.azure.management.network.implementation;
+
+import com.microsoft.azure.management.network.IPConfiguration;
+import com.microsoft.azure.serializer.AzureJacksonAdapter;
+import org.junit.Assert;
+import org.junit.Test;
+import rx.Observable;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+public class PrivateIPAddressIndexTests {
+    private static final String NIC = "/subscriptions/sub/resourceGroups/rg/providers/Microsoft.Network/networkInterfaces/";
+    private static final String VMSS = "/subscriptions/sub/resourceGroups/rg/providers/Microsoft.Compute/virtualMachineScaleSets/"
+            + "vmss/virtualMachines/0/networkInterfaces/nic/ipConfigurations/ip1";
+
+    @Test
+    public void canParseAndFormatAddresses() {
+        Assert.assertEquals(0x0a000001L, PrivateIPAddressIndexImpl.parseAddress("10.0.0.1"));
+        Assert.assertEquals(0xffffffffL, PrivateIPAddressIndexImpl.parseAddress("255.255.255.255"));
+        Assert.assertEquals(0L, PrivateIPAddressIndexImpl.parseAddress("0.0.0.0"));
+        for (String invalid : Arrays.asList(null, "", "10.0.0", "10.0.0.1.2", "10.0.0.256", "10..0.1", "10.0.0.1 ", "a.b.c.d")) {
+            Assert.assertEquals(-1L, PrivateIPAddressIndexImpl.parseAddress(invalid));
+        }
+        Assert.assertEquals("10.0.0.1", PrivateIPAddressIndexImpl.formatAddress(0x0a000001L));
+        Assert.assertEquals("255.255.255.255", PrivateIPAddressIndexImpl.formatAddress(0xffffffffL));
+    }
+
+    @Test
+    public void canReserveAzureAddresses() throws IOException {
+        FakeIndex index = new FakeIndex(network("'10.0.0.0/16'", subnet("s1", "10.0.0.0/29")));
+
+        Assert.assertEquals(Arrays.asList("10.0.0.4", "10.0.0.5", "10.0.0.6"), index.listAvailablePrivateIPAddresses("s1", 10));
+        Assert.assertEquals(3, index.availablePrivateIPAddressCount("s1"));
+        for (String reserved : Arrays.asList("10.0.0.0", "10.0.0.1", "10.0.0.2", "10.0.0.3", "10.0.0.7")) {
+            Assert.assertFalse(reserved, index.isAvailable(reserved));
+        }
+        Assert.assertTrue(index.isAvailable("10.0.0.4"));
+        Assert.assertFalse(index.isAvailable("10.0.0.8"));
+    }
+
+    @Test
+    public void canIndexPrefixesOfSubnet() throws IOException {
+        FakeIndex index = new FakeIndex(network("'10.0.0.0/16'",
+                // Not aligned on the prefix length, and a second prefix
+                "{'name': 's1', 'properties': {'addressPrefix': '10.0.0.5/28', 'addressPrefixes': ['10.0.1.0/30']}}"));
+
+        Assert.assertEquals(16 - 5, index.availablePrivateIPAddressCount("s1"));
+        Assert.assertTrue(index.isAvailable("10.0.0.4"));
+        Assert.assertTrue(index.isAvailable("10.0.0.14"));
+        Assert.assertFalse(index.isAvailable("10.0.0.15"));
+        // The reserved addresses take all of a /30
+        Assert.assertFalse(index.isAvailable("10.0.1.3"));
+        Assert.assertEquals(0, index.availablePrivateIPAddressCount("missing"));
+        Assert.assertTrue(index.listAvailablePrivateIPAddresses("missing", 10).isEmpty());
+    }
+
+    @Test
+    public void canListAvailableAddressesByPage() throws IOException {
+        FakeIndex index = new FakeIndex(network("'10.0.0.0/16'", subnet("s1", "10.0.0.0/24",
+                "{'id': '" + NIC + "nic1/ipConfigurations/ip1', 'properties': {'privateIPAddress': '10.0.0.5'}}")));
+
+        Assert.assertEquals(Arrays.asList("10.0.0.4", "10.0.0.6"), index.listAvailablePrivateIPAddresses("s1", 2));
+        Assert.assertEquals(Arrays.asList("10.0.0.4"), index.listAvailablePrivateIPAddresses("s1", 1));
+        Assert.assertTrue(index.listAvailablePrivateIPAddresses("s1", 0).isEmpty());
+        List<String> all = index.listAvailablePrivateIPAddresses("s1", 1000);
+        Assert.assertEquals(256 - 5 - 1, all.size());
+        Assert.assertEquals("10.0.0.254", all.get(all.size() - 1));
+        Assert.assertEquals(all.size(), index.availablePrivateIPAddressCount("s1"));
+    }
+
+    @Test
+    public void canCheckAddressSpace() throws IOException {
+        FakeIndex index = new FakeIndex(network("'10.0.0.0/16', '192.168.0.0/24'", subnet("s1", "10.0.0.0/24")));
+
+        Assert.assertTrue(index.isInNetwork("10.0.0.10"));
+        // In the address space but in no subnet
+        Assert.assertTrue(index.isInNetwork("10.0.200.1"));
+        Assert.assertFalse(index.isAvailable("10.0.200.1"));
+        Assert.assertTrue(index.isInNetwork("192.168.0.255"));
+        Assert.assertFalse(index.isInNetwork("10.1.0.1"));
+        Assert.assertFalse(index.isInNetwork("not an address"));
+    }
+
+    @Test
+    public void canResolveAndCountUnresolvableAddresses() throws IOException {
+        FakeIndex index = new FakeIndex(network("'10.0.0.0/16'", subnet("s1", "10.0.0.0/24",
+                "{'id': '" + NIC + "nic1/ipConfigurations/ip1'}",
+                "{'id': '" + NIC + "deleted/ipConfigurations/ip1'}",
+                "{'id': '" + VMSS + "'}")));
+        index.addresses.put(NIC + "nic1/ipConfigurations/ip1", "10.0.0.4");
+
+        Assert.assertFalse(index.isAvailable("10.0.0.4"));
+        Assert.assertTrue(index.isAvailable("10.0.0.5"));
+        // The deleted network interface and the scale set one take two unknown addresses
+        Assert.assertEquals(256 - 5 - 1 - 2, index.availablePrivateIPAddressCount("s1"));
+        Assert.assertEquals(Arrays.asList(NIC + "nic1/ipConfigurations/ip1", NIC + "deleted/ipConfigurations/ip1"), index.resolved);
+    }
+
+    @Test
+    public void canSyncIncrementally() throws IOException {
+        FakeIndex index = new FakeIndex(network("'10.0.0.0/16'", subnet("s1", "10.0.0.0/24",
+                "{'id': '" + NIC + "nic1/ipConfigurations/ip1'}")));
+        index.addresses.put(NIC + "nic1/ipConfigurations/ip1", "10.0.0.4");
+        index.addresses.put(NIC + "nic2/ipConfigurations/ip1", "10.0.0.5");
+        Assert.assertFalse(index.isAvailable("10.0.0.4"));
+        Assert.assertTrue(index.isAvailable("10.0.0.5"));
+
+        // Queries between refreshes use the index as is
+        index.networkInner = network("'10.0.0.0/16'", subnet("s1", "10.0.0.0/24",
+                "{'id': '" + NIC + "nic1/ipConfigurations/ip1'}",
+                "{'id': '" + NIC + "nic2/ipConfigurations/ip1'}"));
+        Assert.assertTrue(index.isAvailable("10.0.0.5"));
+
+        index.resolved.clear();
+        index.markStale();
+        Assert.assertFalse(index.isAvailable("10.0.0.5"));
+        Assert.assertFalse(index.isAvailable("10.0.0.4"));
+        Assert.assertEquals(Arrays.asList(NIC + "nic2/ipConfigurations/ip1"), index.resolved);
+
+        // A subnet whose prefix changed is indexed again
+        index.resolved.clear();
+        index.networkInner = network("'10.0.0.0/16'", subnet("s1", "10.0.0.0/25",
+                "{'id': '" + NIC + "nic1/ipConfigurations/ip1'}"));
+        index.markStale();
+        Assert.assertTrue(index.isAvailable("10.0.0.5"));
+        Assert.assertFalse(index.isAvailable("10.0.0.4"));
+        Assert.assertEquals(128 - 5 - 1, index.availablePrivateIPAddressCount("s1"));
+        Assert.assertEquals(Arrays.asList(NIC + "nic1/ipConfigurations/ip1"), index.resolved);
+    }
+
+    @Test
+    public void canResolveChangedAddressesOnResync() throws IOException {
+        FakeIndex index = new FakeIndex(network("'10.0.0.0/16'", subnet("s1", "10.0.0.0/24",
+                "{'id': '" + NIC + "nic1/ipConfigurations/ip1'}")));
+        index.addresses.put(NIC + "nic1/ipConfigurations/ip1", "10.0.0.4");
+        Assert.assertFalse(index.isAvailable("10.0.0.4"));
+
+        // The address of the network interface changed since it was resolved
+        index.addresses.put(NIC + "nic1/ipConfigurations/ip1", "10.0.0.6");
+        index.resolved.clear();
+        index.markStale();
+        Assert.assertFalse(index.isAvailable("10.0.0.4"));
+        Assert.assertTrue(index.resolved.isEmpty());
+
+        index.resync();
+        Assert.assertTrue(index.isAvailable("10.0.0.4"));
+        Assert.assertFalse(index.isAvailable("10.0.0.6"));
+        Assert.assertEquals(Arrays.asList(NIC + "nic1/ipConfigurations/ip1"), index.resolved);
+
+        // Back to incremental syncs
+        index.resolved.clear();
+        index.markStale();
+        Assert.assertFalse(index.isAvailable("10.0.0.6"));
+        Assert.assertTrue(index.resolved.isEmpty());
+    }
+
+    private static String subnet(String name, String prefix, String... ipConfigs) {
+        StringBuilder json = new StringBuilder("{'name': '").append(name)
+                .append("', 'properties': {'addressPrefix': '").append(prefix).append("', 'ipConfigurations': [");
+        for (int i = 0; i < ipConfigs.length; i++) {
+            json.append(i == 0 ? "" : ", ").append(ipConfigs[i]);
+        }
+        return json.append("]}}").toString();
+    }
+
+    private static VirtualNetworkInner network(String addressPrefixes, String... subnets) throws IOException {
+        StringBuilder json = new StringBuilder("{'properties': {'addressSpace': {'addressPrefixes': [")
+                .append(addressPrefixes).append("]}, 'subnets': [");
+        for (int i = 0; i < subnets.length; i++) {
+            json.append(i == 0 ? "" : ", ").append(subnets[i]);
+        }
+        json.append("]}}");
+        return new AzureJacksonAdapter().deserialize(json.toString().replace('\'', '"'), VirtualNetworkInner.class);
+    }
+
+    /**
+     * An index of a virtual network in memory, resolving the addresses from a map and recording the
+     * IP configurations resolved.
+     */
+    private static final class FakeIndex extends PrivateIPAddressIndexImpl {
+        private final Map<String, String> addresses = new HashMap<>();
+        private final List<String> resolved = new ArrayList<>();
+        private VirtualNetworkInner networkInner;
+
+        FakeIndex(VirtualNetworkInner networkInner) {
+            super(null);
+            this.networkInner = networkInner;
+        }
+
+        @Override
+        VirtualNetworkInner networkInner() {
+            return this.networkInner;
+        }
+
+        @Override
+        Observable<String[]> resolveAddressesAsync(List<IPConfiguration> nicIPConfigs, List<IPConfiguration> frontends) {
+            List<String[]> found = new ArrayList<>();
+            List<IPConfiguration> ipConfigs = new ArrayList<>(nicIPConfigs);
+            ipConfigs.addAll(frontends);
+            for (IPConfiguration ipConfig : ipConfigs) {
+                this.resolved.add(ipConfig.id());
+                if (this.addresses.containsKey(ipConfig.id())) {
+                    found.add(new String[] {ipConfig.id(), this.addresses.get(ipConfig.id())});
+                }
+            }
+            return Observable.from(found);
+        }
+    }
+}
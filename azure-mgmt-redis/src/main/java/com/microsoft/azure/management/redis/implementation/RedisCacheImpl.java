@@ -37,7 +37,6 @@ import com.microsoft.azure.management.resources.fluentcore.utils.Utils;
 import org.joda.time.Period;
 import rx.Completable;
 import rx.Observable;
-import rx.functions.Action1;
 import rx.functions.Func1;
 
 import java.util.ArrayList;
@@ -590,17 +589,10 @@ class RedisCacheImpl
         final RedisCacheImpl self = this;
         return this.manager().inner().redis().updateAsync(resourceGroupName(), name(), updateParameters)
                 .map(innerToFluentMap(this))
-                .doOnNext(new Action1<RedisCache>() {
+                .flatMap(new Func1<RedisCache, Observable<RedisCache>>() {
                     @Override
-                    public void call(RedisCache redisCache) {
-                        while (!redisCache.provisioningState().equalsIgnoreCase("Succeeded")) {
-                            SdkContext.sleep(30 * 1000);
-
-                            RedisResourceInner innerResource = self.manager().inner().redis().getByResourceGroup(resourceGroupName(), name());
-                            ((RedisCacheImpl) redisCache).setInner(innerResource);
-                            self.setInner(innerResource);
-                            self.patchScheduleAdded = false;
-                        }
+                    public Observable<RedisCache> call(RedisCache redisCache) {
+                        return self.waitForProvisioningAsync(redisCache);
                     }
                 })
                 .flatMap(new Func1<RedisCache, Observable<RedisCache>>() {
@@ -629,6 +621,30 @@ class RedisCacheImpl
                 });
     }
 
+    private Observable<RedisCache> waitForProvisioningAsync(final RedisCache redisCache) {
+        if (redisCache.provisioningState().equalsIgnoreCase("Succeeded")) {
+            return Observable.just(redisCache);
+        }
+        final RedisCacheImpl self = this;
+        // poll on the shared timer rather than sleeping on an Rx thread between the requests
+        return SdkContext.delayedEmitAsync(redisCache, 30 * 1000)
+                .flatMap(new Func1<RedisCache, Observable<RedisResourceInner>>() {
+                    @Override
+                    public Observable<RedisResourceInner> call(RedisCache cache) {
+                        return self.manager().inner().redis().getByResourceGroupAsync(resourceGroupName(), name());
+                    }
+                })
+                .flatMap(new Func1<RedisResourceInner, Observable<RedisCache>>() {
+                    @Override
+                    public Observable<RedisCache> call(RedisResourceInner innerResource) {
+                        ((RedisCacheImpl) redisCache).setInner(innerResource);
+                        self.setInner(innerResource);
+                        self.patchScheduleAdded = false;
+                        return self.waitForProvisioningAsync(redisCache);
+                    }
+                });
+    }
+
     @Override
     public Observable<RedisCache> createResourceAsync() {
         createParameters.withLocation(this.regionName());
@@ -0,0 +1,138 @@
+/**
+ * Copyright (c) Microsoft Corporation. All rights reserved.
+ * Licensed under the MIT License. See License.txt in the project root for
+ * license information.
+ */
+
+package com.microsoft.azure.management.resources.fluentcore.arm;
+
+import org.apache.commons.lang3.StringUtils;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+import java.security.InvalidParameterException;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Compares {@link ResourceId} with the previous split based parser, for the access patterns of
+ * {@link ResourceUtils}: extracting a single segment, and walking the parent chain.
+ * <p>
+ * Run with: mvn -Pbenchmark test-compile exec:java from the azure-mgmt-resources directory, or
+ * run the main method of this class from the IDE after activating the benchmark profile.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class ResourceIdBenchmark {
+    private static final String[] IDS = new String[] {
+        "/subscriptions/9657ab5d-4a4a-4fd2-ae7a-4cd9fbd030ef/resourceGroups/rg1/providers/Microsoft.Compute/virtualMachines/vm1",
+        "/subscriptions/9657ab5d-4a4a-4fd2-ae7a-4cd9fbd030ef/resourceGroups/rg1/providers/Microsoft.Network/networkInterfaces/nic1",
+        "/subscriptions/9657ab5d-4a4a-4fd2-ae7a-4cd9fbd030ef/resourceGroups/rg1/providers/Microsoft.Network/virtualNetworks/vnet1/subnets/subnet1",
+        "/subscriptions/9657ab5d-4a4a-4fd2-ae7a-4cd9fbd030ef/resourceGroups/rg1/providers/Microsoft.Network/loadBalancers/lb1/frontendIPConfigurations/fe1",
+        "/subscriptions/9657ab5d-4a4a-4fd2-ae7a-4cd9fbd030ef/resourceGroups/rg1/providers/Microsoft.Sql/servers/sql1/databases/db1/backupLongTermRetentionPolicies/default"
+    };
+
+    @Param({ "0", "1024" })
+    private int cacheCapacity;
+
+    @Setup(Level.Trial)
+    public void setup() {
+        ResourceId.setCacheCapacity(this.cacheCapacity);
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        ResourceId.setCacheCapacity(0);
+    }
+
+    @Benchmark
+    public void legacyName(Blackhole blackhole) {
+        for (String id : IDS) {
+            blackhole.consume(new LegacyResourceId(id).name);
+        }
+    }
+
+    @Benchmark
+    public void name(Blackhole blackhole) {
+        for (String id : IDS) {
+            blackhole.consume(ResourceUtils.nameFromResourceId(id));
+        }
+    }
+
+    @Benchmark
+    public void legacyFullResourceType(Blackhole blackhole) {
+        for (String id : IDS) {
+            blackhole.consume(new LegacyResourceId(id).fullResourceType());
+        }
+    }
+
+    @Benchmark
+    public void fullResourceType(Blackhole blackhole) {
+        for (String id : IDS) {
+            blackhole.consume(ResourceId.fromString(id).fullResourceType());
+        }
+    }
+
+    /**
+     * Runs the benchmark.
+     *
+     * @param args the arguments, not used
+     * @throws RunnerException if the benchmark fails
+     */
+    public static void main(String[] args) throws RunnerException {
+        new Runner(new OptionsBuilder().include(ResourceIdBenchmark.class.getSimpleName()).build()).run();
+    }
+
+    /**
+     * The split based parser ResourceId used before, kept as the baseline.
+     */
+    private static final class LegacyResourceId {
+        private String name;
+        private String resourceType;
+        private String providerNamespace;
+        private String parentId;
+
+        LegacyResourceId(String id) {
+            String[] splits = (id.startsWith("/")) ? id.substring(1).split("/") : id.split("/");
+            if (splits.length % 2 == 1 || splits.length < 2) {
+                throw new InvalidParameterException(id);
+            }
+            this.name = splits[splits.length - 1];
+            this.resourceType = splits[splits.length - 2];
+            if (splits.length >= 10) {
+                String[] parentSplits = new String[splits.length - 2];
+                System.arraycopy(splits, 0, parentSplits, 0, splits.length - 2);
+                this.parentId = "/" + StringUtils.join(parentSplits, "/");
+            }
+            if (splits.length > 5) {
+                this.providerNamespace = splits[5];
+            }
+        }
+
+        String fullResourceType() {
+            if (this.parentId == null) {
+                return this.providerNamespace + "/" + this.resourceType;
+            } else {
+                return new LegacyResourceId(this.parentId).fullResourceType() + "/" + this.resourceType;
+            }
+        }
+    }
+}
@@ -81,6 +81,11 @@ public interface GenericResources extends
 
     /**
      * Returns a resource belonging to a resource group.
+     * <p>
+     * Top level resources are got directly, with the API version of their provider. Child resources,
+     * whose resource type or name contain a '/', are looked up in a listing of the resource group
+     * reused for 30 seconds.
+     *
      * @param resourceGroupName the resource group name
      * @param providerNamespace the provider namespace
      * @param resourceType the resource type
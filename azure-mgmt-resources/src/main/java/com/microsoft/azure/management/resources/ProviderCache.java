@@ -0,0 +1,86 @@
+/**
+ * Copyright (c) Microsoft Corporation. All rights reserved.
+ * Licensed under the MIT License. See License.txt in the project root for
+ * license information.
+ */
+
+package com.microsoft.azure.management.resources;
+
+import com.microsoft.azure.management.apigeneration.Beta;
+import com.microsoft.azure.management.apigeneration.Beta.SinceVersion;
+import com.microsoft.azure.management.apigeneration.Fluent;
+import rx.Completable;
+import rx.Observable;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * A cache of the resource provider metadata of a subscription, used to pick the API versions of the
+ * operations on generic resources without getting the provider before each operation.
+ * <p>
+ * Providers expire after a time to live. Concurrent misses for the same namespace share a single
+ * request, and the cache can be preloaded with all the providers of the subscription in one request.
+ */
+@Fluent
+@Beta(SinceVersion.V1_25_0)
+public interface ProviderCache {
+    /**
+     * Specifies how long a provider is served from the cache, 30 minutes by default.
+     *
+     * @param timeToLive the time to live
+     * @param unit the unit of the time to live
+     * @return the cache
+     */
+    ProviderCache withTimeToLive(long timeToLive, TimeUnit unit);
+
+    /**
+     * Gets a provider, from the cache if it has not expired.
+     *
+     * @param namespace the namespace of the provider
+     * @return the provider
+     */
+    Provider get(String namespace);
+
+    /**
+     * Gets a provider, from the cache if it has not expired.
+     *
+     * @param namespace the namespace of the provider
+     * @return an observable emitting the provider
+     */
+    Observable<Provider> getAsync(String namespace);
+
+    /**
+     * Gets the default API version of a resource from its provider, from the cache if it has not
+     * expired.
+     *
+     * @param id the resource ID
+     * @return an observable emitting the API version
+     */
+    Observable<String> defaultApiVersionAsync(String id);
+
+    /**
+     * Loads all the providers of the subscription in the cache, with a single listing.
+     *
+     * @return a completable completing once the providers are loaded
+     */
+    Completable preloadAsync();
+
+    /**
+     * Puts a provider in the cache, replacing the cached one.
+     *
+     * @param provider the provider
+     */
+    void put(Provider provider);
+
+    /**
+     * Removes a provider from the cache.
+     *
+     * @param namespace the namespace of the provider
+     */
+    void invalidate(String namespace);
+
+    /**
+     * Removes all the providers from the cache.
+     */
+    void invalidateAll();
+}
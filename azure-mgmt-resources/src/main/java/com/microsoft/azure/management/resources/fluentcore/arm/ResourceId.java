@@ -8,99 +8,145 @@ package com.microsoft.azure.management.resources.fluentcore.arm;
 
 import com.microsoft.azure.management.apigeneration.LangDefinition;
 import java.security.InvalidParameterException;
-import org.apache.commons.lang3.StringUtils;
+import java.util.LinkedHashMap;
+import java.util.Map;
 
 /**
  * Instantiate itself from a resource id, and give easy access to resource information like subscription, resourceGroup,
  * resource name.
+ * <p>
+ * The id is parsed in a single pass which only records the offsets of the segments of interest; the segments
+ * and the parent resource id are materialized when first requested. Parsed ids can optionally be kept in a
+ * bounded LRU cache, see {@link #setCacheCapacity(int)}.
  */
 @LangDefinition
 public final class ResourceId {
+    private static final String SUBSCRIPTIONS = "subscriptions";
+    private static final String RESOURCE_GROUPS = "resourceGroups";
+    private static final String PROVIDERS = "providers";
 
-    private String subscriptionId = null;
-    private String resourceGroupName = null;
-    private String name = null;
-    private String providerNamespace = null;
-    private String resourceType = null;
-    private String id = null;
-    private String parentId = null;
+    private static volatile ParsedIdCache cache = null;
+
+    private final String id;
+    // Offsets into id of the segments of interest, -1 if the id does not have the segment
+    private int subscriptionIdBegin = -1;
+    private int subscriptionIdEnd = -1;
+    private int resourceGroupNameBegin = -1;
+    private int resourceGroupNameEnd = -1;
+    private int providerNamespaceBegin = -1;
+    private int providerNamespaceEnd = -1;
+    private int resourceTypeBegin = -1;
+    private int resourceTypeEnd = -1;
+    private int nameBegin = -1;
+    private int nameEnd = -1;
+    // Offsets into id of the parent id (without the leading '/'), parentBegin is -1 if there is no parent
+    private int parentBegin = -1;
+    private int parentEnd = -1;
+
+    // Lazily materialized values, racy single-check is fine as the values are immutable
+    private String subscriptionId;
+    private String resourceGroupName;
+    private String providerNamespace;
+    private String resourceType;
+    private String name;
+    private volatile ResourceId parent;
 
     private static String badIdErrorText(String id) {
         return String.format("The specified ID `%s` is not a valid Azure resource ID.", id);
     }
 
     private ResourceId(final String id) {
+        this.id = id;
         if (id == null) {
             // Protect against NPEs from null IDs, preserving legacy behavior for null IDs
             return;
-        } else {
-            // Skip the first '/' if any, and then split using '/'
-            String[] splits = (id.startsWith("/")) ? id.substring(1).split("/") : id.split("/");
-            if (splits.length % 2 == 1) {
-                throw new InvalidParameterException(badIdErrorText(id));
-            }
+        }
 
-            // Save the ID itself
-            this.id = id;
+        // Format of id:
+        // /subscriptions/<subscriptionId>/resourceGroups/<resourceGroupName>/providers/<providerNamespace>(/<parentResourceType>/<parentName>)*/<resourceType>/<name>
+        //  0             1                2              3                   4         5                                                        N-2            N-1
 
-            // Format of id:
-            // /subscriptions/<subscriptionId>/resourceGroups/<resourceGroupName>/providers/<providerNamespace>(/<parentResourceType>/<parentName>)*/<resourceType>/<name>
-            //  0             1                2              3                   4         5                                                        N-2            N-1
+        // Skip the first '/' if any, and ignore trailing '/'s
+        final int begin = id.startsWith("/") ? 1 : 0;
+        int end = id.length();
+        while (end > begin && id.charAt(end - 1) == '/') {
+            end--;
+        }
+        if (end == begin) {
+            throw new InvalidParameterException(badIdErrorText(id));
+        }
 
-            // Extract resource type and name
-            if (splits.length < 2) {
-                throw new InvalidParameterException(badIdErrorText(id));
-            } else {
-                this.name = splits[splits.length - 1];
-                this.resourceType = splits[splits.length - 2];
+        int segment = 0;
+        int segmentBegin = begin;
+        int previousBegin = -1;
+        int previousEnd = -1;
+        int lastBegin = -1;
+        int lastEnd = -1;
+        for (int i = begin; i <= end; i++) {
+            if (i < end && id.charAt(i) != '/') {
+                continue;
             }
-
-            // Extract parent ID
-            if (splits.length < 10) {
-                this.parentId = null;
-            } else {
-                String[] parentSplits = new String[splits.length - 2];
-                System.arraycopy(splits, 0, parentSplits, 0, splits.length - 2);
-                this.parentId = "/" + StringUtils.join(parentSplits, "/");
+            switch (segment) {
+            case 0:
+                // Ensure "subscriptions"
+                ensureSegment(id, segmentBegin, i, SUBSCRIPTIONS);
+                break;
+            case 1:
+                this.subscriptionIdBegin = segmentBegin;
+                this.subscriptionIdEnd = i;
+                break;
+            case 2:
+                // Ensure "resourceGroups"
+                ensureSegment(id, segmentBegin, i, RESOURCE_GROUPS);
+                break;
+            case 3:
+                this.resourceGroupNameBegin = segmentBegin;
+                this.resourceGroupNameEnd = i;
+                break;
+            case 4:
+                // Ensure "providers"
+                ensureSegment(id, segmentBegin, i, PROVIDERS);
+                break;
+            case 5:
+                this.providerNamespaceBegin = segmentBegin;
+                this.providerNamespaceEnd = i;
+                break;
+            default:
+                break;
             }
+            previousBegin = lastBegin;
+            previousEnd = lastEnd;
+            lastBegin = segmentBegin;
+            lastEnd = i;
+            segment++;
+            segmentBegin = i + 1;
+        }
 
-            for (int i = 0; i < splits.length && i < 6; i++) {
-                switch (i) {
-                case 0:
-                    // Ensure "subscriptions"
-                    if (!splits[i].equalsIgnoreCase("subscriptions")) {
-                        throw new InvalidParameterException(badIdErrorText(id));
-                    }
-                    break;
-                case 1:
-                    // Extract subscription ID
-                    this.subscriptionId = splits[i];
-                    break;
-                case 2:
-                    // Ensure "resourceGroups"
-                    if (!splits[i].equalsIgnoreCase("resourceGroups")) {
-                        throw new InvalidParameterException(badIdErrorText(id));
-                    }
-                    break;
-                case 3:
-                    // Extract resource group name
-                    this.resourceGroupName = splits[i];
-                    break;
-                case 4:
-                    // Ensure "providers"
-                    if (!splits[i].equalsIgnoreCase("providers")) {
-                        throw new InvalidParameterException(badIdErrorText(id));
-                    }
-                    break;
-                case 5:
-                    // Extract provider namespace
-                    this.providerNamespace = splits[i];
-                    break;
-                default:
-                    break;
-                }
-            }
+        if (segment % 2 == 1) {
+            throw new InvalidParameterException(badIdErrorText(id));
         }
+
+        // Extract resource type and name
+        this.resourceTypeBegin = previousBegin;
+        this.resourceTypeEnd = previousEnd;
+        this.nameBegin = lastBegin;
+        this.nameEnd = lastEnd;
+
+        // Record the parent ID, which is everything before the resource type
+        if (segment >= 10) {
+            this.parentBegin = begin;
+            this.parentEnd = previousBegin - 1;
+        }
+    }
+
+    private static void ensureSegment(String id, int begin, int end, String expected) {
+        if (end - begin != expected.length() || !id.regionMatches(true, begin, expected, 0, expected.length())) {
+            throw new InvalidParameterException(badIdErrorText(id));
+        }
+    }
+
+    private String segment(int begin, int end) {
+        return begin < 0 ? null : this.id.substring(begin, end);
     }
 
     /**
@@ -109,13 +155,47 @@ public final class ResourceId {
      * @return ResourceId object
      */
     public static ResourceId fromString(String id) {
-        return new ResourceId(id);
+        ParsedIdCache cache = ResourceId.cache;
+        if (id == null || cache == null) {
+            return new ResourceId(id);
+        }
+        ResourceId resourceId = cache.get(id);
+        if (resourceId == null) {
+            resourceId = new ResourceId(id);
+            cache.put(id, resourceId);
+        }
+        return resourceId;
+    }
+
+    /**
+     * Sets the number of parsed resource ids to keep in a least recently used cache shared by
+     * {@link #fromString(String)}, which benefits code parsing the same ids repeatedly. The cache is
+     * disabled by default.
+     *
+     * @param capacity the maximum number of parsed ids to cache, 0 to disable the cache
+     */
+    public static void setCacheCapacity(int capacity) {
+        if (capacity < 0) {
+            throw new IllegalArgumentException("capacity must not be negative");
+        }
+        cache = capacity == 0 ? null : new ParsedIdCache(capacity);
+    }
+
+    /**
+     * @return the number of parsed resource ids kept in the cache, 0 if the cache is disabled.
+     */
+    public static int cacheCapacity() {
+        ParsedIdCache cache = ResourceId.cache;
+        return cache == null ? 0 : cache.capacity;
     }
 
     /**
      * @return subscriptionId of the resource.
      */
     public String subscriptionId() {
+        if (this.subscriptionId == null) {
+            this.subscriptionId = segment(this.subscriptionIdBegin, this.subscriptionIdEnd);
+        }
         return this.subscriptionId;
     }
 
@@ -123,6 +203,9 @@ public final class ResourceId {
      * @return resourceGroupName of the resource.
      */
     public String resourceGroupName() {
+        if (this.resourceGroupName == null) {
+            this.resourceGroupName = segment(this.resourceGroupNameBegin, this.resourceGroupNameEnd);
+        }
         return this.resourceGroupName;
     }
 
@@ -130,6 +213,9 @@ public final class ResourceId {
      * @return name of the resource.
      */
     public String name() {
+        if (this.name == null) {
+            this.name = segment(this.nameBegin, this.nameEnd);
+        }
         return this.name;
     }
 
@@ -137,17 +223,27 @@ public final class ResourceId {
      * @return parent resource id of the resource if any, otherwise null.
      */
     public ResourceId parent() {
-        if (this.id == null || this.parentId == null) {
+        if (this.id == null || this.parentBegin < 0) {
             return null;
-        } else {
-            return fromString(this.parentId);
         }
+        ResourceId parent = this.parent;
+        if (parent == null) {
+            String parentId = this.parentBegin == 1
+                    ? this.id.substring(0, this.parentEnd)
+                    : "/" + this.id.substring(this.parentBegin, this.parentEnd);
+            parent = fromString(parentId);
+            this.parent = parent;
+        }
+        return parent;
     }
 
     /**
      * @return name of the provider.
      */
     public String providerNamespace() {
+        if (this.providerNamespace == null) {
+            this.providerNamespace = segment(this.providerNamespaceBegin, this.providerNamespaceEnd);
+        }
         return this.providerNamespace;
     }
 
@@ -155,6 +251,9 @@ public final class ResourceId {
      * @return type of the resource.
      */
     public String resourceType() {
+        if (this.resourceType == null) {
+            this.resourceType = segment(this.resourceTypeBegin, this.resourceTypeEnd);
+        }
         return this.resourceType;
     }
 
@@ -162,10 +261,10 @@ public final class ResourceId {
      * @return full type of the resource.
      */
     public String fullResourceType() {
-        if (this.parentId == null) {
-            return this.providerNamespace + "/" + this.resourceType;
+        if (this.parentBegin < 0) {
+            return this.providerNamespace() + "/" + this.resourceType();
         } else {
-            return this.parent().fullResourceType() + "/" + this.resourceType;
+            return this.parent().fullResourceType() + "/" + this.resourceType();
         }
     }
 
@@ -175,4 +274,32 @@ public final class ResourceId {
     public String id() {
         return id;
     }
+
+    /**
+     * A bounded cache of parsed ids evicting the least recently used entry.
+     */
+    private static final class ParsedIdCache {
+        private final int capacity;
+        private final LinkedHashMap<String, ResourceId> entries;
+
+        ParsedIdCache(final int capacity) {
+            this.capacity = capacity;
+            this.entries = new LinkedHashMap<String, ResourceId>(16, 0.75f, true) {
+                private static final long serialVersionUID = 1L;
+
+                @Override
+                protected boolean removeEldestEntry(Map.Entry<String, ResourceId> eldest) {
+                    return size() > capacity;
+                }
+            };
+        }
+
+        synchronized ResourceId get(String id) {
+            return this.entries.get(id);
+        }
+
+        synchronized void put(String id, ResourceId resourceId) {
+            this.entries.put(id, resourceId);
+        }
+    }
 }
@@ -9,6 +9,8 @@ package com.microsoft.azure.management.resources.fluentcore.arm;
 import com.microsoft.azure.management.resources.Provider;
 import com.microsoft.azure.management.resources.ProviderResourceType;
 
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
 import java.util.regex.Matcher;
 import java.util.regex.Pattern;
 
@@ -16,6 +18,8 @@ import java.util.regex.Pattern;
  * Utility methods for Azure resource IDs.
  */
 public final class ResourceUtils {
+    private static final ConcurrentMap<String, Pattern> IDENTIFIER_PATTERNS = new ConcurrentHashMap<>();
+
     private ResourceUtils() { }
 
     /**
@@ -66,12 +70,8 @@ public final class ResourceUtils {
         if (id == null) {
             return null;
         }
-        ResourceId resourceId = ResourceId.fromString(id);
-        if (resourceId != null && resourceId.parent() != null) {
-            return ResourceId.fromString(id).parent().id();
-        }
-
-        return null;
+        ResourceId parent = ResourceId.fromString(id).parent();
+        return parent != null ? parent.id() : null;
     }
 
     /**
@@ -105,11 +105,12 @@ public final class ResourceUtils {
         if (id == null) {
             return null;
         }
-        String[] paths = id.split("/providers/" + resourceProviderFromResourceId(id) + "/", 2);
-        if (paths.length == 1) {
+        String separator = "/providers/" + resourceProviderFromResourceId(id) + "/";
+        int index = id.indexOf(separator);
+        if (index < 0) {
             return "";
         } else {
-            return paths[1];
+            return id.substring(index + separator.length());
         }
     }
 
@@ -125,10 +126,18 @@ public final class ResourceUtils {
         if (id == null || identifier == null) {
             return id;
         }
-        Pattern pattern = Pattern.compile(identifier + "/[-\\w._]+");
+        Pattern pattern = IDENTIFIER_PATTERNS.get(identifier);
+        if (pattern == null) {
+            pattern = Pattern.compile(identifier + "/[-\\w._]+");
+            IDENTIFIER_PATTERNS.putIfAbsent(identifier, pattern);
+        }
         Matcher matcher = pattern.matcher(id);
         if (matcher.find()) {
-            return matcher.group().split("/")[1];
+            // Equivalent to matcher.group().split("/")[1]
+            String match = matcher.group();
+            int begin = match.indexOf('/') + 1;
+            int end = match.indexOf('/', begin);
+            return end < 0 ? match.substring(begin) : match.substring(begin, end);
         } else {
             return null;
         }
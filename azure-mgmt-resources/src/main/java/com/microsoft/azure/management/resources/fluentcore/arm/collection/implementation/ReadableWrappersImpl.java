@@ -27,9 +27,15 @@ public abstract class ReadableWrappersImpl<
         InnerT> {
 
     private final PagedListConverter<InnerT, T> converter;
+    private final PagedListConverter<InnerT, T> readAheadConverter;
 
     protected ReadableWrappersImpl() {
-        this.converter = new PagedListConverter<InnerT, T>() {
+        this.converter = newConverter();
+        this.readAheadConverter = newConverter().withReadAhead(true);
+    }
+
+    private PagedListConverter<InnerT, T> newConverter() {
+        return new PagedListConverter<InnerT, T>() {
             @Override
             public Observable<T> typeConvertAsync(InnerT inner) {
                 return Observable.just((T) wrapModel(inner));
@@ -43,6 +49,16 @@ public abstract class ReadableWrappersImpl<
         return converter.convert(pagedList);
     }
 
+    /**
+     * Wraps a paged list whose next page is fetched while the caller consumes the current one,
+     * for the listings meant to be enumerated whole.
+     * @param pagedList the paged list to wrap
+     * @return the wrapped paged list
+     */
+    protected PagedList<T> wrapListWithReadAhead(PagedList<InnerT> pagedList) {
+        return readAheadConverter.convert(pagedList);
+    }
+
     protected PagedList<T> wrapList(List<InnerT> list) {
         return wrapList(ReadableWrappersImpl.convertToPagedList(list));
     }
@@ -128,8 +128,8 @@ public class AzureConfigurableImpl<T extends AzureConfigurable<T>>
         RestClient client =  restClientBuilder
                 .withBaseUrl(credentials.environment(), endpoint)
                 .withCredentials(credentials)
-                .withInterceptor(new ProviderRegistrationInterceptor(credentials))
-                .withInterceptor(new ResourceManagerThrottlingInterceptor())
+                .withInterceptor(new ProviderRegistrationInterceptor())
+                .withInterceptor(new ResourceManagerThrottlingInterceptor(credentials.domain()))
                 .build();
         if (client.httpClient().proxy() != null) {
             credentials.withProxy(client.httpClient().proxy());
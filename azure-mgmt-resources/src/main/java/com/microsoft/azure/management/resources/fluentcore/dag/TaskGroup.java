@@ -6,6 +6,8 @@
 
 package com.microsoft.azure.management.resources.fluentcore.dag;
 
+import com.microsoft.azure.management.apigeneration.Beta;
+import com.microsoft.azure.management.apigeneration.Beta.SinceVersion;
 import com.microsoft.azure.management.resources.fluentcore.model.Indexable;
 import rx.Completable;
 import rx.Observable;
@@ -14,11 +16,13 @@ import rx.functions.Func1;
 import rx.schedulers.Schedulers;
 
 import java.util.ArrayList;
+import java.util.Collections;
 import java.util.HashSet;
 import java.util.List;
 import java.util.Map;
 import java.util.Set;
 import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
 import java.util.concurrent.atomic.AtomicBoolean;
 
 /**
@@ -70,6 +74,10 @@ public class TaskGroup
      * for post run.
      */
     protected ProxyTaskGroupWrapper proxyTaskGroupWrapper;
+    /**
+     * The scheduler deciding which ready tasks can start during the current invocation.
+     */
+    private TaskGroupScheduler scheduler;
 
     /**
      * Creates TaskGroup.
@@ -282,6 +290,7 @@ public class TaskGroup
             //
             this.runBeforeGroupInvoke(skipBeforeGroupInvoke);
         }
+        this.scheduler = new TaskGroupScheduler(this, context);
         // Runs the ready tasks concurrently
         //
         return this.invokeReadyTasksAsync(context);
@@ -347,19 +356,22 @@ public class TaskGroup
      * @return an observable that emits the result of tasks in the order they finishes.
      */
     private Observable<Indexable> invokeReadyTasksAsync(final InvocationContext context) {
-        TaskGroupEntry<TaskItem> readyTaskEntry = super.getNext();
-        final List<Observable<Indexable>> observables = new ArrayList<>();
-        // Enumerate the ready tasks (those with dependencies resolved) and kickoff them concurrently
+        // Enumerate the ready tasks (those with dependencies resolved), hand them to the scheduler and
+        // kickoff concurrently the ones it allows to start. The rest are started as running tasks finish.
         //
-        while (readyTaskEntry != null) {
-            final TaskGroupEntry<TaskItem> currentEntry = readyTaskEntry;
+        for (TaskGroupEntry<TaskItem> readyTaskEntry = super.getNext();
+             readyTaskEntry != null;
+             readyTaskEntry = super.getNext()) {
+            this.scheduler.offer(readyTaskEntry);
+        }
+        final List<Observable<Indexable>> observables = new ArrayList<>();
+        for (TaskGroupEntry<TaskItem> currentEntry : this.scheduler.pollStartable()) {
             final TaskItem currentTaskItem = currentEntry.data();
             if (currentTaskItem instanceof ProxyTaskItem) {
                 observables.add(invokeAfterPostRunAsync(currentEntry, context));
             } else {
                 observables.add(invokeTaskAsync(currentEntry, context));
             }
-            readyTaskEntry = super.getNext();
         }
         return Observable.mergeDelayError(observables);
     }
@@ -381,6 +393,7 @@ public class TaskGroup
         return Observable.defer(new Func0<Observable<Indexable>>() {
             @Override
             public Observable<Indexable> call() {
+                scheduler.onStarted(entry);
                 if (isGroupCancelled.get()) {
                     // One or more tasks are in faulted state, though this task MAYBE invoked if it does not
                     // have faulted tasks as transitive dependencies, we won't do it since group is cancelled
@@ -439,6 +452,7 @@ public class TaskGroup
                 if (proxyTaskItem == null) {
                     return Observable.empty();
                 }
+                scheduler.onStarted(entry);
                 final boolean isFaulted = entry.hasFaultedDescentDependencyTasks() || isGroupCancelled.get();
 
                 Observable<Indexable> postRunObservable = proxyTaskItem.invokeAfterPostRunAsync(isFaulted).toObservable();
@@ -482,6 +496,7 @@ public class TaskGroup
      */
     private Observable<Indexable> processCompletedTaskAsync(final TaskGroupEntry<TaskItem> completedEntry,
                                                             final InvocationContext context) {
+        scheduler.onFinished(completedEntry, null);
         reportCompletion(completedEntry);
         if (isRootEntry(completedEntry)) {
             return Observable.empty();
@@ -502,6 +517,7 @@ public class TaskGroup
     private Observable<Indexable> processFaultedTaskAsync(final TaskGroupEntry<TaskItem> faultedEntry,
                                                           final Throwable throwable,
                                                           final InvocationContext context) {
+        scheduler.onFinished(faultedEntry, throwable);
         markGroupAsCancelledIfTerminationStrategyIsIPTC();
         reportError(faultedEntry, throwable);
         if (isRootEntry(faultedEntry)) {
@@ -574,14 +590,35 @@ public class TaskGroup
         TaskGroup taskGroup();
     }
 
+    /**
+     * An interface representing a task that belongs to a category, e.g. the type of the resource
+     * it creates. The category is used to limit the number of tasks of the category in flight.
+     */
+    public interface HasTaskCategory {
+        /**
+         * @return the category of the task
+         */
+        String taskCategory();
+    }
+
     /**
      * A mutable type that can be used to pass data around task items during the invocation
      * of the TaskGroup.
      */
     public static final class InvocationContext {
+        private static volatile int defaultMaxConcurrency = Integer.MAX_VALUE;
+        private static final Map<String, Integer> DEFAULT_CATEGORY_MAX_CONCURRENCY = new ConcurrentHashMap<>();
+        private static final List<TaskGroupListener> DEFAULT_LISTENERS = new CopyOnWriteArrayList<>();
+
         private final Map<String, Object> properties;
         private final TaskGroup taskGroup;
         private TaskGroupTerminateOnErrorStrategy terminateOnErrorStrategy;
+        private TaskGroupSchedulingStrategy schedulingStrategy;
+        private Integer maxConcurrency;
+        private final Map<String, Integer> categoryMaxConcurrency;
+        private Func1<TaskItem, String> taskCategorizer;
+        private final Map<String, TaskTiming> taskTimings;
+        private final List<TaskGroupListener> listeners;
 
         /**
          * Creates InvocationContext instance.
@@ -591,6 +628,71 @@ public class TaskGroup
         private InvocationContext(final TaskGroup taskGroup) {
             this.properties = new ConcurrentHashMap<>();
             this.taskGroup = taskGroup;
+            this.categoryMaxConcurrency = new ConcurrentHashMap<>();
+            this.taskTimings = new ConcurrentHashMap<>();
+            this.listeners = new CopyOnWriteArrayList<>(DEFAULT_LISTENERS);
+        }
+
+        /**
+         * Sets the maximum number of tasks in flight for the invocations whose context does not set it.
+         * <p>
+         * The default is process wide: it applies to the create() and apply() calls of every manager and
+         * of every library in the class loader, not only to the caller's. Prefer
+         * {@link #withMaxConcurrency(int)} on a context passed to {@link TaskGroup#invokeAsync(InvocationContext)}
+         * when only some invocations need a limit.
+         *
+         * @param maxConcurrency the maximum number of tasks in flight
+         */
+        @Beta(SinceVersion.V1_25_0)
+        public static void setDefaultMaxConcurrency(int maxConcurrency) {
+            if (maxConcurrency < 1) {
+                throw new IllegalArgumentException("maxConcurrency must be at least 1");
+            }
+            InvocationContext.defaultMaxConcurrency = maxConcurrency;
+        }
+
+        /**
+         * Sets the maximum number of tasks of a category in flight for the invocations whose context
+         * does not set it.
+         * <p>
+         * Like {@link #setDefaultMaxConcurrency(int)}, the default is process wide and applies to the
+         * invocations of every manager and library in the class loader.
+         *
+         * @param taskCategory the task category
+         * @param maxConcurrency the maximum number of tasks of the category in flight
+         */
+        @Beta(SinceVersion.V1_25_0)
+        public static void setDefaultMaxConcurrency(String taskCategory, int maxConcurrency) {
+            if (maxConcurrency < 1) {
+                throw new IllegalArgumentException("maxConcurrency must be at least 1");
+            }
+            DEFAULT_CATEGORY_MAX_CONCURRENCY.put(taskCategory, maxConcurrency);
+        }
+
+        /**
+         * Adds a listener notified of the progress of the tasks in every invocation whose context is
+         * created after this call.
+         * <p>
+         * The listener is process wide: it is notified of the create() and apply() calls of every manager
+         * and of every library in the class loader, not only of the caller's, until it is removed. Prefer
+         * {@link #withListener(TaskGroupListener)} on a context passed to
+         * {@link TaskGroup#invokeAsync(InvocationContext)} to observe a single invocation.
+         *
+         * @param listener the listener
+         */
+        @Beta(SinceVersion.V1_25_0)
+        public static void addDefaultListener(TaskGroupListener listener) {
+            DEFAULT_LISTENERS.add(listener);
+        }
+
+        /**
+         * Removes a listener added by {@link #addDefaultListener(TaskGroupListener)}.
+         *
+         * @param listener the listener
+         */
+        @Beta(SinceVersion.V1_25_0)
+        public static void removeDefaultListener(TaskGroupListener listener) {
+            DEFAULT_LISTENERS.remove(listener);
         }
 
         /**
@@ -624,6 +726,157 @@ public class TaskGroup
             return this.terminateOnErrorStrategy;
         }
 
+        /**
+         * Sets the maximum number of tasks in flight during the invocation.
+         *
+         * @param maxConcurrency the maximum number of tasks in flight
+         * @return the context
+         */
+        public InvocationContext withMaxConcurrency(int maxConcurrency) {
+            if (maxConcurrency < 1) {
+                throw new IllegalArgumentException("maxConcurrency must be at least 1");
+            }
+            this.maxConcurrency = maxConcurrency;
+            return this;
+        }
+
+        /**
+         * Sets the maximum number of tasks of a category in flight during the invocation.
+         * <p>
+         * By default the category of a task creating or updating a resource is the name of the
+         * resource type, e.g. "VirtualMachine", "NetworkInterface"; use
+         * {@link #withTaskCategorizer(Func1)} to categorize the tasks differently.
+         *
+         * @param taskCategory the task category
+         * @param maxConcurrency the maximum number of tasks of the category in flight
+         * @return the context
+         */
+        public InvocationContext withMaxConcurrency(String taskCategory, int maxConcurrency) {
+            if (maxConcurrency < 1) {
+                throw new IllegalArgumentException("maxConcurrency must be at least 1");
+            }
+            this.categoryMaxConcurrency.put(taskCategory, maxConcurrency);
+            return this;
+        }
+
+        /**
+         * Sets the function returning the category of a task, used to apply the per category limits.
+         * The function may return null for a task without category.
+         *
+         * @param taskCategorizer the function returning the category of a task
+         * @return the context
+         */
+        public InvocationContext withTaskCategorizer(Func1<TaskItem, String> taskCategorizer) {
+            this.taskCategorizer = taskCategorizer;
+            return this;
+        }
+
+        /**
+         * Sets the order in which ready tasks are started when the number of tasks in flight is limited.
+         *
+         * @param strategy the strategy
+         * @return the context
+         */
+        public InvocationContext withSchedulingStrategy(TaskGroupSchedulingStrategy strategy) {
+            this.schedulingStrategy = strategy;
+            return this;
+        }
+
+        /**
+         * Adds a listener notified of the progress of the tasks during the invocation.
+         *
+         * @param listener the listener
+         * @return the context
+         */
+        public InvocationContext withListener(TaskGroupListener listener) {
+            this.listeners.add(listener);
+            return this;
+        }
+
+        /**
+         * @return the listeners notified of the progress of the tasks during the invocation.
+         */
+        public List<TaskGroupListener> listeners() {
+            return Collections.unmodifiableList(this.listeners);
+        }
+
+        /**
+         * @return the maximum number of tasks in flight during the invocation.
+         */
+        public int maxConcurrency() {
+            if (this.maxConcurrency == null) {
+                return defaultMaxConcurrency;
+            }
+            return this.maxConcurrency;
+        }
+
+        /**
+         * Gets the maximum number of tasks of a category in flight during the invocation.
+         *
+         * @param taskCategory the task category
+         * @return the maximum number of tasks of the category in flight
+         */
+        public int maxConcurrency(String taskCategory) {
+            Integer limit = this.categoryMaxConcurrency.get(taskCategory);
+            if (limit == null) {
+                limit = DEFAULT_CATEGORY_MAX_CONCURRENCY.get(taskCategory);
+            }
+            return limit == null ? Integer.MAX_VALUE : limit;
+        }
+
+        /**
+         * @return the order in which ready tasks are started when the number of tasks in flight is limited.
+         */
+        public TaskGroupSchedulingStrategy schedulingStrategy() {
+            if (this.schedulingStrategy == null) {
+                return TaskGroupSchedulingStrategy.READY_ORDER;
+            }
+            return this.schedulingStrategy;
+        }
+
+        /**
+         * Gets the category of a task.
+         *
+         * @param taskItem the task
+         * @return the category, null if the task has no category
+         */
+        public String taskCategory(TaskItem taskItem) {
+            if (this.taskCategorizer != null) {
+                return this.taskCategorizer.call(taskItem);
+            }
+            if (taskItem instanceof HasTaskCategory) {
+                return ((HasTaskCategory) taskItem).taskCategory();
+            }
+            return null;
+        }
+
+        /**
+         * @return the timing of the tasks invoked so far, indexed by task id.
+         */
+        public Map<String, TaskTiming> taskTimings() {
+            return Collections.unmodifiableMap(this.taskTimings);
+        }
+
+        /**
+         * Gets the timing of the task in an entry, creating it if the task has no timing yet.
+         *
+         * @param entry the entry holding the task
+         * @return the timing
+         */
+        TaskTiming taskTiming(TaskGroupEntry<TaskItem> entry) {
+            TaskTiming timing = this.taskTimings.get(entry.key());
+            if (timing == null) {
+                TaskTiming newTiming = new TaskTiming(entry.key(),
+                        taskCategory(entry.data()),
+                        new ArrayList<>(entry.dependencyKeys()));
+                timing = this.taskTimings.putIfAbsent(entry.key(), newTiming);
+                if (timing == null) {
+                    timing = newTiming;
+                }
+            }
+            return timing;
+        }
+
         /**
          * Put a key-value in the context.
          *
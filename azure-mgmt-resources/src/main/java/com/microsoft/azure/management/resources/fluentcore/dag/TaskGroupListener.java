@@ -0,0 +1,47 @@
+/**
+ * Copyright (c) Microsoft Corporation. All rights reserved.
+ * Licensed under the MIT License. See License.txt in the project root for
+ * license information.
+ */
+
+package com.microsoft.azure.management.resources.fluentcore.dag;
+
+/**
+ * A listener notified as the tasks of a {@link TaskGroup} invocation progress.
+ * <p>
+ * The methods are called on the threads running the tasks, concurrently for tasks running in parallel,
+ * so implementations must be thread safe and return quickly. An exception thrown by a listener is
+ * reported to the Rx error hook and does not affect the invocation.
+ *
+ * @see TaskGroupMetrics
+ */
+public interface TaskGroupListener {
+    /**
+     * Called when the dependencies of a task are resolved and the task is waiting to be started.
+     *
+     * @param timing the timing of the task
+     */
+    void onTaskReady(TaskTiming timing);
+
+    /**
+     * Called when a task is started.
+     *
+     * @param timing the timing of the task
+     */
+    void onTaskStarted(TaskTiming timing);
+
+    /**
+     * Called when a task completed successfully.
+     *
+     * @param timing the timing of the task
+     */
+    void onTaskCompleted(TaskTiming timing);
+
+    /**
+     * Called when a task faulted, or was not invoked because a dependency faulted or the group was cancelled.
+     *
+     * @param timing the timing of the task
+     * @param throwable the reason for fault
+     */
+    void onTaskFaulted(TaskTiming timing, Throwable throwable);
+}
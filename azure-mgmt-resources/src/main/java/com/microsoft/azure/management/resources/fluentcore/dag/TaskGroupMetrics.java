@@ -0,0 +1,272 @@
+/**
+ * Copyright (c) Microsoft Corporation. All rights reserved.
+ * Licensed under the MIT License. See License.txt in the project root for
+ * license information.
+ */
+
+package com.microsoft.azure.management.resources.fluentcore.dag;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+import com.fasterxml.jackson.annotation.JsonProperty;
+import com.fasterxml.jackson.annotation.JsonPropertyOrder;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.HashSet;
+import java.util.LinkedList;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * A {@link TaskGroupListener} recording the timing of the executed tasks, to find the chain of
+ * dependencies that determined how long an invocation took.
+ * <p>
+ * Register an instance with {@link TaskGroup.InvocationContext#withListener(TaskGroupListener)} or, for the
+ * invocations started by create() and apply(), {@link TaskGroup.InvocationContext#addDefaultListener(TaskGroupListener)},
+ * which records the invocations of every manager in the process until the instance is removed;
+ * once the invocation completes use {@link #criticalPath()}, {@link #toDot()} or {@link #toJson()}.
+ */
+public final class TaskGroupMetrics implements TaskGroupListener {
+    private static final ObjectMapper MAPPER = new ObjectMapper();
+
+    private final Map<String, TaskTiming> timings = new ConcurrentHashMap<>();
+    private final Map<String, Throwable> faults = new ConcurrentHashMap<>();
+
+    @Override
+    public void onTaskReady(TaskTiming timing) {
+        this.timings.put(timing.taskId(), timing);
+    }
+
+    @Override
+    public void onTaskStarted(TaskTiming timing) {
+        this.timings.put(timing.taskId(), timing);
+    }
+
+    @Override
+    public void onTaskCompleted(TaskTiming timing) {
+        this.timings.put(timing.taskId(), timing);
+    }
+
+    @Override
+    public void onTaskFaulted(TaskTiming timing, Throwable throwable) {
+        this.timings.put(timing.taskId(), timing);
+        this.faults.put(timing.taskId(), throwable);
+    }
+
+    /**
+     * Clears the recorded timings so that the instance can record another invocation.
+     */
+    public void clear() {
+        this.timings.clear();
+        this.faults.clear();
+    }
+
+    /**
+     * @return the timings of the tasks recorded so far, in the order the tasks were started
+     */
+    public List<TaskTiming> timings() {
+        List<TaskTiming> result = new ArrayList<>(this.timings.values());
+        Collections.sort(result, new Comparator<TaskTiming>() {
+            @Override
+            public int compare(TaskTiming t1, TaskTiming t2) {
+                return Long.compare(t1.startNanos(), t2.startNanos());
+            }
+        });
+        return result;
+    }
+
+    /**
+     * Gets the critical path of the invocation, i.e. the chain of tasks ending with the task that finished
+     * last, where each task is preceded by the dependency that finished last and hence gated its start.
+     *
+     * @return the tasks on the critical path, first task first
+     */
+    public List<TaskTiming> criticalPath() {
+        LinkedList<TaskTiming> path = new LinkedList<>();
+        TaskTiming current = null;
+        for (TaskTiming timing : this.timings.values()) {
+            if (timing.isFinished() && (current == null || timing.endNanos() > current.endNanos())) {
+                current = timing;
+            }
+        }
+        Set<String> visited = new HashSet<>();
+        while (current != null && visited.add(current.taskId())) {
+            path.addFirst(current);
+            TaskTiming gating = null;
+            for (String dependencyId : current.dependencyTaskIds()) {
+                TaskTiming dependency = this.timings.get(dependencyId);
+                if (dependency != null
+                        && dependency.isFinished()
+                        && (gating == null || dependency.endNanos() > gating.endNanos())) {
+                    gating = dependency;
+                }
+            }
+            current = gating;
+        }
+        return path;
+    }
+
+    /**
+     * @return the time in milliseconds from the readiness of the first task on the critical path to the end
+     * of the last one
+     */
+    public long criticalPathMillis() {
+        List<TaskTiming> path = criticalPath();
+        if (path.isEmpty()) {
+            return 0;
+        }
+        TaskTiming first = path.get(0);
+        long begin = first.readyNanos() != 0 ? first.readyNanos() : first.startNanos();
+        return TimeUnit.NANOSECONDS.toMillis(path.get(path.size() - 1).endNanos() - begin);
+    }
+
+    /**
+     * Exports the executed tasks and their dependencies in Graphviz DOT format. Each node shows the
+     * time the task waited for a slot and the time it executed; the critical path is highlighted.
+     *
+     * @return the graph in DOT format
+     */
+    public String toDot() {
+        Set<String> critical = criticalPathIds();
+        StringBuilder dot = new StringBuilder("digraph TaskGroup {\n");
+        dot.append("  rankdir=LR;\n");
+        for (TaskTiming timing : timings()) {
+            dot.append("  ").append(dotId(timing.taskId())).append(" [label=")
+                    .append(dotId(timing.taskId()
+                            + (timing.taskCategory() == null ? "" : "\n" + timing.taskCategory())
+                            + "\nwait " + timing.queueWaitMillis() + " ms, exec " + timing.executionMillis() + " ms"));
+            if (critical.contains(timing.taskId())) {
+                dot.append(", color=red, penwidth=2");
+            }
+            if (timing.isFaulted()) {
+                dot.append(", style=dashed");
+            }
+            dot.append("];\n");
+        }
+        for (TaskTiming timing : timings()) {
+            for (String dependencyId : timing.dependencyTaskIds()) {
+                if (this.timings.containsKey(dependencyId)) {
+                    dot.append("  ").append(dotId(dependencyId)).append(" -> ").append(dotId(timing.taskId()));
+                    if (critical.contains(dependencyId) && critical.contains(timing.taskId())) {
+                        dot.append(" [color=red, penwidth=2]");
+                    }
+                    dot.append(";\n");
+                }
+            }
+        }
+        return dot.append("}\n").toString();
+    }
+
+    /**
+     * Exports the executed tasks, their dependencies and durations and the critical path in JSON format.
+     *
+     * @return the JSON document
+     */
+    public String toJson() {
+        List<TaskTiming> timings = timings();
+        long origin = Long.MAX_VALUE;
+        for (TaskTiming timing : timings) {
+            if (timing.readyNanos() != 0) {
+                origin = Math.min(origin, timing.readyNanos());
+            }
+        }
+        Set<String> critical = criticalPathIds();
+        Report report = new Report();
+        for (TaskTiming timing : timings) {
+            TaskReport task = new TaskReport();
+            task.id = timing.taskId();
+            task.category = timing.taskCategory();
+            task.dependencies = timing.dependencyTaskIds();
+            task.readyAtMillis = offsetMillis(timing.readyNanos(), origin);
+            task.startAtMillis = offsetMillis(timing.startNanos(), origin);
+            task.endAtMillis = offsetMillis(timing.endNanos(), origin);
+            task.queueWaitMillis = timing.queueWaitMillis();
+            task.executionMillis = timing.executionMillis();
+            task.faulted = timing.isFaulted();
+            Throwable fault = this.faults.get(timing.taskId());
+            if (fault != null) {
+                task.error = String.valueOf(fault);
+            }
+            task.critical = critical.contains(timing.taskId());
+            report.tasks.add(task);
+        }
+        for (TaskTiming timing : criticalPath()) {
+            report.criticalPath.add(timing.taskId());
+        }
+        report.criticalPathMillis = criticalPathMillis();
+        try {
+            return MAPPER.writeValueAsString(report);
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    private Set<String> criticalPathIds() {
+        Set<String> ids = new HashSet<>();
+        for (TaskTiming timing : criticalPath()) {
+            ids.add(timing.taskId());
+        }
+        return ids;
+    }
+
+    private static long offsetMillis(long nanos, long origin) {
+        if (nanos == 0 || origin == Long.MAX_VALUE) {
+            return -1;
+        }
+        return TimeUnit.NANOSECONDS.toMillis(nanos - origin);
+    }
+
+    private static String dotId(String value) {
+        return "\"" + value.replace("\\", "\\\\").replace("\"", "\\\"").replace("\n", "\\n") + "\"";
+    }
+
+    /**
+     * The JSON document exported by {@link #toJson()}.
+     */
+    @JsonPropertyOrder({ "tasks", "criticalPath", "criticalPathMillis" })
+    private static final class Report {
+        @JsonProperty
+        private final List<TaskReport> tasks = new ArrayList<>();
+        @JsonProperty
+        private final List<String> criticalPath = new ArrayList<>();
+        @JsonProperty
+        private long criticalPathMillis;
+    }
+
+    /**
+     * A task in the JSON document exported by {@link #toJson()}.
+     */
+    @JsonPropertyOrder({ "id", "category", "dependencies", "readyAtMillis", "startAtMillis", "endAtMillis",
+            "queueWaitMillis", "executionMillis", "faulted", "error", "critical" })
+    private static final class TaskReport {
+        @JsonProperty
+        private String id;
+        @JsonProperty
+        private String category;
+        @JsonProperty
+        private List<String> dependencies;
+        @JsonProperty
+        private long readyAtMillis;
+        @JsonProperty
+        private long startAtMillis;
+        @JsonProperty
+        private long endAtMillis;
+        @JsonProperty
+        private long queueWaitMillis;
+        @JsonProperty
+        private long executionMillis;
+        @JsonProperty
+        private boolean faulted;
+        @JsonProperty
+        @JsonInclude(JsonInclude.Include.NON_NULL)
+        private String error;
+        @JsonProperty
+        private boolean critical;
+    }
+}
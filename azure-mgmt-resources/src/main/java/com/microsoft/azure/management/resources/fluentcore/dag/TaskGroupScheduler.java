@@ -0,0 +1,195 @@
+/**
+ * Copyright (c) Microsoft Corporation. All rights reserved.
+ * Licensed under the MIT License. See License.txt in the project root for
+ * license information.
+ */
+
+package com.microsoft.azure.management.resources.fluentcore.dag;
+
+import rx.plugins.RxJavaHooks;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Type deciding which ready tasks of a {@link TaskGroup} invocation can start, applying the
+ * concurrency limits and the scheduling strategy of the invocation context.
+ * <p>
+ * A ready task that cannot start yet is held until a running task finishes and releases its slot.
+ */
+final class TaskGroupScheduler {
+    /**
+     * The task group being invoked.
+     */
+    private final TaskGroup taskGroup;
+    /**
+     * The context of the invocation.
+     */
+    private final TaskGroup.InvocationContext context;
+    /**
+     * The ready entries not yet started.
+     */
+    private final List<TaskGroupEntry<TaskItem>> pending = new ArrayList<>();
+    /**
+     * The keys of the started entries that hold a slot, mapped to their category.
+     */
+    private final Map<String, String> running = new HashMap<>();
+    /**
+     * The number of started entries in each category.
+     */
+    private final Map<String, Integer> runningPerCategory = new HashMap<>();
+    /**
+     * The number of tasks on the longest path from an entry to the root entry.
+     */
+    private final Map<String, Integer> pathLengths = new HashMap<>();
+
+    /**
+     * Creates TaskGroupScheduler.
+     *
+     * @param taskGroup the task group being invoked, prepared for enumeration
+     * @param context the context of the invocation
+     */
+    TaskGroupScheduler(TaskGroup taskGroup, TaskGroup.InvocationContext context) {
+        this.taskGroup = taskGroup;
+        this.context = context;
+    }
+
+    /**
+     * Adds an entry whose dependencies are resolved.
+     *
+     * @param entry the ready entry
+     */
+    synchronized void offer(TaskGroupEntry<TaskItem> entry) {
+        TaskTiming timing = this.context.taskTiming(entry);
+        timing.markReady();
+        this.pending.add(entry);
+        for (TaskGroupListener listener : this.context.listeners()) {
+            try {
+                listener.onTaskReady(timing);
+            } catch (RuntimeException e) {
+                RxJavaHooks.onError(e);
+            }
+        }
+    }
+
+    /**
+     * Removes and returns the ready entries that can start within the concurrency limits.
+     * The returned entries hold a slot until they are released.
+     *
+     * @return the entries to start
+     */
+    synchronized List<TaskGroupEntry<TaskItem>> pollStartable() {
+        List<TaskGroupEntry<TaskItem>> startable = new ArrayList<>();
+        if (this.pending.isEmpty()) {
+            return startable;
+        }
+        if (this.context.schedulingStrategy() == TaskGroupSchedulingStrategy.LONGEST_PATH_FIRST) {
+            // Stable sort, entries with the same path length stay in ready order
+            Collections.sort(this.pending, new Comparator<TaskGroupEntry<TaskItem>>() {
+                @Override
+                public int compare(TaskGroupEntry<TaskItem> e1, TaskGroupEntry<TaskItem> e2) {
+                    return pathLength(e2.key()) - pathLength(e1.key());
+                }
+            });
+        }
+        int maxConcurrency = this.context.maxConcurrency();
+        Iterator<TaskGroupEntry<TaskItem>> itr = this.pending.iterator();
+        while (itr.hasNext() && this.running.size() < maxConcurrency) {
+            TaskGroupEntry<TaskItem> entry = itr.next();
+            String category = this.context.taskCategory(entry.data());
+            if (category != null) {
+                int runningInCategory = this.runningPerCategory.containsKey(category)
+                        ? this.runningPerCategory.get(category)
+                        : 0;
+                if (runningInCategory >= this.context.maxConcurrency(category)) {
+                    continue;
+                }
+                this.runningPerCategory.put(category, runningInCategory + 1);
+            }
+            itr.remove();
+            this.running.put(entry.key(), category);
+            startable.add(entry);
+        }
+        return startable;
+    }
+
+    /**
+     * Records that a task has started.
+     *
+     * @param entry the entry holding the task
+     */
+    void onStarted(TaskGroupEntry<TaskItem> entry) {
+        TaskTiming timing = this.context.taskTiming(entry);
+        timing.markStarted();
+        for (TaskGroupListener listener : this.context.listeners()) {
+            try {
+                listener.onTaskStarted(timing);
+            } catch (RuntimeException e) {
+                RxJavaHooks.onError(e);
+            }
+        }
+    }
+
+    /**
+     * Records that a task has finished and releases the slot held by its entry.
+     *
+     * @param entry the entry holding the finished task
+     * @param throwable the reason for fault, null if the task completed successfully
+     */
+    void onFinished(TaskGroupEntry<TaskItem> entry, Throwable throwable) {
+        TaskTiming timing = this.context.taskTiming(entry);
+        timing.markFinished(throwable != null);
+        release(entry);
+        for (TaskGroupListener listener : this.context.listeners()) {
+            try {
+                if (throwable == null) {
+                    listener.onTaskCompleted(timing);
+                } else {
+                    listener.onTaskFaulted(timing, throwable);
+                }
+            } catch (RuntimeException e) {
+                RxJavaHooks.onError(e);
+            }
+        }
+    }
+
+    /**
+     * Releases the slot held by a started entry.
+     *
+     * @param entry the entry
+     */
+    private synchronized void release(TaskGroupEntry<TaskItem> entry) {
+        if (!this.running.containsKey(entry.key())) {
+            return;
+        }
+        String category = this.running.remove(entry.key());
+        if (category != null) {
+            this.runningPerCategory.put(category, this.runningPerCategory.get(category) - 1);
+        }
+    }
+
+    /**
+     * Gets the number of tasks on the longest path from the entry with the given key to the root entry,
+     * including both.
+     *
+     * @param key the entry key
+     * @return the path length
+     */
+    private int pathLength(String key) {
+        Integer length = this.pathLengths.get(key);
+        if (length == null) {
+            int longest = 0;
+            for (String dependentKey : this.taskGroup.getNode(key).dependentKeys()) {
+                longest = Math.max(longest, pathLength(dependentKey));
+            }
+            length = longest + 1;
+            this.pathLengths.put(key, length);
+        }
+        return length;
+    }
+}
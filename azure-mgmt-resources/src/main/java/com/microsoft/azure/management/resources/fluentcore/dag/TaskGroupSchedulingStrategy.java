@@ -0,0 +1,24 @@
+/**
+ * Copyright (c) Microsoft Corporation. All rights reserved.
+ * Licensed under the MIT License. See License.txt in the project root for
+ * license information.
+ */
+
+package com.microsoft.azure.management.resources.fluentcore.dag;
+
+/**
+ * Defines the order in which ready tasks of a task group are started when the number of tasks
+ * in flight is limited.
+ */
+public enum TaskGroupSchedulingStrategy {
+    /**
+     * Indicate that ready tasks are started in the order they became ready.
+     */
+    READY_ORDER,
+    /**
+     * Indicate that ready tasks with the longest chain of dependent tasks up to the root task
+     * are started first, so that the critical path of the group is not delayed by tasks with
+     * few dependents.
+     */
+    LONGEST_PATH_FIRST
+}
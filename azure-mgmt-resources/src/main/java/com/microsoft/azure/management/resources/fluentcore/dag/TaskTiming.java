@@ -0,0 +1,134 @@
+/**
+ * Copyright (c) Microsoft Corporation. All rights reserved.
+ * Licensed under the MIT License. See License.txt in the project root for
+ * license information.
+ */
+
+package com.microsoft.azure.management.resources.fluentcore.dag;
+
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Type representing the timing of a task invoked as part of a {@link TaskGroup} invocation.
+ * <p>
+ * The timestamps are values of {@link System#nanoTime()}, 0 if the task has not reached the stage yet.
+ */
+public final class TaskTiming {
+    private final String taskId;
+    private final String taskCategory;
+    private final List<String> dependencyTaskIds;
+    private volatile long readyNanos;
+    private volatile long startNanos;
+    private volatile long endNanos;
+    private volatile boolean faulted;
+
+    /**
+     * Creates TaskTiming.
+     *
+     * @param taskId the id of the task
+     * @param taskCategory the category of the task, null if the task is not categorized
+     * @param dependencyTaskIds the ids of the tasks this task depends on
+     */
+    TaskTiming(String taskId, String taskCategory, List<String> dependencyTaskIds) {
+        this.taskId = taskId;
+        this.taskCategory = taskCategory;
+        this.dependencyTaskIds = Collections.unmodifiableList(dependencyTaskIds);
+    }
+
+    /**
+     * @return the id of the task
+     */
+    public String taskId() {
+        return this.taskId;
+    }
+
+    /**
+     * @return the category of the task used to apply concurrency limits, null if the task is not categorized
+     */
+    public String taskCategory() {
+        return this.taskCategory;
+    }
+
+    /**
+     * @return the ids of the tasks this task depends on
+     */
+    public List<String> dependencyTaskIds() {
+        return this.dependencyTaskIds;
+    }
+
+    /**
+     * @return the time the dependencies of the task were resolved
+     */
+    public long readyNanos() {
+        return this.readyNanos;
+    }
+
+    /**
+     * @return the time the task was started
+     */
+    public long startNanos() {
+        return this.startNanos;
+    }
+
+    /**
+     * @return the time the task completed or faulted
+     */
+    public long endNanos() {
+        return this.endNanos;
+    }
+
+    /**
+     * @return true if the task has completed or faulted
+     */
+    public boolean isFinished() {
+        return this.endNanos != 0;
+    }
+
+    /**
+     * @return true if the task faulted
+     */
+    public boolean isFaulted() {
+        return this.faulted;
+    }
+
+    /**
+     * @return the time in milliseconds the task waited for a free slot after it was ready
+     */
+    public long queueWaitMillis() {
+        if (this.readyNanos == 0 || this.startNanos == 0) {
+            return 0;
+        }
+        return TimeUnit.NANOSECONDS.toMillis(this.startNanos - this.readyNanos);
+    }
+
+    /**
+     * @return the time in milliseconds the task took to execute
+     */
+    public long executionMillis() {
+        if (this.startNanos == 0 || this.endNanos == 0) {
+            return 0;
+        }
+        return TimeUnit.NANOSECONDS.toMillis(this.endNanos - this.startNanos);
+    }
+
+    void markReady() {
+        this.readyNanos = System.nanoTime();
+    }
+
+    void markStarted() {
+        this.startNanos = System.nanoTime();
+    }
+
+    void markFinished(boolean faulted) {
+        this.faulted = faulted;
+        this.endNanos = System.nanoTime();
+    }
+
+    @Override
+    public String toString() {
+        return taskId + " [" + taskCategory + "] wait=" + queueWaitMillis() + "ms exec=" + executionMillis() + "ms"
+                + (faulted ? " faulted" : "");
+    }
+}
@@ -21,7 +21,7 @@ import rx.functions.Func1;
  *
  * @param <ResourceT> the type of the resource that this task creates or update
  */
-public class CreateUpdateTask<ResourceT extends Indexable> implements TaskItem {
+public class CreateUpdateTask<ResourceT extends Indexable> implements TaskItem, TaskGroup.HasTaskCategory {
     /**
      * the underlying instance that can create and update the resource.
      */
@@ -95,6 +95,22 @@ public class CreateUpdateTask<ResourceT extends Indexable> implements TaskItem {
         return this.resourceCreatorUpdater.isHot();
     }
 
+    /**
+     * @return the name of the type of the resource this task creates or updates e.g. "VirtualMachine"
+     */
+    @Override
+    public String taskCategory() {
+        Class<?> type = this.resourceCreatorUpdater.getClass();
+        while (type.isAnonymousClass()) {
+            type = type.getSuperclass();
+        }
+        String name = type.getSimpleName();
+        if (name.endsWith("Impl")) {
+            return name.substring(0, name.length() - "Impl".length());
+        }
+        return name;
+    }
+
 
     /**
      * Represents a type that know how to create or update a resource of type {@link T}.
@@ -8,7 +8,6 @@ package com.microsoft.azure.management.resources.fluentcore.utils;
 
 import org.joda.time.DateTime;
 import rx.Observable;
-import rx.schedulers.Schedulers;
 
 import java.util.concurrent.TimeUnit;
 
@@ -36,6 +35,9 @@ public class DelayProvider {
 
     /**
      * Creates an observable that emits the given item after the specified time in milliseconds.
+     * <p>
+     * The delay waits on the SDK timer and does not hold a thread; the item is emitted on the
+     * SDK Rx scheduler.
      *
      * @param event the event to emit
      * @param milliseconds the delay in milliseconds
@@ -43,6 +45,6 @@ public class DelayProvider {
      * @return delayed observable
      */
     public <T> Observable<T>  delayedEmitAsync(T event, int milliseconds) {
-        return Observable.just(event).delay(milliseconds, TimeUnit.MILLISECONDS, Schedulers.immediate());
+        return Observable.just(event).delay(milliseconds, TimeUnit.MILLISECONDS, SdkContext.getTimerScheduler());
     }
 }
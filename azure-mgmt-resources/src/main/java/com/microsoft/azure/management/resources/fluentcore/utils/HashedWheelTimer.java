@@ -0,0 +1,315 @@
+/**
+ * Copyright (c) Microsoft Corporation. All rights reserved.
+ * Licensed under the MIT License. See License.txt in the project root for
+ * license information.
+ */
+
+package com.microsoft.azure.management.resources.fluentcore.utils;
+
+import rx.Scheduler;
+import rx.Subscription;
+import rx.functions.Action0;
+import rx.plugins.RxJavaHooks;
+import rx.subscriptions.CompositeSubscription;
+import rx.subscriptions.Subscriptions;
+
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * A timer driving any number of delayed tasks from a single thread.
+ * <p>
+ * Timeouts are hashed into the buckets of a wheel that advances one bucket per tick, so scheduling and
+ * cancelling are constant time and a pending timeout costs an entry rather than a thread. Expired tasks run
+ * on the timer thread and are expected to be short; {@link #asScheduler(Scheduler)} dispatches them to
+ * another scheduler.
+ */
+public final class HashedWheelTimer {
+    private static final AtomicInteger THREAD_COUNT = new AtomicInteger();
+
+    private final long tickNanos;
+    private final List<WheelTimeout>[] wheel;
+    private final int mask;
+    private final Queue<WheelTimeout> newTimeouts = new ConcurrentLinkedQueue<>();
+    private final AtomicInteger pendingTimeouts = new AtomicInteger();
+    private final AtomicBoolean started = new AtomicBoolean();
+    // The origin of the deadlines, set before the timer can be used so that no deadline is computed from 0
+    private final long startNanos;
+
+    /**
+     * Creates a timer with a tick of 10 milliseconds and 512 buckets.
+     */
+    public HashedWheelTimer() {
+        this(10, TimeUnit.MILLISECONDS, 512);
+    }
+
+    /**
+     * Creates a timer.
+     *
+     * @param tickDuration the duration between ticks, the precision of the timer
+     * @param unit the unit of the tick duration
+     * @param ticksPerWheel the number of buckets in the wheel, rounded up to a power of 2
+     */
+    @SuppressWarnings("unchecked")
+    public HashedWheelTimer(long tickDuration, TimeUnit unit, int ticksPerWheel) {
+        if (tickDuration <= 0 || ticksPerWheel <= 0) {
+            throw new IllegalArgumentException("tickDuration and ticksPerWheel must be positive");
+        }
+        int size = 1;
+        while (size < ticksPerWheel) {
+            size <<= 1;
+        }
+        this.tickNanos = unit.toNanos(tickDuration);
+        this.mask = size - 1;
+        this.wheel = new List[size];
+        for (int i = 0; i < size; i++) {
+            this.wheel[i] = new ArrayList<>();
+        }
+        this.startNanos = System.nanoTime();
+    }
+
+    /**
+     * Schedules a task to run once after the given delay.
+     *
+     * @param task the task to run on the timer thread
+     * @param delay the delay
+     * @param unit the unit of the delay
+     * @return a subscription that cancels the task when unsubscribed
+     */
+    public Subscription newTimeout(Runnable task, long delay, TimeUnit unit) {
+        start();
+        long deadline = System.nanoTime() - startNanos + unit.toNanos(Math.max(0, delay));
+        WheelTimeout timeout = new WheelTimeout(task, deadline);
+        pendingTimeouts.incrementAndGet();
+        newTimeouts.add(timeout);
+        return timeout;
+    }
+
+    /**
+     * @return the number of timeouts scheduled but neither expired nor cancelled
+     */
+    public int pendingTimeouts() {
+        return pendingTimeouts.get();
+    }
+
+    /**
+     * Gets a scheduler whose delayed actions wait on this timer and then run on the dispatch scheduler.
+     * Actions without a delay are handed to the dispatch scheduler directly.
+     *
+     * @param dispatcher the scheduler running the actions
+     * @return the scheduler
+     */
+    public Scheduler asScheduler(Scheduler dispatcher) {
+        return new TimerScheduler(this, dispatcher);
+    }
+
+    private void start() {
+        if (started.compareAndSet(false, true)) {
+            Thread worker = new Thread(new Runnable() {
+                @Override
+                public void run() {
+                    runWheel();
+                }
+            }, "azure-sdk-timer-" + THREAD_COUNT.incrementAndGet());
+            worker.setDaemon(true);
+            worker.start();
+        }
+    }
+
+    private void runWheel() {
+        // The wheel starts at the tick of its first use rather than catching up from its creation
+        long tick = (System.nanoTime() - startNanos) / tickNanos;
+        while (true) {
+            long deadline = tickNanos * (tick + 1);
+            long sleepNanos;
+            while ((sleepNanos = deadline - (System.nanoTime() - startNanos)) > 0) {
+                LockSupport.parkNanos(this, sleepNanos);
+            }
+            transferNewTimeouts(tick);
+            expireTimeouts(wheel[(int) (tick & mask)]);
+            tick++;
+        }
+    }
+
+    private void transferNewTimeouts(long currentTick) {
+        WheelTimeout timeout;
+        while ((timeout = newTimeouts.poll()) != null) {
+            if (timeout.isUnsubscribed()) {
+                continue;
+            }
+            long calculated = timeout.deadline / tickNanos;
+            timeout.remainingRounds = (calculated - currentTick) / wheel.length;
+            long ticks = Math.max(calculated, currentTick);
+            wheel[(int) (ticks & mask)].add(timeout);
+        }
+    }
+
+    private void expireTimeouts(List<WheelTimeout> bucket) {
+        Iterator<WheelTimeout> itr = bucket.iterator();
+        while (itr.hasNext()) {
+            WheelTimeout timeout = itr.next();
+            if (timeout.isUnsubscribed()) {
+                itr.remove();
+            } else if (timeout.remainingRounds <= 0) {
+                itr.remove();
+                timeout.expire();
+            } else {
+                timeout.remainingRounds--;
+            }
+        }
+    }
+
+    private final class WheelTimeout implements Subscription {
+        private final Runnable task;
+        private final long deadline;
+        private final AtomicBoolean done = new AtomicBoolean();
+        private long remainingRounds;
+
+        WheelTimeout(Runnable task, long deadline) {
+            this.task = task;
+            this.deadline = deadline;
+        }
+
+        void expire() {
+            if (done.compareAndSet(false, true)) {
+                pendingTimeouts.decrementAndGet();
+                try {
+                    task.run();
+                } catch (Throwable t) {
+                    RxJavaHooks.onError(t);
+                }
+            }
+        }
+
+        @Override
+        public void unsubscribe() {
+            if (done.compareAndSet(false, true)) {
+                pendingTimeouts.decrementAndGet();
+            }
+        }
+
+        @Override
+        public boolean isUnsubscribed() {
+            return done.get();
+        }
+    }
+
+    private static final class TimerScheduler extends Scheduler {
+        private final HashedWheelTimer timer;
+        private final Scheduler dispatcher;
+
+        TimerScheduler(HashedWheelTimer timer, Scheduler dispatcher) {
+            this.timer = timer;
+            this.dispatcher = dispatcher;
+        }
+
+        @Override
+        public Worker createWorker() {
+            return new TimerWorker(timer, dispatcher);
+        }
+    }
+
+    /**
+     * A worker holding a worker of the dispatch scheduler only while it has actions to run, so that a
+     * pending delay does not hold a thread of the dispatch scheduler.
+     */
+    private static final class TimerWorker extends Scheduler.Worker {
+        private final HashedWheelTimer timer;
+        private final Scheduler dispatcher;
+        private final CompositeSubscription timeouts = new CompositeSubscription();
+        // The worker running the actions, shared while any is in flight so that they run one at a time
+        private Scheduler.Worker dispatchWorker;
+        private int dispatching;
+
+        TimerWorker(HashedWheelTimer timer, Scheduler dispatcher) {
+            this.timer = timer;
+            this.dispatcher = dispatcher;
+        }
+
+        @Override
+        public Subscription schedule(final Action0 action) {
+            Scheduler.Worker worker;
+            synchronized (this) {
+                if (isUnsubscribed()) {
+                    return Subscriptions.unsubscribed();
+                }
+                if (dispatchWorker == null) {
+                    dispatchWorker = dispatcher.createWorker();
+                }
+                dispatching++;
+                worker = dispatchWorker;
+            }
+            return worker.schedule(new Action0() {
+                @Override
+                public void call() {
+                    try {
+                        action.call();
+                    } finally {
+                        release();
+                    }
+                }
+            });
+        }
+
+        private synchronized void release() {
+            if (--dispatching == 0 && dispatchWorker != null) {
+                dispatchWorker.unsubscribe();
+                dispatchWorker = null;
+            }
+        }
+
+        @Override
+        public Subscription schedule(final Action0 action, long delayTime, TimeUnit unit) {
+            if (delayTime <= 0) {
+                return schedule(action);
+            }
+            if (isUnsubscribed()) {
+                return Subscriptions.unsubscribed();
+            }
+            final Subscription[] fired = new Subscription[1];
+            final Subscription timeout = timer.newTimeout(new Runnable() {
+                @Override
+                public void run() {
+                    synchronized (fired) {
+                        if (fired[0] != null) {
+                            timeouts.remove(fired[0]);
+                        }
+                        fired[0] = Subscriptions.unsubscribed();
+                    }
+                    schedule(action);
+                }
+            }, delayTime, unit);
+            synchronized (fired) {
+                // A timeout firing before being tracked is not tracked at all
+                if (fired[0] == null) {
+                    fired[0] = timeout;
+                    timeouts.add(timeout);
+                }
+            }
+            return timeout;
+        }
+
+        @Override
+        public void unsubscribe() {
+            timeouts.unsubscribe();
+            synchronized (this) {
+                if (dispatchWorker != null) {
+                    dispatchWorker.unsubscribe();
+                    dispatchWorker = null;
+                }
+            }
+        }
+
+        @Override
+        public boolean isUnsubscribed() {
+            return timeouts.isUnsubscribed();
+        }
+    }
+}
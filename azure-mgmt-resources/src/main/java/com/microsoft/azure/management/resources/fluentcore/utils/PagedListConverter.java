@@ -11,21 +11,34 @@ import com.microsoft.azure.PagedList;
 import com.microsoft.azure.management.resources.implementation.PageImpl;
 import com.microsoft.rest.RestException;
 import rx.Observable;
+import rx.exceptions.Exceptions;
 import rx.functions.Func1;
 
 import java.io.IOException;
 import java.util.ArrayList;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Future;
 
 /**
  * The base class for converting {@link PagedList} of one type of resource to
  * another, without polling down all the items in a list.
  * This converter is useful in converting inner top level resources into fluent
  * top level resources.
+ * <p>
+ * The items of a page are converted with up to {@link #withParallelism(int) parallelism} conversions in
+ * flight, keeping their order. In {@link #withReadAhead(boolean) read-ahead} mode the next page is fetched
+ * and converted in the background while the caller consumes the current one.
  *
  * @param <U> the type of Resource to convert from
  * @param <V> the type of Resource to convert to
  */
 public abstract class PagedListConverter<U, V> {
+    private static final int ITEMS_PREFETCH = 128;
+
+    private int parallelism = 16;
+    private boolean readAhead;
+
     /**
      * Override this method to define how to convert each Resource item
      * individually.
@@ -44,6 +57,36 @@ public abstract class PagedListConverter<U, V> {
         return true;
     }
 
+    /**
+     * Sets the maximum number of items converted concurrently, 16 by default.
+     *
+     * @param parallelism the maximum number of concurrent {@link #typeConvertAsync(Object)} calls
+     * @return the converter
+     */
+    public PagedListConverter<U, V> withParallelism(int parallelism) {
+        if (parallelism < 1) {
+            throw new IllegalArgumentException("parallelism must be at least 1");
+        }
+        this.parallelism = parallelism;
+        return this;
+    }
+
+    /**
+     * Sets whether the next page is fetched and converted while the caller consumes the current page.
+     * Read-ahead hides the latency of fetching pages when the whole list is enumerated, at the cost of
+     * fetching one page that may not be used when the enumeration stops early. The extra page counts
+     * against the Azure Resource Manager read quota, so read-ahead is disabled by default and is meant for
+     * call sites known to enumerate whole lists, such as {@code WebApps.listWithReadAhead()} and
+     * {@code VirtualMachines.listWithReadAhead()}.
+     *
+     * @param readAhead true to enable read-ahead
+     * @return the converter
+     */
+    public PagedListConverter<U, V> withReadAhead(boolean readAhead) {
+        this.readAhead = readAhead;
+        return this;
+    }
+
     /**
      * Converts the paged list.
      *
@@ -59,24 +102,69 @@ public abstract class PagedListConverter<U, V> {
                 }
             };
         }
-        Page<U> uPage = uList.currentPage();
-        final PageImpl<V> vPage = new PageImpl<>();
-        vPage.setNextPageLink(uPage.nextPageLink());
-        vPage.setItems(new ArrayList<V>());
-        loadConvertedList(uPage, vPage);
+        final Page<V> vPage = convertPage(uList.currentPage());
+        if (!readAhead) {
+            return new PagedList<V>(vPage) {
+                @Override
+                public Page<V> nextPage(String nextPageLink) throws RestException, IOException {
+                    return convertPage(uList.nextPage(nextPageLink));
+                }
+            };
+        }
         return new PagedList<V>(vPage) {
+            private String prefetchedPageLink = vPage.nextPageLink();
+            private Future<Page<V>> prefetchedPage = prefetchPage(uList, prefetchedPageLink);
+
             @Override
-            public Page<V> nextPage(String nextPageLink) throws RestException, IOException {
-                Page<U> uPage = uList.nextPage(nextPageLink);
-                final PageImpl<V> vPage = new PageImpl<>();
-                vPage.setNextPageLink(uPage.nextPageLink());
-                vPage.setItems(new ArrayList<V>());
-                loadConvertedList(uPage, vPage);
-                return vPage;
+            public synchronized Page<V> nextPage(String nextPageLink) throws RestException, IOException {
+                Page<V> page;
+                if (prefetchedPage != null && nextPageLink.equals(prefetchedPageLink)) {
+                    page = await(prefetchedPage);
+                } else {
+                    page = convertPage(uList.nextPage(nextPageLink));
+                }
+                // fetch the following page while the caller consumes this one
+                prefetchedPageLink = page.nextPageLink();
+                prefetchedPage = prefetchPage(uList, prefetchedPageLink);
+                return page;
             }
         };
     }
 
+    private Future<Page<V>> prefetchPage(final PagedList<U> uList, final String nextPageLink) {
+        if (nextPageLink == null) {
+            return null;
+        }
+        return Observable.fromCallable(new Callable<Page<V>>() {
+            @Override
+            public Page<V> call() throws Exception {
+                return convertPage(uList.nextPage(nextPageLink));
+            }
+        }).subscribeOn(SdkContext.getRxScheduler()).toBlocking().toFuture();
+    }
+
+    private static <T> T await(Future<T> future) throws IOException {
+        try {
+            return future.get();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw Exceptions.propagate(e);
+        } catch (ExecutionException e) {
+            if (e.getCause() instanceof IOException) {
+                throw (IOException) e.getCause();
+            }
+            throw Exceptions.propagate(e.getCause());
+        }
+    }
+
+    private Page<V> convertPage(Page<U> uPage) {
+        final PageImpl<V> vPage = new PageImpl<>();
+        vPage.setNextPageLink(uPage.nextPageLink());
+        vPage.setItems(new ArrayList<V>());
+        loadConvertedList(uPage, vPage);
+        return vPage;
+    }
+
     private void loadConvertedList(final Page<U> uPage, final Page<V> vPage) {
         Observable.from(uPage.items())
                 .filter(new Func1<U, Boolean>() {
@@ -85,12 +173,12 @@ public abstract class PagedListConverter<U, V> {
                         return filter(u);
                     }
                 })
-                .flatMap(new Func1<U, Observable<V>>() {
+                .concatMapEager(new Func1<U, Observable<V>>() {
                     @Override
                     public Observable<V> call(U u) {
                         return typeConvertAsync(u);
                     }
-                })
+                }, ITEMS_PREFETCH, parallelism)
                 .map(new Func1<V, V>() {
                     @Override
                     public V call(V v) {
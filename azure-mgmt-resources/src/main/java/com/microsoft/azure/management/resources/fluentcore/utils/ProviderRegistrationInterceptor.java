@@ -6,36 +6,67 @@
 
 package com.microsoft.azure.management.resources.fluentcore.utils;
 
-import com.microsoft.azure.AzureResponseBuilder;
 import com.microsoft.azure.CloudError;
 import com.microsoft.azure.credentials.AzureTokenCredentials;
-import com.microsoft.azure.management.resources.Provider;
-import com.microsoft.azure.management.resources.implementation.ResourceManager;
+import com.microsoft.azure.management.resources.implementation.ProviderInner;
 import com.microsoft.azure.serializer.AzureJacksonAdapter;
-import com.microsoft.rest.RestClient;
+import okhttp3.HttpUrl;
 import okhttp3.Interceptor;
+import okhttp3.MediaType;
+import okhttp3.Request;
+import okhttp3.RequestBody;
 import okhttp3.Response;
 import okhttp3.ResponseBody;
 import okio.Buffer;
 import okio.BufferedSource;
 
 import java.io.IOException;
+import java.io.InterruptedIOException;
+import java.util.Collections;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.CountDownLatch;
 import java.util.regex.Matcher;
 import java.util.regex.Pattern;
 
 /**
  * An interceptor for automatic provider registration in Azure.
+ * <p>
+ * A request failing because its resource provider is not registered with the subscription registers
+ * the provider, waits for the registration to complete and is retried. Concurrent requests to the same
+ * unregistered provider share a single registration, and the registration requests go through the same
+ * client stack as the intercepted requests.
  */
 public final class ProviderRegistrationInterceptor implements Interceptor {
-    private final AzureTokenCredentials credentials;
+    private static final String API_VERSION = "2017-05-10";
+    private static final int INITIAL_POLL_DELAY_MILLIS = 1000;
+    private static final int MAX_POLL_DELAY_MILLIS = 30 * 1000;
+    private static final Pattern SUBSCRIPTION_PATTERN = Pattern.compile("/subscriptions/([\\w-]+)/", Pattern.CASE_INSENSITIVE);
+    private static final Pattern NAMESPACE_PATTERN = Pattern.compile(".*'(.*)'");
+
+    private final AzureJacksonAdapter jacksonAdapter = new AzureJacksonAdapter();
+    // The registrations in progress, by lower case subscription and namespace
+    private final ConcurrentMap<String, Registration> registrations = new ConcurrentHashMap<>();
+    // The lower case subscriptions and namespaces registered by this interceptor
+    private final Set<String> registered = Collections.newSetFromMap(new ConcurrentHashMap<String, Boolean>());
 
     /**
-     * Initialize a provider registration interceptor with a credential that's authorized
-     * to register the provider.
-     * @param credentials the credential for provider registration
+     * Initialize a provider registration interceptor. The registration requests are authorized by the
+     * client the interceptor is added to.
      */
+    public ProviderRegistrationInterceptor() {
+    }
+
+    /**
+     * Initialize a provider registration interceptor.
+     *
+     * @param credentials unused; the credential of the client the interceptor is added to authorizes the registrations
+     * @deprecated use {@link #ProviderRegistrationInterceptor()}, the credentials are not used any more
+     */
+    @Deprecated
     public ProviderRegistrationInterceptor(AzureTokenCredentials credentials) {
-        this.credentials = credentials;
+        this();
     }
 
     @Override
@@ -43,29 +74,19 @@ public final class ProviderRegistrationInterceptor implements Interceptor {
         Response response = chain.proceed(chain.request());
         if (!response.isSuccessful()) {
             String content = errorBody(response.body());
-            AzureJacksonAdapter jacksonAdapter = new AzureJacksonAdapter();
             CloudError cloudError = jacksonAdapter.deserialize(content, CloudError.class);
             if (cloudError != null && "MissingSubscriptionRegistration".equals(cloudError.code())) {
-                Pattern pattern = Pattern.compile("/subscriptions/([\\w-]+)/", Pattern.CASE_INSENSITIVE);
-                Matcher matcher = pattern.matcher(chain.request().url().toString());
-                matcher.find();
-                RestClient restClient = new RestClient.Builder()
-                        .withBaseUrl("https://" + chain.request().url().host())
-                        .withCredentials(credentials)
-                        .withSerializerAdapter(jacksonAdapter)
-                        .withResponseBuilderFactory(new AzureResponseBuilder.Factory())
-                        .build();
-                ResourceManager resourceManager = ResourceManager.authenticate(restClient)
-                        .withSubscription(matcher.group(1));
-                pattern = Pattern.compile(".*'(.*)'");
-                matcher = pattern.matcher(cloudError.message());
-                matcher.find();
-                Provider provider = registerProvider(matcher.group(1), resourceManager);
-                while (provider.registrationState().equalsIgnoreCase("Unregistered")
-                        || provider.registrationState().equalsIgnoreCase("Registering")) {
-                    SdkContext.sleep(5 * 1000);
-                    provider = resourceManager.providers().getByName(provider.namespace());
+                Matcher subscription = SUBSCRIPTION_PATTERN.matcher(chain.request().url().toString());
+                Matcher namespace = NAMESPACE_PATTERN.matcher(cloudError.message());
+                if (!subscription.find() || !namespace.find()) {
+                    return response;
+                }
+                String key = (subscription.group(1) + "/" + namespace.group(1)).toLowerCase();
+                // A provider registered already may take a moment to be visible to all the regions
+                if (!registered.contains(key)) {
+                    registerOnce(chain, subscription.group(1), namespace.group(1), key);
                 }
+                response.close();
                 // Retry
                 response = chain.proceed(chain.request());
             }
@@ -73,6 +94,61 @@ public final class ProviderRegistrationInterceptor implements Interceptor {
         return response;
     }
 
+    private void registerOnce(Chain chain, String subscriptionId, String namespace, String key) throws IOException {
+        Registration registration = new Registration();
+        Registration inProgress = registrations.putIfAbsent(key, registration);
+        if (inProgress != null) {
+            inProgress.await(namespace);
+            return;
+        }
+        try {
+            // Skipped when a registration completed between the check of the caller and now
+            if (!registered.contains(key)) {
+                register(chain, subscriptionId, namespace);
+                registered.add(key);
+            }
+            registration.complete(null);
+        } catch (IOException | RuntimeException e) {
+            registration.complete(e);
+            throw e;
+        } finally {
+            registrations.remove(key, registration);
+        }
+    }
+
+    private void register(Chain chain, String subscriptionId, String namespace) throws IOException {
+        HttpUrl providerUrl = chain.request().url().newBuilder()
+                .encodedPath("/subscriptions/" + subscriptionId + "/providers/" + namespace)
+                .query(null)
+                .addQueryParameter("api-version", API_VERSION)
+                .build();
+        HttpUrl registerUrl = providerUrl.newBuilder().addPathSegment("register").build();
+        String state = registrationState(chain.proceed(new Request.Builder()
+                .url(registerUrl)
+                .post(RequestBody.create(MediaType.parse("application/json; charset=utf-8"), ""))
+                .build()));
+        // Poll less often as the registration takes longer
+        int delay = INITIAL_POLL_DELAY_MILLIS;
+        while ("Unregistered".equalsIgnoreCase(state) || "Registering".equalsIgnoreCase(state)) {
+            SdkContext.sleep(delay);
+            delay = Math.min(delay * 2, MAX_POLL_DELAY_MILLIS);
+            state = registrationState(chain.proceed(new Request.Builder().url(providerUrl).get().build()));
+        }
+    }
+
+    private String registrationState(Response response) throws IOException {
+        try {
+            String content = response.body() == null ? null : response.body().string();
+            if (!response.isSuccessful()) {
+                throw new IOException("Failed to register resource provider: " + response.code() + " " + content);
+            }
+            ProviderInner provider = jacksonAdapter.deserialize(content, ProviderInner.class);
+            return provider == null ? null : provider.registrationState();
+        } finally {
+            response.close();
+        }
+    }
+
     private String errorBody(ResponseBody responseBody) throws IOException {
         if (responseBody == null) {
             return null;
@@ -83,7 +159,28 @@ public final class ProviderRegistrationInterceptor implements Interceptor {
         return buffer.clone().readUtf8();
     }
 
-    private Provider registerProvider(String namespace, ResourceManager resourceManager) {
-        return resourceManager.providers().register(namespace);
+    /**
+     * A registration other requests to the same provider wait for.
+     */
+    private static final class Registration {
+        private final CountDownLatch done = new CountDownLatch(1);
+        private volatile Exception error;
+
+        void complete(Exception error) {
+            this.error = error;
+            this.done.countDown();
+        }
+
+        void await(String namespace) throws IOException {
+            try {
+                this.done.await();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                throw new InterruptedIOException("Interrupted while waiting for the registration of " + namespace);
+            }
+            if (this.error != null) {
+                throw new IOException("Failed to register resource provider " + namespace, this.error);
+            }
+        }
     }
 }
@@ -0,0 +1,317 @@
+/**
+ * Copyright (c) Microsoft Corporation. All rights reserved.
+ * Licensed under the MIT License. See License.txt in the project root for
+ * license information.
+ */
+
+package com.microsoft.azure.management.resources.fluentcore.utils;
+
+import okhttp3.Response;
+import rx.Observable;
+import rx.functions.Func1;
+
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * A client side rate governor for Azure Resource Manager requests.
+ * <p>
+ * Requests are paced by token buckets keyed by scope and access class: subscription level requests by the
+ * bucket of their subscription, tenant level requests by the bucket of their tenant. The buckets are
+ * calibrated with the x-ms-ratelimit-remaining-* headers of their scope returned by Azure Resource Manager,
+ * and are drained for the Retry-After interval when a request is throttled, so that concurrent requests wait
+ * individually instead of serializing on a lock, and throttling in a subscription does not delay the others.
+ */
+public final class ResourceManagerRateGovernor {
+    /**
+     * The access class a request is accounted against.
+     */
+    public enum AccessClass {
+        /** GET and HEAD requests. */
+        READ,
+        /** PUT, PATCH, POST and DELETE requests. */
+        WRITE;
+
+        /**
+         * Gets the access class of a HTTP method.
+         *
+         * @param method the HTTP method
+         * @return the access class
+         */
+        public static AccessClass fromHttpMethod(String method) {
+            if ("GET".equalsIgnoreCase(method) || "HEAD".equalsIgnoreCase(method)) {
+                return READ;
+            }
+            return WRITE;
+        }
+    }
+
+    private static final String COMMON_TENANT = "common";
+    private static final String REMAINING_HEADER_PREFIX = "x-ms-ratelimit-remaining-";
+    private static final ResourceManagerRateGovernor DEFAULT_GOVERNOR = new ResourceManagerRateGovernor();
+
+    private final ConcurrentMap<String, TokenBucket> buckets = new ConcurrentHashMap<>();
+    private volatile long readsPerHour = 15000;
+    private volatile long writesPerHour = 1200;
+    private volatile long readBurstCapacity = 15000;
+    private volatile long writeBurstCapacity = 1200;
+
+    private final AtomicLong throttledRequestCount = new AtomicLong();
+    private final AtomicLong pacedRequestCount = new AtomicLong();
+    private final AtomicLong totalWaitMillis = new AtomicLong();
+
+    /**
+     * @return the governor shared by all the Azure Resource Manager clients in this process
+     */
+    public static ResourceManagerRateGovernor defaultGovernor() {
+        return DEFAULT_GOVERNOR;
+    }
+
+    /**
+     * Specifies the sustained number of requests per hour allowed for an access class.
+     *
+     * @param accessClass the access class
+     * @param requestsPerHour the number of requests per hour
+     * @return the governor
+     */
+    public ResourceManagerRateGovernor withRequestsPerHour(AccessClass accessClass, long requestsPerHour) {
+        if (requestsPerHour <= 0) {
+            throw new IllegalArgumentException("requestsPerHour must be positive");
+        }
+        if (accessClass == AccessClass.READ) {
+            this.readsPerHour = requestsPerHour;
+        } else {
+            this.writesPerHour = requestsPerHour;
+        }
+        return this;
+    }
+
+    /**
+     * Specifies the number of requests of an access class that can be sent in a burst without pacing.
+     *
+     * @param accessClass the access class
+     * @param burstCapacity the burst capacity
+     * @return the governor
+     */
+    public ResourceManagerRateGovernor withBurstCapacity(AccessClass accessClass, long burstCapacity) {
+        if (burstCapacity <= 0) {
+            throw new IllegalArgumentException("burstCapacity must be positive");
+        }
+        if (accessClass == AccessClass.READ) {
+            this.readBurstCapacity = burstCapacity;
+        } else {
+            this.writeBurstCapacity = burstCapacity;
+        }
+        return this;
+    }
+
+    /**
+     * Reserves a request against the bucket of its subscription, or of its tenant for tenant level requests.
+     *
+     * @param subscriptionId the subscription id, null for tenant level requests
+     * @param tenantId the tenant id, null if unknown
+     * @param accessClass the access class of the request
+     * @return the time in milliseconds the caller must wait before sending the request
+     */
+    public long reserve(String subscriptionId, String tenantId, AccessClass accessClass) {
+        long now = System.nanoTime();
+        long capacity = capacity(accessClass);
+        double tokensPerNano = tokensPerNano(accessClass);
+        long waitNanos = bucket(scopeKey(subscriptionId, tenantId, accessClass), capacity, now)
+                .reserve(capacity, tokensPerNano, now);
+        return TimeUnit.NANOSECONDS.toMillis(waitNanos);
+    }
+
+    /**
+     * Waits until a request is allowed to be sent by the governor.
+     *
+     * @param subscriptionId the subscription id, null for tenant level requests
+     * @param tenantId the tenant id, null if unknown
+     * @param accessClass the access class of the request
+     */
+    public void acquire(String subscriptionId, String tenantId, AccessClass accessClass) {
+        long waitMillis = reserve(subscriptionId, tenantId, accessClass);
+        if (waitMillis > 0) {
+            recordWait(waitMillis);
+            SdkContext.sleep((int) Math.min(waitMillis, Integer.MAX_VALUE));
+        }
+    }
+
+    /**
+     * Gets an observable that emits once a request is allowed to be sent by the governor. The wait
+     * is scheduled on the SDK Rx scheduler and does not block the subscribing thread.
+     *
+     * @param subscriptionId the subscription id, null for tenant level requests
+     * @param tenantId the tenant id, null if unknown
+     * @param accessClass the access class of the request
+     * @return an observable emitting the time waited in milliseconds
+     */
+    public Observable<Long> acquireAsync(String subscriptionId, String tenantId, AccessClass accessClass) {
+        final long waitMillis = reserve(subscriptionId, tenantId, accessClass);
+        if (waitMillis <= 0) {
+            return Observable.just(0L);
+        }
+        recordWait(waitMillis);
+        return Observable.timer(waitMillis, TimeUnit.MILLISECONDS, SdkContext.getRxScheduler())
+                .map(new Func1<Long, Long>() {
+                    @Override
+                    public Long call(Long ignored) {
+                        return waitMillis;
+                    }
+                });
+    }
+
+    /**
+     * Calibrates the bucket of the request with the remaining quota of its scope reported in the response
+     * headers: the subscription quota for subscription level requests, the tenant quota for tenant level
+     * requests.
+     *
+     * @param subscriptionId the subscription id, null for tenant level requests
+     * @param tenantId the tenant id, null if unknown
+     * @param accessClass the access class of the request
+     * @param response the response from Azure Resource Manager
+     */
+    public void onResponse(String subscriptionId, String tenantId, AccessClass accessClass, Response response) {
+        String scope = subscriptionId == null ? "tenant-" : "subscription-";
+        String suffix = accessClass == AccessClass.READ ? "reads" : "writes";
+        long remaining = remaining(response, REMAINING_HEADER_PREFIX + scope + suffix);
+        if (remaining >= 0) {
+            long now = System.nanoTime();
+            long capacity = capacity(accessClass);
+            bucket(scopeKey(subscriptionId, tenantId, accessClass), capacity, now)
+                    .calibrate(remaining, capacity, tokensPerNano(accessClass), now);
+        }
+    }
+
+    /**
+     * Drains the bucket of a request after it is throttled.
+     *
+     * @param subscriptionId the subscription id, null for tenant level requests
+     * @param tenantId the tenant id, null if unknown
+     * @param accessClass the access class of the request
+     * @param retryAfterMillis the time in milliseconds before requests may be sent again
+     */
+    public void onThrottled(String subscriptionId, String tenantId, AccessClass accessClass, long retryAfterMillis) {
+        throttledRequestCount.incrementAndGet();
+        long now = System.nanoTime();
+        long capacity = capacity(accessClass);
+        long retryAfterNanos = TimeUnit.MILLISECONDS.toNanos(Math.max(0, retryAfterMillis));
+        bucket(scopeKey(subscriptionId, tenantId, accessClass), capacity, now).block(now + retryAfterNanos);
+    }
+
+    /**
+     * @return the number of requests throttled by Azure Resource Manager
+     */
+    public long throttledRequestCount() {
+        return throttledRequestCount.get();
+    }
+
+    /**
+     * @return the number of requests delayed by the governor
+     */
+    public long pacedRequestCount() {
+        return pacedRequestCount.get();
+    }
+
+    /**
+     * @return the total time in milliseconds requests have waited on the governor
+     */
+    public long totalWaitMillis() {
+        return totalWaitMillis.get();
+    }
+
+    private void recordWait(long waitMillis) {
+        pacedRequestCount.incrementAndGet();
+        totalWaitMillis.addAndGet(waitMillis);
+    }
+
+    private long capacity(AccessClass accessClass) {
+        return accessClass == AccessClass.READ ? readBurstCapacity : writeBurstCapacity;
+    }
+
+    private double tokensPerNano(AccessClass accessClass) {
+        long perHour = accessClass == AccessClass.READ ? readsPerHour : writesPerHour;
+        return perHour / (double) TimeUnit.HOURS.toNanos(1);
+    }
+
+    private TokenBucket bucket(String key, long capacity, long now) {
+        TokenBucket bucket = buckets.get(key);
+        if (bucket == null) {
+            buckets.putIfAbsent(key, new TokenBucket(capacity, now));
+            bucket = buckets.get(key);
+        }
+        return bucket;
+    }
+
+    private static String scopeKey(String subscriptionId, String tenantId, AccessClass accessClass) {
+        if (subscriptionId != null) {
+            return "subscriptions/" + subscriptionId.toLowerCase() + "/" + accessClass;
+        }
+        // Tenant level requests of clients not knowing their tenant share a bucket
+        String scope = tenantId == null ? COMMON_TENANT : tenantId.toLowerCase();
+        return "tenants/" + scope + "/" + accessClass;
+    }
+
+    private static long remaining(Response response, String headerName) {
+        String value = response.header(headerName);
+        if (value == null) {
+            return -1;
+        }
+        try {
+            return Long.parseLong(value.trim());
+        } catch (NumberFormatException e) {
+            return -1;
+        }
+    }
+
+    /**
+     * A token bucket that allows reservations beyond the available tokens; the reservation
+     * then waits for the bucket to refill.
+     */
+    private static final class TokenBucket {
+        private double tokens;
+        private long lastRefillNanos;
+        private long blockedUntilNanos;
+
+        TokenBucket(long capacity, long now) {
+            this.tokens = capacity;
+            this.lastRefillNanos = now;
+            this.blockedUntilNanos = now;
+        }
+
+        synchronized long reserve(long capacity, double tokensPerNano, long now) {
+            refill(capacity, tokensPerNano, now);
+            long waitNanos = Math.max(0, blockedUntilNanos - now);
+            tokens -= 1;
+            if (tokens < 0) {
+                waitNanos = Math.max(waitNanos, (long) Math.ceil(-tokens / tokensPerNano));
+            }
+            return waitNanos;
+        }
+
+        synchronized void calibrate(long remaining, long capacity, double tokensPerNano, long now) {
+            refill(capacity, tokensPerNano, now);
+            // The service is the source of truth, but the bucket is only raised once a throttling
+            // interval has passed
+            if (remaining < tokens || blockedUntilNanos - now <= 0) {
+                tokens = Math.min(capacity, remaining);
+            }
+        }
+
+        synchronized void block(long untilNanos) {
+            tokens = Math.min(tokens, 0);
+            if (untilNanos - blockedUntilNanos > 0) {
+                blockedUntilNanos = untilNanos;
+            }
+        }
+
+        private void refill(long capacity, double tokensPerNano, long now) {
+            if (now - lastRefillNanos > 0) {
+                tokens = Math.min(capacity, tokens + (now - lastRefillNanos) * tokensPerNano);
+                lastRefillNanos = now;
+            }
+        }
+    }
+}
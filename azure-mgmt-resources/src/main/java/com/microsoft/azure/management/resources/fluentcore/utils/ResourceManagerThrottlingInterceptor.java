@@ -6,9 +6,13 @@
 
 package com.microsoft.azure.management.resources.fluentcore.utils;
 
+import com.microsoft.azure.AzureEnvironment;
 import com.microsoft.azure.management.resources.fluentcore.arm.ResourceUtils;
+import com.microsoft.azure.management.resources.fluentcore.utils.ResourceManagerRateGovernor.AccessClass;
 import com.microsoft.rest.DateTimeRfc1123;
+import okhttp3.HttpUrl;
 import okhttp3.Interceptor;
+import okhttp3.Request;
 import okhttp3.Response;
 import okhttp3.ResponseBody;
 import okio.Buffer;
@@ -18,10 +22,9 @@ import org.joda.time.Duration;
 import org.slf4j.LoggerFactory;
 
 import java.io.IOException;
-import java.util.concurrent.ConcurrentHashMap;
-import java.util.concurrent.ConcurrentMap;
+import java.util.HashSet;
+import java.util.Set;
 import java.util.concurrent.TimeUnit;
-import java.util.concurrent.locks.ReentrantLock;
 import java.util.regex.Matcher;
 import java.util.regex.Pattern;
 /**
@@ -29,94 +32,164 @@ import java.util.regex.Pattern;
  * <p>
  * For each subscription and tenant, Azure Resource Manager limits read requests to 15,000 per hour and
  *   write requests to 1,200 per hour. These limits apply to each Azure Resource Manager instance.
+ * <p>
+ * Requests are paced by a {@link ResourceManagerRateGovernor} before they are sent, using the remaining
+ *   quota reported by Azure Resource Manager. When a request is throttled, only the requests accounted
+ *   against the same subscription and access class, or the same tenant and access class for tenant level
+ *   requests, wait for the Retry-After interval. Only the requests to Azure Resource Manager are paced;
+ *   the requests of data plane clients sharing the interceptor, such as Key Vault or Kudu, are retried on
+ *   throttling without being accounted against the quota of Azure Resource Manager.
  */
 public class ResourceManagerThrottlingInterceptor implements Interceptor {
     private static final String LOGGING_HEADER = "x-ms-logging-context";
-    private static final ConcurrentMap<String, ReentrantLock> REENTRANT_LOCK_MAP = new ConcurrentHashMap<>();
+    private static final Pattern RETRY_AFTER_MINUTES = Pattern.compile("try again after '([0-9]+)' minutes", Pattern.CASE_INSENSITIVE);
+    private static final Pattern RETRY_AFTER_SECONDS = Pattern.compile("try again after '([0-9]+)' seconds", Pattern.CASE_INSENSITIVE);
+
+    private final ResourceManagerRateGovernor governor;
+    private final String tenantId;
+    // The lower case hosts of Azure Resource Manager
+    private final Set<String> resourceManagerHosts = new HashSet<>();
+
+    /**
+     * Creates an interceptor using the default rate governor.
+     */
+    public ResourceManagerThrottlingInterceptor() {
+        this(null);
+    }
+
+    /**
+     * Creates an interceptor using the default rate governor.
+     *
+     * @param tenantId the tenant the requests are accounted against
+     */
+    public ResourceManagerThrottlingInterceptor(String tenantId) {
+        this(ResourceManagerRateGovernor.defaultGovernor(), tenantId);
+    }
+
+    /**
+     * Creates an interceptor.
+     *
+     * @param governor the rate governor pacing the requests
+     * @param tenantId the tenant the requests are accounted against
+     */
+    public ResourceManagerThrottlingInterceptor(ResourceManagerRateGovernor governor, String tenantId) {
+        this(governor, tenantId, null);
+    }
+
+    /**
+     * Creates an interceptor for an Azure Resource Manager endpoint other than the ones of the known clouds.
+     *
+     * @param governor the rate governor pacing the requests
+     * @param tenantId the tenant the requests are accounted against
+     * @param resourceManagerEndpoint the endpoint of Azure Resource Manager, in addition to the ones of the known clouds
+     */
+    public ResourceManagerThrottlingInterceptor(ResourceManagerRateGovernor governor, String tenantId, String resourceManagerEndpoint) {
+        this.governor = governor;
+        this.tenantId = tenantId;
+        for (AzureEnvironment environment : AzureEnvironment.knownEnvironments()) {
+            addHost(environment.resourceManagerEndpoint());
+        }
+        if (resourceManagerEndpoint != null) {
+            addHost(resourceManagerEndpoint);
+        }
+    }
+
+    private void addHost(String endpoint) {
+        HttpUrl url = HttpUrl.parse(endpoint);
+        if (url != null) {
+            resourceManagerHosts.add(url.host().toLowerCase());
+        }
+    }
+
+    /**
+     * @return the rate governor pacing the requests
+     */
+    public ResourceManagerRateGovernor governor() {
+        return governor;
+    }
 
     @Override
     public Response intercept(Chain chain) throws IOException {
-        // Gate control
-        String subscriptionId = ResourceUtils.extractFromResourceId(chain.request().url().url().getPath(), "subscriptions");
-        if (subscriptionId == null) {
-            subscriptionId = "global";
+        Request request = chain.request();
+        final ResourceManagerRateGovernor governor = resourceManagerHosts.contains(request.url().host().toLowerCase())
+                ? this.governor
+                : null;
+        String subscriptionId = ResourceUtils.extractFromResourceId(request.url().url().getPath(), "subscriptions");
+        AccessClass accessClass = AccessClass.fromHttpMethod(request.method());
+
+        if (governor != null) {
+            governor.acquire(subscriptionId, tenantId, accessClass);
         }
-        REENTRANT_LOCK_MAP.putIfAbsent(subscriptionId, new ReentrantLock());
-        try {
-            synchronized (REENTRANT_LOCK_MAP.get(subscriptionId)) {
-                if (REENTRANT_LOCK_MAP.get(subscriptionId).isLocked()) {
-                    REENTRANT_LOCK_MAP.get(subscriptionId).wait();
-                }
-            }
-        } catch (InterruptedException e) {
-            throw new IOException(e);
+        Response response = chain.proceed(request);
+        if (governor != null) {
+            governor.onResponse(subscriptionId, tenantId, accessClass, response);
         }
-        Response response = chain.proceed(chain.request());
         if (response.code() != 429) {
             return response;
         }
 
         try {
-            synchronized (REENTRANT_LOCK_MAP.get(subscriptionId)) {
-                if (REENTRANT_LOCK_MAP.get(subscriptionId).isLocked()) {
-                    REENTRANT_LOCK_MAP.get(subscriptionId).wait();
-                    return chain.proceed(chain.request());
-                } else {
-                    REENTRANT_LOCK_MAP.get(subscriptionId).lock();
+            int retryAfter = retryAfterSeconds(response);
+            if (retryAfter > 0) {
+                String context = request.header(LOGGING_HEADER);
+                if (context == null) {
+                    context = "";
                 }
+                LoggerFactory.getLogger(context)
+                    .info("Azure Resource Manager read/write per hour limit reached. Will retry in: " + retryAfter + " seconds");
+            }
+            if (governor != null) {
+                governor.onThrottled(subscriptionId, tenantId, accessClass, TimeUnit.SECONDS.toMillis(retryAfter) + 100);
+            } else {
+                SdkContext.sleep((int) TimeUnit.SECONDS.toMillis(retryAfter) + 100);
+            }
+        } finally {
+            if (response.body() != null) {
+                response.body().close();
             }
-        } catch (InterruptedException e) {
-            throw new IOException(e);
         }
 
-        try {
-            String retryAfterHeader = response.header("Retry-After");
-            int retryAfter = 0;
-            if (retryAfterHeader != null) {
-                DateTime retryWhen = null;
+        if (governor != null) {
+            governor.acquire(subscriptionId, tenantId, accessClass);
+        }
+        response = chain.proceed(request);
+        if (governor != null) {
+            governor.onResponse(subscriptionId, tenantId, accessClass, response);
+        }
+        return response;
+    }
+
+    private int retryAfterSeconds(Response response) throws IOException {
+        String retryAfterHeader = response.header("Retry-After");
+        int retryAfter = 0;
+        if (retryAfterHeader != null) {
+            DateTime retryWhen = null;
+            try {
+                retryWhen = new DateTimeRfc1123(retryAfterHeader).dateTime();
+            } catch (Exception e) { }
+            if (retryWhen == null) {
                 try {
-                    retryWhen = new DateTimeRfc1123(retryAfterHeader).dateTime();
-                } catch (Exception e) { }
-                if (retryWhen == null) {
-                    retryAfter = Integer.parseInt(retryAfterHeader);
-                } else {
-                    retryAfter = new Duration(null, retryWhen).toStandardSeconds().getSeconds();
-                }
+                    retryAfter = Integer.parseInt(retryAfterHeader.trim());
+                } catch (NumberFormatException e) { }
+            } else {
+                retryAfter = new Duration(null, retryWhen).toStandardSeconds().getSeconds();
             }
-            if (retryAfter <= 0) {
-                Pattern pattern = Pattern.compile("try again after '([0-9]*)' minutes", Pattern.CASE_INSENSITIVE);
-                Matcher matcher = pattern.matcher(content(response.body()));
+        }
+        if (retryAfter <= 0) {
+            String content = content(response.body());
+            if (content != null) {
+                Matcher matcher = RETRY_AFTER_MINUTES.matcher(content);
                 if (matcher.find()) {
                     retryAfter = (int) TimeUnit.MINUTES.toSeconds(Integer.parseInt(matcher.group(1)));
                 } else {
-                    pattern = Pattern.compile("try again after '([0-9]*)' seconds", Pattern.CASE_INSENSITIVE);
-                    matcher = pattern.matcher(content(response.body()));
+                    matcher = RETRY_AFTER_SECONDS.matcher(content);
                     if (matcher.find()) {
                         retryAfter = Integer.parseInt(matcher.group(1));
                     }
                 }
             }
-            if (retryAfter > 0) {
-                String context = chain.request().header(LOGGING_HEADER);
-                if (context == null) {
-                    context = "";
-                }
-                LoggerFactory.getLogger(context)
-                    .info("Azure Resource Manager read/write per hour limit reached. Will retry in: " + retryAfter + " seconds");
-                SdkContext.sleep((int) (TimeUnit.SECONDS.toMillis(retryAfter) + 100));
-            }
-            return chain.proceed(chain.request());
-        } catch (Throwable t) {
-            throw new IOException(t);
-        } finally {
-            if (response.body() != null) {
-                response.body().close();
-            }
-            synchronized (REENTRANT_LOCK_MAP.get(subscriptionId)) {
-                REENTRANT_LOCK_MAP.get(subscriptionId).unlock();
-                REENTRANT_LOCK_MAP.get(subscriptionId).notifyAll();
-            }
         }
+        return Math.max(retryAfter, 0);
     }
 
     private String content(ResponseBody responseBody) throws IOException {
@@ -18,6 +18,7 @@ public class SdkContext {
     private static ResourceNamerFactory resourceNamerFactory = new ResourceNamerFactory();
     private static DelayProvider delayProvider = new DelayProvider();
     private static Scheduler rxScheduler = Schedulers.io();
+    private static final HashedWheelTimer TIMER = new HashedWheelTimer();
 
     /**
      * Function to override the ResourceNamerFactory.
@@ -125,4 +126,28 @@ public class SdkContext {
     public static void setRxScheduler(Scheduler rxScheduler) {
         SdkContext.rxScheduler = rxScheduler;
     }
+
+    /**
+     * Gets the timer shared by the delays of the SDK framework.
+     * @return the timer
+     */
+    public static HashedWheelTimer getTimer() {
+        return TIMER;
+    }
+
+    /**
+     * Gets an Rx Scheduler whose delayed actions wait on the shared timer instead of a thread,
+     * then run on the current Rx Scheduler of the SDK framework.
+     * @return the timer scheduler
+     */
+    public static Scheduler getTimerScheduler() {
+        return TIMER.asScheduler(rxScheduler);
+    }
+
+    /**
+     * @return the number of delays pending on the shared timer
+     */
+    public static int pendingTimerCount() {
+        return TIMER.pendingTimeouts();
+    }
 }
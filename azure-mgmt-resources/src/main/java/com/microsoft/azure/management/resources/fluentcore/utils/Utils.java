@@ -6,6 +6,7 @@
 
 package com.microsoft.azure.management.resources.fluentcore.utils;
 
+import com.google.common.io.ByteStreams;
 import com.google.common.primitives.Ints;
 import com.microsoft.azure.AzureEnvironment;
 import com.microsoft.azure.Page;
@@ -16,20 +17,34 @@ import com.microsoft.azure.management.resources.fluentcore.model.Indexable;
 import com.microsoft.azure.management.resources.implementation.PageImpl;
 import com.microsoft.rest.RestClient;
 import okhttp3.ResponseBody;
+import retrofit2.Response;
 import retrofit2.Retrofit;
 import retrofit2.http.GET;
+import retrofit2.http.Header;
+import retrofit2.http.Streaming;
 import retrofit2.http.Url;
 import rx.Observable;
 import rx.exceptions.Exceptions;
 import rx.functions.Func1;
 
 import java.io.IOException;
+import java.io.InputStream;
+import java.net.HttpURLConnection;
+import java.nio.ByteBuffer;
+import java.nio.channels.Channels;
+import java.nio.channels.ReadableByteChannel;
+import java.nio.channels.WritableByteChannel;
 import java.util.List;
 
 /**
  * Defines a few utilities.
  */
 public final class Utils {
+    // The size of the buffer streamed contents are copied through
+    private static final int COPY_BUFFER_SIZE = 64 * 1024;
+    // Not defined by HttpURLConnection
+    private static final int HTTP_RANGE_NOT_SATISFIABLE = 416;
+
     /**
      * Converts an object Boolean to a primitive boolean.
      *
@@ -140,6 +155,102 @@ public final class Utils {
         });
     }
 
+    /**
+     * Downloads a file asynchronously, writing its content to a channel as it is received, so that only
+     * a small buffer of the content is held in memory.
+     * <p>
+     * An interrupted download can be resumed by passing the number of bytes already written as the
+     * offset: the rest of the file is requested with a range, or skipped to if the server ignores ranges.
+     * Resuming at the end of the file emits 0.
+     *
+     * @param url the URL pointing to the file
+     * @param retrofit the retrofit client
+     * @param channel the channel to write the content to
+     * @param offset the number of bytes at the start of the file not to write
+     * @return an Observable emitting the number of bytes written
+     */
+    public static Observable<Long> downloadFileAsync(final String url, Retrofit retrofit, final WritableByteChannel channel, final long offset) {
+        FileService service = retrofit.create(FileService.class);
+        return service.downloadStreaming(url, offset > 0 ? "bytes=" + offset + "-" : null)
+                .map(new Func1<Response<ResponseBody>, Long>() {
+                    @Override
+                    public Long call(Response<ResponseBody> response) {
+                        try {
+                            if (!response.isSuccessful()) {
+                                if (response.errorBody() != null) {
+                                    response.errorBody().close();
+                                }
+                                if (response.code() == HTTP_RANGE_NOT_SATISFIABLE
+                                        && offset > 0 && offset == completeLength(response.headers().get("Content-Range"))) {
+                                    // Resumed at the end of the file, nothing left to download
+                                    return 0L;
+                                }
+                                throw new IOException("Failed to download " + url + ": " + response.code());
+                            }
+                            ResponseBody body = response.body();
+                            try {
+                                InputStream inputStream = body.byteStream();
+                                if (offset > 0 && response.code() != HttpURLConnection.HTTP_PARTIAL) {
+                                    ByteStreams.skipFully(inputStream, offset);
+                                }
+                                return copy(inputStream, channel);
+                            } finally {
+                                body.close();
+                            }
+                        } catch (IOException e) {
+                            throw Exceptions.propagate(e);
+                        }
+                    }
+                });
+    }
+
+    /**
+     * Gets the complete length of a file from the Content-Range header of a response to a range request.
+     *
+     * @param contentRange the Content-Range header, e.g. "bytes 100-199/1234"
+     * @return the complete length, or -1 if unknown
+     */
+    private static long completeLength(String contentRange) {
+        if (contentRange == null || contentRange.indexOf('/') < 0) {
+            return -1;
+        }
+        try {
+            return Long.parseLong(contentRange.substring(contentRange.lastIndexOf('/') + 1).trim());
+        } catch (NumberFormatException e) {
+            // "*" when the complete length is unknown
+            return -1;
+        }
+    }
+
+    /**
+     * Writes the content of a stream to a channel through a bounded buffer, and closes the stream.
+     *
+     * @param inputStream the stream, may be null for an empty content
+     * @param channel the channel to write the content to
+     * @return the number of bytes written
+     * @throws IOException if the stream cannot be read or the channel cannot be written
+     */
+    public static long copy(InputStream inputStream, WritableByteChannel channel) throws IOException {
+        if (inputStream == null) {
+            return 0;
+        }
+        long count = 0;
+        try {
+            ReadableByteChannel source = Channels.newChannel(inputStream);
+            ByteBuffer buffer = ByteBuffer.allocate(COPY_BUFFER_SIZE);
+            while (source.read(buffer) >= 0) {
+                buffer.flip();
+                while (buffer.hasRemaining()) {
+                    count += channel.write(buffer);
+                }
+                buffer.clear();
+            }
+        } finally {
+            inputStream.close();
+        }
+        return count;
+    }
+
     /**
      * Converts the given list of a type to paged list of a different type.
      *
@@ -239,6 +350,10 @@ public final class Utils {
     private interface FileService {
         @GET
         Observable<ResponseBody> download(@Url String url);
+
+        @GET
+        @Streaming
+        Observable<Response<ResponseBody>> downloadStreaming(@Url String url, @Header("Range") String range);
     }
 
     /**
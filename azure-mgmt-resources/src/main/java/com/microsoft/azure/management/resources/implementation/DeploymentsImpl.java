@@ -48,7 +48,7 @@ final class DeploymentsImpl
     @Override
     public PagedList<Deployment> list() {
         final DeploymentsInner client = this.manager().inner().deployments();
-        return new GroupPagedList<Deployment>(this.resourceManager.resourceGroups().list()) {
+        return new GroupPagedList<Deployment>(this.resourceManager.resourceGroups().list(), GroupPagedList.defaultParallelism()) {
             @Override
             public List<Deployment> listNextGroup(String resourceGroupName) {
                 return converter.convert(client.listByResourceGroup(resourceGroupName));
@@ -150,7 +150,7 @@ final class DeploymentsImpl
 
     @Override
     public Observable<Deployment> listAsync() {
-        return this.manager().resourceGroups().listAsync().flatMap(new Func1<ResourceGroup, Observable<Deployment>>() {
+        return GroupPagedList.listAsync(this.manager().resourceGroups().listAsync(), new Func1<ResourceGroup, Observable<Deployment>>() {
             @Override
             public Observable<Deployment> call(ResourceGroup resourceGroup) {
                 return listByResourceGroupAsync(resourceGroup.name());
@@ -6,10 +6,12 @@
 
 package com.microsoft.azure.management.resources.implementation;
 
+import com.microsoft.azure.CloudException;
 import com.microsoft.azure.PagedList;
 import com.microsoft.azure.management.resources.GenericResource;
 import com.microsoft.azure.management.resources.GenericResources;
 import com.microsoft.azure.management.resources.Provider;
+import com.microsoft.azure.management.resources.ProviderResourceType;
 import com.microsoft.azure.management.resources.ResourceGroup;
 import com.microsoft.azure.management.resources.fluentcore.arm.ResourceUtils;
 import com.microsoft.azure.management.resources.fluentcore.arm.collection.implementation.GroupableResourcesImpl;
@@ -20,7 +22,13 @@ import rx.Completable;
 import rx.Observable;
 import rx.functions.Func1;
 
+import java.net.HttpURLConnection;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.TimeUnit;
 
 /**
  * Implementation of the {@link GenericResources}.
@@ -34,6 +42,12 @@ final class GenericResourcesImpl
         ResourceManager>
     implements GenericResources {
 
+    // How long the resources of a resource group listed for a lookup are reused
+    private static final long INDEX_TIME_TO_LIVE_MILLIS = 30 * 1000;
+
+    // The indexes of the resource groups by lower case name
+    private final ConcurrentMap<String, ResourceGroupIndex> indexes = new ConcurrentHashMap<>();
+
     GenericResourcesImpl(ResourceManager resourceManager) {
         super(resourceManager.inner().resources(), resourceManager);
     }
@@ -87,8 +101,7 @@ final class GenericResourcesImpl
 
     @Override
     public GenericResource getById(String id) {
-        Provider provider = this.manager().providers().getByName(ResourceUtils.resourceProviderFromResourceId(id));
-        String apiVersion = ResourceUtils.defaultApiVersion(id, provider);
+        String apiVersion = getApiVersionFromId(id).toBlocking().single();
         return wrapModel(this.inner().getById(id, apiVersion)).withApiVersion(apiVersion);
     }
 
@@ -99,17 +112,108 @@ final class GenericResourcesImpl
             String resourceType,
             String name) {
 
-        PagedList<GenericResource> genericResources = this.listByResourceGroup(resourceGroupName);
-        for (GenericResource resource : genericResources) {
-            if (resource.name().equalsIgnoreCase(name)
-                    && resource.resourceProviderNamespace().equalsIgnoreCase(providerNamespace)
-                    && resource.resourceType().equalsIgnoreCase(resourceType)) {
-                return resource;
+        if (resourceType.contains("/") || name.contains("/")) {
+            // Child resources need their parent path, only known from the listing of the resource group
+            return getIndexed(resourceGroupName, indexKey(providerNamespace, resourceType, name), System.nanoTime());
+        }
+        String apiVersion = apiVersionOf(providerNamespace, resourceType);
+        if (apiVersion == null) {
+            // Not a resource type of Azure Resource Manager, so only found in the listing of the resource group, if at all
+            return getIndexed(resourceGroupName, indexKey(providerNamespace, resourceType, name), System.nanoTime());
+        }
+        String id = ResourceUtils.constructResourceId(
+                this.manager().subscriptionId(),
+                resourceGroupName,
+                providerNamespace,
+                resourceType,
+                name,
+                "");
+        try {
+            return wrapModel(this.inner().getById(id, apiVersion)).withApiVersion(apiVersion);
+        } catch (CloudException e) {
+            if (e.response() != null && e.response().code() == HttpURLConnection.HTTP_NOT_FOUND) {
+                return null;
+            }
+            throw e;
+        }
+    }
+
+    /**
+     * Gets the latest API version of a top level resource type from the provider cache.
+     *
+     * @param providerNamespace the namespace of the provider
+     * @param resourceType the resource type
+     * @return the API version, or null if the provider or the resource type does not exist
+     */
+    private String apiVersionOf(String providerNamespace, String resourceType) {
+        Provider provider;
+        try {
+            provider = this.manager().providerCache().getAsync(providerNamespace).toBlocking().singleOrDefault(null);
+        } catch (CloudException e) {
+            return null;
+        }
+        if (provider == null || provider.resourceTypes() == null) {
+            return null;
+        }
+        for (ProviderResourceType type : provider.resourceTypes()) {
+            if (resourceType.equalsIgnoreCase(type.resourceType()) && type.apiVersions() != null && !type.apiVersions().isEmpty()) {
+                return type.apiVersions().get(0);
             }
         }
         return null;
     }
 
+    /**
+     * Gets a resource from the short-lived index of the resources of its resource group, so that
+     * looking up child resources in a loop lists the resource group once.
+     * <p>
+     * A resource missing from a reused index may have been created since the listing, so the
+     * resource group is listed again before giving up on it.
+     *
+     * @param resourceGroupName the name of the resource group
+     * @param resourceKey the index key of the resource
+     * @param now the current time, in nanoseconds
+     * @return the resource, or null if it is not in the resource group
+     */
+    GenericResource getIndexed(String resourceGroupName, String resourceKey, long now) {
+        evictExpiredIndexes(now);
+        String key = resourceGroupName.toLowerCase();
+        ResourceGroupIndex index = this.indexes.get(key);
+        if (index != null) {
+            GenericResource resource = index.resources.get(resourceKey);
+            if (resource != null) {
+                return resource;
+            }
+            this.indexes.remove(key, index);
+        }
+        Map<String, GenericResource> resources = new HashMap<>();
+        for (GenericResource resource : this.listByResourceGroup(resourceGroupName)) {
+            String indexKey = indexKey(resource.resourceProviderNamespace(), resource.resourceType(), resource.name());
+            if (!resources.containsKey(indexKey)) {
+                resources.put(indexKey, resource);
+            }
+        }
+        this.indexes.put(key, new ResourceGroupIndex(resources, now + TimeUnit.MILLISECONDS.toNanos(INDEX_TIME_TO_LIVE_MILLIS)));
+        return resources.get(resourceKey);
+    }
+
+    // Only the resource groups looked up within the time to live are indexed, so a sweep is cheap
+    private void evictExpiredIndexes(long now) {
+        for (Map.Entry<String, ResourceGroupIndex> entry : this.indexes.entrySet()) {
+            if (now - entry.getValue().expiresAtNanos >= 0) {
+                this.indexes.remove(entry.getKey(), entry.getValue());
+            }
+        }
+    }
+
+    int indexCount() {
+        return this.indexes.size();
+    }
+
+    static String indexKey(String providerNamespace, String resourceType, String name) {
+        return (providerNamespace + "|" + resourceType + "|" + name).toLowerCase();
+    }
+
     @Override
     public GenericResource get(
             String resourceGroupName,
@@ -222,13 +326,7 @@ final class GenericResourcesImpl
     }
 
     private Observable<String> getApiVersionFromId(final String id) {
-        return this.manager().providers().getByNameAsync(ResourceUtils.resourceProviderFromResourceId(id))
-                .map(new Func1<Provider, String>() {
-                    @Override
-                    public String call(Provider provider) {
-                        return ResourceUtils.defaultApiVersion(id, provider);
-                    }
-                });
+        return this.manager().providerCache().defaultApiVersionAsync(id);
     }
 
     @Override
@@ -240,4 +338,17 @@ final class GenericResourcesImpl
     public Observable<GenericResource> listByResourceGroupAsync(String resourceGroupName) {
         return wrapPageAsync(this.manager().inner().resources().listByResourceGroupAsync(resourceGroupName));
     }
+
+    /**
+     * The resources of a resource group by provider namespace, type and name.
+     */
+    private static final class ResourceGroupIndex {
+        private final Map<String, GenericResource> resources;
+        private final long expiresAtNanos;
+
+        ResourceGroupIndex(Map<String, GenericResource> resources, long expiresAtNanos) {
+            this.resources = resources;
+            this.expiresAtNanos = expiresAtNanos;
+        }
+    }
 }
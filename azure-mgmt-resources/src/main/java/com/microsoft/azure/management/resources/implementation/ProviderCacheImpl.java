@@ -0,0 +1,149 @@
+/**
+ * Copyright (c) Microsoft Corporation. All rights reserved.
+ * Licensed under the MIT License. See License.txt in the project root for
+ * license information.
+ */
+
+package com.microsoft.azure.management.resources.implementation;
+
+import com.microsoft.azure.management.resources.Provider;
+import com.microsoft.azure.management.resources.ProviderCache;
+import com.microsoft.azure.management.resources.Providers;
+import com.microsoft.azure.management.resources.fluentcore.arm.ResourceUtils;
+import rx.Completable;
+import rx.Observable;
+import rx.functions.Action0;
+import rx.functions.Action1;
+import rx.functions.Func1;
+
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Implementation for {@link ProviderCache}.
+ */
+class ProviderCacheImpl implements ProviderCache {
+    private static final long DEFAULT_TIME_TO_LIVE_MILLIS = TimeUnit.MINUTES.toMillis(30);
+
+    private final Providers providers;
+    // The loaded or loading providers, by lower case namespace
+    private final ConcurrentMap<String, Entry> entries = new ConcurrentHashMap<>();
+    private volatile long timeToLiveNanos = TimeUnit.MILLISECONDS.toNanos(DEFAULT_TIME_TO_LIVE_MILLIS);
+
+    ProviderCacheImpl(Providers providers) {
+        this.providers = providers;
+    }
+
+    @Override
+    public ProviderCache withTimeToLive(long timeToLive, TimeUnit unit) {
+        if (timeToLive < 0) {
+            throw new IllegalArgumentException("timeToLive cannot be negative");
+        }
+        this.timeToLiveNanos = unit.toNanos(timeToLive);
+        return this;
+    }
+
+    @Override
+    public Provider get(String namespace) {
+        return getAsync(namespace).toBlocking().single();
+    }
+
+    @Override
+    public Observable<Provider> getAsync(String namespace) {
+        final String key = namespace.toLowerCase();
+        while (true) {
+            Entry entry = this.entries.get(key);
+            if (entry != null && !entry.isExpired()) {
+                return entry.provider;
+            }
+            final Entry loading = new Entry();
+            loading.provider = loadAsync(namespace)
+                    .doOnCompleted(new Action0() {
+                        @Override
+                        public void call() {
+                            // Also when no provider is returned, so that the entry expires
+                            loading.loaded(System.nanoTime() + timeToLiveNanos);
+                        }
+                    })
+                    .doOnError(new Action1<Throwable>() {
+                        @Override
+                        public void call(Throwable throwable) {
+                            entries.remove(key, loading);
+                        }
+                    })
+                    .cache();
+            if (entry == null ? this.entries.putIfAbsent(key, loading) == null : this.entries.replace(key, entry, loading)) {
+                return loading.provider;
+            }
+        }
+    }
+
+    @Override
+    public Observable<String> defaultApiVersionAsync(final String id) {
+        return getAsync(ResourceUtils.resourceProviderFromResourceId(id))
+                .map(new Func1<Provider, String>() {
+                    @Override
+                    public String call(Provider provider) {
+                        return ResourceUtils.defaultApiVersion(id, provider);
+                    }
+                });
+    }
+
+    @Override
+    public Completable preloadAsync() {
+        return listAsync()
+                .doOnNext(new Action1<Provider>() {
+                    @Override
+                    public void call(Provider provider) {
+                        put(provider);
+                    }
+                })
+                .toCompletable();
+    }
+
+    @Override
+    public void put(Provider provider) {
+        Entry entry = new Entry();
+        entry.provider = Observable.just(provider);
+        entry.loaded(System.nanoTime() + this.timeToLiveNanos);
+        this.entries.put(provider.namespace().toLowerCase(), entry);
+    }
+
+    @Override
+    public void invalidate(String namespace) {
+        this.entries.remove(namespace.toLowerCase());
+    }
+
+    @Override
+    public void invalidateAll() {
+        this.entries.clear();
+    }
+
+    Observable<Provider> loadAsync(String namespace) {
+        return this.providers.getByNameAsync(namespace);
+    }
+
+    Observable<Provider> listAsync() {
+        return this.providers.listAsync();
+    }
+
+    /**
+     * A provider loaded or being loaded.
+     */
+    private static final class Entry {
+        private Observable<Provider> provider;
+        private volatile boolean loaded;
+        private volatile long expiresAtNanos;
+
+        void loaded(long expiresAtNanos) {
+            this.expiresAtNanos = expiresAtNanos;
+            this.loaded = true;
+        }
+
+        // An entry being loaded never expires, so that concurrent misses share the request
+        boolean isExpired() {
+            return this.loaded && System.nanoTime() - this.expiresAtNanos >= 0;
+        }
+    }
+}
@@ -9,11 +9,14 @@ package com.microsoft.azure.management.resources.implementation;
 import com.microsoft.azure.AzureEnvironment;
 import com.microsoft.azure.AzureResponseBuilder;
 import com.microsoft.azure.credentials.AzureTokenCredentials;
+import com.microsoft.azure.management.apigeneration.Beta;
+import com.microsoft.azure.management.apigeneration.Beta.SinceVersion;
 import com.microsoft.azure.management.resources.Deployments;
 import com.microsoft.azure.management.resources.Features;
 import com.microsoft.azure.management.resources.GenericResources;
 import com.microsoft.azure.management.resources.PolicyAssignments;
 import com.microsoft.azure.management.resources.PolicyDefinitions;
+import com.microsoft.azure.management.resources.ProviderCache;
 import com.microsoft.azure.management.resources.Providers;
 import com.microsoft.azure.management.resources.ResourceGroups;
 import com.microsoft.azure.management.resources.Subscriptions;
@@ -41,6 +44,7 @@ public final class ResourceManager extends ManagerBase implements HasInner<Resou
     private Deployments deployments;
     private Features features;
     private Providers providers;
+    private final ProviderCacheImpl providerCache;
     private PolicyDefinitions policyDefinitions;
     private PolicyAssignments policyAssignments;
 
@@ -56,8 +60,8 @@ public final class ResourceManager extends ManagerBase implements HasInner<Resou
                 .withCredentials(credentials)
                 .withSerializerAdapter(new AzureJacksonAdapter())
                 .withResponseBuilderFactory(new AzureResponseBuilder.Factory())
-                .withInterceptor(new ProviderRegistrationInterceptor(credentials))
-                .withInterceptor(new ResourceManagerThrottlingInterceptor())
+                .withInterceptor(new ProviderRegistrationInterceptor())
+                .withInterceptor(new ResourceManagerThrottlingInterceptor(credentials.domain()))
                 .build());
     }
 
@@ -169,6 +173,8 @@ public final class ResourceManager extends ManagerBase implements HasInner<Resou
         this.featureClient.withSubscriptionId(subscriptionId);
         this.policyClient = new PolicyClientImpl(restClient);
         this.policyClient.withSubscriptionId(subscriptionId);
+        // Created eagerly, as it is shared by all the threads using the generic resources
+        this.providerCache = new ProviderCacheImpl(new ProvidersImpl(resourceManagementClient.providers()));
     }
 
     /**
@@ -221,6 +227,14 @@ public final class ResourceManager extends ManagerBase implements HasInner<Resou
         return providers;
     }
 
+    /**
+     * @return the cache of the resource provider metadata used by the generic resource operations
+     */
+    @Beta(SinceVersion.V1_25_0)
+    public ProviderCache providerCache() {
+        return providerCache;
+    }
+
     /**
      * @return the policy definition management API entry point
      */
@@ -10,6 +10,7 @@ import com.microsoft.azure.Page;
 import com.microsoft.azure.PagedList;
 import com.microsoft.azure.management.resources.fluentcore.arm.Region;
 import com.microsoft.azure.management.resources.fluentcore.arm.models.implementation.GroupPagedList;
+import com.microsoft.azure.management.resources.fluentcore.utils.SdkContext;
 import com.microsoft.azure.management.resources.implementation.PageImpl;
 import com.microsoft.azure.management.resources.implementation.ResourceGroupInner;
 import com.microsoft.rest.ServiceCallback;
@@ -112,6 +113,42 @@ public class GroupPagedListTests {
         };
     }
 
+    @Test
+    public void canPrefetchGroupsInOrder() {
+        final PageImpl<ResourceGroup> page = new PageImpl<>();
+        List<ResourceGroup> resourceGroups = new ArrayList<>();
+        for (int i = 1; i <= 20; i++) {
+            resourceGroups.add(resourceGroup("RG" + i));
+        }
+        page.setItems(resourceGroups);
+
+        PagedList<ResourceGroup> pagedResourceList = new PagedList<ResourceGroup>(page) {
+            @Override
+            public Page<ResourceGroup> nextPage(String nextLink) {
+                return null;
+            }
+        };
+
+        GroupPagedList<String> groupedResourceList = new GroupPagedList<String>(pagedResourceList, 4) {
+            @Override
+            public List<String> listNextGroup(String s) {
+                // Groups listed later complete earlier
+                SdkContext.sleep(25 - Integer.parseInt(s.substring(2)));
+                return Arrays.asList(s + "Vm1", s + "Vm2");
+            }
+        };
+
+        List<String> actual = new ArrayList<>();
+        for (String item : groupedResourceList) {
+            actual.add(item);
+        }
+        Assert.assertEquals(40, actual.size());
+        for (int i = 1; i <= 20; i++) {
+            Assert.assertEquals("RG" + i + "Vm1", actual.get(2 * (i - 1)));
+            Assert.assertEquals("RG" + i + "Vm2", actual.get(2 * (i - 1) + 1));
+        }
+    }
+
     private static ResourceGroup resourceGroup(final String name) {
         return new ResourceGroup() {
             @Override
@@ -0,0 +1,171 @@
+/**
+ * Copyright (c) Microsoft Corporation. All rights reserved.
+ * Licensed under the MIT License. See License.txt in the project root for
+ * license information.
+ */
+
+package com.microsoft.azure.management.resources;
+
+import com.microsoft.azure.management.resources.fluentcore.utils.HashedWheelTimer;
+import org.junit.Assert;
+import org.junit.Test;
+import rx.Observable;
+import rx.Scheduler;
+import rx.Subscription;
+import rx.functions.Action0;
+import rx.observers.TestSubscriber;
+import rx.schedulers.Schedulers;
+
+import java.util.List;
+import java.util.concurrent.BrokenBarrierException;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.CyclicBarrier;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+public class HashedWheelTimerTests {
+    @Test
+    public void canExpireTimeoutsInDeadlineOrder() throws InterruptedException {
+        HashedWheelTimer timer = new HashedWheelTimer(5, TimeUnit.MILLISECONDS, 8);
+        final List<Integer> expired = new CopyOnWriteArrayList<>();
+        final CountDownLatch latch = new CountDownLatch(3);
+        // Delays spanning more than one round of the wheel
+        for (final int delay : new int[] {120, 10, 60}) {
+            timer.newTimeout(new Runnable() {
+                @Override
+                public void run() {
+                    expired.add(delay);
+                    latch.countDown();
+                }
+            }, delay, TimeUnit.MILLISECONDS);
+        }
+        Assert.assertEquals(3, timer.pendingTimeouts());
+        Assert.assertTrue(latch.await(5, TimeUnit.SECONDS));
+        Assert.assertEquals(0, timer.pendingTimeouts());
+        Assert.assertEquals(10, (int) expired.get(0));
+        Assert.assertEquals(60, (int) expired.get(1));
+        Assert.assertEquals(120, (int) expired.get(2));
+    }
+
+    @Test
+    public void canExpireTimeoutsScheduledConcurrentlyWithFirstUse() throws InterruptedException {
+        final int threadCount = 16;
+        for (int attempt = 0; attempt < 20; attempt++) {
+            final HashedWheelTimer timer = new HashedWheelTimer(5, TimeUnit.MILLISECONDS, 8);
+            final CyclicBarrier barrier = new CyclicBarrier(threadCount);
+            final CountDownLatch latch = new CountDownLatch(threadCount);
+            for (int i = 0; i < threadCount; i++) {
+                new Thread(new Runnable() {
+                    @Override
+                    public void run() {
+                        try {
+                            barrier.await();
+                        } catch (InterruptedException | BrokenBarrierException e) {
+                            return;
+                        }
+                        timer.newTimeout(new Runnable() {
+                            @Override
+                            public void run() {
+                                latch.countDown();
+                            }
+                        }, 10, TimeUnit.MILLISECONDS);
+                    }
+                }).start();
+            }
+            Assert.assertTrue(latch.await(5, TimeUnit.SECONDS));
+        }
+    }
+
+    @Test
+    public void canCancelTimeout() throws InterruptedException {
+        HashedWheelTimer timer = new HashedWheelTimer(5, TimeUnit.MILLISECONDS, 8);
+        final CountDownLatch latch = new CountDownLatch(1);
+        Subscription timeout = timer.newTimeout(new Runnable() {
+            @Override
+            public void run() {
+                latch.countDown();
+            }
+        }, 20, TimeUnit.MILLISECONDS);
+        timeout.unsubscribe();
+        Assert.assertEquals(0, timer.pendingTimeouts());
+        Assert.assertFalse(latch.await(100, TimeUnit.MILLISECONDS));
+    }
+
+    @Test
+    public void canDelayOnTimerScheduler() {
+        HashedWheelTimer timer = new HashedWheelTimer(5, TimeUnit.MILLISECONDS, 8);
+        long start = System.nanoTime();
+        String value = Observable.just("value")
+                .delay(50, TimeUnit.MILLISECONDS, timer.asScheduler(Schedulers.computation()))
+                .toBlocking()
+                .single();
+        Assert.assertEquals("value", value);
+        Assert.assertTrue(TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start) >= 50);
+    }
+
+    @Test
+    public void canLeaveDispatcherAloneWhileDelayIsPending() throws InterruptedException {
+        HashedWheelTimer timer = new HashedWheelTimer(5, TimeUnit.MILLISECONDS, 8);
+        CountingScheduler dispatcher = new CountingScheduler(Schedulers.io());
+        TestSubscriber<Long> subscriber = TestSubscriber.create();
+        Observable.timer(200, TimeUnit.MILLISECONDS, timer.asScheduler(dispatcher)).subscribe(subscriber);
+
+        Thread.sleep(50);
+        subscriber.assertNoTerminalEvent();
+        Assert.assertEquals(0, dispatcher.created.get());
+
+        subscriber.awaitTerminalEvent(5, TimeUnit.SECONDS);
+        subscriber.assertValue(0L);
+        Assert.assertEquals(1, dispatcher.created.get());
+        // The worker is released once its action ran
+        for (int i = 0; i < 100 && dispatcher.live.get() > 0; i++) {
+            Thread.sleep(10);
+        }
+        Assert.assertEquals(0, dispatcher.live.get());
+    }
+
+    /**
+     * A scheduler counting the workers created and not yet unsubscribed.
+     */
+    private static final class CountingScheduler extends Scheduler {
+        private final Scheduler scheduler;
+        private final AtomicInteger created = new AtomicInteger();
+        private final AtomicInteger live = new AtomicInteger();
+
+        CountingScheduler(Scheduler scheduler) {
+            this.scheduler = scheduler;
+        }
+
+        @Override
+        public Worker createWorker() {
+            created.incrementAndGet();
+            live.incrementAndGet();
+            final Worker worker = scheduler.createWorker();
+            return new Worker() {
+                @Override
+                public Subscription schedule(Action0 action) {
+                    return worker.schedule(action);
+                }
+
+                @Override
+                public Subscription schedule(Action0 action, long delayTime, TimeUnit unit) {
+                    return worker.schedule(action, delayTime, unit);
+                }
+
+                @Override
+                public void unsubscribe() {
+                    if (!worker.isUnsubscribed()) {
+                        live.decrementAndGet();
+                    }
+                    worker.unsubscribe();
+                }
+
+                @Override
+                public boolean isUnsubscribed() {
+                    return worker.isUnsubscribed();
+                }
+            };
+        }
+    }
+}
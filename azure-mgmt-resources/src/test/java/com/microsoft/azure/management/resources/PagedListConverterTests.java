@@ -0,0 +1,65 @@
+/**
+ * Copyright (c) Microsoft Corporation. All rights reserved.
+ * Licensed under the MIT License. See License.txt in the project root for
+ * license information.
+ */
+
+package com.microsoft.azure.management.resources;
+
+import com.microsoft.azure.Page;
+import com.microsoft.azure.PagedList;
+import com.microsoft.azure.management.resources.fluentcore.utils.PagedListConverter;
+import com.microsoft.azure.management.resources.implementation.PageImpl;
+import org.junit.Assert;
+import org.junit.Test;
+import rx.Observable;
+import rx.schedulers.Schedulers;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.TimeUnit;
+
+public class PagedListConverterTests {
+    @Test
+    public void canConvertInOrderWithReadAhead() {
+        final ConcurrentLinkedQueue<String> fetchedPages = new ConcurrentLinkedQueue<>();
+        PagedList<Integer> source = new PagedList<Integer>(page(0)) {
+            @Override
+            public Page<Integer> nextPage(String nextPageLink) {
+                fetchedPages.add(nextPageLink);
+                return page(Integer.parseInt(nextPageLink));
+            }
+        };
+
+        PagedList<String> converted = new PagedListConverter<Integer, String>() {
+            @Override
+            public Observable<String> typeConvertAsync(Integer item) {
+                // Items converted later complete earlier
+                return Observable.just("item" + item)
+                        .delay(10 - item % 10, TimeUnit.MILLISECONDS, Schedulers.io());
+            }
+        }.withParallelism(4).withReadAhead(true).convert(source);
+
+        List<String> actual = new ArrayList<>();
+        for (String item : converted) {
+            actual.add(item);
+        }
+        Assert.assertEquals(40, actual.size());
+        for (int i = 0; i < 40; i++) {
+            Assert.assertEquals("item" + i, actual.get(i));
+        }
+        Assert.assertEquals(3, fetchedPages.size());
+    }
+
+    private static PageImpl<Integer> page(int index) {
+        PageImpl<Integer> page = new PageImpl<>();
+        List<Integer> items = new ArrayList<>();
+        for (int i = 0; i < 10; i++) {
+            items.add(index * 10 + i);
+        }
+        page.setItems(items);
+        page.setNextPageLink(index < 3 ? String.valueOf(index + 1) : null);
+        return page;
+    }
+}
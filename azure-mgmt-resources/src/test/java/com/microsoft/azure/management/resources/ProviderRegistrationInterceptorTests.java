@@ -0,0 +1,119 @@
+/**
+ * Copyright (c) Microsoft Corporation. All rights reserved.
+ * Licensed under the MIT License. See License.txt in the project root for
+ * license information.
+ */
+
+package com.microsoft.azure.management.resources;
+
+import com.microsoft.azure.management.resources.core.TestDelayProvider;
+import com.microsoft.azure.management.resources.fluentcore.utils.DelayProvider;
+import com.microsoft.azure.management.resources.fluentcore.utils.ProviderRegistrationInterceptor;
+import com.microsoft.azure.management.resources.fluentcore.utils.SdkContext;
+import okhttp3.Interceptor;
+import okhttp3.MediaType;
+import okhttp3.OkHttpClient;
+import okhttp3.Protocol;
+import okhttp3.Request;
+import okhttp3.Response;
+import okhttp3.ResponseBody;
+import org.junit.After;
+import org.junit.Assert;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicInteger;
+
+public class ProviderRegistrationInterceptorTests {
+    private static final String RESOURCE_URL =
+            "https://management.azure.com/subscriptions/sub/resourceGroups/rg1/providers/Microsoft.Foo/things/thing1?api-version=2018-01-01";
+
+    @Before
+    public void setup() {
+        SdkContext.setDelayProvider(new TestDelayProvider(false));
+    }
+
+    @After
+    public void cleanup() {
+        SdkContext.setDelayProvider(new DelayProvider());
+    }
+
+    @Test
+    public void canRegisterOnceForConcurrentRequests() throws Exception {
+        final FakeResourceManager resourceManager = new FakeResourceManager();
+        final OkHttpClient client = new OkHttpClient.Builder()
+                .addInterceptor(new ProviderRegistrationInterceptor())
+                .addInterceptor(resourceManager)
+                .build();
+
+        ExecutorService executor = Executors.newFixedThreadPool(8);
+        try {
+            List<Future<Integer>> codes = new ArrayList<>();
+            for (int i = 0; i < 20; i++) {
+                codes.add(executor.submit(new Callable<Integer>() {
+                    @Override
+                    public Integer call() throws IOException {
+                        try (Response response = client.newCall(new Request.Builder().url(RESOURCE_URL).build()).execute()) {
+                            return response.code();
+                        }
+                    }
+                }));
+            }
+            for (Future<Integer> code : codes) {
+                Assert.assertEquals(200, (int) code.get());
+            }
+        } finally {
+            executor.shutdown();
+        }
+        Assert.assertEquals(1, resourceManager.registrations.get());
+        Assert.assertEquals(2, resourceManager.polls.get());
+    }
+
+    /**
+     * Fails the requests to Microsoft.Foo resources until the provider is registered, which takes two
+     * polls.
+     */
+    private static final class FakeResourceManager implements Interceptor {
+        private final AtomicInteger registrations = new AtomicInteger();
+        private final AtomicInteger polls = new AtomicInteger();
+        private volatile boolean registered;
+
+        @Override
+        public Response intercept(Chain chain) {
+            Request request = chain.request();
+            String path = request.url().encodedPath();
+            if (path.endsWith("/providers/Microsoft.Foo/register")) {
+                registrations.incrementAndGet();
+                return response(request, 200, provider("Registering"));
+            } else if (path.endsWith("/providers/Microsoft.Foo")) {
+                registered = polls.incrementAndGet() >= 2;
+                return response(request, 200, provider(registered ? "Registered" : "Registering"));
+            } else if (!registered) {
+                return response(request, 409, "{\"error\":{\"code\":\"MissingSubscriptionRegistration\","
+                        + "\"message\":\"The subscription is not registered to use namespace 'Microsoft.Foo'\"}}");
+            }
+            return response(request, 200, "{}");
+        }
+
+        private static String provider(String registrationState) {
+            return "{\"namespace\":\"Microsoft.Foo\",\"registrationState\":\"" + registrationState + "\"}";
+        }
+
+        private static Response response(Request request, int code, String body) {
+            return new Response.Builder()
+                    .request(request)
+                    .protocol(Protocol.HTTP_1_1)
+                    .code(code)
+                    .message(code == 200 ? "OK" : "Conflict")
+                    .body(ResponseBody.create(MediaType.parse("application/json"), body))
+                    .build();
+        }
+    }
+}
@@ -10,6 +10,8 @@ import com.microsoft.azure.management.resources.fluentcore.arm.ResourceId;
 import org.junit.Assert;
 import org.junit.Test;
 
+import java.security.InvalidParameterException;
+
 /**
  * Test class to test ResourceId class.
  */
@@ -75,4 +77,69 @@ public class ResourceIdTests {
         Assert.assertEquals(resourceId.parent().parent().resourceType(), "applicationGateways");
         Assert.assertEquals(resourceId.parent().parent().fullResourceType(), "Microsoft.Network/applicationGateways");
     }
+
+    @Test
+    public void resourceIdWithoutLeadingOrWithTrailingSlashWorksFine() {
+        ResourceId resourceId = ResourceId.fromString("subscriptions/sub1/resourcegroups/rg1/providers/Microsoft.Network/applicationGateways/something/someChildType/childName//");
+
+        Assert.assertEquals("childName", resourceId.name());
+        Assert.assertEquals("sub1", resourceId.subscriptionId());
+        Assert.assertEquals("rg1", resourceId.resourceGroupName());
+        Assert.assertEquals("someChildType", resourceId.resourceType());
+        Assert.assertEquals("/subscriptions/sub1/resourcegroups/rg1/providers/Microsoft.Network/applicationGateways/something", resourceId.parent().id());
+        Assert.assertEquals("Microsoft.Network/applicationGateways/someChildType", resourceId.fullResourceType());
+
+        ResourceId subscription = ResourceId.fromString("/subscriptions/sub1");
+        Assert.assertEquals("sub1", subscription.name());
+        Assert.assertEquals("subscriptions", subscription.resourceType());
+        Assert.assertEquals("sub1", subscription.subscriptionId());
+        Assert.assertNull(subscription.resourceGroupName());
+        Assert.assertNull(subscription.parent());
+
+        ResourceId none = ResourceId.fromString(null);
+        Assert.assertNull(none.id());
+        Assert.assertNull(none.name());
+        Assert.assertNull(none.parent());
+    }
+
+    @Test
+    public void resourceIdRejectsInvalidIds() {
+        String[] invalidIds = new String[] {
+            "",
+            "/",
+            "/subscriptions/sub1/resourceGroups",
+            "/subscription/sub1/resourceGroups/rg1",
+            "/subscriptions/sub1/resourceGroup/rg1",
+            "/subscriptions/sub1/resourceGroups/rg1/provider/Microsoft.Network/applicationGateways/something",
+            "//subscriptions/sub1"
+        };
+        for (String invalidId : invalidIds) {
+            try {
+                ResourceId.fromString(invalidId);
+                Assert.fail("Expected " + invalidId + " to be rejected");
+            } catch (InvalidParameterException e) {
+                Assert.assertTrue(e.getMessage().contains(invalidId));
+            }
+        }
+    }
+
+    @Test
+    public void resourceIdCacheReturnsParsedIds() {
+        String id = "/subscriptions/sub1/resourceGroups/rg1/providers/Microsoft.Network/applicationGateways/something/someChildType/childName";
+        ResourceId.setCacheCapacity(2);
+        try {
+            ResourceId resourceId = ResourceId.fromString(id);
+            Assert.assertSame(resourceId, ResourceId.fromString(id));
+            Assert.assertSame(resourceId.parent(), ResourceId.fromString(resourceId.parent().id()));
+            // Evicts the least recently used id
+            ResourceId.fromString(id);
+            ResourceId.fromString("/subscriptions/sub2");
+            Assert.assertSame(resourceId, ResourceId.fromString(id));
+            Assert.assertEquals(2, ResourceId.cacheCapacity());
+        } finally {
+            ResourceId.setCacheCapacity(0);
+        }
+        Assert.assertEquals(0, ResourceId.cacheCapacity());
+        Assert.assertNotSame(ResourceId.fromString(id), ResourceId.fromString(id));
+    }
 }
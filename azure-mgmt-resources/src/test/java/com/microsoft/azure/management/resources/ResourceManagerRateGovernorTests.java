@@ -0,0 +1,88 @@
+/**
+ * Copyright (c) Microsoft Corporation. All rights reserved.
+ * Licensed under the MIT License. See License.txt in the project root for
+ * license information.
+ */
+
+package com.microsoft.azure.management.resources;
+
+import com.microsoft.azure.management.resources.fluentcore.utils.ResourceManagerRateGovernor;
+import com.microsoft.azure.management.resources.fluentcore.utils.ResourceManagerRateGovernor.AccessClass;
+import okhttp3.Protocol;
+import okhttp3.Request;
+import okhttp3.Response;
+import org.junit.Assert;
+import org.junit.Test;
+
+public class ResourceManagerRateGovernorTests {
+    private static final String SUBSCRIPTION_ID = "9657ab5d-4a4a-4fd2-ae7a-4cd9fbd030ef";
+    private static final String TENANT_ID = "72f988bf-86f1-41af-91ab-2d7cd011db47";
+
+    @Test
+    public void canBurstWithinCapacity() {
+        ResourceManagerRateGovernor governor = new ResourceManagerRateGovernor()
+                .withBurstCapacity(AccessClass.WRITE, 10);
+        for (int i = 0; i < 10; i++) {
+            Assert.assertEquals(0, governor.reserve(SUBSCRIPTION_ID, TENANT_ID, AccessClass.WRITE));
+        }
+        Assert.assertTrue(governor.reserve(SUBSCRIPTION_ID, TENANT_ID, AccessClass.WRITE) > 0);
+        // Reads are accounted separately
+        Assert.assertEquals(0, governor.reserve(SUBSCRIPTION_ID, TENANT_ID, AccessClass.READ));
+    }
+
+    @Test
+    public void canCalibrateFromRemainingHeaders() {
+        ResourceManagerRateGovernor governor = new ResourceManagerRateGovernor();
+        governor.onResponse(SUBSCRIPTION_ID, TENANT_ID, AccessClass.READ,
+                response(200, "x-ms-ratelimit-remaining-subscription-reads", "1"));
+        Assert.assertEquals(0, governor.reserve(SUBSCRIPTION_ID, TENANT_ID, AccessClass.READ));
+        Assert.assertTrue(governor.reserve(SUBSCRIPTION_ID, TENANT_ID, AccessClass.READ) > 0);
+        // Other subscriptions are not affected
+        Assert.assertEquals(0, governor.reserve("other", TENANT_ID, AccessClass.READ));
+    }
+
+    @Test
+    public void canBlockAfterThrottling() {
+        ResourceManagerRateGovernor governor = new ResourceManagerRateGovernor();
+        governor.onThrottled(SUBSCRIPTION_ID, TENANT_ID, AccessClass.WRITE, 60000);
+        long waitMillis = governor.reserve(SUBSCRIPTION_ID, TENANT_ID, AccessClass.WRITE);
+        Assert.assertTrue(waitMillis > 50000);
+        Assert.assertEquals(1, governor.throttledRequestCount());
+        Assert.assertEquals(0, governor.reserve(SUBSCRIPTION_ID, TENANT_ID, AccessClass.READ));
+    }
+
+    @Test
+    public void canThrottleSubscriptionsIndependently() {
+        ResourceManagerRateGovernor governor = new ResourceManagerRateGovernor();
+        governor.onThrottled(SUBSCRIPTION_ID, TENANT_ID, AccessClass.READ, 60000);
+        governor.onResponse(SUBSCRIPTION_ID, TENANT_ID, AccessClass.READ,
+                response(200, "x-ms-ratelimit-remaining-tenant-reads", "0"));
+
+        Assert.assertTrue(governor.reserve(SUBSCRIPTION_ID, TENANT_ID, AccessClass.READ) > 50000);
+        // Neither another subscription of the tenant nor the tenant level requests wait
+        Assert.assertEquals(0, governor.reserve("other", TENANT_ID, AccessClass.READ));
+        Assert.assertEquals(0, governor.reserve(null, TENANT_ID, AccessClass.READ));
+    }
+
+    @Test
+    public void canCalibrateTenantFromTenantHeaders() {
+        ResourceManagerRateGovernor governor = new ResourceManagerRateGovernor();
+        governor.onResponse(null, TENANT_ID, AccessClass.READ,
+                response(200, "x-ms-ratelimit-remaining-tenant-reads", "1"));
+        Assert.assertEquals(0, governor.reserve(null, TENANT_ID, AccessClass.READ));
+        Assert.assertTrue(governor.reserve(null, TENANT_ID, AccessClass.READ) > 0);
+        // Subscription level requests of the tenant are not affected
+        Assert.assertEquals(0, governor.reserve(SUBSCRIPTION_ID, TENANT_ID, AccessClass.READ));
+        Assert.assertEquals(0, governor.reserve(null, "other", AccessClass.READ));
+    }
+
+    private static Response response(int code, String headerName, String headerValue) {
+        return new Response.Builder()
+                .request(new Request.Builder().url("https://management.azure.com/subscriptions/" + SUBSCRIPTION_ID).build())
+                .protocol(Protocol.HTTP_1_1)
+                .code(code)
+                .message("OK")
+                .header(headerName, headerValue)
+                .build();
+    }
+}
@@ -0,0 +1,94 @@
+/**
+ * Copyright (c) Microsoft Corporation. All rights reserved.
+ * Licensed under the MIT License. See License.txt in the project root for
+ * license information.
+ */
+
+package com.microsoft.azure.management.resources;
+
+import com.microsoft.azure.management.resources.fluentcore.utils.ResourceManagerRateGovernor;
+import com.microsoft.azure.management.resources.fluentcore.utils.ResourceManagerRateGovernor.AccessClass;
+import com.microsoft.azure.management.resources.fluentcore.utils.ResourceManagerThrottlingInterceptor;
+import okhttp3.Interceptor;
+import okhttp3.MediaType;
+import okhttp3.OkHttpClient;
+import okhttp3.Protocol;
+import okhttp3.Request;
+import okhttp3.RequestBody;
+import okhttp3.Response;
+import okhttp3.ResponseBody;
+import org.junit.Assert;
+import org.junit.Test;
+
+import java.io.IOException;
+import java.util.concurrent.atomic.AtomicInteger;
+
+public class ResourceManagerThrottlingInterceptorTests {
+    private static final String TENANT_ID = "72f988bf-86f1-41af-91ab-2d7cd011db47";
+
+    @Test
+    public void canPaceResourceManagerRequests() throws IOException {
+        ResourceManagerRateGovernor governor = new ResourceManagerRateGovernor();
+        ThrottlingServer server = new ThrottlingServer(1);
+
+        Response response = execute(governor, server, "https://management.azure.com/providers/Microsoft.Web/operations");
+
+        Assert.assertEquals(200, response.code());
+        Assert.assertEquals(2, server.requests.get());
+        Assert.assertEquals(1, governor.throttledRequestCount());
+    }
+
+    @Test
+    public void canLeaveDataPlaneRequestsUnpaced() throws IOException {
+        ResourceManagerRateGovernor governor = new ResourceManagerRateGovernor()
+                .withBurstCapacity(AccessClass.WRITE, 1);
+        ThrottlingServer server = new ThrottlingServer(1);
+
+        // Neither the throttling nor the writes of a vault are accounted against the tenant
+        Response response = execute(governor, server, "https://vault1.vault.azure.net/keys/key1/create");
+        for (int i = 0; i < 5; i++) {
+            execute(governor, server, "https://webapp1.scm.azurewebsites.net/api/zipdeploy").close();
+        }
+
+        Assert.assertEquals(200, response.code());
+        Assert.assertEquals(7, server.requests.get());
+        Assert.assertEquals(0, governor.throttledRequestCount());
+        Assert.assertEquals(0, governor.reserve(null, TENANT_ID, AccessClass.WRITE));
+    }
+
+    private static Response execute(ResourceManagerRateGovernor governor, ThrottlingServer server, String url) throws IOException {
+        OkHttpClient client = new OkHttpClient.Builder()
+                .addInterceptor(new ResourceManagerThrottlingInterceptor(governor, TENANT_ID))
+                .addInterceptor(server)
+                .build();
+        return client.newCall(new Request.Builder()
+                .url(url)
+                .post(RequestBody.create(MediaType.parse("application/json"), "{}"))
+                .build()).execute();
+    }
+
+    /**
+     * Answers the requests without a network, throttling the first ones.
+     */
+    private static final class ThrottlingServer implements Interceptor {
+        private final AtomicInteger requests = new AtomicInteger();
+        private final int throttledCount;
+
+        ThrottlingServer(int throttledCount) {
+            this.throttledCount = throttledCount;
+        }
+
+        @Override
+        public Response intercept(Chain chain) {
+            int code = requests.incrementAndGet() <= throttledCount ? 429 : 200;
+            return new Response.Builder()
+                    .request(chain.request())
+                    .protocol(Protocol.HTTP_1_1)
+                    .code(code)
+                    .message(code == 429 ? "Too Many Requests" : "OK")
+                    .header("Retry-After", "0")
+                    .body(ResponseBody.create(MediaType.parse("application/json"), "{}"))
+                    .build();
+        }
+    }
+}
@@ -8,11 +8,25 @@ package com.microsoft.azure.management.resources;
 
 import com.microsoft.azure.management.resources.fluentcore.arm.ResourceUtils;
 import com.microsoft.azure.management.resources.fluentcore.utils.Utils;
+import okhttp3.Interceptor;
+import okhttp3.MediaType;
+import okhttp3.OkHttpClient;
+import okhttp3.Protocol;
+import okhttp3.Response;
+import okhttp3.ResponseBody;
+import okio.Buffer;
+import okio.BufferedSource;
 import org.junit.Assert;
 import org.junit.Test;
 import retrofit2.Retrofit;
 import retrofit2.adapter.rxjava.RxJavaCallAdapterFactory;
 
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.nio.channels.Channels;
+import java.util.Arrays;
+import java.util.Random;
+
 public class ResourceUtilsTests {
     @Test
     public void canExtractGroupFromId() throws Exception {
@@ -48,4 +62,161 @@ public class ResourceUtilsTests {
         String contentString = new String(content);
         Assert.assertNotNull(contentString);
     }
+
+    @Test
+    public void canCopyStreamToChannel() throws Exception {
+        byte[] content = new byte[200 * 1024 + 17];
+        new Random(1).nextBytes(content);
+        ByteArrayOutputStream outputStream = new ByteArrayOutputStream();
+
+        long count = Utils.copy(new ByteArrayInputStream(content), Channels.newChannel(outputStream));
+
+        Assert.assertEquals(content.length, count);
+        Assert.assertArrayEquals(content, outputStream.toByteArray());
+        Assert.assertEquals(0, Utils.copy(null, Channels.newChannel(outputStream)));
+    }
+
+    @Test
+    public void canResumeDownloadWithRange() throws Exception {
+        FileServer server = new FileServer(content(1000), true);
+        ByteArrayOutputStream outputStream = new ByteArrayOutputStream();
+
+        long count = Utils.downloadFileAsync(FileServer.URL, server.retrofit(), Channels.newChannel(outputStream), 100)
+                .toBlocking().single();
+
+        Assert.assertEquals("bytes=100-", server.range);
+        Assert.assertEquals(900, count);
+        Assert.assertArrayEquals(Arrays.copyOfRange(server.content, 100, 1000), outputStream.toByteArray());
+        Assert.assertTrue(server.body.closed);
+    }
+
+    @Test
+    public void canResumeDownloadFromServerIgnoringRange() throws Exception {
+        FileServer server = new FileServer(content(1000), false);
+        ByteArrayOutputStream outputStream = new ByteArrayOutputStream();
+
+        long count = Utils.downloadFileAsync(FileServer.URL, server.retrofit(), Channels.newChannel(outputStream), 100)
+                .toBlocking().single();
+
+        Assert.assertEquals(900, count);
+        Assert.assertArrayEquals(Arrays.copyOfRange(server.content, 100, 1000), outputStream.toByteArray());
+        Assert.assertTrue(server.body.closed);
+    }
+
+    @Test
+    public void canCloseBodyWhenFileIsShorterThanOffset() throws Exception {
+        FileServer server = new FileServer(content(1000), false);
+        ByteArrayOutputStream outputStream = new ByteArrayOutputStream();
+
+        try {
+            Utils.downloadFileAsync(FileServer.URL, server.retrofit(), Channels.newChannel(outputStream), 2000)
+                    .toBlocking().single();
+            Assert.fail();
+        } catch (RuntimeException e) {
+            // expected, the file has no 2000 bytes to skip
+        }
+
+        Assert.assertTrue(server.body.closed);
+        Assert.assertEquals(0, outputStream.size());
+    }
+
+    @Test
+    public void canResumeDownloadAtEndOfFile() throws Exception {
+        FileServer server = new FileServer(content(1000), true);
+        ByteArrayOutputStream outputStream = new ByteArrayOutputStream();
+
+        long count = Utils.downloadFileAsync(FileServer.URL, server.retrofit(), Channels.newChannel(outputStream), 1000)
+                .toBlocking().single();
+
+        Assert.assertEquals(0, count);
+        Assert.assertEquals(0, outputStream.size());
+    }
+
+    private static byte[] content(int length) {
+        byte[] content = new byte[length];
+        new Random(1).nextBytes(content);
+        return content;
+    }
+
+    /**
+     * Serves a file without a network, with or without support for ranges.
+     */
+    private static final class FileServer implements Interceptor {
+        private static final String URL = "https://files.contoso.com/file1";
+        private static final MediaType OCTET_STREAM = MediaType.parse("application/octet-stream");
+
+        private final byte[] content;
+        private final boolean supportsRanges;
+        private volatile String range;
+        private volatile TrackedBody body;
+
+        FileServer(byte[] content, boolean supportsRanges) {
+            this.content = content;
+            this.supportsRanges = supportsRanges;
+        }
+
+        Retrofit retrofit() {
+            return new Retrofit.Builder()
+                    .baseUrl("https://files.contoso.com/")
+                    .client(new OkHttpClient.Builder().addInterceptor(this).build())
+                    .addCallAdapterFactory(RxJavaCallAdapterFactory.create())
+                    .build();
+        }
+
+        @Override
+        public Response intercept(Chain chain) {
+            range = chain.request().header("Range");
+            Response.Builder response = new Response.Builder()
+                    .request(chain.request())
+                    .protocol(Protocol.HTTP_1_1);
+            if (!supportsRanges || range == null) {
+                body = new TrackedBody(content);
+                return response.code(200).message("OK").body(body).build();
+            }
+            int start = Integer.parseInt(range.substring("bytes=".length(), range.length() - 1));
+            if (start >= content.length) {
+                body = new TrackedBody(new byte[0]);
+                return response.code(416).message("Range Not Satisfiable")
+                        .header("Content-Range", "bytes */" + content.length)
+                        .body(body).build();
+            }
+            body = new TrackedBody(Arrays.copyOfRange(content, start, content.length));
+            return response.code(206).message("Partial Content")
+                    .header("Content-Range", "bytes " + start + "-" + (content.length - 1) + "/" + content.length)
+                    .body(body).build();
+        }
+    }
+
+    /**
+     * A response body recording whether it was closed.
+     */
+    private static final class TrackedBody extends ResponseBody {
+        private final Buffer source;
+        private volatile boolean closed;
+
+        TrackedBody(byte[] content) {
+            this.source = new Buffer().write(content);
+        }
+
+        @Override
+        public MediaType contentType() {
+            return FileServer.OCTET_STREAM;
+        }
+
+        @Override
+        public long contentLength() {
+            return source.size();
+        }
+
+        @Override
+        public BufferedSource source() {
+            return source;
+        }
+
+        @Override
+        public void close() {
+            closed = true;
+            super.close();
+        }
+    }
 }
@@ -201,7 +201,7 @@ public abstract class TestBase {
                             .withBaseUrl(this.baseUri())
                             .withSerializerAdapter(new AzureJacksonAdapter())
                             .withResponseBuilderFactory(new AzureResponseBuilder.Factory())
-                            .withInterceptor(new ProviderRegistrationInterceptor(credentials))
+                            .withInterceptor(new ProviderRegistrationInterceptor())
                             .withNetworkInterceptor(new ResourceGroupTaggingInterceptor())
                             .withCredentials(credentials)
                             .withLogLevel(LogLevel.NONE)
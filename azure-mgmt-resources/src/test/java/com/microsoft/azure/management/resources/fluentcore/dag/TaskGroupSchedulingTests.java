@@ -0,0 +1,203 @@
+/**
+ * Copyright (c) Microsoft Corporation. All rights reserved.
+ * Licensed under the MIT License. See License.txt in the project root for
+ * license information.
+ */
+
+package com.microsoft.azure.management.resources.fluentcore.dag;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.microsoft.azure.management.resources.fluentcore.model.Indexable;
+import org.junit.Assert;
+import org.junit.Test;
+import rx.Observable;
+import rx.functions.Action0;
+import rx.functions.Func0;
+import rx.functions.Func1;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+public class TaskGroupSchedulingTests {
+    @Test
+    public void canLimitTasksInFlight() {
+        Tracker tracker = new Tracker();
+        TrackedTaskItem root = new TrackedTaskItem("root", tracker);
+        for (int i = 0; i < 8; i++) {
+            root.addDependency(new TrackedTaskItem("leaf" + i, tracker));
+        }
+
+        TaskGroup.InvocationContext context = root.taskGroup().newInvocationContext()
+                .withMaxConcurrency(3);
+        root.taskGroup().invokeAsync(context).toBlocking().last();
+
+        Assert.assertEquals(9, tracker.started.size());
+        Assert.assertTrue(tracker.maxInFlight.get() <= 3);
+        Assert.assertEquals(9, context.taskTimings().size());
+        for (TaskTiming timing : context.taskTimings().values()) {
+            Assert.assertTrue(timing.isFinished());
+            Assert.assertFalse(timing.isFaulted());
+        }
+    }
+
+    @Test
+    public void canLimitTasksInFlightPerCategory() {
+        final Tracker tracker = new Tracker();
+        TrackedTaskItem root = new TrackedTaskItem("root", tracker);
+        for (int i = 0; i < 4; i++) {
+            root.addDependency(new TrackedTaskItem("nic" + i, tracker));
+            root.addDependency(new TrackedTaskItem("ip" + i, tracker));
+        }
+
+        TaskGroup.InvocationContext context = root.taskGroup().newInvocationContext()
+                .withTaskCategorizer(new Func1<TaskItem, String>() {
+                    @Override
+                    public String call(TaskItem taskItem) {
+                        return ((TrackedTaskItem) taskItem).name.replaceAll("[0-9]", "");
+                    }
+                })
+                .withMaxConcurrency("nic", 1);
+        root.taskGroup().invokeAsync(context).toBlocking().last();
+
+        Assert.assertEquals(9, tracker.started.size());
+        Assert.assertEquals(1, tracker.maxInFlightNic.get());
+    }
+
+    @Test
+    public void canStartLongestPathFirst() {
+        Tracker tracker = new Tracker();
+        TrackedTaskItem root = new TrackedTaskItem("root", tracker);
+        TrackedTaskItem a = new TrackedTaskItem("a", tracker);
+        TrackedTaskItem b = new TrackedTaskItem("b", tracker);
+        TrackedTaskItem c = new TrackedTaskItem("c", tracker);
+        TrackedTaskItem d = new TrackedTaskItem("d", tracker);
+        TrackedTaskItem e = new TrackedTaskItem("e", tracker);
+        // root -> a -> d -> e is the critical path, b and c are started after the tasks on it
+        a.addDependency(d);
+        d.addDependency(e);
+        root.addDependency(b);
+        root.addDependency(c);
+        root.addDependency(a);
+
+        TaskGroup.InvocationContext context = root.taskGroup().newInvocationContext()
+                .withMaxConcurrency(1)
+                .withSchedulingStrategy(TaskGroupSchedulingStrategy.LONGEST_PATH_FIRST);
+        root.taskGroup().invokeAsync(context).toBlocking().last();
+
+        Assert.assertEquals(6, tracker.started.size());
+        Assert.assertEquals("e", tracker.started.get(0));
+        Assert.assertEquals("d", tracker.started.get(1));
+        Assert.assertEquals("root", tracker.started.get(5));
+        Assert.assertEquals(1, tracker.maxInFlight.get());
+    }
+
+    @Test
+    public void canReportCriticalPath() throws Exception {
+        Tracker tracker = new Tracker();
+        TrackedTaskItem root = new TrackedTaskItem("root", tracker);
+        TrackedTaskItem a = new TrackedTaskItem("a", tracker);
+        TrackedTaskItem b = new TrackedTaskItem("b", tracker, 150);
+        TrackedTaskItem c = new TrackedTaskItem("c", tracker);
+        a.addDependency(b);
+        root.addDependency(a);
+        root.addDependency(c);
+
+        TaskGroupMetrics metrics = new TaskGroupMetrics();
+        TaskGroup.InvocationContext context = root.taskGroup().newInvocationContext()
+                .withListener(metrics);
+        root.taskGroup().invokeAsync(context).toBlocking().last();
+
+        Assert.assertEquals(4, metrics.timings().size());
+        List<TaskTiming> criticalPath = metrics.criticalPath();
+        Assert.assertEquals(3, criticalPath.size());
+        Assert.assertEquals("b", criticalPath.get(0).taskId());
+        Assert.assertEquals("a", criticalPath.get(1).taskId());
+        Assert.assertEquals("root", criticalPath.get(2).taskId());
+        Assert.assertTrue(criticalPath.get(0).executionMillis() >= 150);
+        Assert.assertTrue(metrics.criticalPathMillis() >= 190);
+
+        String dot = metrics.toDot();
+        Assert.assertTrue(dot.startsWith("digraph TaskGroup {"));
+        Assert.assertTrue(dot.contains("\"b\" -> \"a\" [color=red, penwidth=2];"));
+        Assert.assertTrue(dot.contains("\"c\" -> \"root\";"));
+        String json = metrics.toJson();
+        Assert.assertTrue(json.contains("\"criticalPath\":[\"b\",\"a\",\"root\"]"));
+        JsonNode report = new ObjectMapper().readTree(json);
+        Assert.assertEquals(4, report.get("tasks").size());
+        JsonNode rootReport = report.get("tasks").get(3);
+        Assert.assertEquals("root", rootReport.get("id").asText());
+        Assert.assertTrue(rootReport.get("critical").asBoolean());
+        Assert.assertEquals(2, rootReport.get("dependencies").size());
+        Assert.assertFalse(rootReport.has("error"));
+    }
+
+    private static class Tracker {
+        private final List<String> started = Collections.synchronizedList(new ArrayList<String>());
+        private final AtomicInteger inFlight = new AtomicInteger();
+        private final AtomicInteger maxInFlight = new AtomicInteger();
+        private final AtomicInteger inFlightNic = new AtomicInteger();
+        private final AtomicInteger maxInFlightNic = new AtomicInteger();
+
+        void onStart(String name) {
+            started.add(name);
+            updateMax(maxInFlight, inFlight.incrementAndGet());
+            if (name.startsWith("nic")) {
+                updateMax(maxInFlightNic, inFlightNic.incrementAndGet());
+            }
+        }
+
+        void onEnd(String name) {
+            inFlight.decrementAndGet();
+            if (name.startsWith("nic")) {
+                inFlightNic.decrementAndGet();
+            }
+        }
+
+        private static void updateMax(AtomicInteger max, int value) {
+            int current;
+            while ((current = max.get()) < value && !max.compareAndSet(current, value)) {
+                // retry
+            }
+        }
+    }
+
+    private static class TrackedTaskItem extends IndexableTaskItem {
+        private final String name;
+        private final Tracker tracker;
+        private final long delayMillis;
+
+        TrackedTaskItem(String name, Tracker tracker) {
+            this(name, tracker, 20);
+        }
+
+        TrackedTaskItem(String name, Tracker tracker, long delayMillis) {
+            super(name);
+            this.name = name;
+            this.tracker = tracker;
+            this.delayMillis = delayMillis;
+        }
+
+        @Override
+        protected Observable<Indexable> invokeTaskAsync(TaskGroup.InvocationContext context) {
+            final TrackedTaskItem self = this;
+            return Observable.defer(new Func0<Observable<Indexable>>() {
+                @Override
+                public Observable<Indexable> call() {
+                    tracker.onStart(name);
+                    return Observable.<Indexable>just(self)
+                            .delay(delayMillis, TimeUnit.MILLISECONDS)
+                            .doOnTerminate(new Action0() {
+                                @Override
+                                public void call() {
+                                    tracker.onEnd(name);
+                                }
+                            });
+                }
+            });
+        }
+    }
+}
@@ -0,0 +1,200 @@
+/**
+ * Copyright (c) Microsoft Corporation. All rights reserved.
+ * Licensed under the MIT License. See License.txt in the project root for
+ * license information.
+ */
+
+package com.microsoft.azure.management.resources.implementation;
+
+import com.microsoft.azure.AzureResponseBuilder;
+import com.microsoft.azure.management.resources.GenericResource;
+import com.microsoft.azure.serializer.AzureJacksonAdapter;
+import com.microsoft.rest.RestClient;
+import okhttp3.Interceptor;
+import okhttp3.MediaType;
+import okhttp3.Protocol;
+import okhttp3.Response;
+import okhttp3.ResponseBody;
+import org.junit.Assert;
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+
+public class GenericResourcesIndexTests {
+    private static final long SECOND = TimeUnit.SECONDS.toNanos(1);
+    private static final String GROUP = "/subscriptions/sub/resourceGroups/";
+    private static final String DB1 = GenericResourcesImpl.indexKey("Microsoft.Sql", "databases", "s1/db1");
+    private static final String DB2 = GenericResourcesImpl.indexKey("Microsoft.Sql", "databases", "s1/db2");
+
+    @Test
+    public void canReuseIndexOfResourceGroup() {
+        FakeResourceManager arm = new FakeResourceManager();
+        arm.addDatabase("rg1", "s1/db1");
+        arm.addDatabase("rg1", "s1/db2");
+        GenericResourcesImpl resources = arm.genericResources();
+
+        Assert.assertEquals("s1/db1", resources.getIndexed("RG1", DB1, 0).name());
+        Assert.assertEquals("s1/db2", resources.getIndexed("rg1", DB2, SECOND).name());
+        Assert.assertEquals(1, arm.listings("rg1"));
+    }
+
+    @Test
+    public void canListAgainOnMissInStaleIndex() {
+        FakeResourceManager arm = new FakeResourceManager();
+        arm.addDatabase("rg1", "s1/db1");
+        GenericResourcesImpl resources = arm.genericResources();
+        Assert.assertNotNull(resources.getIndexed("rg1", DB1, 0));
+
+        // Created after the listing
+        arm.addDatabase("rg1", "s1/db2");
+
+        Assert.assertEquals("s1/db2", resources.getIndexed("rg1", DB2, SECOND).name());
+        Assert.assertEquals(2, arm.listings("rg1"));
+        Assert.assertNotNull(resources.getIndexed("rg1", DB1, 2 * SECOND));
+        Assert.assertEquals(2, arm.listings("rg1"));
+        Assert.assertNull(resources.getIndexed("rg1", GenericResourcesImpl.indexKey("Microsoft.Sql", "databases", "s1/db3"), 3 * SECOND));
+        Assert.assertEquals(3, arm.listings("rg1"));
+    }
+
+    @Test
+    public void canEvictExpiredIndexes() {
+        FakeResourceManager arm = new FakeResourceManager();
+        arm.addDatabase("rg1", "s1/db1");
+        arm.addDatabase("rg2", "s1/db1");
+        GenericResourcesImpl resources = arm.genericResources();
+        resources.getIndexed("rg1", DB1, 0);
+        resources.getIndexed("rg2", DB1, 20 * SECOND);
+        Assert.assertEquals(2, resources.indexCount());
+
+        resources.getIndexed("rg2", DB1, 40 * SECOND);
+
+        Assert.assertEquals(1, resources.indexCount());
+        Assert.assertEquals(1, arm.listings("rg2"));
+
+        resources.getIndexed("rg2", DB1, 60 * SECOND);
+        Assert.assertEquals(1, resources.indexCount());
+        Assert.assertEquals(2, arm.listings("rg2"));
+    }
+
+    @Test
+    public void canGetTopLevelResourceByName() {
+        FakeResourceManager arm = new FakeResourceManager();
+        arm.resources.put((GROUP + "rg1/providers/Microsoft.Sql/servers/s1").toLowerCase(), resource("rg1", "servers/s1", "s1", "servers"));
+        GenericResourcesImpl resources = arm.genericResources();
+
+        GenericResource server = resources.get("rg1", "Microsoft.Sql", "servers", "s1");
+
+        Assert.assertEquals("s1", server.name());
+        Assert.assertEquals("2017-10-01-preview", server.apiVersion());
+        Assert.assertNull(resources.get("rg1", "Microsoft.Sql", "servers", "missing"));
+        Assert.assertEquals(0, arm.listings("rg1"));
+    }
+
+    @Test
+    public void canReturnNullForUnknownNamespace() {
+        FakeResourceManager arm = new FakeResourceManager();
+        arm.addDatabase("rg1", "s1/db1");
+
+        Assert.assertNull(arm.genericResources().get("rg1", "Microsoft.Unknown", "things", "thing1"));
+        // Looked up in the listing, like any resource Azure Resource Manager does not know of
+        Assert.assertEquals(1, arm.listings("rg1"));
+    }
+
+    @Test
+    public void canReturnNullForUnknownResourceType() {
+        FakeResourceManager arm = new FakeResourceManager();
+        arm.addDatabase("rg1", "s1/db1");
+
+        Assert.assertNull(arm.genericResources().get("rg1", "Microsoft.Sql", "unknownTypes", "s1"));
+        Assert.assertEquals(1, arm.listings("rg1"));
+        // No request with a made up API version
+        Assert.assertTrue(arm.resourceGets.isEmpty());
+    }
+
+    private static String resource(String resourceGroupName, String path, String name, String type) {
+        return "{\"id\": \"" + GROUP + resourceGroupName + "/providers/Microsoft.Sql/" + path + "\", \"name\": \"" + name
+                + "\", \"type\": \"Microsoft.Sql/" + type + "\", \"location\": \"eastus\"}";
+    }
+
+    /**
+     * Azure Resource Manager in memory, serving the Microsoft.Sql provider, the resources by ID and the
+     * listings of the resource groups.
+     */
+    private static final class FakeResourceManager implements Interceptor {
+        private static final MediaType JSON = MediaType.parse("application/json");
+        private static final String PROVIDER = "{\"namespace\": \"Microsoft.Sql\", \"resourceTypes\": ["
+                + "{\"resourceType\": \"servers\", \"apiVersions\": [\"2017-10-01-preview\", \"2015-05-01\"]}, "
+                + "{\"resourceType\": \"servers/databases\", \"apiVersions\": [\"2017-10-01-preview\"]}]}";
+
+        private final Map<String, List<String>> groups = new ConcurrentHashMap<>();
+        // By lower case ID, as the IDs built by the SDK do not keep the case of the listed ones
+        private final Map<String, String> resources = new ConcurrentHashMap<>();
+        private final Map<String, Integer> listings = new ConcurrentHashMap<>();
+        private final List<String> resourceGets = Collections.synchronizedList(new ArrayList<String>());
+
+        GenericResourcesImpl genericResources() {
+            return new GenericResourcesImpl(ResourceManager.authenticate(new RestClient.Builder()
+                    .withBaseUrl("https://management.azure.com/")
+                    .withSerializerAdapter(new AzureJacksonAdapter())
+                    .withResponseBuilderFactory(new AzureResponseBuilder.Factory())
+                    .withInterceptor(this)
+                    .build()).withSubscription("sub"));
+        }
+
+        void addDatabase(String resourceGroupName, String name) {
+            if (!this.groups.containsKey(resourceGroupName)) {
+                this.groups.put(resourceGroupName, Collections.synchronizedList(new ArrayList<String>()));
+            }
+            this.groups.get(resourceGroupName).add(resource(resourceGroupName,
+                    "servers/" + name.replace("/", "/databases/"), name, "servers/databases"));
+        }
+
+        int listings(String resourceGroupName) {
+            Integer count = this.listings.get(resourceGroupName);
+            return count == null ? 0 : count;
+        }
+
+        @Override
+        public Response intercept(Chain chain) {
+            String path = chain.request().url().encodedPath();
+            int code = 200;
+            String body;
+            if (path.equals("/subscriptions/sub/providers/Microsoft.Sql")) {
+                body = PROVIDER;
+            } else if (path.startsWith("/subscriptions/sub/providers/")) {
+                code = 404;
+                body = "{\"error\": {\"code\": \"InvalidResourceNamespace\", \"message\": \"Unknown namespace\"}}";
+            } else if (path.startsWith(GROUP) && path.endsWith("/resources")) {
+                String resourceGroupName = path.substring(GROUP.length(), path.length() - "/resources".length());
+                this.listings.put(resourceGroupName, listings(resourceGroupName) + 1);
+                List<String> items = this.groups.containsKey(resourceGroupName)
+                        ? new ArrayList<>(this.groups.get(resourceGroupName))
+                        : new ArrayList<String>();
+                StringBuilder page = new StringBuilder("{\"value\": [");
+                for (int i = 0; i < items.size(); i++) {
+                    page.append(i == 0 ? "" : ", ").append(items.get(i));
+                }
+                body = page.append("]}").toString();
+            } else if (this.resources.containsKey(path.toLowerCase())) {
+                this.resourceGets.add(path);
+                body = this.resources.get(path.toLowerCase());
+            } else {
+                this.resourceGets.add(path);
+                code = 404;
+                body = "{\"error\": {\"code\": \"ResourceNotFound\", \"message\": \"Not found\"}}";
+            }
+            return new Response.Builder()
+                    .request(chain.request())
+                    .protocol(Protocol.HTTP_1_1)
+                    .code(code)
+                    .message(code == 200 ? "OK" : "Not Found")
+                    .body(ResponseBody.create(JSON, body))
+                    .build();
+        }
+    }
+}
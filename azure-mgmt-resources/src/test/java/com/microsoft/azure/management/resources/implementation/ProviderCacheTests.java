@@ -0,0 +1,138 @@
+/**
+ * Copyright (c) Microsoft Corporation. All rights reserved.
+ * Licensed under the MIT License. See License.txt in the project root for
+ * license information.
+ */
+
+package com.microsoft.azure.management.resources.implementation;
+
+import com.microsoft.azure.management.resources.Provider;
+import com.microsoft.azure.serializer.AzureJacksonAdapter;
+import org.junit.Assert;
+import org.junit.Test;
+import rx.Observable;
+import rx.functions.Func0;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+public class ProviderCacheTests {
+    private static final String VM_ID = "/subscriptions/sub/resourceGroups/rg1/providers/Microsoft.Compute/virtualMachines/vm1";
+
+    @Test
+    public void canShareConcurrentLoads() {
+        TestCache cache = new TestCache();
+        List<Observable<Provider>> gets = new ArrayList<>();
+        for (int i = 0; i < 10; i++) {
+            gets.add(cache.getAsync(i % 2 == 0 ? "Microsoft.Compute" : "microsoft.compute"));
+        }
+
+        List<Provider> providers = Observable.merge(gets).toList().toBlocking().single();
+
+        Assert.assertEquals(10, providers.size());
+        Assert.assertEquals(1, cache.loads.get());
+        Assert.assertEquals("2018-06-01", cache.defaultApiVersionAsync(VM_ID).toBlocking().single());
+        Assert.assertEquals(1, cache.loads.get());
+    }
+
+    @Test
+    public void canExpireProviders() {
+        TestCache cache = new TestCache();
+        cache.withTimeToLive(0, TimeUnit.MILLISECONDS);
+
+        cache.get("Microsoft.Compute");
+        cache.get("Microsoft.Compute");
+
+        Assert.assertEquals(2, cache.loads.get());
+    }
+
+    @Test
+    public void canExpireEmptyLoads() {
+        TestCache cache = new TestCache();
+        cache.withTimeToLive(0, TimeUnit.MILLISECONDS);
+        cache.empty = true;
+
+        Assert.assertTrue(cache.getAsync("Microsoft.Compute").toList().toBlocking().single().isEmpty());
+        cache.empty = false;
+
+        Assert.assertEquals("Microsoft.Compute", cache.get("Microsoft.Compute").namespace());
+        Assert.assertEquals(2, cache.loads.get());
+    }
+
+    @Test
+    public void canRetryFailedLoads() {
+        TestCache cache = new TestCache();
+        cache.failures.set(1);
+
+        try {
+            cache.get("Microsoft.Compute");
+            Assert.fail();
+        } catch (RuntimeException e) {
+            // Expected
+        }
+        Assert.assertEquals("Microsoft.Compute", cache.get("Microsoft.Compute").namespace());
+        Assert.assertEquals(2, cache.loads.get());
+    }
+
+    @Test
+    public void canPreload() {
+        TestCache cache = new TestCache();
+
+        cache.preloadAsync().await();
+
+        Assert.assertEquals("2018-06-01", cache.defaultApiVersionAsync(VM_ID).toBlocking().single());
+        Assert.assertEquals(0, cache.loads.get());
+        Assert.assertEquals(1, cache.lists.get());
+    }
+
+    private static Provider provider(String namespace) {
+        try {
+            ProviderInner inner = new AzureJacksonAdapter().deserialize("{\"namespace\":\"" + namespace + "\","
+                    + "\"resourceTypes\":[{\"resourceType\":\"virtualMachines\",\"apiVersions\":[\"2018-06-01\",\"2017-12-01\"]}]}",
+                    ProviderInner.class);
+            return new ProviderImpl(inner);
+        } catch (IOException e) {
+            throw new RuntimeException(e);
+        }
+    }
+
+    /**
+     * Serves the providers with a delay, counting the requests.
+     */
+    private static final class TestCache extends ProviderCacheImpl {
+        private final AtomicInteger loads = new AtomicInteger();
+        private final AtomicInteger lists = new AtomicInteger();
+        private final AtomicInteger failures = new AtomicInteger();
+        private volatile boolean empty;
+
+        TestCache() {
+            super(null);
+        }
+
+        @Override
+        Observable<Provider> loadAsync(final String namespace) {
+            return Observable.defer(new Func0<Observable<Provider>>() {
+                @Override
+                public Observable<Provider> call() {
+                    loads.incrementAndGet();
+                    if (failures.getAndDecrement() > 0) {
+                        return Observable.error(new IllegalStateException("Provider not available"));
+                    }
+                    if (empty) {
+                        return Observable.empty();
+                    }
+                    return Observable.just(provider("Microsoft.Compute")).delay(20, TimeUnit.MILLISECONDS);
+                }
+            });
+        }
+
+        @Override
+        Observable<Provider> listAsync() {
+            lists.incrementAndGet();
+            return Observable.just(provider("Microsoft.Compute"), provider("Microsoft.Network"));
+        }
+    }
+}
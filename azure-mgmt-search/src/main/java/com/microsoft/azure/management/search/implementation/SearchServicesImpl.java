@@ -46,7 +46,7 @@ class SearchServicesImpl
   @Override
   public PagedList<SearchService> list() {
     final SearchServicesImpl self = this;
-    return new GroupPagedList<SearchService>(this.manager().resourceManager().resourceGroups().list()) {
+    return new GroupPagedList<SearchService>(this.manager().resourceManager().resourceGroups().list(), GroupPagedList.defaultParallelism()) {
       @Override
       public List<SearchService> listNextGroup(String resourceGroupName) {
         return wrapList(self.inner().listByResourceGroup(resourceGroupName));
@@ -56,8 +56,8 @@ class SearchServicesImpl
 
   @Override
   public Observable<SearchService> listAsync() {
-    return this.manager().resourceManager().resourceGroups().listAsync()
-        .flatMap(new Func1<ResourceGroup, Observable<SearchService>>() {
+    return GroupPagedList.listAsync(this.manager().resourceManager().resourceGroups().listAsync(),
+        new Func1<ResourceGroup, Observable<SearchService>>() {
           @Override
           public Observable<SearchService> call(ResourceGroup resourceGroup) {
             return wrapListAsync(inner().listByResourceGroupAsync(resourceGroup.name()));
@@ -122,7 +122,7 @@ public final class ManageScaleSetUserAssignedMSIFromServicePrincipal {
                     .withBaseUrl(AzureEnvironment.AZURE.url(AzureEnvironment.Endpoint.RESOURCE_MANAGER))
                     .withSerializerAdapter(new AzureJacksonAdapter())
                     .withResponseBuilderFactory(new AzureResponseBuilder.Factory())
-                    .withInterceptor(new ProviderRegistrationInterceptor(credentials))
+                    .withInterceptor(new ProviderRegistrationInterceptor())
                     .withCredentials(credentials)
                     .withLogLevel(LogLevel.NONE)
                     .withReadTimeout(3, TimeUnit.MINUTES)
@@ -0,0 +1,119 @@
+/**
+ * Copyright (c) Microsoft Corporation. All rights reserved.
+ * Licensed under the MIT License. See License.txt in the project root for
+ * license information.
+ */
+
+package com.microsoft.azure.management;
+
+import com.microsoft.azure.AzureEnvironment;
+import com.microsoft.azure.credentials.ApplicationTokenCredentials;
+import com.microsoft.azure.management.compute.VirtualMachines;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+import org.openjdk.jmh.profile.GCProfiler;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures the cold start of the {@link Azure} entry point: the time from authenticating to the first
+ * entry point being usable, each measurement in a fresh JVM. The GC profiler reports the heap
+ * allocated by each of them as gc.alloc.rate.norm.
+ * <p>
+ * No request is sent: the subscription is selected explicitly and the credentials only acquire a
+ * token for the first request.
+ * <p>
+ * Run with: mvn -Pbenchmark test-compile exec:java from the azure directory, or run the main
+ * method of this class from the IDE after activating the benchmark profile.
+ */
+@BenchmarkMode(Mode.SingleShotTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 0)
+@Measurement(iterations = 1)
+@Fork(10)
+public class AzureStartupBenchmark {
+    private static final String TENANT_ID = "72f988bf-86f1-41af-91ab-2d7cd011db47";
+    private static final String CLIENT_ID = "9657ab5d-4a4a-4fd2-ae7a-4cd9fbd030ef";
+    private static final String SUBSCRIPTION_ID = "0b1f6471-1bf0-4dda-aec3-cb9272f09590";
+
+    /**
+     * Authenticates and selects the subscription.
+     *
+     * @return the entry point
+     */
+    @Benchmark
+    public Azure authenticate() {
+        return authenticated();
+    }
+
+    /**
+     * Authenticates and gets the entry point of the first call.
+     *
+     * @return the entry point of the first call
+     */
+    @Benchmark
+    public VirtualMachines firstCall() {
+        return authenticated().virtualMachines();
+    }
+
+    /**
+     * Authenticates and gets an entry point of every manager, the cost every application paid
+     * when the managers were built eagerly.
+     *
+     * @param blackhole consumes the entry points
+     */
+    @Benchmark
+    public void allManagers(Blackhole blackhole) {
+        Azure azure = authenticated();
+        blackhole.consume(azure.resourceGroups());
+        blackhole.consume(azure.storageAccounts());
+        blackhole.consume(azure.virtualMachines());
+        blackhole.consume(azure.networks());
+        blackhole.consume(azure.vaults());
+        blackhole.consume(azure.batchAccounts());
+        blackhole.consume(azure.batchAIWorkspaces());
+        blackhole.consume(azure.trafficManagerProfiles());
+        blackhole.consume(azure.redisCaches());
+        blackhole.consume(azure.cdnProfiles());
+        blackhole.consume(azure.dnsZones());
+        blackhole.consume(azure.webApps());
+        blackhole.consume(azure.sqlServers());
+        blackhole.consume(azure.serviceBusNamespaces());
+        blackhole.consume(azure.containerGroups());
+        blackhole.consume(azure.containerRegistries());
+        blackhole.consume(azure.kubernetesClusters());
+        blackhole.consume(azure.searchServices());
+        blackhole.consume(azure.cosmosDBAccounts());
+        blackhole.consume(azure.managementLocks());
+        blackhole.consume(azure.identities());
+        blackhole.consume(azure.activityLogs());
+        blackhole.consume(azure.eventHubNamespaces());
+    }
+
+    private static Azure authenticated() {
+        return Azure.authenticate(new ApplicationTokenCredentials(CLIENT_ID, TENANT_ID, "secret", AzureEnvironment.AZURE))
+                .withSubscription(SUBSCRIPTION_ID);
+    }
+
+    /**
+     * Runs the benchmark.
+     *
+     * @param args the command line arguments, unused
+     * @throws RunnerException if the benchmark fails
+     */
+    public static void main(String[] args) throws RunnerException {
+        new Runner(new OptionsBuilder()
+                .include(AzureStartupBenchmark.class.getSimpleName())
+                .addProfiler(GCProfiler.class)
+                .build()).run();
+    }
+}
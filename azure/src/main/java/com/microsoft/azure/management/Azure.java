@@ -132,29 +132,29 @@ import java.io.IOException;
  * The entry point for accessing resource management APIs in Azure.
  */
 public final class Azure {
-    private final ResourceManager resourceManager;
-    private final StorageManager storageManager;
-    private final ComputeManager computeManager;
-    private final NetworkManager networkManager;
-    private final KeyVaultManager keyVaultManager;
-    private final BatchManager batchManager;
-    private final BatchAIManager batchAIManager;
-    private final TrafficManager trafficManager;
-    private final RedisManager redisManager;
-    private final CdnManager cdnManager;
-    private final DnsZoneManager dnsZoneManager;
-    private final AppServiceManager appServiceManager;
-    private final SqlServerManager sqlServerManager;
-    private final ServiceBusManager serviceBusManager;
-    private final ContainerInstanceManager containerInstanceManager;
-    private final ContainerRegistryManager containerRegistryManager;
-    private final ContainerServiceManager containerServiceManager;
-    private final SearchServiceManager searchServiceManager;
-    private final CosmosDBManager cosmosDBManager;
-    private final AuthorizationManager authorizationManager;
-    private final MSIManager msiManager;
-    private final MonitorManager monitorManager;
-    private final EventHubManager eventHubManager;
+    private final LazyManager<ResourceManager> resourceManager;
+    private final LazyManager<StorageManager> storageManager;
+    private final LazyManager<ComputeManager> computeManager;
+    private final LazyManager<NetworkManager> networkManager;
+    private final LazyManager<KeyVaultManager> keyVaultManager;
+    private final LazyManager<BatchManager> batchManager;
+    private final LazyManager<BatchAIManager> batchAIManager;
+    private final LazyManager<TrafficManager> trafficManager;
+    private final LazyManager<RedisManager> redisManager;
+    private final LazyManager<CdnManager> cdnManager;
+    private final LazyManager<DnsZoneManager> dnsZoneManager;
+    private final LazyManager<AppServiceManager> appServiceManager;
+    private final LazyManager<SqlServerManager> sqlServerManager;
+    private final LazyManager<ServiceBusManager> serviceBusManager;
+    private final LazyManager<ContainerInstanceManager> containerInstanceManager;
+    private final LazyManager<ContainerRegistryManager> containerRegistryManager;
+    private final LazyManager<ContainerServiceManager> containerServiceManager;
+    private final LazyManager<SearchServiceManager> searchServiceManager;
+    private final LazyManager<CosmosDBManager> cosmosDBManager;
+    private final LazyManager<AuthorizationManager> authorizationManager;
+    private final LazyManager<MSIManager> msiManager;
+    private final LazyManager<MonitorManager> monitorManager;
+    private final LazyManager<EventHubManager> eventHubManager;
     private final String subscriptionId;
     private final Authenticated authenticated;
 
@@ -170,8 +170,8 @@ public final class Azure {
                 .withCredentials(credentials)
                 .withSerializerAdapter(new AzureJacksonAdapter())
                 .withResponseBuilderFactory(new AzureResponseBuilder.Factory())
-                .withInterceptor(new ProviderRegistrationInterceptor(credentials))
-                .withInterceptor(new ResourceManagerThrottlingInterceptor())
+                .withInterceptor(new ProviderRegistrationInterceptor())
+                .withInterceptor(new ResourceManagerThrottlingInterceptor(credentials.domain()))
                 .build(), credentials.domain());
     }
 
@@ -198,8 +198,8 @@ public final class Azure {
                 .withCredentials(credentials)
                 .withSerializerAdapter(new AzureJacksonAdapter())
                 .withResponseBuilderFactory(new AzureResponseBuilder.Factory())
-                .withInterceptor(new ProviderRegistrationInterceptor(credentials))
-                .withInterceptor(new ResourceManagerThrottlingInterceptor())
+                .withInterceptor(new ProviderRegistrationInterceptor())
+                .withInterceptor(new ResourceManagerThrottlingInterceptor(credentials.domain()))
                 .build(), credentials.domain()).withDefaultSubscription(credentials.defaultSubscriptionId());
     }
 
@@ -329,13 +329,18 @@ public final class Azure {
     private static final class AuthenticatedImpl implements Authenticated {
         private final RestClient restClient;
         private final ResourceManager.Authenticated resourceManagerAuthenticated;
-        private final GraphRbacManager graphRbacManager;
+        private final LazyManager<GraphRbacManager> graphRbacManager;
         private String defaultSubscription;
         private String tenantId;
 
         private AuthenticatedImpl(RestClient restClient, String tenantId) {
             this.resourceManagerAuthenticated = ResourceManager.authenticate(restClient);
-            this.graphRbacManager = GraphRbacManager.authenticate(restClient, tenantId);
+            this.graphRbacManager = new LazyManager<GraphRbacManager>() {
+                @Override
+                protected GraphRbacManager create() {
+                    return GraphRbacManager.authenticate(AuthenticatedImpl.this.restClient, AuthenticatedImpl.this.tenantId);
+                }
+            };
             this.restClient = restClient;
             this.tenantId = tenantId;
         }
@@ -362,32 +367,32 @@ public final class Azure {
 
         @Override
         public ActiveDirectoryUsers activeDirectoryUsers() {
-            return graphRbacManager.users();
+            return graphRbacManager.get().users();
         }
 
         @Override
         public ActiveDirectoryGroups activeDirectoryGroups() {
-            return graphRbacManager.groups();
+            return graphRbacManager.get().groups();
         }
 
         @Override
         public ServicePrincipals servicePrincipals() {
-            return graphRbacManager.servicePrincipals();
+            return graphRbacManager.get().servicePrincipals();
         }
 
         @Override
         public ActiveDirectoryApplications activeDirectoryApplications() {
-            return graphRbacManager.applications();
+            return graphRbacManager.get().applications();
         }
 
         @Override
         public RoleDefinitions roleDefinitions() {
-            return graphRbacManager.roleDefinitions();
+            return graphRbacManager.get().roleDefinitions();
         }
 
         @Override
         public RoleAssignments roleAssignments() {
-            return graphRbacManager.roleAssignments();
+            return graphRbacManager.get().roleAssignments();
         }
 
         @Override
@@ -410,30 +415,147 @@ public final class Azure {
         }
     }
 
-    private Azure(RestClient restClient, String subscriptionId, String tenantId, Authenticated authenticated) {
-        this.resourceManager = ResourceManager.authenticate(restClient).withSubscription(subscriptionId);
-        this.storageManager = StorageManager.authenticate(restClient, subscriptionId);
-        this.computeManager = ComputeManager.authenticate(restClient, subscriptionId);
-        this.networkManager = NetworkManager.authenticate(restClient, subscriptionId);
-        this.keyVaultManager = KeyVaultManager.authenticate(restClient, tenantId, subscriptionId);
-        this.batchManager = BatchManager.authenticate(restClient, subscriptionId);
-        this.batchAIManager = BatchAIManager.authenticate(restClient, subscriptionId);
-        this.trafficManager = TrafficManager.authenticate(restClient, subscriptionId);
-        this.redisManager = RedisManager.authenticate(restClient, subscriptionId);
-        this.cdnManager = CdnManager.authenticate(restClient, subscriptionId);
-        this.dnsZoneManager = DnsZoneManager.authenticate(restClient, subscriptionId);
-        this.appServiceManager = AppServiceManager.authenticate(restClient, tenantId, subscriptionId);
-        this.sqlServerManager = SqlServerManager.authenticate(restClient, tenantId, subscriptionId);
-        this.serviceBusManager = ServiceBusManager.authenticate(restClient, subscriptionId);
-        this.containerInstanceManager = ContainerInstanceManager.authenticate(restClient, subscriptionId);
-        this.containerRegistryManager = ContainerRegistryManager.authenticate(restClient, subscriptionId);
-        this.containerServiceManager = ContainerServiceManager.authenticate(restClient, subscriptionId);
-        this.cosmosDBManager = CosmosDBManager.authenticate(restClient, subscriptionId);
-        this.searchServiceManager = SearchServiceManager.authenticate(restClient, subscriptionId);
-        this.authorizationManager = AuthorizationManager.authenticate(restClient, subscriptionId);
-        this.msiManager = MSIManager.authenticate(restClient, subscriptionId);
-        this.monitorManager = MonitorManager.authenticate(restClient, subscriptionId);
-        this.eventHubManager = EventHubManager.authenticate(restClient, subscriptionId);
+    private Azure(final RestClient restClient, final String subscriptionId, final String tenantId, Authenticated authenticated) {
+        // The managers are only built on first use, so that authenticating does not pay for the
+        // services the application never calls
+        this.resourceManager = new LazyManager<ResourceManager>() {
+            @Override
+            protected ResourceManager create() {
+                return ResourceManager.authenticate(restClient).withSubscription(subscriptionId);
+            }
+        };
+        this.storageManager = new LazyManager<StorageManager>() {
+            @Override
+            protected StorageManager create() {
+                return StorageManager.authenticate(restClient, subscriptionId);
+            }
+        };
+        this.computeManager = new LazyManager<ComputeManager>() {
+            @Override
+            protected ComputeManager create() {
+                return ComputeManager.authenticate(restClient, subscriptionId);
+            }
+        };
+        this.networkManager = new LazyManager<NetworkManager>() {
+            @Override
+            protected NetworkManager create() {
+                return NetworkManager.authenticate(restClient, subscriptionId);
+            }
+        };
+        this.keyVaultManager = new LazyManager<KeyVaultManager>() {
+            @Override
+            protected KeyVaultManager create() {
+                return KeyVaultManager.authenticate(restClient, tenantId, subscriptionId);
+            }
+        };
+        this.batchManager = new LazyManager<BatchManager>() {
+            @Override
+            protected BatchManager create() {
+                return BatchManager.authenticate(restClient, subscriptionId);
+            }
+        };
+        this.batchAIManager = new LazyManager<BatchAIManager>() {
+            @Override
+            protected BatchAIManager create() {
+                return BatchAIManager.authenticate(restClient, subscriptionId);
+            }
+        };
+        this.trafficManager = new LazyManager<TrafficManager>() {
+            @Override
+            protected TrafficManager create() {
+                return TrafficManager.authenticate(restClient, subscriptionId);
+            }
+        };
+        this.redisManager = new LazyManager<RedisManager>() {
+            @Override
+            protected RedisManager create() {
+                return RedisManager.authenticate(restClient, subscriptionId);
+            }
+        };
+        this.cdnManager = new LazyManager<CdnManager>() {
+            @Override
+            protected CdnManager create() {
+                return CdnManager.authenticate(restClient, subscriptionId);
+            }
+        };
+        this.dnsZoneManager = new LazyManager<DnsZoneManager>() {
+            @Override
+            protected DnsZoneManager create() {
+                return DnsZoneManager.authenticate(restClient, subscriptionId);
+            }
+        };
+        this.appServiceManager = new LazyManager<AppServiceManager>() {
+            @Override
+            protected AppServiceManager create() {
+                return AppServiceManager.authenticate(restClient, tenantId, subscriptionId);
+            }
+        };
+        this.sqlServerManager = new LazyManager<SqlServerManager>() {
+            @Override
+            protected SqlServerManager create() {
+                return SqlServerManager.authenticate(restClient, tenantId, subscriptionId);
+            }
+        };
+        this.serviceBusManager = new LazyManager<ServiceBusManager>() {
+            @Override
+            protected ServiceBusManager create() {
+                return ServiceBusManager.authenticate(restClient, subscriptionId);
+            }
+        };
+        this.containerInstanceManager = new LazyManager<ContainerInstanceManager>() {
+            @Override
+            protected ContainerInstanceManager create() {
+                return ContainerInstanceManager.authenticate(restClient, subscriptionId);
+            }
+        };
+        this.containerRegistryManager = new LazyManager<ContainerRegistryManager>() {
+            @Override
+            protected ContainerRegistryManager create() {
+                return ContainerRegistryManager.authenticate(restClient, subscriptionId);
+            }
+        };
+        this.containerServiceManager = new LazyManager<ContainerServiceManager>() {
+            @Override
+            protected ContainerServiceManager create() {
+                return ContainerServiceManager.authenticate(restClient, subscriptionId);
+            }
+        };
+        this.searchServiceManager = new LazyManager<SearchServiceManager>() {
+            @Override
+            protected SearchServiceManager create() {
+                return SearchServiceManager.authenticate(restClient, subscriptionId);
+            }
+        };
+        this.cosmosDBManager = new LazyManager<CosmosDBManager>() {
+            @Override
+            protected CosmosDBManager create() {
+                return CosmosDBManager.authenticate(restClient, subscriptionId);
+            }
+        };
+        this.authorizationManager = new LazyManager<AuthorizationManager>() {
+            @Override
+            protected AuthorizationManager create() {
+                return AuthorizationManager.authenticate(restClient, subscriptionId);
+            }
+        };
+        this.msiManager = new LazyManager<MSIManager>() {
+            @Override
+            protected MSIManager create() {
+                return MSIManager.authenticate(restClient, subscriptionId);
+            }
+        };
+        this.monitorManager = new LazyManager<MonitorManager>() {
+            @Override
+            protected MonitorManager create() {
+                return MonitorManager.authenticate(restClient, subscriptionId);
+            }
+        };
+        this.eventHubManager = new LazyManager<EventHubManager>() {
+            @Override
+            protected EventHubManager create() {
+                return EventHubManager.authenticate(restClient, subscriptionId);
+            }
+        };
         this.subscriptionId = subscriptionId;
         this.authenticated = authenticated;
     }
@@ -463,147 +585,147 @@ public final class Azure {
      * @return entry point to managing resource groups
      */
     public ResourceGroups resourceGroups() {
-        return this.resourceManager.resourceGroups();
+        return this.resourceManager.get().resourceGroups();
     }
 
     /**
      * @return entry point to managing deployments
      */
     public Deployments deployments() {
-        return this.resourceManager.deployments();
+        return this.resourceManager.get().deployments();
     }
 
     /**
      * @return entry point to managing generic resources
      */
     public GenericResources genericResources() {
-        return resourceManager.genericResources();
+        return resourceManager.get().genericResources();
     }
 
     /**
      * @return entry point to managing management locks
      */
     public ManagementLocks managementLocks() {
-        return this.authorizationManager.managementLocks();
+        return this.authorizationManager.get().managementLocks();
     }
 
     /**
      * @return entry point to managing features
      */
     public Features features() {
-        return resourceManager.features();
+        return resourceManager.get().features();
     }
 
     /**
      * @return entry point to managing resource providers
      */
     public Providers providers() {
-        return resourceManager.providers();
+        return resourceManager.get().providers();
     }
 
     /**
      * @return entry point to managing policy definitions.
      */
     public PolicyDefinitions policyDefinitions() {
-        return resourceManager.policyDefinitions();
+        return resourceManager.get().policyDefinitions();
     }
 
     /**
      * @return entry point to managing policy assignments.
      */
     public PolicyAssignments policyAssignments() {
-        return resourceManager.policyAssignments();
+        return resourceManager.get().policyAssignments();
     }
 
     /**
      * @return entry point to managing storage accounts
      */
     public StorageAccounts storageAccounts() {
-        return storageManager.storageAccounts();
+        return storageManager.get().storageAccounts();
     }
 
     /**
      * @return entry point to managing storage account usages
      */
     public Usages storageUsages() {
-        return storageManager.usages();
+        return storageManager.get().usages();
     }
 
     /**
      * @return entry point to managing storage service SKUs
      */
     public StorageSkus storageSkus() {
-        return storageManager.storageSkus();
+        return storageManager.get().storageSkus();
     }
 
     /**
      * @return entry point to managing availability sets
      */
     public AvailabilitySets availabilitySets() {
-        return computeManager.availabilitySets();
+        return computeManager.get().availabilitySets();
     }
 
     /**
      * @return entry point to managing virtual networks
      */
     public Networks networks() {
-        return networkManager.networks();
+        return networkManager.get().networks();
     }
 
     /**
      * @return entry point to managing route tables
      */
     public RouteTables routeTables() {
-        return networkManager.routeTables();
+        return networkManager.get().routeTables();
     }
 
     /**
      * @return entry point to managing load balancers
      */
     public LoadBalancers loadBalancers() {
-        return networkManager.loadBalancers();
+        return networkManager.get().loadBalancers();
     }
 
     /**
      * @return entry point to managing application gateways
      */
     public ApplicationGateways applicationGateways() {
-        return networkManager.applicationGateways();
+        return networkManager.get().applicationGateways();
     }
 
     /**
      * @return entry point to managing network security groups
      */
     public NetworkSecurityGroups networkSecurityGroups() {
-        return networkManager.networkSecurityGroups();
+        return networkManager.get().networkSecurityGroups();
     }
 
     /**
      * @return entry point to managing network resource usages
      */
     public NetworkUsages networkUsages() {
-        return networkManager.usages();
+        return networkManager.get().usages();
     }
 
     /**
      * @return entry point to managing network watchers
      */
     public NetworkWatchers networkWatchers() {
-        return networkManager.networkWatchers();
+        return networkManager.get().networkWatchers();
     }
 
     /**
      * @return entry point to managing virtual network gateways
      */
     public VirtualNetworkGateways virtualNetworkGateways() {
-        return networkManager.virtualNetworkGateways();
+        return networkManager.get().virtualNetworkGateways();
     }
 
     /**
      * @return entry point to managing local network gateways
      */
     public LocalNetworkGateways localNetworkGateways() {
-        return networkManager.localNetworkGateways();
+        return networkManager.get().localNetworkGateways();
     }
 
     /**
@@ -611,7 +733,7 @@ public final class Azure {
      */
     @Beta(SinceVersion.V1_4_0)
     public ExpressRouteCircuits expressRouteCircuits() {
-        return networkManager.expressRouteCircuits();
+        return networkManager.get().expressRouteCircuits();
     }
 
     /**
@@ -619,7 +741,7 @@ public final class Azure {
      */
     @Beta(SinceVersion.V1_11_0)
     public ExpressRouteCrossConnections expressRouteCrossConnections() {
-        return networkManager.expressRouteCrossConnections();
+        return networkManager.get().expressRouteCrossConnections();
     }
 
     /**
@@ -627,7 +749,7 @@ public final class Azure {
      */
     @Beta(SinceVersion.V1_10_0)
     public ApplicationSecurityGroups applicationSecurityGroups() {
-        return networkManager.applicationSecurityGroups();
+        return networkManager.get().applicationSecurityGroups();
     }
 
     /**
@@ -635,7 +757,7 @@ public final class Azure {
      */
     @Beta(SinceVersion.V1_10_0)
     public RouteFilters routeFilters() {
-        return networkManager.routeFilters();
+        return networkManager.get().routeFilters();
     }
 
     /**
@@ -643,91 +765,91 @@ public final class Azure {
      */
     @Beta(SinceVersion.V1_10_0)
     public DdosProtectionPlans ddosProtectionPlans() {
-        return networkManager.ddosProtectionPlans();
+        return networkManager.get().ddosProtectionPlans();
     }
 
     /**
      * @return entry point to managing virtual machines
      */
     public VirtualMachines virtualMachines() {
-        return computeManager.virtualMachines();
+        return computeManager.get().virtualMachines();
     }
 
     /**
      * @return entry point to managing virtual machine scale sets.
      */
     public VirtualMachineScaleSets virtualMachineScaleSets() {
-        return computeManager.virtualMachineScaleSets();
+        return computeManager.get().virtualMachineScaleSets();
     }
 
     /**
      * @return entry point to managing virtual machine images
      */
     public VirtualMachineImages virtualMachineImages() {
-        return computeManager.virtualMachineImages();
+        return computeManager.get().virtualMachineImages();
     }
 
     /**
      * @return entry point to managing virtual machine custom images
      */
     public VirtualMachineCustomImages virtualMachineCustomImages() {
-        return computeManager.virtualMachineCustomImages();
+        return computeManager.get().virtualMachineCustomImages();
     }
 
     /**
      * @return entry point to managing managed disks
      */
     public Disks disks() {
-        return computeManager.disks();
+        return computeManager.get().disks();
     }
 
     /**
      * @return entry point to managing managed snapshots
      */
     public Snapshots snapshots() {
-        return computeManager.snapshots();
+        return computeManager.get().snapshots();
     }
 
     /**
      * @return the compute service SKU management API entry point
      */
     public ComputeSkus computeSkus() {
-        return computeManager.computeSkus();
+        return computeManager.get().computeSkus();
     }
 
     /**
      * @return entry point to managing public IP addresses
      */
     public PublicIPAddresses publicIPAddresses() {
-        return this.networkManager.publicIPAddresses();
+        return this.networkManager.get().publicIPAddresses();
     }
 
     /**
      * @return entry point to managing network interfaces
      */
     public NetworkInterfaces networkInterfaces() {
-        return this.networkManager.networkInterfaces();
+        return this.networkManager.get().networkInterfaces();
     }
 
     /**
      * @return entry point to managing compute resource usages
      */
     public ComputeUsages computeUsages() {
-        return computeManager.usages();
+        return computeManager.get().usages();
     }
 
     /**
      * @return entry point to managing key vaults
      */
     public Vaults vaults() {
-        return this.keyVaultManager.vaults();
+        return this.keyVaultManager.get().vaults();
     }
 
     /**
      * @return entry point to managing batch accounts.
      */
     public BatchAccounts batchAccounts() {
-        return batchManager.batchAccounts();
+        return batchManager.get().batchAccounts();
     }
 
     /**
@@ -735,7 +857,7 @@ public final class Azure {
      */
     @Beta(SinceVersion.V1_12_0)
     public BatchAIWorkspaces batchAIWorkspaces() {
-        return batchAIManager.workspaces();
+        return batchAIManager.get().workspaces();
     }
 
     /**
@@ -743,35 +865,35 @@ public final class Azure {
      */
     @Beta(SinceVersion.V1_12_0)
     public BatchAIUsages batchAIUsages() {
-        return batchAIManager.usages();
+        return batchAIManager.get().usages();
     }
 
     /**
      * @return entry point to managing traffic manager profiles.
      */
     public TrafficManagerProfiles trafficManagerProfiles() {
-        return trafficManager.profiles();
+        return trafficManager.get().profiles();
     }
 
     /**
      * @return entry point to managing Redis Caches.
      */
     public RedisCaches redisCaches() {
-        return redisManager.redisCaches();
+        return redisManager.get().redisCaches();
     }
 
     /**
      * @return entry point to managing cdn manager profiles.
      */
     public CdnProfiles cdnProfiles() {
-        return cdnManager.profiles();
+        return cdnManager.get().profiles();
     }
 
     /**
      * @return entry point to managing DNS zones.
      */
     public DnsZones dnsZones() {
-        return dnsZoneManager.zones();
+        return dnsZoneManager.get().zones();
     }
 
     /**
@@ -779,7 +901,7 @@ public final class Azure {
      */
     @Beta
     public WebApps webApps() {
-        return appServiceManager.webApps();
+        return appServiceManager.get().webApps();
     }
 
     /**
@@ -787,14 +909,14 @@ public final class Azure {
      */
     @Beta
     public AppServiceManager appServices() {
-        return appServiceManager;
+        return appServiceManager.get();
     }
 
     /**
      * @return entry point to managing Sql server.
      */
     public SqlServers sqlServers() {
-        return sqlServerManager.sqlServers();
+        return sqlServerManager.get().sqlServers();
     }
 
     /**
@@ -802,7 +924,7 @@ public final class Azure {
      */
     @Beta
     public ServiceBusNamespaces serviceBusNamespaces() {
-        return serviceBusManager.namespaces();
+        return serviceBusManager.get().namespaces();
     }
 
     /**
@@ -811,7 +933,7 @@ public final class Azure {
     // TODO: To be revisited in the future
     //@Beta(SinceVersion.V1_1_0)
     //public ServiceBusOperations serviceBusOperations() {
-    //    return serviceBusManager.operations();
+    //    return serviceBusManager.get().operations();
     //}
 
     /**
@@ -819,7 +941,7 @@ public final class Azure {
      */
     @Beta(SinceVersion.V1_4_0)
     public ContainerServices containerServices() {
-        return containerServiceManager.containerServices();
+        return containerServiceManager.get().containerServices();
     }
 
     /**
@@ -827,7 +949,7 @@ public final class Azure {
      */
     @Beta(SinceVersion.V1_4_0)
     public KubernetesClusters kubernetesClusters() {
-        return containerServiceManager.kubernetesClusters();
+        return containerServiceManager.get().kubernetesClusters();
     }
 
     /**
@@ -835,7 +957,7 @@ public final class Azure {
      */
     @Beta(SinceVersion.V1_3_0)
     public ContainerGroups containerGroups() {
-        return containerInstanceManager.containerGroups();
+        return containerInstanceManager.get().containerGroups();
     }
 
     /**
@@ -843,7 +965,7 @@ public final class Azure {
      */
     @Beta(SinceVersion.V1_1_0)
     public Registries containerRegistries() {
-        return containerRegistryManager.containerRegistries();
+        return containerRegistryManager.get().containerRegistries();
     }
 
     /**
@@ -851,7 +973,7 @@ public final class Azure {
      */
     @Beta
     public RegistryTasks containerRegistryTasks() {
-        return containerRegistryManager.containerRegistryTasks();
+        return containerRegistryManager.get().containerRegistryTasks();
     }
 
     /**
@@ -859,7 +981,7 @@ public final class Azure {
      */
     @Beta
     public RegistryTaskRuns containerRegistryTaskRuns() {
-        return containerRegistryManager.registryTaskRuns();
+        return containerRegistryManager.get().registryTaskRuns();
     }
 
     /**
@@ -867,7 +989,7 @@ public final class Azure {
      */
     @Beta(SinceVersion.V1_2_0)
     public CosmosDBAccounts cosmosDBAccounts() {
-        return cosmosDBManager.databaseAccounts();
+        return cosmosDBManager.get().databaseAccounts();
     }
 
     /**
@@ -875,7 +997,7 @@ public final class Azure {
      */
     @Beta(SinceVersion.V1_2_0)
     public SearchServices searchServices() {
-        return searchServiceManager.searchServices();
+        return searchServiceManager.get().searchServices();
     }
 
     /**
@@ -883,7 +1005,7 @@ public final class Azure {
      */
     @Beta(Beta.SinceVersion.V1_5_1)
     public Identities identities() {
-        return msiManager.identities();
+        return msiManager.get().identities();
     }
 
     /**
@@ -899,7 +1021,7 @@ public final class Azure {
      */
     @Beta(SinceVersion.V1_6_0)
     public ActivityLogs activityLogs() {
-        return this.monitorManager.activityLogs();
+        return this.monitorManager.get().activityLogs();
     }
 
     /**
@@ -907,7 +1029,7 @@ public final class Azure {
      */
     @Beta(SinceVersion.V1_6_0)
     public MetricDefinitions metricDefinitions() {
-        return this.monitorManager.metricDefinitions();
+        return this.monitorManager.get().metricDefinitions();
     }
 
     /**
@@ -915,7 +1037,7 @@ public final class Azure {
      */
     @Beta(SinceVersion.V1_8_0)
     public DiagnosticSettings diagnosticSettings() {
-        return this.monitorManager.diagnosticSettings();
+        return this.monitorManager.get().diagnosticSettings();
     }
 
     /**
@@ -923,7 +1045,7 @@ public final class Azure {
      */
     @Beta(SinceVersion.V1_9_0)
     public ActionGroups actionGroups() {
-        return this.monitorManager.actionGroups();
+        return this.monitorManager.get().actionGroups();
     }
 
     /**
@@ -931,7 +1053,7 @@ public final class Azure {
      */
     @Beta(SinceVersion.V1_15_0)
     public AlertRules alertRules() {
-        return this.monitorManager.alertRules();
+        return this.monitorManager.get().alertRules();
     }
 
 
@@ -940,7 +1062,7 @@ public final class Azure {
      */
     @Beta(SinceVersion.V1_15_0)
     public AutoscaleSettings autoscaleSettings() {
-        return this.monitorManager.autoscaleSettings();
+        return this.monitorManager.get().autoscaleSettings();
     }
 
     /**
@@ -948,7 +1070,7 @@ public final class Azure {
      */
     @Beta(SinceVersion.V1_7_0)
     public EventHubNamespaces eventHubNamespaces() {
-        return this.eventHubManager.namespaces();
+        return this.eventHubManager.get().namespaces();
     }
 
     /**
@@ -956,7 +1078,7 @@ public final class Azure {
      */
     @Beta(SinceVersion.V1_7_0)
     public EventHubs eventHubs() {
-        return this.eventHubManager.eventHubs();
+        return this.eventHubManager.get().eventHubs();
     }
 
     /**
@@ -964,7 +1086,7 @@ public final class Azure {
      */
     @Beta(SinceVersion.V1_7_0)
     public EventHubDisasterRecoveryPairings eventHubDisasterRecoveryPairings() {
-        return this.eventHubManager.eventHubDisasterRecoveryPairings();
+        return this.eventHubManager.get().eventHubDisasterRecoveryPairings();
     }
 
     /**
@@ -972,7 +1094,7 @@ public final class Azure {
      */
     @Beta(Beta.SinceVersion.V1_15_0)
     public Galleries galleries() {
-        return this.computeManager.galleries();
+        return this.computeManager.get().galleries();
     }
 
     /**
@@ -980,7 +1102,7 @@ public final class Azure {
      */
     @Beta(Beta.SinceVersion.V1_15_0)
     public GalleryImages galleryImages() {
-        return this.computeManager.galleryImages();
+        return this.computeManager.get().galleryImages();
     }
 
     /**
@@ -988,27 +1110,60 @@ public final class Azure {
      */
     @Beta(Beta.SinceVersion.V1_15_0)
     public GalleryImageVersions galleryImageVersions() {
-        return this.computeManager.galleryImageVersions();
+        return this.computeManager.get().galleryImageVersions();
     }
 
     /**
      * @return the blob container management API entry point
      */
     public BlobContainers storageBlobContainers() {
-        return this.storageManager.blobContainers();
+        return this.storageManager.get().blobContainers();
     }
 
     /**
      * @return the blob service management API entry point
      */
     public BlobServices storageBlobServices() {
-        return this.storageManager.blobServices();
+        return this.storageManager.get().blobServices();
     }
 
     /**
      * @return the blob service management API entry point
      */
     public ManagementPolicies storageManagementPolicies() {
-        return this.storageManager.managementPolicies();
+        return this.storageManager.get().managementPolicies();
+    }
+
+    /**
+     * A manager created on first use. Building a manager builds its service clients and the Retrofit
+     * proxies of all their operation groups, so the managers of the services an application does not
+     * use are never built.
+     *
+     * @param <T> the type of the manager
+     */
+    private abstract static class LazyManager<T> {
+        private volatile T manager;
+
+        /**
+         * @return the manager, created by the first call
+         */
+        T get() {
+            T result = this.manager;
+            if (result == null) {
+                synchronized (this) {
+                    result = this.manager;
+                    if (result == null) {
+                        result = create();
+                        this.manager = result;
+                    }
+                }
+            }
+            return result;
+        }
+
+        /**
+         * @return a new manager
+         */
+        protected abstract T create();
     }
 }